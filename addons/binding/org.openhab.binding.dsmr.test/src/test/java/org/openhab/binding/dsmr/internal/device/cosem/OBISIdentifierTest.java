@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for parsing {@link OBISIdentifier}s from byte buffers.
+ *
+ * @author agent - Initial contribution
+ */
+public class OBISIdentifierTest {
+
+    private static final String ALPHABET = "0123-:.*x";
+
+    private static int[] parse(String obisId) {
+        byte[] data = ("##" + obisId + "#").getBytes(StandardCharsets.ISO_8859_1);
+        int[] groups = new int[6];
+
+        return OBISIdentifier.parse(data, 2, obisId.length(), groups) ? groups : null;
+    }
+
+    private static void assertSameAsString(String obisId) {
+        OBISIdentifier expected;
+        try {
+            expected = new OBISIdentifier(obisId);
+        } catch (ParseException | NumberFormatException e) {
+            // groups not fitting in an int are invalid as well
+            expected = null;
+        }
+        int[] groups = parse(obisId);
+
+        if (expected == null) {
+            assertNull("Expected invalid identifier: " + obisId, groups);
+        } else {
+            assertNotNull("Expected valid identifier: " + obisId, groups);
+            assertEquals(obisId, expected, new OBISIdentifier(groups[0], groups[1] < 0 ? null : groups[1], groups[2],
+                    groups[3], groups[4], groups[5] < 0 ? null : groups[5]));
+        }
+    }
+
+    @Test
+    public void testParse() {
+        assertArrayEquals(new int[] { 1, 0, 1, 8, 1, -1 }, parse("1-0:1.8.1"));
+        assertArrayEquals(new int[] { 0, 2, 24, 2, 1, -1 }, parse("0-2:24.2.1"));
+        assertArrayEquals(new int[] { 0, -1, 96, 1, 0, 255 }, parse("96.1.0*255"));
+        assertArrayEquals(new int[] { 0, -1, 1, 8, 0, -1 }, parse("1.8"));
+        assertNull(parse("1-0:1"));
+        assertNull(parse("1-0:1.8.1*"));
+        assertNull(parse("1-0:1.8.99999999999"));
+        assertNull(parse(""));
+    }
+
+    @Test
+    public void testParseSameAsString() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder obisId = new StringBuilder();
+            int length = random.nextInt(14);
+
+            for (int j = 0; j < length; j++) {
+                obisId.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertSameAsString(obisId.toString());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.p1telegram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+
+/**
+ * Micro benchmark of the {@link P1TelegramParser}, parsing the test telegrams as a whole and in small chunks like they
+ * are received from the serial port.
+ *
+ * This is not run as part of the unit tests. Run the main method from the IDE, optionally giving the number of
+ * telegrams to parse per test telegram as argument.
+ *
+ * @author agent - Initial contribution
+ */
+public class P1TelegramParserBenchmark {
+
+    private static final String[] TELEGRAMS = new String[] { "dsmr_40", "dsmr_42", "dsmr_50", "Iskra_AM550",
+            "Landis_Gyr_E350", "Landis_Gyr_ZCF110", "Sagemcom_XS210" };
+
+    /**
+     * Size of the chunks as read from the serial port
+     */
+    private static final int CHUNK_SIZE = 32;
+
+    private static int objects;
+
+    /**
+     * Bytes allocated by the current thread, or -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        try {
+            // com.sun.management.ThreadMXBean is not available on all JVMs
+            Class<?> sunThreadBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!sunThreadBean.isInstance(threadBean)) {
+                return -1;
+            }
+            Method method = sunThreadBean.getMethod("getThreadAllocatedBytes", long.class);
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void parse(P1TelegramParser parser, byte[] telegram, int chunkSize) {
+        for (int offset = 0; offset < telegram.length; offset += chunkSize) {
+            parser.parseData(telegram, offset, Math.min(chunkSize, telegram.length - offset));
+        }
+    }
+
+    private static void run(String name, byte[] telegram, int chunkSize, int iterations) {
+        P1TelegramParser parser = new P1TelegramParser(t -> objects += t.getCosemObjects().size());
+
+        // warm up
+        for (int i = 0; i < iterations / 10; i++) {
+            parse(parser, telegram, chunkSize);
+        }
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parse(parser, telegram, chunkSize);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+        System.out.println(String.format("%-18s %5d B/chunk %10.0f telegrams/s %8.1f us/telegram %10s B/telegram",
+                name, chunkSize, iterations * 1e9 / elapsed, elapsed / 1e3 / iterations,
+                allocatedBefore < 0 ? "n/a" : String.valueOf((allocatedAfter - allocatedBefore) / iterations)));
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        for (String name : TELEGRAMS) {
+            byte[] telegram = TelegramReaderUtil.readRawTelegram(name);
+            run(name, telegram, telegram.length, iterations);
+            run(name, telegram, CHUNK_SIZE, iterations);
+        }
+        System.out.println("Parsed " + objects + " cosem objects");
+    }
+}
@@ -10,8 +10,10 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.Assert.assertEquals;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,6 +31,8 @@ import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramSt
 @RunWith(value = Parameterized.class)
 public class P1TelegramParserTest {
 
+    private static final int CHUNK_SIZE = 7;
+
     // @formatter:off
     @Parameters(name = "{0}")
     public static final List<Object[]> data() {
@@ -57,4 +61,20 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
                 telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
     }
+
+    @Test
+    public void testRawTelegramInLenientMode() {
+        AtomicReference<P1Telegram> p1Telegram = new AtomicReference<>();
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        P1TelegramParser parser = new P1TelegramParser(p1Telegram::set);
+
+        parser.setLenientMode(true);
+        for (int offset = 0; offset < data.length; offset += CHUNK_SIZE) {
+            parser.parseData(data, offset, Math.min(CHUNK_SIZE, data.length - offset));
+        }
+        assertEquals("Expected TelegramState should be as expected", TelegramState.OK,
+                p1Telegram.get().getTelegramState());
+        assertEquals("Expected raw telegram", new String(data, StandardCharsets.UTF_8).trim(),
+                p1Telegram.get().getRawTelegram().trim());
+    }
 }
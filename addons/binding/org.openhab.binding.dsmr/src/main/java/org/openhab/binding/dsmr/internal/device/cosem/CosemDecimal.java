@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -44,4 +45,11 @@ class CosemDecimal extends CosemValueDescriptor<DecimalType> {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as integer", 0);
         }
     }
+
+    @Override
+    protected DecimalType getStateValue(byte[] data, int offset, int length) throws ParseException {
+        BigDecimal value = parseDecimal(data, offset, offset + length);
+
+        return value == null ? super.getStateValue(data, offset, length) : new DecimalType(value);
+    }
 }
@@ -8,12 +8,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.types.State;
 import org.slf4j.Logger;
@@ -26,11 +25,6 @@ import org.slf4j.LoggerFactory;
  */
 public class CosemObject {
 
-    /**
-     * Regular expression for finding CosemValues
-     */
-    private static final Pattern COSEM_VALUES_PATTERN = Pattern.compile("(\\(([^\\(\\)]*)\\))");
-
     private final Logger logger = LoggerFactory.getLogger(CosemObject.class);
 
     /**
@@ -107,42 +101,75 @@ public class CosemObject {
      * @throws ParseException if parsing fails
      */
     public void parseCosemValues(String cosemValueString) throws ParseException {
-        logger.trace("Parsing CosemValue string {}", cosemValueString);
+        byte[] data = cosemValueString.getBytes(StandardCharsets.ISO_8859_1);
+
+        parseCosemValues(data, 0, data.length);
+    }
 
-        Matcher cosemValueMatcher = COSEM_VALUES_PATTERN.matcher(cosemValueString);
-        int nrOfCosemValues = countCosemValues(cosemValueMatcher);
+    /**
+     * Parses the List of COSEM values, each enclosed in parentheses, in the given part of the byte buffer to COSEM
+     * objects values.
+     * <p>
+     * When the parser has problems it throws an {@link ParseException}. The
+     * already parsed values will still be available. It is up to the caller how
+     * to handle a partially parsed message.
+     *
+     * @param data buffer containing the COSEM values
+     * @param offset start of the COSEM values in the buffer
+     * @param length length of the COSEM values
+     * @throws ParseException if parsing fails
+     */
+    public void parseCosemValues(byte[] data, int offset, int length) throws ParseException {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Parsing CosemValue string {}", new String(data, offset, length, StandardCharsets.ISO_8859_1));
+        }
+        int end = offset + length;
+        int nrOfCosemValues = countCosemValues(data, offset, end);
 
         if (type.supportsNrOfValues(nrOfCosemValues)) {
             logger.trace("Received items: {} is supported", nrOfCosemValues);
 
             int cosemValueItr = 0;
-            while (cosemValueMatcher.find()) {
-                Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
-                State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueMatcher.group(2));
-
-                if (cosemValue != null) {
-                    if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
-                        cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
-                    } else {
-                        logger.warn("Value for descriptor {} already exists, dropping value {}", valueDescriptorEntry,
-                                cosemValue);
+            int valueStart = -1;
+            for (int i = offset; i < end; i++) {
+                if (data[i] == '(') {
+                    valueStart = i + 1;
+                } else if (data[i] == ')' && valueStart >= 0) {
+                    Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
+                    State cosemValue = valueDescriptorEntry.getValue().getStateValue(data, valueStart, i - valueStart);
+
+                    if (cosemValue != null) {
+                        if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
+                            cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
+                        } else {
+                            logger.warn("Value for descriptor {} already exists, dropping value {}",
+                                    valueDescriptorEntry, cosemValue);
+                        }
                     }
+                    cosemValueItr++;
+                    valueStart = -1;
                 }
-                cosemValueItr++;
             }
         } else {
             throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
         }
     }
 
-    private int countCosemValues(Matcher cosemValueMatcher) {
+    /**
+     * Counts the values enclosed in parentheses. A value can not contain parentheses itself.
+     */
+    private static int countCosemValues(byte[] data, int offset, int end) {
         int nrOfCosemValues = 0;
-
-        while (cosemValueMatcher.find()) {
-            nrOfCosemValues++;
+        boolean inValue = false;
+
+        for (int i = offset; i < end; i++) {
+            if (data[i] == '(') {
+                inValue = true;
+            } else if (data[i] == ')' && inValue) {
+                nrOfCosemValues++;
+                inValue = false;
+            }
         }
-        // We need the matcher again, reset to initial state
-        cosemValueMatcher.reset();
         return nrOfCosemValues;
     }
 }
@@ -8,11 +8,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,17 +27,22 @@ public class CosemObjectFactory {
     /**
      * Lookup cache for fixed OBIS Identifiers
      */
-    private final Map<OBISIdentifier, CosemObjectType> obisLookupTableFixed;
+    private final OBISLookupTable<CosemObjectType> obisLookupTableFixed;
 
     /**
      * Lookup cache for dynamic OBIS Identifiers
      */
-    private final HashMap<OBISIdentifier, CosemObjectType> obisLookupTableDynamic;
+    private final OBISLookupTable<CosemObjectType> obisLookupTableDynamic;
 
     /**
-     * Lookup cache for wild card Cosem Object types
+     * Lookup cache for wild card Cosem Object types, by their OBIS Identifier without group B
      */
-    private final List<CosemObjectType> obisWildcardCosemTypeList;
+    private final OBISLookupTable<List<CosemObjectType>> obisLookupTableWildcard;
+
+    /**
+     * The groups of the OBIS Identifier being parsed, see {@link OBISIdentifier#parse(byte[], int, int, int[])}
+     */
+    private final int[] obisGroups = new int[6];
 
     /**
      * Creates a new CosemObjectFactory
@@ -53,21 +57,35 @@ public class CosemObjectFactory {
          * dynamically with unique wildcard OBISIdentifiers when values are received and matches a particular real
          * device (if the device is changed, this lookupTable must be cleared by removing the corresponding DSMRDevice
          * Thing from the configuration.
-         * - obisWildCardCosemTypeList. This is the list of all wild card Cosem Object types. Multiple Cosem Object
-         * Types can have the same wild card OBISIdentifer.
+         * - obisLookupTableWildcard. This contains the list of wild card Cosem Object types per wild card
+         * OBISIdentifier. Multiple Cosem Object Types can have the same wild card OBISIdentifer.
          *
          * To facilitate autodiscovery the list has all supported CosemObjectTypes. To improve performance once the
          * correct OBISIdentifier is discovered for a certain OBISMsgType this is added to the obisLookupTableDynamic.
+         *
+         * The OBISIdentifiers are looked up by their groups, so no objects are created for the lookup.
          */
-        obisLookupTableFixed = new HashMap<>();
-        obisLookupTableDynamic = new HashMap<>();
-        obisWildcardCosemTypeList = new ArrayList<>();
-
-        for (CosemObjectType msgType : CosemObjectType.values()) {
-            if (msgType.obisId.reducedOBISIdentifierIsWildCard()) {
-                obisWildcardCosemTypeList.add(msgType);
+        CosemObjectType[] types = CosemObjectType.values();
+        obisLookupTableFixed = new OBISLookupTable<>(types.length);
+        obisLookupTableDynamic = new OBISLookupTable<>(types.length);
+        obisLookupTableWildcard = new OBISLookupTable<>(types.length);
+
+        for (CosemObjectType msgType : types) {
+            OBISIdentifier obisId = msgType.obisId;
+
+            if (obisId.reducedOBISIdentifierIsWildCard()) {
+                long key = OBISLookupTable.key(obisId.getGroupA(), -1, obisId.getGroupC(), obisId.getGroupD(),
+                        obisId.getGroupE());
+                List<CosemObjectType> wildcardTypes = obisLookupTableWildcard.get(key);
+
+                if (wildcardTypes == null) {
+                    wildcardTypes = new ArrayList<>();
+                    obisLookupTableWildcard.put(key, wildcardTypes);
+                }
+                wildcardTypes.add(msgType);
             } else {
-                obisLookupTableFixed.put(msgType.obisId, msgType);
+                obisLookupTableFixed.put(OBISLookupTable.key(obisId.getGroupA(), obisId.getGroupB(),
+                        obisId.getGroupC(), obisId.getGroupD(), obisId.getGroupE()), msgType);
             }
         }
     }
@@ -81,35 +99,67 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
+        byte[] obisIdData = obisIdString.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] cosemValuesData = cosemStringValues.getBytes(StandardCharsets.ISO_8859_1);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-        } catch (ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+        return getCosemObject(obisIdData, obisIdData.length, cosemValuesData, cosemValuesData.length);
+    }
+
+    /**
+     * Return Cosem Object from the specified byte buffers or null if the data couldn't be parsed correctly or no
+     * corresponding Cosem Object was found
+     *
+     * @param obisIdData buffer starting with the OBIS message identifier
+     * @param obisIdLength length of the OBIS message identifier
+     * @param cosemValuesData buffer starting with the Cosem values
+     * @param cosemValuesLength length of the Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(byte[] obisIdData, int obisIdLength, byte[] cosemValuesData,
+            int cosemValuesLength) {
+        if (!OBISIdentifier.parse(obisIdData, 0, obisIdLength, obisGroups)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Received invalid OBIS identifier: {}",
+                        new String(obisIdData, 0, obisIdLength, StandardCharsets.ISO_8859_1));
+            }
             return null;
         }
+        int groupA = obisGroups[0];
+        int groupB = obisGroups[1];
+        int groupC = obisGroups[2];
+        int groupD = obisGroups[3];
+        int groupE = obisGroups[4];
+        int groupF = obisGroups[5];
+        OBISIdentifier obisId = new OBISIdentifier(groupA, groupB < 0 ? null : groupB, groupC, groupD, groupE,
+                groupF < 0 ? null : groupF);
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("Received obisIdString {}, obisId: {}, values: {}",
+                    new String(obisIdData, 0, obisIdLength, StandardCharsets.ISO_8859_1), obisId,
+                    new String(cosemValuesData, 0, cosemValuesLength, StandardCharsets.ISO_8859_1));
+        }
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
-
+        long reducedObisKey = OBISLookupTable.key(groupA, groupB, groupC, groupD, groupE);
         CosemObject cosemObject = null;
-
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
-            logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
+        CosemObjectType cosemObjectType;
+
+        if ((cosemObjectType = obisLookupTableFixed.get(reducedObisKey)) != null) {
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemValuesData, cosemValuesLength);
+            logger.trace("Found obisId {} in the fixed lookup table", obisId);
+        } else if ((cosemObjectType = obisLookupTableDynamic.get(reducedObisKey)) != null) {
+            logger.trace("Found obisId {} in the dynamic lookup table", obisId);
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemValuesData, cosemValuesLength);
         } else {
-            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
-                if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
-                    cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemStringValues);
+            List<CosemObjectType> wildcardTypes = obisLookupTableWildcard
+                    .get(OBISLookupTable.key(groupA, -1, groupC, groupD, groupE));
+
+            if (wildcardTypes != null) {
+                for (CosemObjectType obisMsgType : wildcardTypes) {
+                    cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemValuesData, cosemValuesLength);
                     if (cosemObject != null) {
-                        logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
+                        logger.trace("Searched obisId {} in the wild card type list, result: {}", obisId,
                                 cosemObject);
-                        obisLookupTableDynamic.put(reducedObisId, obisMsgType);
+                        obisLookupTableDynamic.put(reducedObisKey, obisMsgType);
                         break;
                     }
                 }
@@ -128,22 +178,25 @@ public class CosemObjectFactory {
      *
      * @param cosemObjectType the type of the CosemObject
      * @param obisIdentifier the actual OBISIdentifier how this cosemObjectType is identified
-     * @param cosemStringValues the values of the CosemObject
+     * @param cosemValuesData buffer starting with the values of the CosemObject
+     * @param cosemValuesLength length of the values of the CosemObject
      *
      * @return a CosemObject or null if parsing failed
      */
     private CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
-            String cosemStringValues) {
+            byte[] cosemValuesData, int cosemValuesLength) {
         CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
 
         try {
             logger.trace("Parse values for Cosem Object type: {}", cosemObjectType);
-            obj.parseCosemValues(cosemStringValues);
+            obj.parseCosemValues(cosemValuesData, 0, cosemValuesLength);
 
             return obj;
         } catch (ParseException pe) {
-            logger.debug("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType, cosemStringValues,
-                    pe);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType,
+                        new String(cosemValuesData, 0, cosemValuesLength, StandardCharsets.ISO_8859_1), pe);
+            }
         }
         return null;
     }
@@ -9,6 +9,8 @@
 package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.util.AbstractMap.SimpleEntry;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -141,6 +143,9 @@ public enum CosemObjectType {
     private final List<CosemValueDescriptor<?>> descriptors;
     private final List<CosemValueDescriptor<?>> repeatingDescriptors;
 
+    /** Channel id and descriptor pairs of the non repeating descriptors, created once */
+    private final List<Entry<String, CosemValueDescriptor<?>>> descriptorEntries = new ArrayList<>();
+
     /**
      * Constructs a new CosemObjectType
      *
@@ -175,6 +180,9 @@ public enum CosemObjectType {
             this.repeatingDescriptors = allDescriptors.subList(this.descriptors.size(),
                     this.descriptors.size() + nrOfRepeatingDescriptors);
         }
+        for (CosemValueDescriptor<?> descriptor : this.descriptors) {
+            descriptorEntries.add(new SimpleImmutableEntry<>(descriptor.getChannelId(), descriptor));
+        }
     }
 
     /**
@@ -199,10 +207,8 @@ public enum CosemObjectType {
             int repeatCount = (idx - descriptors.size()) / repeatingDescriptors.size();
 
             return new SimpleEntry<>(descriptor.getChannelId() + repeatCount, descriptor);
-        } else if (idx < descriptors.size()) {
-            CosemValueDescriptor<?> descriptor = descriptors.get(idx);
-
-            return new SimpleEntry<>(descriptor.getChannelId(), descriptor);
+        } else if (idx >= 0 && idx < descriptors.size()) {
+            return descriptorEntries.get(idx);
         } else {
             return null;
         }
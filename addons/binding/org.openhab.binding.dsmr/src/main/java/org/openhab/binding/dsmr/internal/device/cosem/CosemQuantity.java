@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -61,6 +63,12 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
      */
     private final Unit<Q> unit;
 
+    /**
+     * Symbol of the unit and the symbol as written by meters that don't support the '³' character
+     */
+    private final byte[] unitSymbol;
+    private final byte[] unitSymbolAscii;
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -79,6 +87,8 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
     public CosemQuantity(Unit<Q> unit, String channelId) {
         super(channelId);
         this.unit = unit;
+        unitSymbol = unit.toString().getBytes(StandardCharsets.ISO_8859_1);
+        unitSymbolAscii = unit.toString().replace("m³", "m3").getBytes(StandardCharsets.ISO_8859_1);
     }
 
     /**
@@ -102,6 +112,40 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
         }
     }
 
+    /**
+     * Parses the value directly from the buffer, if it consists of a plain number followed by the exact unit symbol
+     * (optionally separated by '*' or '_'). Otherwise the value is parsed as String.
+     */
+    @Override
+    protected QuantityType<Q> getStateValue(byte[] data, int offset, int length) throws ParseException {
+        int end = offset + length;
+        int numberEnd = offset;
+        while (numberEnd < end && (data[numberEnd] == '.' || (data[numberEnd] >= '0' && data[numberEnd] <= '9'))) {
+            numberEnd++;
+        }
+        int unitStart = numberEnd < end && (data[numberEnd] == '*' || data[numberEnd] == '_') ? numberEnd + 1
+                : numberEnd;
+        BigDecimal value = numberEnd > offset ? parseDecimal(data, offset, numberEnd) : null;
+
+        if (value != null && (isUnitSymbol(unitSymbol, data, unitStart, end)
+                || isUnitSymbol(unitSymbolAscii, data, unitStart, end))) {
+            return new QuantityType<>(value, unit);
+        }
+        return super.getStateValue(data, offset, length);
+    }
+
+    private static boolean isUnitSymbol(byte[] symbol, byte[] data, int offset, int end) {
+        if (symbol.length != end - offset) {
+            return false;
+        }
+        for (int i = 0; i < symbol.length; i++) {
+            if (symbol[i] != data[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
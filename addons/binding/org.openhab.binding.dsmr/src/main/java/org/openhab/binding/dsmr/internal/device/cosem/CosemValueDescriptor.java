@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 
 import org.eclipse.smarthome.core.types.State;
@@ -51,6 +53,62 @@ abstract class CosemValueDescriptor<S extends State> {
      */
     protected abstract S getStateValue(String cosemValue) throws ParseException;
 
+    /**
+     * Parses the value in the given part of the byte buffer to the {@link State} value.
+     *
+     * Descriptors that can parse the value without creating a String first override this method.
+     *
+     * @param data buffer containing the Cosem value
+     * @param offset start of the Cosem value in the buffer
+     * @param length length of the Cosem value
+     * @return S the {@link State} object instance of the Cosem value
+     * @throws ParseException if parsing failed
+     */
+    protected S getStateValue(byte[] data, int offset, int length) throws ParseException {
+        return getStateValue(new String(data, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Parses a plain decimal number ([-]digits[.digits]) in the given part of the byte buffer.
+     *
+     * @param data buffer containing the number
+     * @param offset start of the number in the buffer
+     * @param end end (exclusive) of the number in the buffer
+     * @return the number or null if it is not a plain decimal number or too large to be parsed this way
+     */
+    protected static BigDecimal parseDecimal(byte[] data, int offset, int end) {
+        int i = offset;
+        boolean negative = i < end && data[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+
+        for (; i < end; i++) {
+            byte b = data[i];
+            if (b >= '0' && b <= '9') {
+                // a long holds 18 decimal digits without overflowing
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(0, scale));
+    }
+
     /**
      * Returns the channel id for this {@link CosemValueDescriptor}
      *
@@ -95,6 +95,96 @@ public class OBISIdentifier {
         }
     }
 
+    /**
+     * Parses the OBIS identifier (A-B:C.D.E.F) in the given part of the byte buffer into the given array, accepting
+     * the same identifiers as {@link #OBISIdentifier(String)} without creating any objects.
+     *
+     * The groups are stored in the order A, B, C, D, E, F. Missing groups A and E are stored as 0, missing groups B
+     * and F as -1.
+     *
+     * @param data buffer containing the OBIS identifier
+     * @param offset start of the OBIS identifier in the buffer
+     * @param length length of the OBIS identifier
+     * @param groups array of (at least) 6 elements receiving the groups
+     * @return true if the data is a valid OBIS identifier, false otherwise
+     */
+    static boolean parse(byte[] data, int offset, int length, int[] groups) {
+        int end = offset + length;
+
+        groups[0] = 0;
+        groups[1] = -1;
+        groups[4] = 0;
+        groups[5] = -1;
+
+        long group = parseGroup(data, offset, end);
+        if (group >= 0 && isAt(data, position(group), end, '-')) {
+            groups[0] = value(group);
+            group = parseGroup(data, position(group) + 1, end);
+        }
+        if (group >= 0 && isAt(data, position(group), end, ':')) {
+            groups[1] = value(group);
+            group = parseGroup(data, position(group) + 1, end);
+        }
+        if (group < 0 || !isAt(data, position(group), end, '.')) {
+            return false;
+        }
+        groups[2] = value(group);
+        group = parseGroup(data, position(group) + 1, end);
+        if (group < 0) {
+            return false;
+        }
+        groups[3] = value(group);
+        if (isAt(data, position(group), end, '.')) {
+            long groupE = parseGroup(data, position(group) + 1, end);
+            if (groupE >= 0) {
+                groups[4] = value(groupE);
+                group = groupE;
+            }
+        }
+        int separator = position(group);
+        // group F may be separated by any character
+        if (separator < end && data[separator] != '\r' && data[separator] != '\n') {
+            group = parseGroup(data, separator + 1, end);
+            if (group < 0) {
+                return false;
+            }
+            groups[5] = value(group);
+        }
+        return position(group) == end;
+    }
+
+    private static boolean isAt(byte[] data, int position, int end, char c) {
+        return position < end && data[position] == c;
+    }
+
+    /**
+     * Parses the digits starting at the given position.
+     *
+     * @return the value of the digits in the lower and the position after the digits in the upper 32 bits, or -1 if
+     *         there are no digits or the value does not fit in an int
+     */
+    private static long parseGroup(byte[] data, int start, int end) {
+        long value = 0;
+        int i = start;
+
+        while (i < end && data[i] >= '0' && data[i] <= '9') {
+            value = value * 10 + (data[i] - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+            i++;
+        }
+        return i > start ? ((long) i << 32) | value : -1;
+    }
+
+    private static int value(long group) {
+        return (int) group;
+    }
+
+    private static int position(long group) {
+        return (int) (group >>> 32);
+    }
+
     /**
      * @return the groupA
      */
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import java.util.Arrays;
+
+/**
+ * Hash table mapping reduced OBIS identifiers (groups A to E) to values, without creating objects on lookup.
+ *
+ * The groups are packed into a single long key (see {@link #key(int, int, int, int, int)}) and stored using open
+ * addressing.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> type of the values
+ */
+class OBISLookupTable<T> {
+
+    /**
+     * Key of identifiers that can't be stored in the table
+     */
+    static final long NO_KEY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates a new table, sized for the given number of entries. The table grows when more entries are added.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    OBISLookupTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+        Arrays.fill(keys, NO_KEY);
+    }
+
+    /**
+     * Packs the groups of a reduced OBIS identifier into a key.
+     *
+     * @param groupA the A group (0-255)
+     * @param groupB the B group (non negative) or -1 for a wild card
+     * @param groupC the C group (0-255)
+     * @param groupD the D group (0-255)
+     * @param groupE the E group (0-255)
+     * @return the key, or {@link #NO_KEY} if the groups are out of range (no such identifier is in the table)
+     */
+    static long key(int groupA, int groupB, int groupC, int groupD, int groupE) {
+        if (((groupA | groupC | groupD | groupE) & ~0xFF) != 0 || groupB < -1) {
+            return NO_KEY;
+        }
+        return ((long) groupB << 32) | (((long) groupA) << 24) | (groupC << 16) | (groupD << 8) | groupE;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash >>> 32) & (keys.length - 1);
+    }
+
+    /**
+     * @return the value for the given key, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    T get(long key) {
+        if (key == NO_KEY) {
+            return null;
+        }
+        for (int i = index(key);; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key) {
+                return (T) values[i];
+            } else if (keys[i] == NO_KEY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stores the value for the given key, replacing the existing value.
+     */
+    void put(long key, T value) {
+        if (key == NO_KEY) {
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int i = index(key);
+        while (keys[i] != NO_KEY && keys[i] != key) {
+            i = (i + 1) & (keys.length - 1);
+        }
+        if (keys[i] == NO_KEY) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        Arrays.fill(keys, NO_KEY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NO_KEY) {
+                int j = index(oldKeys[i]);
+                while (keys[j] != NO_KEY) {
+                    j = (j + 1) & (keys.length - 1);
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -8,6 +8,9 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * CRC16 implementation.
  *
@@ -42,10 +45,21 @@ public class CRC16 {
         }
     }
 
+    /**
+     * The CRC16 tables of all variants, generated once and shared by all instances
+     */
+    private static final Map<Polynom, char[]> CRC_TABLES = new EnumMap<>(Polynom.class);
+
+    static {
+        for (Polynom polynom : Polynom.values()) {
+            CRC_TABLES.put(polynom, genCrc16Table(polynom));
+        }
+    }
+
     /**
      * The cached CRC16 table based on the requested CRC16 variant
      */
-    private short[] crcTable;
+    private final char[] crcTable;
 
     /**
      * The current crcValue
@@ -58,7 +72,7 @@ public class CRC16 {
      * @param polynom the CRC16 polynom to use
      */
     public CRC16(Polynom polynom) {
-        crcTable = genCrc16Table(polynom);
+        crcTable = CRC_TABLES.get(polynom);
     }
 
     /**
@@ -71,7 +85,7 @@ public class CRC16 {
     public int calculate(byte[] data, int initialCrcValue) {
         int crc = initialCrcValue;
         for (int p = 0; p < data.length; p++) {
-            crc = (crc >> 8) ^ (crcTable[(crc & 0xFF) ^ (data[p] & 0xFF)] & 0xFFFF);
+            crc = (crc >> 8) ^ crcTable[(crc & 0xFF) ^ (data[p] & 0xFF)];
         }
         return crc;
     }
@@ -98,7 +112,7 @@ public class CRC16 {
      * @param b the byte to process
      */
     public void processByte(byte b) {
-        crcValue = (crcValue >> 8) ^ (crcTable[(crcValue & 0xFF) ^ (b & 0xFF)] & 0xFFFF);
+        crcValue = (crcValue >> 8) ^ crcTable[(crcValue & 0xFF) ^ (b & 0xFF)];
     }
 
     /**
@@ -117,8 +131,8 @@ public class CRC16 {
      *
      * @return the generated CRC16 table
      */
-    private short[] genCrc16Table(Polynom polynom) {
-        short[] table = new short[256];
+    private static char[] genCrc16Table(Polynom polynom) {
+        char[] table = new char[256];
         for (int x = 0; x < 256; x++) {
             int w = x;
             for (int i = 0; i < 8; i++) {
@@ -128,7 +142,7 @@ public class CRC16 {
                     w = w >> 1;
                 }
             }
-            table[x] = (short) w;
+            table[x] = (char) w;
         }
         return table;
     }
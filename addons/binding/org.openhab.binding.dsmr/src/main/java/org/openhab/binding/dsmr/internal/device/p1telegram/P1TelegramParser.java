@@ -10,8 +10,8 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -55,31 +55,47 @@ public class P1TelegramParser {
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /**
-     * Pattern for the CRC-code
+     * Number of characters of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the OBIS identifier and cosem object values buffers. The buffers grow when needed.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    /**
+     * Initial size of the raw data buffer, large enough for most telegrams.
+     */
+    private static final int INITIAL_RAW_DATA_SIZE = 1024;
 
     /* internal state variables */
 
     /**
      * current obisId buffer.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] obisId = new byte[INITIAL_BUFFER_SIZE];
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder cosemObjectValuesString = new StringBuilder();
+    private byte[] cosemObjectValues = new byte[INITIAL_BUFFER_SIZE];
+    private int cosemObjectValuesLength;
 
     /**
-     * In lenient mode store raw data and log when a complete message is received.
+     * In lenient mode store raw data and log when a complete message is received. The buffer is only allocated in
+     * lenient mode.
      */
-    private final StringBuilder rawData = new StringBuilder();
+    private byte[] rawData = new byte[0];
+    private int rawDataLength;
 
     /**
-     * Current crc value read.
+     * Current crc value read, the number of characters read and whether all characters are valid hexadecimal digits.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+    private int crcValueLength;
+    private boolean crcValueValid = true;
 
     /**
      * CRC calculation helper
@@ -140,15 +156,12 @@ public class P1TelegramParser {
      * @param length number of bytes to parse
      */
     public void parseData(byte[] data, int offset, int length) {
-        if (lenientMode || logger.isTraceEnabled()) {
-            String rawBlock = new String(data, offset, length, StandardCharsets.UTF_8);
-
-            if (lenientMode) {
-                rawData.append(rawBlock);
-            }
-            if (logger.isTraceEnabled()) {
-                logger.trace("Data: {}, state before parsing: {}", rawBlock, state);
-            }
+        if (lenientMode) {
+            appendRawData(data, offset, length);
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Data: {}, state before parsing: {}", new String(data, offset, length, StandardCharsets.UTF_8),
+                    state);
         }
         for (int i = offset; i < (offset + length); i++) {
             char c = (char) data[i];
@@ -232,16 +245,19 @@ public class P1TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                    String.format("%04X", crcValue));
+                        }
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength > 0) {
+                            if (crcValueValid && crcValueLength == CRC_LENGTH) {
+                                int crcP1Telegram = crcValue;
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcP1Telegram), String.format("%04X", calculatedCRC));
                                 }
                                 if (crcP1Telegram != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
@@ -252,8 +268,8 @@ public class P1TelegramParser {
                                 telegramState = TelegramState.CRC_ERROR;
                             }
                         }
-                        telegramListener.telegramReceived(
-                                new P1Telegram(new ArrayList<>(cosemObjects), telegramState, rawData.toString()));
+                        telegramListener.telegramReceived(new P1Telegram(new ArrayList<>(cosemObjects),
+                                telegramState, new String(rawData, 0, rawDataLength, StandardCharsets.UTF_8)));
                         setState(State.WAIT_FOR_START);
                         if (c == '/') {
                             /*
@@ -306,22 +322,22 @@ public class P1TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                appendObisId((byte) c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                cosemObjectValuesString.append(c);
+                appendCosemObjectValue((byte) c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE_END:
-                cosemObjectValuesString.append(c);
+                appendCosemObjectValue((byte) c);
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCrcValue(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -330,14 +346,55 @@ public class P1TelegramParser {
         }
     }
 
+    private void appendObisId(byte b) {
+        if (obisIdLength == obisId.length) {
+            obisId = Arrays.copyOf(obisId, obisId.length * 2);
+        }
+        obisId[obisIdLength++] = b;
+    }
+
+    private void appendCosemObjectValue(byte b) {
+        if (cosemObjectValuesLength == cosemObjectValues.length) {
+            cosemObjectValues = Arrays.copyOf(cosemObjectValues, cosemObjectValues.length * 2);
+        }
+        cosemObjectValues[cosemObjectValuesLength++] = b;
+    }
+
+    private void appendRawData(byte[] data, int offset, int length) {
+        if (rawDataLength + length > rawData.length) {
+            rawData = Arrays.copyOf(rawData,
+                    Math.max(rawDataLength + length, Math.max(INITIAL_RAW_DATA_SIZE, rawData.length * 2)));
+        }
+        System.arraycopy(data, offset, rawData, rawDataLength, length);
+        rawDataLength += length;
+    }
+
+    /**
+     * Adds a character to the CRC value. The CRC value must consist of upper case hexadecimal digits.
+     *
+     * @param c the character to add
+     */
+    private void appendCrcValue(char c) {
+        int digit = c >= '0' && c <= '9' ? c - '0' : c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1;
+
+        if (digit < 0) {
+            crcValueValid = false;
+        } else {
+            crcValue = ((crcValue << 4) | digit) & 0xFFFF;
+        }
+        crcValueLength++;
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
-        rawData.setLength(0);
-        crcValue.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
+        rawDataLength = 0;
+        crcValue = 0;
+        crcValueLength = 0;
+        crcValueValid = true;
         crc.initialize();
         cosemObjects.clear();
     }
@@ -349,18 +406,17 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+        if (obisIdLength > 0) {
+            CosemObject cosemObject = factory.getCosemObject(obisId, obisIdLength, cosemObjectValues,
+                    cosemObjectValuesLength);
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class GroupAddressListenerRegistryTest {
+
+    private static final int CAPACITY = 4;
+
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 1);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 2);
+
+    private static class TestListener implements GroupAddressListener {
+        private final @Nullable Set<GroupAddress> addresses;
+        private final List<String> received = new ArrayList<>();
+        private int listensToCalls;
+
+        public TestListener(@Nullable Set<GroupAddress> addresses) {
+            this.addresses = addresses;
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            listensToCalls++;
+            return GA1.equals(destination);
+        }
+
+        @Override
+        public @Nullable Set<GroupAddress> getGroupAddresses() {
+            return addresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private GroupAddressListenerRegistry registry;
+
+    @Before
+    public void setup() {
+        registry = new GroupAddressListenerRegistry(tasks::add, CAPACITY);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private int post(GroupAddress destination, String message) {
+        return registry.post(destination,
+                listener -> () -> ((TestListener) listener).received.add(destination + " " + message));
+    }
+
+    @Test
+    public void testIndexedListener() {
+        TestListener listener = new TestListener(new HashSet<>(Arrays.asList(GA1)));
+        assertTrue(registry.register(listener));
+        assertFalse(registry.register(listener));
+
+        assertEquals(1, post(GA1, "a"));
+        assertEquals(0, post(GA2, "b"));
+        runTasks();
+        assertEquals(Arrays.asList(GA1 + " a"), listener.received);
+        assertEquals(0, listener.listensToCalls);
+    }
+
+    @Test
+    public void testReregistrationUpdatesIndex() {
+        Set<GroupAddress> addresses = new HashSet<>(Arrays.asList(GA1));
+        TestListener listener = new TestListener(addresses);
+        registry.register(listener);
+        addresses.add(GA2);
+        assertEquals(0, post(GA2, "a"));
+
+        assertFalse(registry.register(listener));
+        assertEquals(1, post(GA2, "b"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testUnindexedListener() {
+        TestListener listener = new TestListener(null);
+        registry.register(listener);
+
+        assertEquals(1, post(GA1, "a"));
+        assertEquals(0, post(GA2, "b"));
+        assertEquals(2, listener.listensToCalls);
+    }
+
+    @Test
+    public void testSingleDrainTaskInOrder() {
+        TestListener listener = new TestListener(new HashSet<>(Arrays.asList(GA1)));
+        registry.register(listener);
+
+        post(GA1, "a");
+        post(GA1, "b");
+        post(GA1, "c");
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(Arrays.asList(GA1 + " a", GA1 + " b", GA1 + " c"), listener.received);
+
+        // idle mailbox schedules a new task
+        post(GA1, "d");
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testOldestMessagesDropped() {
+        TestListener listener = new TestListener(new HashSet<>(Arrays.asList(GA1)));
+        registry.register(listener);
+
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            post(GA1, String.valueOf(i));
+        }
+        runTasks();
+        assertEquals(CAPACITY, listener.received.size());
+        assertEquals(GA1 + " 2", listener.received.get(0));
+        assertEquals(GA1 + " " + (CAPACITY + 1), listener.received.get(CAPACITY - 1));
+    }
+
+    @Test
+    public void testUnregisterDiscardsPendingMessages() {
+        TestListener listener = new TestListener(new HashSet<>(Arrays.asList(GA1)));
+        registry.register(listener);
+
+        post(GA1, "a");
+        assertTrue(registry.unregister(listener));
+        assertFalse(registry.unregister(listener));
+        assertEquals(0, post(GA1, "b"));
+        runTasks();
+        assertTrue(listener.received.isEmpty());
+    }
+
+    @Test
+    public void testDrainYieldsAfterBatch() {
+        registry = new GroupAddressListenerRegistry(tasks::add, 2 * ListenerMailbox.DRAIN_BATCH_SIZE);
+        TestListener listener = new TestListener(new HashSet<>(Arrays.asList(GA1)));
+        registry.register(listener);
+
+        for (int i = 0; i < ListenerMailbox.DRAIN_BATCH_SIZE + 1; i++) {
+            post(GA1, String.valueOf(i));
+        }
+        tasks.poll().run();
+        assertEquals(ListenerMailbox.DRAIN_BATCH_SIZE, listener.received.size());
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(ListenerMailbox.DRAIN_BATCH_SIZE + 1, listener.received.size());
+    }
+
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class GroupReadSchedulerTest {
+
+    private static final int RETRIES_LIMIT = 2;
+    private static final long READING_PAUSE = 40;
+    private static final long RESPONSE_TIMEOUT = 1000;
+
+    private GroupReadScheduler scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = new GroupReadScheduler(RETRIES_LIMIT, READING_PAUSE, RESPONSE_TIMEOUT);
+    }
+
+    private static Datapoint datapoint(int subGroup) {
+        return new CommandDP(new GroupAddress(1, 2, subGroup), "test", 0, "1.001");
+    }
+
+    private static GroupAddress address(ReadDatapoint datapoint) {
+        return datapoint.getDatapoint().getMainAddress();
+    }
+
+    private ReadDatapoint send(long now) {
+        ReadDatapoint datapoint = scheduler.next(now);
+        assertNotNull(datapoint);
+        datapoint.incrementRetries();
+        return datapoint;
+    }
+
+    @Test
+    public void testDeduplication() {
+        assertTrue(scheduler.enqueue(datapoint(1), ReadPriority.NORMAL));
+        assertFalse(scheduler.enqueue(datapoint(1), ReadPriority.NORMAL));
+        assertFalse(scheduler.enqueue(datapoint(1), ReadPriority.LOW));
+        assertEquals(1, scheduler.getQueuedCount());
+
+        ReadDatapoint sent = send(0);
+        // waiting for the response
+        assertFalse(scheduler.enqueue(datapoint(1), ReadPriority.HIGH));
+        assertNull(scheduler.next(0));
+
+        scheduler.onResponse(address(sent));
+        assertEquals(0, scheduler.getOutstandingCount());
+        assertTrue(scheduler.enqueue(datapoint(1), ReadPriority.NORMAL));
+    }
+
+    @Test
+    public void testPriorities() {
+        scheduler.enqueue(datapoint(1), ReadPriority.LOW);
+        scheduler.enqueue(datapoint(2), ReadPriority.NORMAL);
+        scheduler.enqueue(datapoint(3), ReadPriority.LOW);
+        scheduler.enqueue(datapoint(4), ReadPriority.HIGH);
+        // moved to higher priority
+        assertTrue(scheduler.enqueue(datapoint(3), ReadPriority.HIGH));
+        assertEquals(4, scheduler.getQueuedCount());
+
+        assertEquals(new GroupAddress(1, 2, 4), address(send(0)));
+        assertEquals(new GroupAddress(1, 2, 3), address(send(0)));
+        assertEquals(new GroupAddress(1, 2, 2), address(send(0)));
+        assertEquals(new GroupAddress(1, 2, 1), address(send(0)));
+        assertNull(scheduler.next(0));
+        assertEquals(0, scheduler.getQueuedCount());
+        assertEquals(4, scheduler.getOutstandingCount());
+    }
+
+    @Test
+    public void testOutstandingReadsLimited() {
+        for (int i = 0; i <= GroupReadScheduler.MAX_OUTSTANDING_READS; i++) {
+            scheduler.enqueue(datapoint(i), ReadPriority.NORMAL);
+        }
+        for (int i = 0; i < GroupReadScheduler.MAX_OUTSTANDING_READS; i++) {
+            send(0);
+        }
+        assertNull(scheduler.next(0));
+
+        scheduler.onResponse(new GroupAddress(1, 2, 0));
+        assertEquals(new GroupAddress(1, 2, GroupReadScheduler.MAX_OUTSTANDING_READS), address(send(0)));
+    }
+
+    @Test
+    public void testRetryAfterResponseTimeout() {
+        scheduler.enqueue(datapoint(1), ReadPriority.NORMAL);
+        send(0);
+
+        scheduler.expire(RESPONSE_TIMEOUT - 1);
+        assertEquals(1, scheduler.getOutstandingCount());
+        scheduler.expire(RESPONSE_TIMEOUT);
+        assertEquals(0, scheduler.getOutstandingCount());
+        assertEquals(1, scheduler.getQueuedCount());
+
+        ReadDatapoint retried = send(RESPONSE_TIMEOUT);
+        assertEquals(2, retried.getRetries());
+        // retries limit reached
+        scheduler.expire(2 * RESPONSE_TIMEOUT);
+        assertEquals(0, scheduler.getOutstandingCount());
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void testRetryAfterSendFailure() {
+        scheduler.enqueue(datapoint(1), ReadPriority.NORMAL);
+        scheduler.onSendFailed(send(0));
+        assertEquals(1, scheduler.getQueuedCount());
+        assertEquals(2 * READING_PAUSE, scheduler.getPauseMillis());
+
+        scheduler.onSendFailed(send(0));
+        assertEquals(0, scheduler.getQueuedCount());
+        assertEquals(0, scheduler.getOutstandingCount());
+    }
+
+    @Test
+    public void testPauseAdaptedToConfirmations() {
+        scheduler.enqueue(datapoint(1), ReadPriority.NORMAL);
+        for (int i = 0; i < 10; i++) {
+            scheduler.onSendFailed(scheduler.next(0));
+            scheduler.enqueue(datapoint(1), ReadPriority.NORMAL);
+        }
+        assertEquals(READING_PAUSE * GroupReadScheduler.MAX_PAUSE_FACTOR, scheduler.getPauseMillis());
+
+        scheduler.onConfirmed();
+        assertEquals(READING_PAUSE * GroupReadScheduler.MAX_PAUSE_FACTOR * 3 / 4, scheduler.getPauseMillis());
+    }
+
+    @Test
+    public void testPauseNotBelowReadingPause() {
+        scheduler.onConfirmed();
+        assertEquals(READING_PAUSE, scheduler.getPauseMillis());
+
+        scheduler.enqueue(datapoint(1), ReadPriority.NORMAL);
+        scheduler.onSendFailed(scheduler.next(0));
+        for (int i = 0; i < 100; i++) {
+            scheduler.onConfirmed();
+            assertTrue(scheduler.getPauseMillis() >= READING_PAUSE);
+        }
+        assertEquals(READING_PAUSE, scheduler.getPauseMillis());
+    }
+
+    @Test
+    public void testPauseAdaptedToBusLoad() {
+        // busy bus
+        for (long now = 0; now <= 1000; now += 10) {
+            scheduler.onBusTelegram(now);
+        }
+        assertTrue(scheduler.getBusLoad() >= GroupReadScheduler.BUS_LOAD_THRESHOLD);
+        assertEquals(2 * READING_PAUSE, scheduler.getPauseMillis());
+        scheduler.onConfirmed();
+        assertEquals(2 * READING_PAUSE, scheduler.getPauseMillis());
+
+        // quiet bus
+        scheduler.onBusTelegram(2500);
+        assertTrue(scheduler.getBusLoad() < GroupReadScheduler.BUS_LOAD_THRESHOLD);
+        scheduler.onConfirmed();
+        assertEquals(2 * READING_PAUSE * 3 / 4, scheduler.getPauseMillis());
+        for (int i = 0; i < 10; i++) {
+            scheduler.onConfirmed();
+        }
+        assertEquals(READING_PAUSE, scheduler.getPauseMillis());
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class PeriodicReadWheelTest {
+
+    private static final Object OWNER1 = "owner1";
+    private static final Object OWNER2 = "owner2";
+
+    private PeriodicReadWheel wheel;
+
+    @Before
+    public void setup() {
+        wheel = new PeriodicReadWheel();
+    }
+
+    private static Datapoint datapoint(int subGroup) {
+        return new CommandDP(new GroupAddress(1, 2, subGroup), "test", 0, "1.001");
+    }
+
+    /**
+     * @return the number of reads per tick
+     */
+    private int[] advance(int ticks) {
+        int[] reads = new int[ticks];
+        for (int i = 0; i < ticks; i++) {
+            reads[i] = wheel.advance().size();
+        }
+        return reads;
+    }
+
+    private List<Integer> readTicks(GroupAddress address, int ticks) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 1; i <= ticks; i++) {
+            for (Datapoint datapoint : wheel.advance()) {
+                if (datapoint.getMainAddress().equals(address)) {
+                    result.add(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testReadOncePerInterval() {
+        wheel.schedule(OWNER1, datapoint(1), 3);
+        List<Integer> ticks = readTicks(new GroupAddress(1, 2, 1), 9);
+        assertEquals(3, ticks.size());
+        assertEquals(3, ticks.get(1) - ticks.get(0));
+        assertEquals(3, ticks.get(2) - ticks.get(1));
+    }
+
+    @Test
+    public void testSharedAddressDeduplicated() {
+        wheel.schedule(OWNER1, datapoint(1), 10);
+        wheel.schedule(OWNER2, datapoint(1), 5);
+        assertEquals(1, wheel.size());
+        // the shortest interval wins
+        assertEquals(2, readTicks(new GroupAddress(1, 2, 1), 10).size());
+
+        wheel.cancel(OWNER2);
+        assertEquals(1, wheel.size());
+        assertEquals(1, readTicks(new GroupAddress(1, 2, 1), 10).size());
+
+        wheel.cancel(OWNER1);
+        assertEquals(0, wheel.size());
+        assertEquals(0, readTicks(new GroupAddress(1, 2, 1), 10).size());
+    }
+
+    @Test
+    public void testSpreadOverInterval() {
+        int interval = 10;
+        for (int i = 0; i < 3 * interval; i++) {
+            wheel.schedule(OWNER1, datapoint(i), interval);
+        }
+        for (int reads : advance(5 * interval)) {
+            assertEquals(3, reads);
+        }
+    }
+
+    @Test
+    public void testIntervalLongerThanWheel() {
+        int interval = PeriodicReadWheel.WHEEL_SIZE + 7;
+        wheel.schedule(OWNER1, datapoint(1), interval);
+        List<Integer> ticks = readTicks(new GroupAddress(1, 2, 1), 3 * interval);
+        assertEquals(3, ticks.size());
+        assertEquals(interval, ticks.get(1) - ticks.get(0));
+    }
+
+    @Test
+    public void testCancelKeepsOtherOwners() {
+        wheel.schedule(OWNER1, datapoint(1), 2);
+        wheel.schedule(OWNER2, datapoint(2), 2);
+        wheel.cancel(OWNER1);
+        assertEquals(1, wheel.size());
+        assertEquals(2, readTicks(new GroupAddress(1, 2, 2), 4).size());
+        assertEquals(0, readTicks(new GroupAddress(1, 2, 1), 4).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInterval() {
+        wheel.schedule(OWNER1, datapoint(1), 0);
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.function.BiFunction;
+
+import org.eclipse.smarthome.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Micro benchmark of {@link KNXCoreTypeMapper#toType(Datapoint, byte[])}, comparing the direct conversion of the
+ * common datapoint types with the conversion using Calimero translators.
+ *
+ * This is not run as part of the unit tests. Run the main method from the IDE, optionally giving the number of
+ * conversions per datapoint type as argument.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class KNXCoreTypeMapperBenchmark {
+
+    private static final String[] DPTS = new String[] { "1.001", "5.001", "9.001", "14.056" };
+    private static final byte[][] DATA = new byte[][] { { 1 }, { (byte) 0x80 }, { 0x0c, 0x33 },
+            { 0x42, 0x48, 0, 0 } };
+
+    /**
+     * Bytes allocated by the current thread, or -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        try {
+            // com.sun.management.ThreadMXBean is not available on all JVMs
+            Class<?> sunThreadBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!sunThreadBean.isInstance(threadBean)) {
+                return -1;
+            }
+            Method method = sunThreadBean.getMethod("getThreadAllocatedBytes", long.class);
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void run(String name, Datapoint datapoint, byte[] data, int iterations,
+            BiFunction<Datapoint, byte[], Type> conversion) {
+        // warm up
+        for (int i = 0; i < iterations / 10; i++) {
+            conversion.apply(datapoint, data);
+        }
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        int hash = 0;
+        for (int i = 0; i < iterations; i++) {
+            hash += conversion.apply(datapoint, data).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+        System.out.println(String.format("%-8s %-12s %10.0f ops/s %8.1f ns/op %10s B/op (%d)", datapoint.getDPT(),
+                name, iterations * 1e9 / elapsed, (double) elapsed / iterations,
+                allocatedBefore < 0 ? "n/a" : String.valueOf((allocatedAfter - allocatedBefore) / iterations), hash));
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        for (int i = 0; i < DPTS.length; i++) {
+            Datapoint datapoint = new CommandDP(new GroupAddress(1, 2, 3), "benchmark", 0, DPTS[i]);
+            run("translator", datapoint, DATA[i], iterations, mapper::toTypeWithTranslator);
+            run("toType", datapoint, DATA[i], iterations, mapper::toType);
+        }
+    }
+}
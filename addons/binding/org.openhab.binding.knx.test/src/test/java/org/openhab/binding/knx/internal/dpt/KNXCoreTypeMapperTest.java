@@ -8,11 +8,23 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -26,4 +38,59 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_directConversion() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OpenClosedType.OPEN, mapper.toType(datapoint("1.019"), new byte[] { 1 }));
+        assertEquals(new PercentType(50), mapper.toType(datapoint("5.001"), new byte[] { (byte) 0x80 }));
+        assertEquals(new DecimalType(21.5), mapper.toType(datapoint("9.001"), new byte[] { 0x0c, 0x33 }));
+        assertEquals(new DecimalType(-1.5),
+                mapper.toType(datapoint("14.068"), new byte[] { (byte) 0xbf, (byte) 0xc0, 0, 0 }));
+    }
+
+    @Test
+    public void testToType_directConversionEqualsTranslator() throws KNXException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        for (int mainNumber : new int[] { 1, 5, 9 }) {
+            int values = mainNumber == 9 ? 0x10000 : 0x100;
+            for (String dptID : TranslatorTypes.getMainType(mainNumber).getSubTypes().keySet()) {
+                Datapoint datapoint = datapoint(dptID);
+                for (int i = 0; i < values; i++) {
+                    byte[] data = mainNumber == 9 ? new byte[] { (byte) (i >> 8), (byte) i } : new byte[] { (byte) i };
+                    assertDirectConversion(mapper, datapoint, data);
+                }
+            }
+        }
+
+        Random random = new Random(1);
+        for (String dptID : TranslatorTypes.getMainType(14).getSubTypes().keySet()) {
+            Datapoint datapoint = datapoint(dptID);
+            for (int i = 0; i < 1000; i++) {
+                int bits = i == 0 ? Float.floatToIntBits(1e20f) : random.nextInt();
+                if (Float.isNaN(Float.intBitsToFloat(bits)) || Float.isInfinite(Float.intBitsToFloat(bits))) {
+                    continue;
+                }
+                assertDirectConversion(mapper, datapoint,
+                        new byte[] { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits });
+            }
+        }
+    }
+
+    private static Datapoint datapoint(String dptID) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dptID);
+    }
+
+    private static void assertDirectConversion(KNXCoreTypeMapper mapper, Datapoint datapoint, byte[] data) {
+        Type expected = mapper.toTypeWithTranslator(datapoint, data);
+        Type actual = mapper.toTypeDirectly(datapoint, data);
+        String message = datapoint.getDPT() + " " + Arrays.toString(data);
+        if (expected == null) {
+            assertNull(message, actual);
+        } else {
+            assertNotNull(message, actual);
+            assertEquals(message, expected.getClass(), actual.getClass());
+            assertEquals(message, expected, actual);
+        }
+    }
+
 }
@@ -79,6 +79,35 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Schedule the given data point for asynchronous reading with the given priority.
+     *
+     * If the data point is already queued with a lower priority, it is moved to the given priority.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority of the read request
+     */
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Read the given data point periodically, with {@link ReadPriority#LOW}, on behalf of the given listener.
+     *
+     * A group address which is read periodically for several listeners is only read once per interval, using the
+     * shortest of their intervals.
+     *
+     * @param listener the listener owning the periodic read
+     * @param datapoint the datapoint
+     * @param intervalSeconds the interval in seconds
+     */
+    void schedulePeriodicRead(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds);
+
+    /**
+     * Stop all periodic reads of the given listener.
+     *
+     * @param listener the listener owning the periodic reads
+     */
+    void cancelPeriodicReads(GroupAddressListener listener);
+
     /**
      * Write a command to the KNX bus.
      *
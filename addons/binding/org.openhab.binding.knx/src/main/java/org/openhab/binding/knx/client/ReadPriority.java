@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.client;
+
+/**
+ * Priority of a queued group read request.
+ *
+ * Read requests of a higher priority are always sent to the bus before the ones with a lower priority.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public enum ReadPriority {
+
+    /**
+     * Explicitly requested by the user, e.g. a REFRESH command.
+     */
+    HIGH,
+
+    /**
+     * Initial state synchronization of linked channels.
+     */
+    NORMAL,
+
+    /**
+     * Periodic background refresh.
+     */
+    LOW
+
+}
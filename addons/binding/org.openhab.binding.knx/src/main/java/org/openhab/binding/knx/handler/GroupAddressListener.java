@@ -8,7 +8,10 @@
  */
 package org.openhab.binding.knx.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
 import tuwien.auto.calimero.GroupAddress;
@@ -30,4 +33,17 @@ public interface GroupAddressListener extends BusMessageListener {
      */
     public boolean listensTo(GroupAddress destination);
 
+    /**
+     * Called on registration to index the listener by the group addresses it listens to.
+     *
+     * Listeners which return the set of group addresses are only notified about telegrams to these addresses and are
+     * not asked by {@link #listensTo(GroupAddress)} for each telegram. The set is read on registration, so it must be
+     * complete by then. Register the listener again to update it.
+     *
+     * @return the group addresses this listener listens to, or {@code null} if they are not known in advance
+     */
+    public default @Nullable Set<GroupAddress> getGroupAddresses() {
+        return null;
+    }
+
 }
@@ -8,9 +8,7 @@
  */
 package org.openhab.binding.knx.internal.client;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -26,6 +24,7 @@ import org.openhab.binding.knx.KNXTypeMapper;
 import org.openhab.binding.knx.client.DeviceInfoClient;
 import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.client.StatusUpdateCallback;
 import org.openhab.binding.knx.handler.GroupAddressListener;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -33,14 +32,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.DataUnitBuilder;
 import tuwien.auto.calimero.DetachEvent;
 import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXTimeoutException;
 import tuwien.auto.calimero.datapoint.CommandDP;
 import tuwien.auto.calimero.datapoint.Datapoint;
 import tuwien.auto.calimero.device.ProcessCommunicationResponder;
+import tuwien.auto.calimero.link.KNXLinkClosedException;
 import tuwien.auto.calimero.link.KNXNetworkLink;
 import tuwien.auto.calimero.link.NetworkLinkListener;
 import tuwien.auto.calimero.mgmt.Destination;
@@ -64,6 +66,7 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int GROUP_READ = 0x00;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -72,7 +75,6 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private final int responseTimeout;
     private final int readingPause;
     private final int autoReconnectPeriod;
-    private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
 
@@ -83,10 +85,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable KNXNetworkLink link;
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
+    private final Object busJobLock = new Object();
+    private int busJobGeneration;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerRegistry groupAddressListeners;
+    private final GroupReadScheduler readScheduler;
+    private final PeriodicReadWheel periodicReads = new PeriodicReadWheel();
+    private @Nullable ScheduledFuture<?> periodicReadJob;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -106,6 +112,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             processEvent("Group Write", e, (listener, source, destination, asdu) -> {
                 listener.onGroupWrite(AbstractKNXClient.this, source, destination, asdu);
             });
+            readScheduler.onResponse(e.getDestination());
         }
 
         @Override
@@ -120,6 +127,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             processEvent("Group Read Response", e, (listener, source, destination, asdu) -> {
                 listener.onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu);
             });
+            readScheduler.onResponse(e.getDestination());
         }
     };
 
@@ -129,12 +137,16 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
-        this.readRetriesLimit = readRetriesLimit;
+        this.readScheduler = new GroupReadScheduler(readRetriesLimit, readingPause,
+                TimeUnit.SECONDS.toMillis(responseTimeout));
         this.knxScheduler = knxScheduler;
+        this.groupAddressListeners = new GroupAddressListenerRegistry(knxScheduler);
         this.statusUpdateCallback = statusUpdateCallback;
     }
 
     public void initialize() {
+        // one tick of the periodic read wheel per second
+        periodicReadJob = knxScheduler.scheduleAtFixedRate(() -> readPeriodicDatapoints(), 1, 1, TimeUnit.SECONDS);
         if (!scheduleReconnectJob()) {
             connect();
         }
@@ -196,8 +208,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            synchronized (busJobLock) {
+                int generation = ++busJobGeneration;
+                busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), 0, TimeUnit.MILLISECONDS);
+            }
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             cancelReconnectJob(false);
@@ -221,8 +235,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
-        busJob = nullify(busJob, j -> j.cancel(true));
+        synchronized (busJobLock) {
+            busJob = nullify(busJob, j -> j.cancel(true));
+        }
+        readScheduler.clear();
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -249,11 +265,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
-        }
+        groupAddressListeners.post(destination,
+                listener -> () -> action.apply(listener, source, destination, asdu));
     }
 
     /**
@@ -268,37 +281,69 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
-    private void readNextQueuedDatapoint() {
-        if (!connectIfNotAutomatic()) {
-            return;
+    private void readNextQueuedDatapoint(int generation) {
+        long delay = readingPause;
+        try {
+            if (!connectIfNotAutomatic()) {
+                return;
+            }
+            KNXNetworkLink link = this.link;
+            if (link == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            readScheduler.expire(now);
+            ReadDatapoint datapoint = readScheduler.next(now);
+            if (datapoint != null) {
+                sendReadRequest(link, datapoint);
+                delay = readScheduler.getPauseMillis();
+            }
+        } finally {
+            scheduleNextRead(generation, delay);
         }
-        ProcessCommunicator processCommunicator = this.processCommunicator;
-        if (processCommunicator == null) {
-            return;
+    }
+
+    private void readPeriodicDatapoints() {
+        List<Datapoint> datapoints = periodicReads.advance();
+        if (!datapoints.isEmpty() && isConnected()) {
+            logger.trace("Queuing {} periodic reads", datapoints.size());
+            for (Datapoint datapoint : datapoints) {
+                readScheduler.enqueue(datapoint, ReadPriority.LOW);
+            }
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
+    }
+
+    private void scheduleNextRead(int generation, long delay) {
+        synchronized (busJobLock) {
+            // not rescheduled once the connection has been released or re-established
+            if (busJob != null && generation == busJobGeneration) {
+                busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), delay,
+                        TimeUnit.MILLISECONDS);
             }
         }
     }
 
+    /**
+     * Sends a Group Read Request telegram without waiting for the response. The response is received as any other
+     * Group Read Response telegram by the process listener.
+     */
+    private void sendReadRequest(KNXNetworkLink link, ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        datapoint.incrementRetries();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {}", address);
+            link.sendRequestWait(address, datapoint.getDatapoint().getPriority(),
+                    DataUnitBuilder.createLengthOptimizedAPDU(GROUP_READ, null));
+            readScheduler.onConfirmed();
+        } catch (KNXTimeoutException | KNXLinkClosedException e) {
+            logger.debug("Could not send read request for datapoint {}: {}", address, e.getMessage());
+            readScheduler.onSendFailed(datapoint);
+        }
+    }
+
     public void dispose() {
+        periodicReadJob = nullify(periodicReadJob, j -> j.cancel(true));
+        periodicReads.clear();
         cancelReconnectJob(true);
         disconnect(null);
     }
@@ -320,12 +365,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void indication(@Nullable FrameEvent e) {
-        // no-op
+        readScheduler.onBusTelegram(System.currentTimeMillis());
     }
 
     @Override
     public void confirmation(@Nullable FrameEvent e) {
-        // no-op
+        readScheduler.onBusTelegram(System.currentTimeMillis());
     }
 
     @Override
@@ -363,22 +408,32 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readDatapoint(datapoint, ReadPriority.NORMAL);
+    }
+
+    @Override
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readScheduler.enqueue(datapoint, priority);
+    }
+
+    @Override
+    public void schedulePeriodicRead(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds) {
+        periodicReads.schedule(listener, datapoint, intervalSeconds);
+    }
+
+    @Override
+    public void cancelPeriodicReads(GroupAddressListener listener) {
+        periodicReads.cancel(listener);
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        return groupAddressListeners.register(listener);
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        return groupAddressListeners.unregister(listener);
     }
 
     @Override
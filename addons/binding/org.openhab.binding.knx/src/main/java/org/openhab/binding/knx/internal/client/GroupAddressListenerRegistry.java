@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Keeps the registered {@link GroupAddressListener}s, indexed by the group addresses they listen to.
+ *
+ * Each listener gets its own {@link ListenerMailbox}, so the messages are delivered to every listener in order. Looking
+ * up the listeners of a group address does not lock: the index is replaced on each (rare) change of the registrations.
+ * Listeners which do not know their group addresses in advance are asked by
+ * {@link GroupAddressListener#listensTo(GroupAddress)} for each message.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupAddressListenerRegistry {
+
+    /**
+     * Maximum number of messages pending for a single listener
+     */
+    public static final int MAILBOX_CAPACITY = 256;
+
+    private final Executor executor;
+    private final int mailboxCapacity;
+
+    private final Map<GroupAddressListener, ListenerMailbox> mailboxes = new LinkedHashMap<>();
+    private volatile Map<GroupAddress, List<ListenerMailbox>> index = Collections.emptyMap();
+    private volatile List<ListenerMailbox> unindexed = Collections.emptyList();
+
+    public GroupAddressListenerRegistry(Executor executor) {
+        this(executor, MAILBOX_CAPACITY);
+    }
+
+    public GroupAddressListenerRegistry(Executor executor, int mailboxCapacity) {
+        this.executor = executor;
+        this.mailboxCapacity = mailboxCapacity;
+    }
+
+    /**
+     * Register the given listener, or update the group addresses of an already registered one.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        boolean added = !mailboxes.containsKey(listener);
+        if (added) {
+            mailboxes.put(listener, new ListenerMailbox(listener, executor, mailboxCapacity));
+        }
+        rebuildIndex();
+        return added;
+    }
+
+    /**
+     * Remove the given listener, discarding the messages not yet delivered to it.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was registered
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        ListenerMailbox mailbox = mailboxes.remove(listener);
+        if (mailbox == null) {
+            return false;
+        }
+        mailbox.close();
+        rebuildIndex();
+        return true;
+    }
+
+    private void rebuildIndex() {
+        Map<GroupAddress, List<ListenerMailbox>> index = new HashMap<>();
+        List<ListenerMailbox> unindexed = new ArrayList<>();
+        for (ListenerMailbox mailbox : mailboxes.values()) {
+            Set<GroupAddress> addresses = mailbox.getListener().getGroupAddresses();
+            if (addresses == null) {
+                unindexed.add(mailbox);
+            } else {
+                for (GroupAddress address : addresses) {
+                    index.computeIfAbsent(address, a -> new ArrayList<>(1)).add(mailbox);
+                }
+            }
+        }
+        this.index = index;
+        this.unindexed = unindexed;
+    }
+
+    /**
+     * Post a message to all listeners of the given group address.
+     *
+     * @param destination the group address
+     * @param message creates the message for the given listener
+     * @return the number of listeners the message was posted to
+     */
+    public int post(GroupAddress destination, MessageFactory message) {
+        int count = 0;
+        List<ListenerMailbox> listeners = index.get(destination);
+        if (listeners != null) {
+            for (ListenerMailbox mailbox : listeners) {
+                mailbox.post(message.create(mailbox.getListener()));
+                count++;
+            }
+        }
+        for (ListenerMailbox mailbox : unindexed) {
+            if (mailbox.getListener().listensTo(destination)) {
+                mailbox.post(message.create(mailbox.getListener()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int size() {
+        return mailboxes.size();
+    }
+
+    /**
+     * Creates the message delivered to a single listener
+     */
+    @FunctionalInterface
+    public interface MessageFactory {
+        Runnable create(GroupAddressListener listener);
+    }
+
+}
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.client.ReadPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Keeps track of the group read requests to be sent to the KNX bus.
+ *
+ * Read requests are queued per {@link ReadPriority} and de-duplicated by group address. Queuing a group address which
+ * is already queued with a lower priority moves it to the higher priority.
+ *
+ * Several read requests can be outstanding at the same time, i.e. sent but not yet answered. Outstanding requests
+ * which are not answered within the response timeout are retried until the retries limit is reached.
+ *
+ * The pause between two read requests is adapted to the bus: it is increased when requests fail or the bus load exceeds
+ * {@link #BUS_LOAD_THRESHOLD}, and decreased again while the sent requests are confirmed and the observed bus load is
+ * low. It never gets below the configured reading pause.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupReadScheduler {
+
+    /**
+     * Maximum number of read requests waiting for a response at the same time
+     */
+    public static final int MAX_OUTSTANDING_READS = 8;
+
+    /**
+     * Bus load (telegrams per second), above which the pause between read requests is increased. A twisted pair bus
+     * can transport roughly 50 telegrams per second.
+     */
+    public static final int BUS_LOAD_THRESHOLD = 30;
+
+    /**
+     * Maximum pause between read requests, as multiple of the configured reading pause
+     */
+    public static final int MAX_PAUSE_FACTOR = 10;
+
+    private static final long BUS_LOAD_WINDOW_MILLIS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupReadScheduler.class);
+
+    private static class QueuedRead {
+        private final ReadDatapoint datapoint;
+        private final ReadPriority priority;
+
+        public QueuedRead(ReadDatapoint datapoint, ReadPriority priority) {
+            this.datapoint = datapoint;
+            this.priority = priority;
+        }
+    }
+
+    private static class OutstandingRead {
+        private final QueuedRead read;
+        private final long sentMillis;
+
+        public OutstandingRead(QueuedRead read, long sentMillis) {
+            this.read = read;
+            this.sentMillis = sentMillis;
+        }
+    }
+
+    private final int readRetriesLimit;
+    private final long readingPause;
+    private final long maxPause;
+    private final long responseTimeoutMillis;
+
+    private final Map<ReadPriority, ArrayDeque<QueuedRead>> queues = new EnumMap<>(ReadPriority.class);
+    /**
+     * The currently valid queue entry of each queued group address. Entries in the queues which are not found here
+     * have been moved to a higher priority and are skipped.
+     */
+    private final Map<GroupAddress, QueuedRead> queued = new HashMap<>();
+    private final Map<GroupAddress, OutstandingRead> outstanding = new HashMap<>();
+
+    private long pauseMillis;
+    private long busLoadWindowStart;
+    private int busLoadWindowTelegrams;
+    private int busLoad;
+
+    /**
+     * @param readRetriesLimit how many times a group address is read before giving up
+     * @param readingPause minimum pause between read requests, in milliseconds
+     * @param responseTimeoutMillis time to wait for a response to a read request, in milliseconds
+     */
+    public GroupReadScheduler(int readRetriesLimit, long readingPause, long responseTimeoutMillis) {
+        this.readRetriesLimit = readRetriesLimit;
+        this.readingPause = readingPause;
+        this.maxPause = Math.max(1, readingPause) * MAX_PAUSE_FACTOR;
+        this.responseTimeoutMillis = responseTimeoutMillis;
+        this.pauseMillis = readingPause;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queue the given data point for reading.
+     *
+     * @param datapoint the data point to read
+     * @param priority the priority of the read request
+     * @return {@code true} if the data point was queued or moved to the given priority, {@code false} if it is
+     *         already queued with the same or higher priority, or waiting for a response
+     */
+    public synchronized boolean enqueue(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress address = datapoint.getMainAddress();
+        if (outstanding.containsKey(address)) {
+            return false;
+        }
+        QueuedRead existing = queued.get(address);
+        if (existing != null && existing.priority.compareTo(priority) <= 0) {
+            return false;
+        }
+        add(new QueuedRead(existing == null ? new ReadDatapoint(datapoint, readRetriesLimit) : existing.datapoint,
+                priority));
+        return true;
+    }
+
+    private void add(QueuedRead read) {
+        queued.put(read.datapoint.getDatapoint().getMainAddress(), read);
+        queues.get(read.priority).add(read);
+    }
+
+    /**
+     * Take the next data point to be read. The data point is considered outstanding until a response is received or
+     * the response timeout expires.
+     *
+     * @param now current time in milliseconds
+     * @return the data point with the highest priority, or {@code null} if there is nothing to read or too many reads
+     *         are outstanding
+     */
+    public synchronized @Nullable ReadDatapoint next(long now) {
+        if (outstanding.size() >= MAX_OUTSTANDING_READS) {
+            return null;
+        }
+        for (ArrayDeque<QueuedRead> queue : queues.values()) {
+            QueuedRead read;
+            while ((read = queue.poll()) != null) {
+                GroupAddress address = read.datapoint.getDatapoint().getMainAddress();
+                if (queued.get(address) != read) {
+                    // moved to a higher priority
+                    continue;
+                }
+                queued.remove(address);
+                outstanding.put(address, new OutstandingRead(read, now));
+                return read.datapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Notify that a value has been received for the given group address, answering an outstanding read request.
+     *
+     * @param address the group address
+     */
+    public synchronized void onResponse(GroupAddress address) {
+        outstanding.remove(address);
+    }
+
+    /**
+     * Notify that a read request was confirmed by the bus.
+     */
+    public synchronized void onConfirmed() {
+        if (busLoad < BUS_LOAD_THRESHOLD) {
+            pauseMillis = Math.max(readingPause, pauseMillis * 3 / 4);
+        }
+    }
+
+    /**
+     * Notify that the read request for the given data point could not be sent. It is retried unless the retries limit
+     * has been reached.
+     */
+    public synchronized void onSendFailed(ReadDatapoint datapoint) {
+        OutstandingRead read = outstanding.remove(datapoint.getDatapoint().getMainAddress());
+        increasePause();
+        if (read != null) {
+            retry(read.read);
+        }
+    }
+
+    /**
+     * Retry the outstanding read requests which have not been answered within the response timeout.
+     *
+     * @param now current time in milliseconds
+     */
+    public synchronized void expire(long now) {
+        Iterator<OutstandingRead> iterator = outstanding.values().iterator();
+        while (iterator.hasNext()) {
+            OutstandingRead read = iterator.next();
+            if (now - read.sentMillis >= responseTimeoutMillis) {
+                iterator.remove();
+                retry(read.read);
+            }
+        }
+    }
+
+    private void retry(QueuedRead read) {
+        ReadDatapoint datapoint = read.datapoint;
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (queued.containsKey(address)) {
+            // queued again in the meantime
+            return;
+        }
+        if (datapoint.getRetries() < datapoint.getLimit()) {
+            logger.debug("Could not read value for datapoint {}. Going to retry.", address);
+            add(read);
+        } else {
+            logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.", address,
+                    datapoint.getLimit());
+        }
+    }
+
+    /**
+     * Notify that a telegram has been observed on the bus.
+     *
+     * @param now current time in milliseconds
+     */
+    public synchronized void onBusTelegram(long now) {
+        long elapsed = now - busLoadWindowStart;
+        if (elapsed >= BUS_LOAD_WINDOW_MILLIS) {
+            busLoad = (int) (busLoadWindowTelegrams * 1000 / elapsed);
+            busLoadWindowStart = now;
+            busLoadWindowTelegrams = 0;
+            if (busLoad >= BUS_LOAD_THRESHOLD) {
+                increasePause();
+            }
+        }
+        busLoadWindowTelegrams++;
+    }
+
+    private void increasePause() {
+        pauseMillis = Math.min(maxPause, Math.max(Math.max(1, readingPause), pauseMillis * 2));
+    }
+
+    /**
+     * @return the pause to wait before sending the next read request, in milliseconds
+     */
+    public synchronized long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    /**
+     * @return the bus load measured during the last full measurement window, in telegrams per second
+     */
+    public synchronized int getBusLoad() {
+        return busLoad;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queued.size();
+    }
+
+    public synchronized int getOutstandingCount() {
+        return outstanding.size();
+    }
+
+    /**
+     * Forget all queued and outstanding read requests.
+     */
+    public synchronized void clear() {
+        for (ArrayDeque<QueuedRead> queue : queues.values()) {
+            queue.clear();
+        }
+        queued.clear();
+        outstanding.clear();
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the bus messages to a single {@link GroupAddressListener}, one at a time and in the order they were
+ * received.
+ *
+ * At most one drain task per listener is submitted to the executor, no matter how many messages are pending. The
+ * number of pending messages is bounded: if the listener does not keep up, the oldest messages are dropped.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ListenerMailbox {
+
+    /**
+     * Maximum number of messages processed by one drain task before giving other tasks a chance to run
+     */
+    static final int DRAIN_BATCH_SIZE = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(ListenerMailbox.class);
+
+    private final GroupAddressListener listener;
+    private final Executor executor;
+    private final int capacity;
+
+    private final ArrayDeque<Runnable> messages = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+    private long dropped;
+
+    /**
+     * @param listener the listener the messages are delivered to
+     * @param executor the executor running the deliveries
+     * @param capacity maximum number of pending messages
+     */
+    public ListenerMailbox(GroupAddressListener listener, Executor executor, int capacity) {
+        this.listener = listener;
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    public GroupAddressListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Queue the given message for delivery.
+     *
+     * @param message the message, calling the listener
+     */
+    public void post(Runnable message) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (messages.size() >= capacity) {
+                messages.poll();
+                if (dropped++ == 0) {
+                    logger.warn("Listener {} does not keep up with the KNX bus traffic, dropping the oldest messages",
+                            listener);
+                }
+            }
+            messages.add(message);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        submit();
+    }
+
+    private void submit() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Could not deliver the messages to listener {}", listener, e);
+            synchronized (this) {
+                draining = false;
+                messages.clear();
+            }
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+            Runnable message;
+            synchronized (this) {
+                message = messages.poll();
+                if (message == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                message.run();
+            } catch (RuntimeException e) {
+                logger.warn("Listener {} failed to process a KNX bus message", listener, e);
+            }
+        }
+        // more messages are pending, continue in a new task
+        submit();
+    }
+
+    /**
+     * Discard the pending messages and do not accept new ones.
+     */
+    public synchronized void close() {
+        closed = true;
+        messages.clear();
+    }
+
+    public synchronized int getPendingCount() {
+        return messages.size();
+    }
+
+    /**
+     * @return the number of messages dropped because the mailbox was full
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+}
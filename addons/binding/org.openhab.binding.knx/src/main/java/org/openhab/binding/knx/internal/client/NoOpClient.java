@@ -13,6 +13,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.client.DeviceInfoClient;
 import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.handler.GroupAddressListener;
 
 import tuwien.auto.calimero.IndividualAddress;
@@ -61,6 +62,18 @@ public class NoOpClient implements KNXClient {
     public void readDatapoint(Datapoint datapoint) {
     }
 
+    @Override
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+    }
+
+    @Override
+    public void schedulePeriodicRead(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds) {
+    }
+
+    @Override
+    public void cancelPeriodicReads(GroupAddressListener listener) {
+    }
+
     @Override
     public void writeToKNX(OutboundSpec commandSpec) throws KNXException {
     }
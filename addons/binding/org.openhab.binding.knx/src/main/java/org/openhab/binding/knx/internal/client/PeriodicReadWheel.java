@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Hashed timer wheel keeping track of the group addresses to be read periodically.
+ *
+ * The wheel is advanced by one tick at a time and returns the data points due in that tick. Each group address is read
+ * only once per interval, no matter how many owners asked for it; if the owners ask for different intervals, the
+ * shortest one is used.
+ *
+ * The reads of the same interval are spread over the interval: each group address is placed in the phase of its
+ * interval with the fewest reads, so the reads are not sent to the bus in bursts.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class PeriodicReadWheel {
+
+    /**
+     * Number of slots of the wheel. Intervals longer than this wrap around the wheel.
+     */
+    static final int WHEEL_SIZE = 512;
+
+    private static class Entry {
+        private final Datapoint datapoint;
+        private final Map<Object, Integer> owners = new HashMap<>();
+        private int interval;
+        private int phase;
+        private long dueTick;
+
+        public Entry(Datapoint datapoint) {
+            this.datapoint = datapoint;
+        }
+    }
+
+    private final List<List<Entry>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Map<GroupAddress, Entry> entries = new HashMap<>();
+    private final Map<Object, Set<GroupAddress>> ownerAddresses = new HashMap<>();
+    /**
+     * Number of entries per phase, per interval
+     */
+    private final Map<Integer, int[]> phaseLoad = new HashMap<>();
+
+    private long tick;
+
+    public PeriodicReadWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>(0));
+        }
+    }
+
+    /**
+     * Read the given data point periodically on behalf of the given owner.
+     *
+     * @param owner the owner of the periodic read
+     * @param datapoint the data point to read
+     * @param interval the interval in ticks
+     */
+    public synchronized void schedule(Object owner, Datapoint datapoint, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The interval must be positive");
+        }
+        GroupAddress address = datapoint.getMainAddress();
+        Entry entry = entries.get(address);
+        if (entry == null) {
+            entry = new Entry(datapoint);
+            entries.put(address, entry);
+        }
+        entry.owners.put(owner, interval);
+        ownerAddresses.computeIfAbsent(owner, o -> new HashSet<>()).add(address);
+        update(entry);
+    }
+
+    /**
+     * Stop all periodic reads of the given owner.
+     *
+     * @param owner the owner of the periodic reads
+     */
+    public synchronized void cancel(Object owner) {
+        Set<GroupAddress> addresses = ownerAddresses.remove(owner);
+        if (addresses == null) {
+            return;
+        }
+        for (GroupAddress address : addresses) {
+            Entry entry = entries.get(address);
+            if (entry == null) {
+                continue;
+            }
+            entry.owners.remove(owner);
+            if (entry.owners.isEmpty()) {
+                entries.remove(address);
+                remove(entry);
+            } else {
+                update(entry);
+            }
+        }
+    }
+
+    private void update(Entry entry) {
+        int interval = Collections.min(entry.owners.values());
+        if (interval == entry.interval) {
+            return;
+        }
+        if (entry.interval > 0) {
+            remove(entry);
+        }
+        entry.interval = interval;
+        int[] load = phaseLoad.computeIfAbsent(interval, i -> new int[i]);
+        // the least loaded phase, preferring the ones due first
+        long first = tick + 1;
+        int phase = (int) (first % interval);
+        for (int i = 1; i < interval; i++) {
+            int candidate = (int) ((first + i) % interval);
+            if (load[candidate] < load[phase]) {
+                phase = candidate;
+            }
+        }
+        load[phase]++;
+        entry.phase = phase;
+        entry.dueTick = first + Math.floorMod(phase - first, interval);
+        add(entry);
+    }
+
+    private void add(Entry entry) {
+        wheel.get((int) (entry.dueTick % WHEEL_SIZE)).add(entry);
+    }
+
+    private void remove(Entry entry) {
+        wheel.get((int) (entry.dueTick % WHEEL_SIZE)).remove(entry);
+        int[] load = phaseLoad.get(entry.interval);
+        if (load != null && --load[entry.phase] == 0 && isUnused(load)) {
+            phaseLoad.remove(entry.interval);
+        }
+        entry.interval = 0;
+    }
+
+    private static boolean isUnused(int[] load) {
+        for (int count : load) {
+            if (count > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Advance the wheel by one tick.
+     *
+     * @return the data points to be read in the new tick
+     */
+    public synchronized List<Datapoint> advance() {
+        tick++;
+        List<Entry> slot = wheel.get((int) (tick % WHEEL_SIZE));
+        if (slot.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Datapoint> due = new ArrayList<>();
+        List<Entry> rescheduled = new ArrayList<>();
+        slot.removeIf(entry -> {
+            if (entry.dueTick != tick) {
+                // due in a later round of the wheel
+                return false;
+            }
+            due.add(entry.datapoint);
+            rescheduled.add(entry);
+            return true;
+        });
+        for (Entry entry : rescheduled) {
+            entry.dueTick += entry.interval;
+            add(entry);
+        }
+        return due;
+    }
+
+    /**
+     * @return the number of group addresses read periodically
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stop all periodic reads.
+     */
+    public synchronized void clear() {
+        for (List<Entry> slot : wheel) {
+            slot.clear();
+        }
+        entries.clear();
+        ownerAddresses.clear();
+        phaseLoad.clear();
+    }
+
+}
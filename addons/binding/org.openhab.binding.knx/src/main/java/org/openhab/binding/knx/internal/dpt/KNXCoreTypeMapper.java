@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -103,6 +104,31 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** caches the resolved information of each datapoint type id seen so far */
+    private final Map<String, DPTInfo> dptInfoCache = new ConcurrentHashMap<>();
+
+    private static final DecimalType DECIMAL_ZERO = new DecimalType(0);
+    private static final DecimalType DECIMAL_ONE = new DecimalType(1);
+
+    /**
+     * Information about a datapoint type, resolved once per datapoint type id.
+     *
+     * Translators are stateful and hence not cached, but the datapoint type they resolve is.
+     */
+    private static class DPTInfo {
+        private final DPT dpt;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+
+        public DPTInfo(DPT dpt, int mainNumber, int subNumber, Class<? extends Type> typeClass) {
+            this.dpt = dpt;
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+        }
+    }
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -570,24 +596,26 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public String toDPTValue(Type type, String dptID) {
 
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
-        if (mainNumber == -1) {
-            logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
-            return null;
-        }
-        int subNumber = getSubNumber(dptID);
-        if (subNumber == -1) {
-            logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
-            return null;
-        }
-
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
-            return null;
+        DPTInfo dptInfo = dptInfoCache.get(dptID);
+        if (dptInfo == null) {
+            int mainNumber = getMainNumber(dptID);
+            if (mainNumber == -1) {
+                logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
+                return null;
+            }
+            int subNumber = getSubNumber(dptID);
+            if (subNumber == -1) {
+                logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
+                return null;
+            }
+            dptInfo = resolveDPTInfo(mainNumber, dptID);
+            if (dptInfo == null) {
+                return null;
+            }
         }
+        DPT dpt = dptInfo.dpt;
+        int mainNumber = dptInfo.mainNumber;
+        int subNumber = dptInfo.subNumber;
 
         try {
             // check for HSBType first, because it extends PercentType as well
@@ -662,6 +690,18 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        Type type = toTypeDirectly(datapoint, data);
+        return type != null ? type : toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Converts the data using the Calimero translator of the datapoint type.
+     *
+     * @param datapoint the datapoint
+     * @param data the ASDU
+     * @return the type, or {@code null} if the data could not be converted
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -849,6 +889,121 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    /**
+     * Resolves the datapoint type of the given id and caches it.
+     *
+     * @param mainNumber main number of the datapoint type, or 0 to derive it from the id
+     * @param dptID the datapoint type id
+     * @return the datapoint type information or {@code null} if no translator is available for the id
+     */
+    private DPTInfo resolveDPTInfo(int mainNumber, String dptID) {
+        DPT dpt;
+        try {
+            dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+        } catch (KNXException e) {
+            return null;
+        }
+        String id = dpt.getID();
+        DPTInfo dptInfo = new DPTInfo(dpt, getMainNumber(id), getSubNumber(id), toTypeClass(id));
+        dptInfoCache.put(dptID, dptInfo);
+        return dptInfo;
+    }
+
+    /**
+     * Converts the data of the most common datapoint types (1.x, 5.x, 9.x and 14.x) straight from the ASDU, without
+     * creating a translator and without formatting the value as string. The results are identical to the ones of the
+     * translators.
+     *
+     * @param datapoint the datapoint
+     * @param data the ASDU
+     * @return the type, or {@code null} if the data has to be converted by a translator
+     */
+    Type toTypeDirectly(Datapoint datapoint, byte[] data) {
+        String dptID = datapoint.getDPT();
+        if (dptID == null) {
+            return null;
+        }
+        DPTInfo dptInfo = dptInfoCache.get(dptID);
+        if (dptInfo == null) {
+            if (!dptID.startsWith("1.") && !dptID.startsWith("5.") && !dptID.startsWith("9.")
+                    && !dptID.startsWith("14.")) {
+                return null;
+            }
+            dptInfo = resolveDPTInfo(datapoint.getMainNumber(), dptID);
+            if (dptInfo == null) {
+                return null;
+            }
+        }
+        if (datapoint.getMainNumber() != 0 && datapoint.getMainNumber() != dptInfo.mainNumber) {
+            return null;
+        }
+
+        double value;
+        switch (dptInfo.mainNumber) {
+            case 1:
+                if (data.length != 1) {
+                    return null;
+                }
+                boolean bit = (data[0] & 0x01) != 0;
+                switch (dptInfo.subNumber) {
+                    case 8:
+                        return bit ? UpDownType.DOWN : UpDownType.UP;
+                    case 9:
+                    case 19:
+                        return bit ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 10:
+                        return bit ? StopMoveType.MOVE : StopMoveType.STOP;
+                    case 22:
+                        return bit ? DECIMAL_ONE : DECIMAL_ZERO;
+                    default:
+                        return bit ? OnOffType.ON : OnOffType.OFF;
+                }
+            case 5:
+                if (data.length != 1) {
+                    return null;
+                }
+                int unsigned = data[0] & 0xff;
+                if (dptInfo.dpt.equals(DPTXlator8BitUnsigned.DPT_SCALING)) {
+                    value = unsigned * 100.0 / 255.0;
+                } else if (dptInfo.dpt.equals(DPTXlator8BitUnsigned.DPT_ANGLE)) {
+                    value = unsigned * 360.0 / 255.0;
+                } else {
+                    value = unsigned;
+                }
+                break;
+            case 9:
+                if (data.length != 2) {
+                    return null;
+                }
+                // 2-octet float: sign bit, 4 bit exponent, 11 bit mantissa (two's complement with the sign bit)
+                int mantissa = ((data[0] & 0x80) << 24 | (data[0] & 0x07) << 28 | (data[1] & 0xff) << 20) >> 20;
+                int exponent = (data[0] & 0x78) >> 3;
+                value = ((1 << exponent) * mantissa) * 0.01;
+                break;
+            case 14:
+                if (data.length != 4) {
+                    return null;
+                }
+                float f = Float.intBitsToFloat((data[0] & 0xff) << 24 | (data[1] & 0xff) << 16
+                        | (data[2] & 0xff) << 8 | (data[3] & 0xff));
+                if (Float.isNaN(f) || Float.isInfinite(f)) {
+                    return null;
+                }
+                value = f;
+                break;
+            default:
+                return null;
+        }
+
+        if (dptInfo.typeClass == PercentType.class) {
+            return new PercentType(BigDecimal.valueOf(Math.round(value)));
+        }
+        if (dptInfo.typeClass == DecimalType.class) {
+            return new DecimalType(value);
+        }
+        return null;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Test class for {@link FileTailerService} class, using a {@link SharedFileTailer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class FileTailerServiceTest {
+
+    private static final long REFRESH_RATE = 50;
+    private static final long TIMEOUT = 5000;
+    private static final String ROTATED = "<rotated>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private final FileReaderListener listener = new FileReaderListener() {
+        @Override
+        public void fileNotFound() {
+            // A renamed file may be missing until it is created again
+        }
+
+        @Override
+        public void fileRotated() {
+            events.add(ROTATED);
+        }
+
+        @Override
+        public void handle(String line) {
+            events.add(line);
+        }
+
+        @Override
+        public void handle(Exception ex) {
+            events.add("<exception " + ex + ">");
+        }
+    };
+
+    private FileTailerService service;
+    private SharedFileTailer tailer;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException, FileReaderException, InterruptedException {
+        file = folder.newFile("test.log").toPath();
+        write("existing line\n");
+
+        service = new FileTailerService();
+        tailer = new SharedFileTailer(service);
+        tailer.registerListener(listener);
+        tailer.start(file.toString(), REFRESH_RATE, null);
+        awaitTailing();
+    }
+
+    @After
+    public void tearDown() {
+        tailer.stop();
+    }
+
+    @Test
+    public void testAppendedLines() throws IOException, InterruptedException {
+        write("first\nsecond\r\n");
+        assertNextEvent("first");
+        assertNextEvent("second");
+
+        write("third\n");
+        assertNextEvent("third");
+        assertNoEvent();
+    }
+
+    @Test
+    public void testPartialLastLine() throws IOException, InterruptedException {
+        write("complete\npar");
+        assertNextEvent("complete");
+        assertNoEvent();
+
+        write("tial\n");
+        assertNextEvent("partial");
+        assertNoEvent();
+    }
+
+    @Test
+    public void testLongLine() throws IOException, InterruptedException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            line.append((char) ('a' + i % 26));
+        }
+        write(line + "\n");
+        assertNextEvent(line.toString());
+    }
+
+    @Test
+    public void testTruncation() throws IOException, InterruptedException {
+        write("before\n");
+        assertNextEvent("before");
+
+        Files.write(file, new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+        assertNextEvent(ROTATED);
+
+        // Read from the start of the truncated file
+        write("after\n");
+        assertNextEvent("after");
+        assertNoEvent();
+    }
+
+    @Test
+    public void testRenameRotation() throws IOException, InterruptedException {
+        write("last\n");
+        Files.move(file, file.resolveSibling("test.log.1"));
+        Files.write(file, "first\n".getBytes(StandardCharsets.UTF_8));
+
+        // The remaining lines of the rotated file are read before the rotation is reported
+        assertNextEvent("last");
+        assertNextEvent(ROTATED);
+        assertNextEvent("first");
+
+        write("second\n");
+        assertNextEvent("second");
+        assertNoEvent();
+    }
+
+    @Test
+    public void testStopped() throws IOException, InterruptedException {
+        tailer.stop();
+        write("ignored\n");
+        assertNoEvent();
+    }
+
+    /**
+     * Waits until the file is opened, so that the lines written afterwards are read.
+     */
+    private void awaitTailing() throws IOException, InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (!"sync".equals(events.poll(REFRESH_RATE, TimeUnit.MILLISECONDS))) {
+            assertTrue("File has not been opened", System.currentTimeMillis() < end);
+            write("sync\n");
+        }
+        // Read the sync lines written after the first one has been read
+        write("done\n");
+        String event;
+        do {
+            event = events.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(event);
+        } while (!"done".equals(event));
+    }
+
+    private void write(String data) throws IOException {
+        Files.write(file, data.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private void assertNextEvent(String expected) throws InterruptedException {
+        assertEquals(expected, events.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    private void assertNoEvent() throws InterruptedException {
+        assertNull(events.poll(5 * REFRESH_RATE, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link MultiPatternMatcher} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcherTest {
+
+    private static final String[] ATOMS = new String[] { "a", "b", "c", "A", "1", " ", ".", "\\.", "[ab]", "[^c]",
+            "\\d", "\\s", "\\w", "(ab)", "(?:a|bc)", "(a+)", "(?=b)", "\\b" };
+
+    private static final String[] QUANTIFIERS = new String[] { "", "", "", "?", "*", "+", "{2}", "{0,2}", "+?",
+            "*?" };
+
+    private static final String DATA_CHARACTERS = "abcA1 .x";
+
+    @Test
+    public void testRequiredLiteral() {
+        assertEquals("ERROR", MultiPatternMatcher.requiredLiteral("ERROR"));
+        assertEquals("ERROR", MultiPatternMatcher.requiredLiteral("ERROR+"));
+        assertEquals("ERROR", MultiPatternMatcher.requiredLiteral(".*ERROR.*"));
+        assertEquals(" Exception in", MultiPatternMatcher.requiredLiteral("^\\d+ Exception in"));
+        assertEquals("a.b", MultiPatternMatcher.requiredLiteral("a\\.b"));
+    }
+
+    @Test
+    public void testRequiredLiteralOptionalCharacter() {
+        assertEquals("a", MultiPatternMatcher.requiredLiteral("ab?c"));
+        assertEquals("abc", MultiPatternMatcher.requiredLiteral("abcd*e"));
+        assertEquals("bc", MultiPatternMatcher.requiredLiteral("ab{0,2}bc"));
+    }
+
+    @Test
+    public void testRequiredLiteralNotDetermined() {
+        assertNull(MultiPatternMatcher.requiredLiteral("(?i)x"));
+        assertNull(MultiPatternMatcher.requiredLiteral("a(?i)bcd"));
+        assertNull(MultiPatternMatcher.requiredLiteral("\\Qa.b\\E"));
+        assertNull(MultiPatternMatcher.requiredLiteral("error|warn"));
+        assertNull(MultiPatternMatcher.requiredLiteral("(error)|warn"));
+        assertNull(MultiPatternMatcher.requiredLiteral("\\x41BC"));
+    }
+
+    @Test
+    public void testRequiredLiteralInGroups() {
+        assertNull(MultiPatternMatcher.requiredLiteral("(error)"));
+        assertEquals("end", MultiPatternMatcher.requiredLiteral("(a|b)end"));
+        assertEquals("ab", MultiPatternMatcher.requiredLiteral("x[ab]ab"));
+    }
+
+    @Test
+    public void testFind() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(
+                compile("ERROR", "(?i)warn", "Exception\\s+in", "^\\d{4}-", "a|b"));
+        assertTrue(matcher.find("2018-01-01 foo"));
+        assertTrue(matcher.find("an ERROR occurred"));
+        assertTrue(matcher.find("WARNING"));
+        assertTrue(matcher.find("Exception   in thread"));
+        assertTrue(matcher.find("xbx"));
+        assertFalse(matcher.find("Exception thrown"));
+        assertFalse(matcher.find("Error 18"));
+        assertFalse(matcher.find(""));
+    }
+
+    @Test
+    public void testFindWithoutPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(new ArrayList<>());
+        assertFalse(matcher.find("ERROR"));
+        assertFalse(matcher.find(""));
+    }
+
+    @Test
+    public void testFindWithBackReferences() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(compile("(a)\\1", "(b)\\1", "(?<x>c)\\k<x>"));
+        assertTrue(matcher.find("xaa"));
+        assertTrue(matcher.find("xbb"));
+        assertTrue(matcher.find("xcc"));
+        assertFalse(matcher.find("abc"));
+    }
+
+    /**
+     * Compares the results with the sequential evaluation of the patterns, which was used before.
+     */
+    @Test
+    public void testFindEquivalentToSequentialFind() {
+        Random random = new Random(1);
+        for (int run = 0; run < 2000; run++) {
+            List<Pattern> patterns = new ArrayList<>();
+            int patternCount = 1 + random.nextInt(5);
+            for (int i = 0; i < patternCount; i++) {
+                patterns.add(Pattern.compile(randomRegex(random)));
+            }
+            MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+
+            for (int i = 0; i < 50; i++) {
+                String data = randomData(random);
+                assertEquals(String.format("Patterns %s, data '%s'", patterns, data), sequentialFind(patterns, data),
+                        matcher.find(data));
+            }
+        }
+    }
+
+    private static boolean sequentialFind(List<Pattern> patterns, String data) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String randomRegex(Random random) {
+        StringBuilder regex = new StringBuilder();
+        if (random.nextInt(10) == 0) {
+            regex.append("(?i)");
+        }
+        if (random.nextInt(8) == 0) {
+            regex.append('^');
+        }
+        int atomCount = 1 + random.nextInt(6);
+        for (int i = 0; i < atomCount; i++) {
+            String atom = ATOMS[random.nextInt(ATOMS.length)];
+            regex.append(atom);
+            if (!atom.startsWith("(?=") && !atom.equals("\\b")) {
+                regex.append(QUANTIFIERS[random.nextInt(QUANTIFIERS.length)]);
+            }
+            if (random.nextInt(20) == 0) {
+                regex.append('|');
+            }
+        }
+        if (random.nextInt(8) == 0) {
+            regex.append('$');
+        }
+        return regex.toString();
+    }
+
+    private static String randomData(Random random) {
+        int length = random.nextInt(20);
+        StringBuilder data = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            data.append(DATA_CHARACTERS.charAt(random.nextInt(DATA_CHARACTERS.length())));
+        }
+        return data.toString();
+    }
+
+    private static List<Pattern> compile(String... regexes) {
+        List<Pattern> patterns = new ArrayList<>();
+        Arrays.stream(regexes).forEach(regex -> patterns.add(Pattern.compile(regex)));
+        return patterns;
+    }
+}
@@ -22,7 +22,8 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
-import org.openhab.binding.logreader.internal.filereader.FileTailer;
+import org.openhab.binding.logreader.internal.filereader.FileTailerService;
+import org.openhab.binding.logreader.internal.filereader.SharedFileTailer;
 import org.openhab.binding.logreader.internal.handler.LogHandler;
 import org.osgi.service.component.annotations.Component;
 
@@ -39,6 +40,9 @@ public class LogReaderHandlerFactory extends BaseThingHandlerFactory {
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections
             .unmodifiableSet(Stream.of(THING_READER).collect(Collectors.toSet()));
 
+    // All readers are tailed by the same thread
+    private final FileTailerService tailerService = new FileTailerService();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -49,7 +53,7 @@ public class LogReaderHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_READER)) {
-            return new LogHandler(thing, new FileTailer());
+            return new LogHandler(thing, new SharedFileTailer(tailerService));
         }
 
         return null;
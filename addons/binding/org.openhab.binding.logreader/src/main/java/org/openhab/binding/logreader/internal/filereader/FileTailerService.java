@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tails any number of log files with a single thread.
+ *
+ * The directories of the files are watched with a {@link WatchService}, so new lines are usually read as soon as they
+ * are written. As some file systems do not report modifications (e.g. network shares), each file is also checked
+ * after its refresh rate elapsed without modification events.
+ *
+ * Like the Apache Commons IO Tailer, reading starts at the end of the file, only complete lines are reported and a
+ * rotation is detected if the file is replaced or truncated. The remaining lines of a replaced file are read before
+ * the rotation is reported.
+ *
+ * The thread is started with the first registered file and stopped after the last file has been unregistered. The
+ * listeners are called from this thread, so they should not block.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(FileTailerService.class);
+    private final Charset charset = Charset.defaultCharset();
+    private final List<TailedFile> files = new CopyOnWriteArrayList<>();
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    private volatile @Nullable WatchService watchService;
+    private @Nullable Thread thread;
+
+    /**
+     * The state of one tailed file. Only accessed by the tailer thread after the registration.
+     */
+    private static class TailedFile {
+        final Path path;
+        final long refreshRate;
+        final AbstractLogFileReader reader;
+        @Nullable
+        FileChannel channel;
+        @Nullable
+        Object fileKey;
+        long position;
+        // Read from the end of the file at the first opening, from the start after a rotation
+        boolean startAtEnd = true;
+        boolean modified;
+        long lastCheck;
+        // The bytes of the incomplete last line
+        byte[] line = new byte[256];
+        int lineLength;
+
+        TailedFile(Path path, long refreshRate, AbstractLogFileReader reader) {
+            this.path = path;
+            this.refreshRate = refreshRate;
+            this.reader = reader;
+        }
+    }
+
+    /**
+     * Starts tailing a file.
+     *
+     * @param path the file to tail
+     * @param refreshRate the time in milliseconds after which the file is checked for new lines, if no modification
+     *            has been reported
+     * @param reader the reader, which will be notified about new lines, rotations and errors
+     * @throws IOException if the directory of the file cannot be watched
+     */
+    public synchronized void register(Path path, long refreshRate, AbstractLogFileReader reader) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        WatchService watchService = this.watchService;
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            this.watchService = watchService;
+        }
+        Path directory = absolutePath.getParent();
+        if (directory != null && !watchedDirectories.containsKey(directory)) {
+            try {
+                watchedDirectories.put(directory, directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY));
+            } catch (NoSuchFileException e) {
+                // The periodic check will report the missing file
+                logger.debug("Directory {} does not exist, cannot watch it", directory);
+            }
+        }
+        // The new file is checked at the latest after the shortest refresh rate of the other files
+        files.add(new TailedFile(absolutePath, Math.max(refreshRate, 1), reader));
+
+        if (thread == null) {
+            final WatchService service = watchService;
+            Thread thread = new Thread(() -> run(service), "logreader-tailer");
+            thread.setDaemon(true);
+            this.thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops tailing for the given reader.
+     *
+     * @param reader the reader given at the registration
+     */
+    public synchronized void unregister(AbstractLogFileReader reader) {
+        for (TailedFile file : files) {
+            if (file.reader == reader) {
+                files.remove(file);
+                // The channel is closed by the tailer thread
+            }
+        }
+        watchedDirectories.entrySet().removeIf(entry -> {
+            boolean unused = files.stream().noneMatch(file -> entry.getKey().equals(file.path.getParent()));
+            if (unused) {
+                entry.getValue().cancel();
+            }
+            return unused;
+        });
+        if (files.isEmpty()) {
+            shutdown();
+        }
+    }
+
+    private void shutdown() {
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                // Ends the tailer thread
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close the watch service", e);
+            }
+        }
+        this.watchService = null;
+        this.thread = null;
+        watchedDirectories.clear();
+    }
+
+    private void run(WatchService watchService) {
+        logger.debug("Tailer thread started");
+        List<TailedFile> openFiles = new CopyOnWriteArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try {
+            while (this.watchService == watchService) {
+                long timeout = Long.MAX_VALUE;
+                long now = System.currentTimeMillis();
+                for (TailedFile file : files) {
+                    timeout = Math.min(timeout, Math.max(0, file.lastCheck + file.refreshRate - now));
+                }
+                WatchKey key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                while (key != null) {
+                    markModified(key);
+                    key.reset();
+                    key = watchService.poll();
+                }
+
+                now = System.currentTimeMillis();
+                for (TailedFile file : files) {
+                    if (this.watchService != watchService) {
+                        // Shut down, the files may already be tailed by a new thread
+                        break;
+                    }
+                    if (file.modified || file.lastCheck + file.refreshRate <= now) {
+                        file.modified = false;
+                        file.lastCheck = now;
+                        check(file, buffer);
+                        if (file.channel != null && !openFiles.contains(file)) {
+                            openFiles.add(file);
+                        }
+                    }
+                }
+                // Close the files of unregistered readers
+                for (TailedFile file : openFiles) {
+                    if (!files.contains(file)) {
+                        close(file);
+                        openFiles.remove(file);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Shutdown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (TailedFile file : openFiles) {
+                close(file);
+            }
+            logger.debug("Tailer thread stopped");
+        }
+    }
+
+    private void markModified(WatchKey key) {
+        Object watchable = key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                files.forEach(file -> file.modified = true);
+                return;
+            }
+            if (watchable instanceof Path && event.context() instanceof Path) {
+                Path modified = ((Path) watchable).resolve((Path) event.context());
+                for (TailedFile file : files) {
+                    if (file.path.equals(modified)) {
+                        file.modified = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the new lines of the file and detects rotations.
+     */
+    private void check(TailedFile file, ByteBuffer buffer) {
+        try {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file.path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                attributes = null;
+            }
+
+            FileChannel channel = file.channel;
+            if (channel == null) {
+                if (attributes == null) {
+                    file.reader.sendFileNotFoundToListeners();
+                    return;
+                }
+                channel = open(file, attributes);
+            }
+
+            // A rotation replaced the file with a new one or truncated it
+            boolean replaced = attributes == null || attributes.fileKey() == null
+                    || !Objects.equals(attributes.fileKey(), file.fileKey);
+            boolean truncated = !replaced && channel.size() < file.position;
+            if (replaced && attributes != null && attributes.fileKey() == null) {
+                // Without file keys (e.g. on Windows), a replaced file can only be detected by its size
+                replaced = attributes.size() < file.position;
+            }
+
+            if (!truncated) {
+                readLines(file, channel, buffer);
+            }
+            if (replaced || truncated) {
+                logger.debug("Log file {} rotated", file.path);
+                close(file);
+                file.startAtEnd = false;
+                file.lineLength = 0;
+                file.reader.sendFileRotationToListeners();
+                if (attributes != null) {
+                    readLines(file, open(file, attributes), buffer);
+                }
+            }
+        } catch (IOException e) {
+            close(file);
+            file.reader.sendExceptionToListeners(e);
+        }
+    }
+
+    private FileChannel open(TailedFile file, BasicFileAttributes attributes) throws IOException {
+        FileChannel channel = FileChannel.open(file.path, StandardOpenOption.READ);
+        file.channel = channel;
+        file.fileKey = attributes.fileKey();
+        file.position = file.startAtEnd ? channel.size() : 0;
+        file.startAtEnd = false;
+        file.lineLength = 0;
+        return channel;
+    }
+
+    private void close(TailedFile file) {
+        FileChannel channel = file.channel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+        file.channel = null;
+    }
+
+    private void readLines(TailedFile file, FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            int count = channel.read(buffer, file.position);
+            if (count <= 0) {
+                return;
+            }
+            file.position += count;
+
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < count; i++) {
+                if (bytes[i] == '\n') {
+                    if (file.lineLength == 0) {
+                        sendLine(file, bytes, lineStart, i - lineStart);
+                    } else {
+                        append(file, bytes, lineStart, i - lineStart);
+                        sendLine(file, file.line, 0, file.lineLength);
+                        file.lineLength = 0;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            append(file, bytes, lineStart, count - lineStart);
+        }
+    }
+
+    private void append(TailedFile file, byte[] bytes, int offset, int length) {
+        if (file.lineLength + length > file.line.length) {
+            file.line = Arrays.copyOf(file.line, Math.max(file.line.length * 2, file.lineLength + length));
+        }
+        System.arraycopy(bytes, offset, file.line, file.lineLength, length);
+        file.lineLength += length;
+    }
+
+    private void sendLine(TailedFile file, byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        if (end > offset && bytes[end - 1] == '\r') {
+            end--;
+        }
+        file.reader.sendLineToListeners(new String(bytes, offset, end - offset, charset));
+    }
+}
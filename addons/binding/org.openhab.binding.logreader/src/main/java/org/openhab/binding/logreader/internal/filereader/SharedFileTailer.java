@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log file reader implementation, which shares one {@link FileTailerService} with all other readers.
+ * The scheduler is not used, the file is read by the thread of the service.
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedFileTailer extends AbstractLogFileReader implements LogFileReader {
+
+    private final Logger logger = LoggerFactory.getLogger(SharedFileTailer.class);
+
+    private final FileTailerService tailerService;
+
+    public SharedFileTailer(FileTailerService tailerService) {
+        this.tailerService = tailerService;
+    }
+
+    @Override
+    public void start(String filePath, long refreshRate, ScheduledExecutorService scheduler)
+            throws FileReaderException {
+        try {
+            logger.debug("Start tailing {}", filePath);
+            tailerService.register(Paths.get(filePath), refreshRate, this);
+        } catch (IOException | InvalidPathException e) {
+            throw new FileReaderException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        logger.debug("Shutdown");
+        tailerService.unregister(this);
+    }
+}
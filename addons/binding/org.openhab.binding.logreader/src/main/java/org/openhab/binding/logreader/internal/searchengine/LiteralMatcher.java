@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Aho-Corasick automaton, which finds all occurrences of several literals with one scan over the data.
+ *
+ * The automaton is fed character by character with {@link #next(int, char)}. After each character,
+ * {@link #getOutputs(int)} returns the indexes of the literals ending at this character.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LiteralMatcher {
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    /** The initial state */
+    static final int ROOT = 0;
+
+    // Per state: the sorted characters of the transitions and the target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    // Per state: the state of the longest proper suffix, which is also a prefix of a literal
+    private final int[] failure;
+    // Per state: the indexes of all literals ending in this state
+    private final int[][] outputs;
+
+    /**
+     * Builds the automaton.
+     *
+     * @param literals the literals, which must not be empty. Their index in the list is reported as output.
+     */
+    LiteralMatcher(List<String> literals) {
+        // Build the trie
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieOutputs.add(new ArrayList<>());
+        for (int literal = 0; literal < literals.size(); literal++) {
+            int state = ROOT;
+            for (char c : literals.get(literal).toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    trieOutputs.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            trieOutputs.get(state).add(literal);
+        }
+
+        int stateCount = trie.size();
+        transitionChars = new char[stateCount][];
+        transitionTargets = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            Map<Character, Integer> transitions = trie.get(state);
+            transitionChars[state] = new char[transitions.size()];
+            transitionTargets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionTargets[state][i] = transition.getValue();
+                i++;
+            }
+        }
+
+        // Compute the failure links and merge the outputs in breadth first order,
+        // so that the failure state of each state is complete before it is used.
+        failure = new int[stateCount];
+        outputs = new int[stateCount][];
+        outputs[ROOT] = NO_OUTPUTS;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int target : transitionTargets[ROOT]) {
+            failure[target] = ROOT;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(trieOutputs.get(state), outputs[failure[state]]);
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int target = transitionTargets[state][i];
+                int fallback = failure[state];
+                int next;
+                while ((next = transition(fallback, c)) < 0 && fallback != ROOT) {
+                    fallback = failure[fallback];
+                }
+                failure[target] = next < 0 ? ROOT : next;
+                queue.add(target);
+            }
+        }
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] result = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            result[inherited.length + i] = own.get(i);
+        }
+        return result;
+    }
+
+    private int transition(int state, char c) {
+        char[] chars = transitionChars[state];
+        // Most states have only one transition
+        if (chars.length == 1) {
+            return chars[0] == c ? transitionTargets[state][0] : -1;
+        }
+        int i = Arrays.binarySearch(chars, c);
+        return i >= 0 ? transitionTargets[state][i] : -1;
+    }
+
+    /**
+     * Returns the next state of the automaton.
+     *
+     * @param state the current state, {@link #ROOT} at the start of the data
+     * @param c the next character of the data
+     * @return the next state
+     */
+    int next(int state, char c) {
+        int current = state;
+        int next;
+        while ((next = transition(current, c)) < 0 && current != ROOT) {
+            current = failure[current];
+        }
+        return next < 0 ? ROOT : next;
+    }
+
+    /**
+     * Returns the indexes of the literals ending in the given state. Must not be modified.
+     */
+    int[] getOutputs(int state) {
+        return outputs[state];
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Checks if any of several regular expressions is found in the data, scanning the data only once in the common case.
+ *
+ * For each pattern, a literal fragment is determined, which must be part of every match (e.g. "ERROR" for "ERROR+").
+ * All fragments are searched at once by a {@link LiteralMatcher}. A pattern, which is a literal only, is found as soon
+ * as its fragment is found. Other patterns are only evaluated, if their fragment is found. The remaining patterns
+ * without such a fragment are combined into one alternation, which is evaluated if no other pattern is found.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MultiPatternMatcher {
+    /** Shorter fragments would be found in most lines and the evaluation of the pattern would not be saved */
+    private static final int MIN_FRAGMENT_LENGTH = 2;
+
+    /** Escaped letters, which are not followed by an argument */
+    private static final String SIMPLE_ESCAPES = "dDsSwWbBAGZztnrfaehHvVRX";
+
+    private final @Nullable LiteralMatcher literalMatcher;
+    // Per fragment of the literal matcher: The pattern to evaluate if the fragment is found,
+    // or null if the fragment is the whole pattern.
+    private final @Nullable Pattern[] gatedPatterns;
+    private final List<Pattern> ungatedPatterns = new ArrayList<>();
+
+    /**
+     * @param patterns the precompiled patterns
+     */
+    MultiPatternMatcher(List<Pattern> patterns) {
+        List<String> fragments = new ArrayList<>();
+        List<@Nullable Pattern> gated = new ArrayList<>();
+        List<Pattern> ungated = new ArrayList<>();
+        for (Pattern pattern : patterns) {
+            String regex = pattern.pattern();
+            String fragment = requiredLiteral(regex);
+            if (fragment == null || fragment.length() < MIN_FRAGMENT_LENGTH) {
+                ungated.add(pattern);
+            } else {
+                fragments.add(fragment);
+                gated.add(isLiteral(regex) ? null : pattern);
+            }
+        }
+        literalMatcher = fragments.isEmpty() ? null : new LiteralMatcher(fragments);
+        gatedPatterns = gated.toArray(new Pattern[gated.size()]);
+        combine(ungated);
+    }
+
+    /**
+     * Combines the patterns into one alternation. Patterns with back references cannot be combined, because the
+     * group numbers change.
+     */
+    private void combine(List<Pattern> patterns) {
+        StringBuilder alternation = new StringBuilder();
+        int combined = 0;
+        for (Pattern pattern : patterns) {
+            String regex = pattern.pattern();
+            if (patterns.size() == 1 || hasBackReference(regex)) {
+                ungatedPatterns.add(pattern);
+            } else {
+                alternation.append(combined++ == 0 ? "" : "|").append("(?:").append(regex).append(')');
+            }
+        }
+        if (combined > 0) {
+            try {
+                ungatedPatterns.add(Pattern.compile(alternation.toString()));
+            } catch (PatternSyntaxException e) {
+                // E.g. duplicate group names, evaluate the patterns one by one
+                for (Pattern pattern : patterns) {
+                    if (!ungatedPatterns.contains(pattern)) {
+                        ungatedPatterns.add(pattern);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if any of the patterns is found in the data.
+     *
+     * @param data data against search will be done.
+     * @return true if one of the patterns is found.
+     */
+    boolean find(String data) {
+        final LiteralMatcher literalMatcher = this.literalMatcher;
+        if (literalMatcher != null) {
+            boolean @Nullable [] evaluated = null;
+            int state = LiteralMatcher.ROOT;
+            for (int i = 0; i < data.length(); i++) {
+                state = literalMatcher.next(state, data.charAt(i));
+                for (int fragment : literalMatcher.getOutputs(state)) {
+                    Pattern pattern = gatedPatterns[fragment];
+                    if (pattern == null) {
+                        return true;
+                    }
+                    if (evaluated == null) {
+                        evaluated = new boolean[gatedPatterns.length];
+                    }
+                    if (!evaluated[fragment]) {
+                        evaluated[fragment] = true;
+                        if (pattern.matcher(data).find()) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        for (Pattern pattern : ungatedPatterns) {
+            if (pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            if ("\\^$.|?*+()[]{}".indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasBackReference(String regex) {
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) == '\\') {
+                char next = regex.charAt(i + 1);
+                if ((next >= '1' && next <= '9') || next == 'k') {
+                    return true;
+                }
+                i++; // skip the escaped character
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines the longest literal, which is part of every match of the regular expression. Only the top level of
+     * the expression is analyzed, groups and character classes end a literal. The analysis is conservative:
+     * If in doubt, no literal is returned.
+     *
+     * @param regex a valid regular expression
+     * @return the literal or null if none could be determined
+     */
+    static @Nullable String requiredLiteral(String regex) {
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        boolean lastWasLiteral = false;
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i++);
+            switch (c) {
+                case '\\':
+                    if (i >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i++);
+                    if (escaped == 'Q') {
+                        // Quoted sections are rare, not worth the analysis
+                        return null;
+                    }
+                    if (Character.isLetterOrDigit(escaped) && SIMPLE_ESCAPES.indexOf(escaped) < 0) {
+                        // Escapes with arguments like \x41 or \p{L} and back references
+                        return null;
+                    }
+                    if (depth == 0 && !Character.isLetterOrDigit(escaped)) {
+                        current.append(escaped);
+                        lastWasLiteral = true;
+                    } else {
+                        // Character class like \d, control character, back reference or boundary
+                        if (depth == 0) {
+                            longest = longer(longest, current);
+                        }
+                        lastWasLiteral = false;
+                    }
+                    break;
+                case '[':
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    if (depth == 0) {
+                        longest = longer(longest, current);
+                    }
+                    lastWasLiteral = false;
+                    break;
+                case '(':
+                    if (i < regex.length() && regex.charAt(i) == '?' && i + 1 < regex.length()
+                            && ":=!<>".indexOf(regex.charAt(i + 1)) < 0) {
+                        // Inline flags like (?i) change the meaning of the following literals
+                        return null;
+                    }
+                    if (depth == 0) {
+                        longest = longer(longest, current);
+                    }
+                    depth++;
+                    lastWasLiteral = false;
+                    break;
+                case ')':
+                    depth--;
+                    lastWasLiteral = false;
+                    break;
+                case '?':
+                case '*':
+                case '{':
+                    if (c == '{') {
+                        int end = regex.indexOf('}', i);
+                        if (end < 0) {
+                            return null;
+                        }
+                        i = end + 1;
+                    }
+                    if (depth == 0) {
+                        // The preceding character is optional
+                        if (lastWasLiteral) {
+                            current.setLength(current.length() - 1);
+                        }
+                        longest = longer(longest, current);
+                    }
+                    lastWasLiteral = false;
+                    break;
+                case '+':
+                    // The preceding character is required, but the following characters are not adjacent to it
+                    if (depth == 0) {
+                        longest = longer(longest, current);
+                    }
+                    lastWasLiteral = false;
+                    break;
+                case '^':
+                case '$':
+                case '.':
+                case '|':
+                    if (c == '|' && depth == 0) {
+                        // An alternation at the top level, no literal is required
+                        return null;
+                    }
+                    if (depth == 0) {
+                        longest = longer(longest, current);
+                    }
+                    lastWasLiteral = false;
+                    break;
+                default:
+                    if (depth == 0) {
+                        current.append(c);
+                        lastWasLiteral = true;
+                    }
+            }
+        }
+        if (depth != 0) {
+            return null;
+        }
+        longest = longer(longest, current);
+        return longest.isEmpty() ? null : longest;
+    }
+
+    /**
+     * Returns the longer of both literals and clears the current literal.
+     */
+    private static String longer(String longest, StringBuilder current) {
+        String result = current.length() > longest.length() ? current.toString() : longest;
+        current.setLength(0);
+        return result;
+    }
+
+    /**
+     * Skips a character class, which may contain nested classes.
+     *
+     * @param regex the regular expression
+     * @param start the index after the opening bracket
+     * @return the index after the closing bracket or -1 if there is none
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++; // a closing bracket at the start is a literal
+        }
+        int depth = 1;
+        while (i < regex.length()) {
+            char c = regex.charAt(i++);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
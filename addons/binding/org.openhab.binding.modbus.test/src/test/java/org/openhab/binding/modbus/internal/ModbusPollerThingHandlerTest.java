@@ -18,6 +18,7 @@ import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -50,6 +51,7 @@ import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandlerImpl;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -432,6 +434,64 @@ public class ModbusPollerThingHandlerTest {
         verifyNoMoreInteractions(child2);
     }
 
+    @Test
+    public void testUnchangedRegistersNotPassedToChildDataThings()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 2);
+        pollerConfig.put("type", ModbusBindingConstantsInternal.READ_TYPE_HOLDING_REGISTER);
+        pollerConfig.put("updateUnchangedValuesEveryMillis", 60_000L);
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        registerThingToMockRegistry(poller);
+
+        hookStatusUpdates(poller);
+
+        ModbusPollerThingHandlerImpl thingHandler = new ModbusPollerThingHandlerImpl(poller, () -> modbusManager);
+        thingHandler.setCallback(thingCallback);
+        poller.setHandler(thingHandler);
+        hookItemRegistry(thingHandler);
+
+        thingHandler.initialize();
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ArgumentCaptor<PollTask> pollTaskCapturer = ArgumentCaptor.forClass(PollTask.class);
+        verify(modbusManager).registerRegularPoll(pollTaskCapturer.capture(), eq(150l), eq(0L));
+        ModbusReadCallback readCallback = pollTaskCapturer.getValue().getCallback();
+
+        assertNotNull(readCallback);
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+
+        // child1 reads the first register, child2 the second one
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusDataThingHandler child2 = Mockito.mock(ModbusDataThingHandler.class);
+        when(child1.needsUpdate(any())).then(invocation -> ((BitSet) invocation.getArgument(0)).get(0));
+        when(child2.needsUpdate(any())).then(invocation -> ((BitSet) invocation.getArgument(0)).get(1));
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+        thingHandler.childHandlerInitialized(child2, Mockito.mock(Thing.class));
+
+        // first data is passed to all children
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(1, 2);
+        readCallback.onRegisters(request, registers);
+        verify(child1).onRegisters(request, registers);
+        verify(child2).onRegisters(request, registers);
+
+        // only the second register changed
+        ModbusRegisterArray registers2 = new BasicModbusRegisterArray(1, 3);
+        readCallback.onRegisters(request, registers2);
+        verify(child1, never()).onRegisters(request, registers2);
+        verify(child2).onRegisters(request, registers2);
+
+        // after error, data is passed to all children, even if unchanged
+        readCallback.onError(request, new Exception("fail"));
+        readCallback.onRegisters(request, registers2);
+        verify(child1).onRegisters(request, registers2);
+        verify(child2, times(2)).onRegisters(request, registers2);
+    }
+
     @Test
     public void testBitsPassedToChildDataThings()
             throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class PolledDataChangeDetectorTest {
+
+    private static BitSet bits(int... indices) {
+        BitSet bitSet = new BitSet();
+        for (int index : indices) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void testRegisters() {
+        PolledDataChangeDetector detector = new PolledDataChangeDetector();
+        // No previous data
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 2, 3, 4)), is(nullValue()));
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 2, 3, 4)), is(equalTo(bits())));
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 5, 3, 0xffff)), is(equalTo(bits(1, 3))));
+        // compared against the latest data
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 5, 3, 4)), is(equalTo(bits(3))));
+        // different length
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 5, 3)), is(nullValue()));
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 5, 3)), is(equalTo(bits())));
+    }
+
+    @Test
+    public void testBits() {
+        PolledDataChangeDetector detector = new PolledDataChangeDetector();
+        assertThat(detector.updateBits(new BasicBitArray(true, false, true)), is(nullValue()));
+        assertThat(detector.updateBits(new BasicBitArray(true, false, true)), is(equalTo(bits())));
+        assertThat(detector.updateBits(new BasicBitArray(false, false, true)), is(equalTo(bits(0))));
+        assertThat(detector.updateBits(new BasicBitArray(false, true, false)), is(equalTo(bits(1, 2))));
+        assertThat(detector.updateBits(new BasicBitArray(false, true)), is(nullValue()));
+    }
+
+    @Test
+    public void testReset() {
+        PolledDataChangeDetector detector = new PolledDataChangeDetector();
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 2)), is(nullValue()));
+        detector.reset();
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 2)), is(nullValue()));
+        // switching between bits and registers
+        assertThat(detector.updateBits(new BasicBitArray(true, false)), is(nullValue()));
+        assertThat(detector.updateRegisters(new BasicModbusRegisterArray(1, 2)), is(nullValue()));
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.BitSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Detects which data elements (registers, coils or discrete inputs) changed between consecutive polls
+ *
+ * The detector keeps a copy of the previously polled data, and compares new data against it. Indices of the changed
+ * elements are relative to the start of the poll.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PolledDataChangeDetector {
+
+    private int @Nullable [] previousRegisters;
+    private @Nullable BitSet previousBits;
+    private int previousBitCount;
+
+    /**
+     * Compare registers against the previously polled data, and store them for the next comparison
+     *
+     * @param registers polled registers
+     * @return indices of changed registers, or null if there is no previous data to compare against (all registers
+     *         should be considered changed)
+     */
+    public synchronized @Nullable BitSet updateRegisters(ModbusRegisterArray registers) {
+        int[] previous = previousRegisters;
+        int size = registers.size();
+        previousBits = null;
+        if (previous == null || previous.length != size) {
+            int[] current = new int[size];
+            for (int i = 0; i < size; i++) {
+                current[i] = registers.getUnsignedShort(i);
+            }
+            previousRegisters = current;
+            return null;
+        }
+        BitSet changed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            int value = registers.getUnsignedShort(i);
+            if (previous[i] != value) {
+                changed.set(i);
+                previous[i] = value;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Compare bits against the previously polled data, and store them for the next comparison
+     *
+     * @param bits polled coils or discrete inputs
+     * @return indices of changed bits, or null if there is no previous data to compare against (all bits should be
+     *         considered changed)
+     */
+    public synchronized @Nullable BitSet updateBits(BitArray bits) {
+        BitSet previous = previousBits;
+        int size = bits.size();
+        previousRegisters = null;
+        BitSet current = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            current.set(i, bits.getBit(i));
+        }
+        previousBits = current;
+        if (previous == null || previousBitCount != size) {
+            previousBitCount = size;
+            return null;
+        }
+        previous.xor(current);
+        return previous;
+    }
+
+    /**
+     * Forget the previously polled data
+     *
+     * Next update will consider all data elements changed.
+     */
+    public synchronized void reset() {
+        previousRegisters = null;
+        previousBits = null;
+        previousBitCount = 0;
+    }
+}
@@ -26,6 +26,7 @@ public class ModbusPollerConfiguration {
     private String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private long updateUnchangedValuesEveryMillis;
 
     /**
      * Gets refresh period in milliseconds
@@ -113,4 +114,23 @@ public class ModbusPollerConfiguration {
         this.cacheMillis = cacheMillis;
     }
 
+    /**
+     * Gets interval for updating child things with unchanged data, in milliseconds.
+     *
+     * When positive, polled data is passed to a child thing only if the data read by the thing has changed since the
+     * previous poll, or if the thing has not been updated during this interval. Zero or negative value disables the
+     * change detection, and all polled data is passed to child things.
+     */
+    public long getUpdateUnchangedValuesEveryMillis() {
+        return updateUnchangedValuesEveryMillis;
+    }
+
+    /**
+     * Sets interval for updating child things with unchanged data, in milliseconds.
+     *
+     */
+    public void setUpdateUnchangedValuesEveryMillis(long updateUnchangedValuesEveryMillis) {
+        this.updateUnchangedValuesEveryMillis = updateUnchangedValuesEveryMillis;
+    }
+
 }
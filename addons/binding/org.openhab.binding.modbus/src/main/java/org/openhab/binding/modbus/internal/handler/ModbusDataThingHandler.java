@@ -13,6 +13,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -630,6 +631,29 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         });
     }
 
+    /**
+     * Check whether this thing should be updated with polled data
+     *
+     * Not synchronized, so that the poller does not need to wait for the callbacks of this thing.
+     *
+     * @param changedElements indices of the changed registers, coils or discrete inputs, relative to the start of the
+     *            poll
+     * @return whether the value of this thing is read from any of the changed elements. True also when the thing is
+     *         not online, or when the read configuration is not known.
+     */
+    public boolean needsUpdate(BitSet changedElements) {
+        ValueType readValueType = this.readValueType;
+        Optional<Integer> readIndex = this.readIndex;
+        if (getThing().getStatus() != ThingStatus.ONLINE || readValueType == null || !readIndex.isPresent()) {
+            return true;
+        }
+        int firstElement = Math.max(0, readIndex.get() - pollStart);
+        // value types shorter than 16 bits are contained in single register
+        int elementCount = Math.max(1, readValueType.getBits() / 16);
+        int firstChanged = changedElements.nextSetBit(firstElement);
+        return firstChanged >= 0 && firstChanged < firstElement + elementCount;
+    }
+
     @Override
     public synchronized void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
         if (hasConfigurationError()) {
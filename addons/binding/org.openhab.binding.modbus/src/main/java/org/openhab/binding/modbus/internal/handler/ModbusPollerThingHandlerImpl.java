@@ -9,8 +9,11 @@
 package org.openhab.binding.modbus.internal.handler;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -33,6 +36,7 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.AtomicStampedKeyValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.PolledDataChangeDetector;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusManager;
@@ -63,6 +67,10 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
      * bridge. This makes sense, as the callback delegates
      * to all child things of this bridge.
      *
+     * When {@link ModbusPollerConfiguration#getUpdateUnchangedValuesEveryMillis()} is positive, polled data is compared
+     * against the previous poll, and data is delegated only to the children reading changed data. Unchanged data is
+     * delegated to a child only if it has not received data during that time.
+     *
      * @author Sami Salonen
      *
      */
@@ -71,6 +79,8 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, ModbusRegisterArray> lastRegisters;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, BitArray> lastCoils;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, Exception> lastError;
+        private final PolledDataChangeDetector changeDetector = new PolledDataChangeDetector();
+        private final Map<ModbusReadCallback, Long> lastDelegatedMillis = new ConcurrentHashMap<>();
 
         @Override
         public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
@@ -88,7 +98,14 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received registers {} for request {}", thing.getUID(), registers, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onRegisters(request, registers));
+            if (isChangeDetectionEnabled()) {
+                BitSet changed = changeDetector.updateRegisters(registers);
+                long now = System.currentTimeMillis();
+                childCallbacks.stream().filter(handler -> shouldDelegate(handler, changed, now))
+                        .forEach(handler -> handler.onRegisters(request, registers));
+            } else {
+                childCallbacks.forEach(handler -> handler.onRegisters(request, registers));
+            }
         }
 
         @Override
@@ -107,7 +124,14 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received coils {} for request {}", thing.getUID(), coils, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onBits(request, coils));
+            if (isChangeDetectionEnabled()) {
+                BitSet changed = changeDetector.updateBits(coils);
+                long now = System.currentTimeMillis();
+                childCallbacks.stream().filter(handler -> shouldDelegate(handler, changed, now))
+                        .forEach(handler -> handler.onBits(request, coils));
+            } else {
+                childCallbacks.forEach(handler -> handler.onBits(request, coils));
+            }
         }
 
         @Override
@@ -125,11 +149,60 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
                 }
             }
             logger.debug("Thing {} received error {} for request {}", thing.getUID(), error, request);
+            // Children go offline with the error. Make sure they receive the next data, even if it is unchanged.
+            forgetDelegatedData();
             childCallbacks.forEach(handler -> handler.onError(request, error));
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     String.format("Error with read: %s: %s", error.getClass().getName(), error.getMessage()));
         }
 
+        private boolean isChangeDetectionEnabled() {
+            return config.getUpdateUnchangedValuesEveryMillis() > 0;
+        }
+
+        /**
+         * Decide whether data should be delegated to the child
+         *
+         * @param handler child handler
+         * @param changed indices of the changed data elements, or null if all data should be considered changed
+         * @param now current time in milliseconds
+         * @return whether to delegate the data
+         */
+        private boolean shouldDelegate(ModbusReadCallback handler, @Nullable BitSet changed, long now) {
+            Long lastDelegated = lastDelegatedMillis.get(handler);
+            boolean delegate = changed == null || lastDelegated == null
+                    || now - lastDelegated >= config.getUpdateUnchangedValuesEveryMillis()
+                    || !(handler instanceof ModbusDataThingHandler)
+                    || ((ModbusDataThingHandler) handler).needsUpdate(changed);
+            if (delegate) {
+                lastDelegatedMillis.put(handler, now);
+            } else {
+                logger.trace("Thing {} not delegating unchanged data to {}", thing.getUID(), handler);
+            }
+            return delegate;
+        }
+
+        /**
+         * Forget the previously polled data, and which children have received it
+         *
+         * Next data is delegated to all children.
+         */
+        private void forgetDelegatedData() {
+            changeDetector.reset();
+            lastDelegatedMillis.clear();
+        }
+
+        /**
+         * Forget that child has received data
+         *
+         * Next data is delegated to the child, even if it is unchanged.
+         *
+         * @param handler child handler
+         */
+        public void forgetChild(ModbusReadCallback handler) {
+            lastDelegatedMillis.remove(handler);
+        }
+
         private void resetCommunicationError() {
             ThingStatusInfo statusInfo = thing.getStatusInfo();
             if (ThingStatus.OFFLINE.equals(statusInfo.getStatus())
@@ -212,6 +285,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             lastRegisters = null;
             lastCoils = null;
             lastError = null;
+            forgetDelegatedData();
         }
     }
 
@@ -396,6 +470,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     @Override
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
+            this.callbackDelegator.forgetChild((ModbusReadCallback) childHandler);
             this.childCallbacks.add((ModbusReadCallback) childHandler);
         }
     }
@@ -405,6 +480,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
             this.childCallbacks.remove(childHandler);
+            this.callbackDelegator.forgetChild((ModbusReadCallback) childHandler);
         }
     }
 
@@ -53,16 +53,31 @@ public class PresenceDetectionTest {
 
     PresenceDetection subject;
 
+    ProbeEngine probeEngine;
+
     @Before
     public void setUp() throws UnknownHostException {
         MockitoAnnotations.initMocks(this);
 
+        // Run the probes immediately by default
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executorService).execute(any());
+        probeEngine = new ProbeEngine(executorService);
+
         // Mock an interface
         when(networkUtils.getInterfaceNames()).thenReturn(Collections.singleton("TESTinterface"));
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        subject = createSubject(listener);
+
+        assertThat(subject.pingMethod, is(IpPingMethodEnum.WINDOWS_PING));
+    }
+
+    private PresenceDetection createSubject(PresenceDetectionListener listener) throws UnknownHostException {
+        PresenceDetection subject = spy(new PresenceDetection(listener, (int) CACHETIME, probeEngine));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<PresenceDetectionValue>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -76,8 +91,7 @@ public class PresenceDetectionTest {
         subject.setServicePorts(Collections.singleton(1010));
         subject.setUseArpPing(true, "arping");
         subject.setUseIcmpPing(true);
-
-        assertThat(subject.pingMethod, is(IpPingMethodEnum.WINDOWS_PING));
+        return subject;
     }
 
     @After
@@ -85,26 +99,70 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of probes is submitted to the shared executor.
+    // We will check if they are submitted and the detection finishes after they returned.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertFalse(subject.detectionInProgress);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doReturn(PresenceDetection.NOT_REACHABLE).when(subject).performARPping(any());
+        doReturn(PresenceDetection.NOT_REACHABLE).when(subject).performJavaPing();
+        doReturn(PresenceDetection.NOT_REACHABLE).when(subject).performSystemPing();
+        doReturn(PresenceDetection.NOT_REACHABLE).when(subject).performServicePing(anyInt());
+        doNothing().when(executorService).execute(any());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Probe count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertTrue(subject.detectionInProgress);
 
-        subject.waitForPresenceDetection();
+        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(3)).execute(capture.capture());
+        for (Runnable r : capture.getAllValues()) {
+            r.run();
+        }
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertFalse(subject.detectionInProgress);
+        verify(listener, times(0)).partialDetectionResult(any());
+        verify(listener).finalDetectionResult(any());
+    }
+
+    @Test
+    public void coalesceProbesTest() throws InterruptedException, IOException {
+        doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
+        doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
+                any(), anyInt());
+        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doNothing().when(executorService).execute(any());
+
+        // A second thing for the same host
+        PresenceDetectionListener otherListener = mock(PresenceDetectionListener.class);
+        PresenceDetection other = createSubject(otherListener);
+
+        assertTrue(subject.performPresenceDetection(false));
+        assertTrue(other.performPresenceDetection(false));
+
+        // Each probe is only performed once
+        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(3)).execute(capture.capture());
+        for (Runnable r : capture.getAllValues()) {
+            r.run();
+        }
+        verify(networkUtils, times(1)).nativePing(any(), anyString(), anyInt());
+        verify(networkUtils, times(1)).servicePing(anyString(), anyInt(), anyInt());
+
+        verify(listener, times(3)).partialDetectionResult(any());
+        verify(listener, times(1)).finalDetectionResult(any());
+        verify(otherListener, times(3)).partialDetectionResult(any());
+        verify(otherListener, times(1)).finalDetectionResult(any());
+
+        // A new detection within the cache time reuses the probe results
+        other.cache.invalidateValue();
+        assertTrue(other.performPresenceDetection(false));
+        verify(executorService, times(3)).execute(any());
+        verify(otherListener, times(6)).partialDetectionResult(any());
+        verify(otherListener, times(2)).finalDetectionResult(any());
     }
 
     @Test
@@ -129,6 +187,52 @@ public class PresenceDetectionTest {
         assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, ICMP_PING, TCP_CONNECTION"));
     }
 
+    @Test
+    public void probesReleasedOnDispose() throws InterruptedException, IOException {
+        doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
+        doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
+                any(), anyInt());
+        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+
+        // A second thing for the same host, with another TCP port
+        PresenceDetection other = createSubject(mock(PresenceDetectionListener.class));
+        other.setServicePorts(Collections.singleton(2020));
+
+        assertTrue(subject.performPresenceDetection(true));
+        assertTrue(other.performPresenceDetection(true));
+        // ARP + ICMP shared, 2*TCP
+        assertThat(probeEngine.getProbeCount(), is(4));
+
+        // The probes shared with the other thing are kept
+        subject.dispose();
+        assertThat(probeEngine.getProbeCount(), is(3));
+
+        other.dispose();
+        assertThat(probeEngine.getProbeCount(), is(0));
+    }
+
+    @Test
+    public void arpCacheEventDoesNotSkipProbes() throws InterruptedException, IOException {
+        doReturn(false).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
+        doReturn(false).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
+                any(), anyInt());
+        doReturn(false).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+
+        // The operating system resolved the device
+        subject.arpCacheChanged("127.0.0.1", "aa:bb:cc:dd:ee:01");
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).partialDetectionResult(capture.capture());
+        assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ARP_CACHE"));
+
+        // The entry may be stale by the next refresh, the device is probed actively nevertheless
+        subject.cache.invalidateValue();
+        assertTrue(subject.performPresenceDetection(true));
+        verify(subject).performSystemPing();
+        verify(subject).performARPping(any());
+        verify(subject).performServicePing(anyInt());
+        verify(listener).finalDetectionResult(any());
+    }
+
     @Test
     public void cacheTest() throws InterruptedException, IOException {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
@@ -136,14 +240,14 @@ public class PresenceDetectionTest {
                 any(), anyInt());
         doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        doNothing().when(executorService).execute(any());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertTrue(subject.detectionInProgress);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
@@ -164,10 +268,19 @@ public class PresenceDetectionTest {
         subject.getValue(callback);
         verify(callback, times(2)).accept(any());
 
-        // Invalidate value, we should not get a new callback immediately again
+        // Invalidate value. A new presence detection is performed, but the probe results are still
+        // cached by the probe engine, so we get a new callback immediately without new probes.
         subject.cache.invalidateValue();
         subject.getValue(callback);
-        verify(callback, times(2)).accept(any());
+        verify(callback, times(3)).accept(any());
+        verify(executorService, times(3)).execute(any());
+
+        // Invalidate the probe results as well, we should not get a new callback immediately again
+        probeEngine.dispose();
+        subject.cache.invalidateValue();
+        subject.getValue(callback);
+        verify(callback, times(3)).accept(any());
+        verify(executorService, times(6)).execute(any());
     }
 
     @Test
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for ARP cache related functionality
+ *
+ * @author agent - Initial contribution
+ */
+public class ARPCacheTest {
+    private static final String HEADER = "IP address       HW type     Flags       HW address            Mask     Device\n";
+    private static final String ENTRY1 = "192.168.0.1      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0\n";
+    private static final String ENTRY2 = "192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:02     *        eth0\n";
+    private static final String INCOMPLETE2 = "192.168.0.2      0x1         0x0         00:00:00:00:00:00     *        eth0\n";
+    // /proc/net/arp shows STALE entries of idle devices like verified entries
+    private static final String STALE3 = "192.168.0.3      0x1         0x2         aa:bb:cc:dd:ee:03     *        eth0\n";
+    // The kernel could not verify the STALE entry, the old MAC address is still shown
+    private static final String FAILED3 = "192.168.0.3      0x1         0x0         aa:bb:cc:dd:ee:03     *        eth0\n";
+
+    private Path arpCacheFile = Paths.get("");
+
+    @Before
+    public void setUp() throws IOException {
+        arpCacheFile = Files.createTempFile("arp", null);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(arpCacheFile);
+    }
+
+    private void writeArpCache(String content) throws IOException {
+        Files.write(arpCacheFile, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void changesNotified() throws IOException {
+        writeArpCache(HEADER + ENTRY1);
+        ARPCacheChangedCallback listener = mock(ARPCacheChangedCallback.class);
+        ARPCacheWatcher watcher = new ARPCacheWatcher(arpCacheFile, listener);
+        // The initial state is not notified
+        verifyZeroInteractions(listener);
+
+        // Unchanged
+        watcher.poll(true);
+        verifyZeroInteractions(listener);
+
+        // Incomplete entries are not resolved
+        writeArpCache(HEADER + ENTRY1 + INCOMPLETE2);
+        watcher.poll(true);
+        verifyZeroInteractions(listener);
+
+        writeArpCache(HEADER + ENTRY1 + ENTRY2);
+        watcher.poll(true);
+        verify(listener).arpCacheChanged("192.168.0.2", "aa:bb:cc:dd:ee:02");
+        verifyNoMoreInteractions(listener);
+
+        // The initial state is known
+        writeArpCache(HEADER + ENTRY2);
+        watcher.poll(true);
+        verify(listener).arpCacheChanged("192.168.0.1", null);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void staleEntryNotNotified() throws IOException {
+        writeArpCache(HEADER + ENTRY1 + STALE3);
+        ARPCacheChangedCallback listener = mock(ARPCacheChangedCallback.class);
+        ARPCacheWatcher watcher = new ARPCacheWatcher(arpCacheFile, listener);
+        watcher.poll(true);
+        verifyZeroInteractions(listener);
+
+        // The device left the network, the kernel could not verify the entry
+        writeArpCache(HEADER + ENTRY1 + FAILED3);
+        watcher.poll(true);
+        verify(listener).arpCacheChanged("192.168.0.3", null);
+
+        // The device entered the network again
+        writeArpCache(HEADER + ENTRY1 + STALE3);
+        watcher.poll(true);
+        verify(listener).arpCacheChanged("192.168.0.3", "aa:bb:cc:dd:ee:03");
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void listenerRegisteredOnce() throws IOException {
+        ARPCacheChangedCallback listener = mock(ARPCacheChangedCallback.class);
+        ARPCacheWatcher watcher;
+        try {
+            watcher = ARPCacheListenService.register("192.168.0.1", listener);
+        } catch (IOException e) {
+            return; // No ARP cache on this system
+        }
+        assertSame(watcher, ARPCacheListenService.register("192.168.0.1", listener));
+
+        // A single unregister removes the listener and stops the watcher
+        ARPCacheListenService.unregister("192.168.0.1", listener);
+        assertNull(ARPCacheListenService.instance);
+        assertTrue(ARPCacheListenService.registeredListeners.isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void missingArpCache() throws IOException {
+        new ARPCacheWatcher(Paths.get("/nonexisting/arp"), mock(ARPCacheChangedCallback.class));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see SubnetScanner}
+ *
+ * @author agent - Initial contribution
+ */
+public class SubnetScannerTest {
+    private final String ip = "127.0.0.1";
+
+    @Test
+    public void openPortsReported() throws IOException {
+        try (ServerSocket server1 = new ServerSocket(0, 50, InetAddress.getByName(ip));
+                ServerSocket server2 = new ServerSocket(0, 50, InetAddress.getByName(ip))) {
+            int closedPort;
+            try (ServerSocket closed = new ServerSocket(0, 50, InetAddress.getByName(ip))) {
+                closedPort = closed.getLocalPort();
+            }
+            SubnetScanner.Listener listener = mock(SubnetScanner.Listener.class);
+
+            // A limit of one connection forces the connects to be serialized
+            SubnetScanner scanner = new SubnetScanner(1, 2000);
+            scanner.scan(Collections.singleton(ip),
+                    Arrays.asList(server1.getLocalPort(), closedPort, server2.getLocalPort()), listener);
+
+            verify(listener).serviceReachable(ip, server1.getLocalPort());
+            verify(listener).serviceReachable(ip, server2.getLocalPort());
+            verifyNoMoreInteractions(listener);
+        }
+    }
+
+    @Test
+    public void emptyScan() throws IOException {
+        SubnetScanner.Listener listener = mock(SubnetScanner.Listener.class);
+        new SubnetScanner(10, 2000).scan(Collections.singleton(ip), Collections.emptyList(), listener);
+        new SubnetScanner(10, 2000).scan(Collections.emptyList(), Collections.singleton(80), listener);
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void stoppedScanReturns() throws IOException {
+        SubnetScanner.Listener listener = mock(SubnetScanner.Listener.class);
+        SubnetScanner scanner = new SubnetScanner(10, 2000);
+        scanner.stop();
+        long time = scanner.scan(Collections.singleton(ip), Collections.singleton(80), listener);
+        Assert.assertThat(time < 2000, is(true));
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void arpTableParsed() {
+        // Linux /proc/net/arp
+        Assert.assertThat(NetworkUtils.parseArpTable(Arrays.asList(
+                "IP address       HW type     Flags       HW address            Mask     Device",
+                "192.168.0.1      0x1         0x2         AA:BB:cc:dd:ee:01     *        eth0",
+                "192.168.0.7      0x1         0x0         00:00:00:00:00:00     *        eth0",
+                // Failed entry of a host that left the network, the old MAC address is still shown
+                "192.168.0.9      0x1         0x0         aa:bb:cc:dd:ee:09     *        eth0")).toString(),
+                is("{192.168.0.1=aa:bb:cc:dd:ee:01}"));
+        // MacOS arp -an
+        Assert.assertThat(NetworkUtils.parseArpTable(Arrays.asList(
+                "? (192.168.0.2) at 0:1e:c2:a:b:c on en0 ifscope [ethernet]",
+                "? (192.168.0.8) at (incomplete) on en0 ifscope [ethernet]")).toString(),
+                is("{192.168.0.2=0:1e:c2:a:b:c}"));
+        // Windows arp -a
+        Assert.assertThat(NetworkUtils.parseArpTable(Arrays.asList("Interface: 192.168.0.5 --- 0xb",
+                "  Internet Address      Physical Address      Type",
+                "  192.168.0.3           aa-bb-cc-dd-ee-03     dynamic")).toString(),
+                is("{192.168.0.3=aa:bb:cc:dd:ee:03}"));
+    }
+}
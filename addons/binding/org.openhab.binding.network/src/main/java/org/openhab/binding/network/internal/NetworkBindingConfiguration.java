@@ -22,13 +22,17 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 public class NetworkBindingConfiguration {
     public Boolean allowSystemPings = true;
     public Boolean allowDHCPlisten = true;
+    public Boolean allowARPlisten = false;
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
+    public BigDecimal discoveryMaxConnections = BigDecimal.valueOf(256);
 
     public void update(NetworkBindingConfiguration newConfiguration) {
         this.allowSystemPings = newConfiguration.allowSystemPings;
         this.allowDHCPlisten = newConfiguration.allowDHCPlisten;
+        this.allowARPlisten = newConfiguration.allowARPlisten;
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
+        this.discoveryMaxConnections = newConfiguration.discoveryMaxConnections;
     }
 }
@@ -45,6 +45,7 @@ public class NetworkBindingConstants {
     public static final String PARAMETER_PORT = "port";
 
     public static final String PROPERTY_DHCP_STATE = "dhcp_state";
+    public static final String PROPERTY_ARP_CACHE_STATE = "arp_cache_state";
     public static final String PROPERTY_ARP_STATE = "arp_state";
     public static final String PROPERTY_ICMP_STATE = "icmp_state";
     public static final String PROPERTY_PRESENCE_DETECTION_TYPE = "presence_detection_type";
@@ -13,6 +13,7 @@ import java.util.Map;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
@@ -34,7 +35,10 @@ import org.osgi.service.component.annotations.Modified;
 @NonNullByDefault
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.network")
 public class NetworkHandlerFactory extends BaseThingHandlerFactory {
+    private static final String THREAD_POOL_NAME = "network";
     final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    // All things share the thread pool for their pings and ping the same host only once at a time
+    final ProbeEngine probeEngine = new ProbeEngine(ThreadPoolManager.getPool(THREAD_POOL_NAME));
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -52,6 +56,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
         super.deactivate(componentContext);
+        probeEngine.dispose();
     }
 
     @Modified
@@ -68,9 +73,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
 
         if (thingTypeUID.equals(NetworkBindingConstants.PING_DEVICE)
                 || thingTypeUID.equals(NetworkBindingConstants.BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, false, configuration);
+            return new NetworkHandler(thing, false, configuration, probeEngine);
         } else if (thingTypeUID.equals(NetworkBindingConstants.SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, true, configuration);
+            return new NetworkHandler(thing, true, configuration, probeEngine);
         }
         return null;
     }
@@ -15,8 +15,7 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -25,6 +24,9 @@ import java.util.function.Consumer;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.arp.ARPCacheChangedCallback;
+import org.openhab.binding.network.internal.arp.ARPCacheListenService;
+import org.openhab.binding.network.internal.arp.ARPCacheWatcher;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
@@ -41,13 +43,14 @@ import org.slf4j.LoggerFactory;
  * @author David Gräff, 2017 - Rewritten
  */
 @NonNullByDefault
-public class PresenceDetection implements IPRequestReceivedCallback {
+public class PresenceDetection implements IPRequestReceivedCallback, ARPCacheChangedCallback {
     public static final double NOT_REACHABLE = -1;
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
     private boolean useDHCPsniffing = false;
+    private boolean useARPCacheListen = false;
     private String arpPingState = "Disabled";
     private String ipPingState = "Disabled";
     protected @Nullable ArpPingUtilEnum arpPingMethod;
@@ -66,15 +69,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
+    private final ProbeEngine probeEngine;
+    private final int cacheDeviceStateTimeInMS;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
     private String dhcpState = "off";
-    Integer currentCheck = 0;
+    private String arpCacheState = "off";
+    private @Nullable ARPCacheWatcher arpCacheWatcher;
+    boolean detectionInProgress;
+    private CountDownLatch detectionFinished = new CountDownLatch(0);
+    private long detectionStartInMS;
+    int detectionCycle;
+    int currentCheck;
     int detectionChecks;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    /**
+     * Creates a presence detection.
+     *
+     * @param updateListener The listener for detection results
+     * @param cacheDeviceStateTimeInMS How long a detection result and the results of the individual probes are valid
+     * @param probeEngine The binding wide engine, which performs the probes
+     */
+    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS,
+            ProbeEngine probeEngine) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
+        this.cacheDeviceStateTimeInMS = cacheDeviceStateTimeInMS;
         cache = new ExpiringCacheAsync<PresenceDetectionValue>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -116,6 +135,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.useDHCPsniffing = enable;
     }
 
+    /**
+     * Enables or disables the passive presence detection with the ARP cache of the operating system.
+     * A device, which is resolved in the ARP cache, is reported as reachable right away, and a device, whose entry has
+     * failed, is checked with an active presence detection. The active presence detection is still performed on every
+     * refresh, because the ARP cache keeps the entries of devices which left the network for a while.
+     *
+     * @param enable Enable or disable listening to the ARP cache
+     */
+    public void setUseArpCacheListen(boolean enable) {
+        this.useARPCacheListen = enable;
+    }
+
     public void setRefreshInterval(long refreshInterval) {
         this.refreshIntervalInMS = refreshInterval;
     }
@@ -180,6 +211,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return dhcpState;
     }
 
+    public String getArpCacheState() {
+        return arpCacheState;
+    }
+
     /**
      * Return true if the device presence detection is performed for an iOS device
      * like iPhone or iPads. An additional port knock is performed before a ping.
@@ -214,14 +249,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The individual probes are performed by the
+     * binding wide {@link ProbeEngine}, which runs the probes of all things on a shared thread pool
+     * and performs a probe only once, if several things probe the same host at the same time.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -235,66 +267,69 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        final int cycle;
+        Set<String> interfaceNames = null;
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+        synchronized (this) {
+            if (detectionInProgress) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != null) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod != null) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        if (detectionChecks == 0) {
-            return false;
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+            detectionInProgress = true;
+            detectionFinished = new CountDownLatch(1);
+            detectionStartInMS = System.currentTimeMillis();
+            cycle = ++detectionCycle;
+        }
 
+        // Request the probes without holding the lock, the probe callbacks may be called immediately
+        final String hostAddress = destination.getHostAddress();
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            probeEngine.probe(this,
+                    ProbeEngine.createKey(PresenceDetectionType.TCP_CONNECTION, hostAddress, tcpPort, timeoutInMS),
+                    cacheDeviceStateTimeInMS, () -> performServicePing(tcpPort),
+                    latency -> probeFinished(cycle, PresenceDetectionType.TCP_CONNECTION, latency, tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use an own executor for each network interface
+        // ARP ping for IPv4 addresses. A probe for each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                probeEngine.probe(this,
+                        ProbeEngine.createKey(PresenceDetectionType.ARP_PING, hostAddress, interfaceName,
+                                arpPingMethod, arpPingUtilPath, iosDevice, timeoutInMS),
+                        cacheDeviceStateTimeInMS, () -> performARPping(interfaceName),
+                        latency -> probeFinished(cycle, PresenceDetectionType.ARP_PING, latency, 0));
             }
         }
 
         // ICMP ping
+        final IpPingMethodEnum pingMethod = this.pingMethod;
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            probeEngine.probe(this,
+                    ProbeEngine.createKey(PresenceDetectionType.ICMP_PING, hostAddress, pingMethod, timeoutInMS),
+                    cacheDeviceStateTimeInMS,
+                    () -> pingMethod != IpPingMethodEnum.JAVA_PING ? performSystemPing() : performJavaPing(),
+                    latency -> probeFinished(cycle, PresenceDetectionType.ICMP_PING, latency, 0));
         }
 
         if (waitForDetectionToFinish) {
@@ -304,28 +339,53 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Called by the {@link ProbeEngine} for each individual probe. Reports a partial result, if the device was
+     * reachable, and counts the finished checks.
+     *
+     * @param cycle The detection cycle the probe was requested for. Results of finished cycles are ignored.
+     * @param type The probe type
+     * @param latency The latency or {@link #NOT_REACHABLE}
+     * @param tcpPort The TCP port for a {@link PresenceDetectionType#TCP_CONNECTION} probe
+     */
+    private void probeFinished(int cycle, PresenceDetectionType type, double latency, int tcpPort) {
+        synchronized (this) {
+            if (cycle != detectionCycle || !detectionInProgress) {
+                return;
+            }
+        }
+        if (latency != NOT_REACHABLE) {
+            PresenceDetectionValue v = updateReachableValue(type, latency);
+            if (type == PresenceDetectionType.TCP_CONNECTION) {
+                v.addReachableTcpService(tcpPort);
+            }
+            updateListener.partialDetectionResult(v);
+        }
+        checkIfFinished(cycle);
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and results of probes, which are
+     * still running, are ignored.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        if (!detectionInProgress) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detectionInProgress = false;
         detectionChecks = 0;
+        detectionFinished.countDown();
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        // Probes may have been waiting for a free thread, so everything seen since the start counts.
+        if (lastSeenInMS + timeoutInMS + 100 < detectionStartInMS) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(destination.getHostAddress(), -1);
         } else {
@@ -342,7 +402,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(int cycle) {
+        if (cycle != detectionCycle) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -351,22 +414,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection to finish, but at most the configured timeout. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
-            return;
+        CountDownLatch finished;
+        synchronized (this) {
+            if (!detectionInProgress) {
+                return;
+            }
+            finished = detectionFinished;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            finished.await(timeoutInMS + 100, TimeUnit.MILLISECONDS);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                detectionInProgress = false;
+                detectionFinished.countDown();
+            }
         }
     }
 
@@ -395,20 +463,24 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Tries to establish a TCP connection to the given port.
+     *
+     * @param tcpPort The TCP port
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
+     */
+    protected double performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
         try {
             double pingTime = System.nanoTime();
             if (networkUtils.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
-                v.addReachableTcpService(tcpPort);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             // This should not happen and might be a user configuration issue, we log a warning message therefore.
             logger.warn("Could not create a socket connection", e);
         }
+        return NOT_REACHABLE;
     }
 
     /**
@@ -418,8 +490,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
      */
-    protected void performARPping(String interfaceName) {
+    protected double performARPping(String interfaceName) {
         try {
             logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
             if (iosDevice) {
@@ -429,15 +502,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             double pingTime = System.nanoTime();
             if (networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, destination.getHostAddress(),
                     timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Reset interrupt flag
         }
+        return NOT_REACHABLE;
     }
 
     /**
@@ -445,35 +517,40 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * and will not work on windows systems reliably and will fall back from ICMP pings to
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
+     *
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
      */
-    protected void performJavaPing() {
+    protected double performJavaPing() {
         try {
             logger.trace("Perform java ping presence detection for {}", hostname);
             double pingTime = System.nanoTime();
             if (destination.isReachable(timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute a java ping for ip {}", hostname, e);
         }
+        return NOT_REACHABLE;
     }
 
-    protected void performSystemPing() {
+    /**
+     * Performs a ping with the native ping utility.
+     *
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
+     */
+    protected double performSystemPing() {
         try {
             logger.trace("Perform native ping presence detection for {}", hostname);
             double pingTime = System.nanoTime();
             if (networkUtils.nativePing(pingMethod, destination.getHostAddress(), timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute a native ping for ip {}", hostname, e);
         } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
+            Thread.currentThread().interrupt(); // Reset interrupt flag
         }
+        return NOT_REACHABLE;
     }
 
     @Override
@@ -482,6 +559,24 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.partialDetectionResult(v);
     }
 
+    /**
+     * A changed entry of the ARP cache is only used as an event: A newly resolved entry means that the device has
+     * just answered the ARP request of the operating system. An existing entry does not mean that the device is still
+     * there, because the operating system keeps the entries of idle devices. The regular presence detection therefore
+     * always performs the active probes.
+     */
+    @Override
+    public void arpCacheChanged(String ipAddress, @Nullable String macAddress) {
+        if (macAddress != null) {
+            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_CACHE, 0);
+            updateListener.partialDetectionResult(v);
+        } else if (isAutomaticRefreshing()) {
+            // The operating system could not reach the device anymore. Confirm this with an active detection.
+            cache.invalidateValue();
+            performPresenceDetection(false);
+        }
+    }
+
     /**
      * Start/Restart a fixed scheduled runner to update the devices reach-ability state.
      *
@@ -492,10 +587,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (future != null && !future.isDone()) {
             future.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
+        // Do not block a thread of the scheduler, the final result is submitted when all probes have finished
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(false), 0,
                 refreshIntervalInMS, TimeUnit.MILLISECONDS);
 
         enableDHCPListen(useDHCPsniffing);
+        enableARPCacheListen(useARPCacheListen);
     }
 
     /**
@@ -515,6 +612,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             refreshJob = null;
         }
         enableDHCPListen(false);
+        enableARPCacheListen(false);
+    }
+
+    /**
+     * Stop automatic refreshing and release the probes of this presence detection, which are not shared with other
+     * presence detections.
+     */
+    public void dispose() {
+        stopAutomaticRefresh();
+        probeEngine.release(this);
     }
 
     /**
@@ -542,4 +649,30 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             dhcpState = "off";
         }
     }
+
+    /**
+     * Enables/Disables the passive presence detection with the ARP cache of the operating system.
+     * The hostname of this network service object will be registered to the ARP cache watcher
+     * if enabled and unregistered otherwise.
+     *
+     * @param enabled Enable/Disable the ARP cache listen service for this hostname.
+     */
+    private void enableARPCacheListen(boolean enabled) {
+        if (enabled && destination instanceof Inet4Address) {
+            try {
+                arpCacheWatcher = ARPCacheListenService.register(destination.getHostAddress(), this);
+                arpCacheState = "Running normally";
+            } catch (IOException e) {
+                logger.debug("Cannot use the ARP cache: {}", e.getLocalizedMessage());
+                useARPCacheListen = false;
+                arpCacheState = "Cannot use the ARP cache: " + e.getLocalizedMessage();
+            }
+        } else {
+            if (arpCacheWatcher != null) {
+                ARPCacheListenService.unregister(destination.getHostAddress(), this);
+                arpCacheWatcher = null;
+            }
+            arpCacheState = "off";
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
+import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync.ExpiringCacheUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The binding wide engine that performs the individual probes (ICMP ping, ARP ping, TCP connection attempt) of all
+ * {@link PresenceDetection} instances on one shared and bounded thread pool.
+ *
+ * Probes are identified by a key, which contains the probe type, the destination and all other parameters of the
+ * probe. The result of a probe is kept in an {@link ExpiringCacheAsync} per key. While a probe is running, further
+ * requests for the same key are not executed again but wait for the running probe, and as long as the result has not
+ * expired, it is returned immediately. Things with the same hostname therefore share their pings.
+ *
+ * Every cached probe remembers the owners that requested it. When an owner is released, e.g. because the thing is
+ * disposed, the probes that are not requested by any other owner are removed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProbeEngine {
+    private final Logger logger = LoggerFactory.getLogger(ProbeEngine.class);
+    private final ExecutorService executorService;
+    private final Map<String, ProbeCache> caches = new HashMap<>();
+
+    /**
+     * A cached probe result. The cache update performs the most recently requested probe on the thread pool.
+     */
+    private class ProbeCache implements ExpiringCacheUpdate {
+        final String key;
+        final ExpiringCacheAsync<Double> cache;
+        // Guarded by the caches map
+        final Set<Object> owners = Collections.newSetFromMap(new IdentityHashMap<>());
+        DoubleSupplier probe;
+
+        ProbeCache(String key, long cacheTimeInMS, DoubleSupplier probe) {
+            this.key = key;
+            this.probe = probe;
+            this.cache = new ExpiringCacheAsync<>(cacheTimeInMS, this);
+        }
+
+        @Override
+        public void requestCacheUpdate() {
+            final DoubleSupplier probe = this.probe;
+            try {
+                executorService.execute(() -> {
+                    double latency = PresenceDetection.NOT_REACHABLE;
+                    try {
+                        latency = probe.getAsDouble();
+                    } catch (RuntimeException e) {
+                        logger.debug("Probe {} failed", key, e);
+                    } finally {
+                        // Always set a value, otherwise all further requests for this probe would wait forever
+                        synchronized (this) {
+                            cache.setValue(latency);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Probe {} rejected", key, e);
+                cache.setValue(PresenceDetection.NOT_REACHABLE);
+            }
+        }
+    }
+
+    /**
+     * Creates a probe engine.
+     *
+     * @param executorService The shared thread pool. The probes block a thread of this pool while they are running,
+     *            so the size of the pool limits the number of simultaneous probes.
+     */
+    public ProbeEngine(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Requests the result of a probe. The callback is called immediately, if there is a valid cached result for the
+     * given key. Otherwise it is called from a thread of the pool as soon as the probe finished, which is started if it
+     * is not running already.
+     *
+     * The callback may be called while a lock of the engine is held. Do not request further probes from within the
+     * callback, and do not hold a lock while requesting a probe that is also acquired by the callback.
+     *
+     * @param owner The owner requesting the probe, see {@link #release(Object)}
+     * @param key The probe key, which must identify the probe type, the destination and all parameters
+     * @param cacheTimeInMS How long the result of the probe is valid in milliseconds, if the probe is not cached yet
+     * @param probe The blocking probe. Returns the latency in milliseconds or {@link PresenceDetection#NOT_REACHABLE}.
+     * @param callback Called with the latency in milliseconds or {@link PresenceDetection#NOT_REACHABLE}.
+     */
+    public void probe(Object owner, String key, long cacheTimeInMS, DoubleSupplier probe, DoubleConsumer callback) {
+        ProbeCache probeCache;
+        synchronized (caches) {
+            probeCache = caches.get(key);
+            if (probeCache == null) {
+                probeCache = new ProbeCache(key, cacheTimeInMS, probe);
+                caches.put(key, probeCache);
+            }
+            probeCache.owners.add(owner);
+        }
+        synchronized (probeCache) {
+            probeCache.probe = probe;
+            probeCache.cache.getValue(callback::accept);
+        }
+    }
+
+    /**
+     * Releases all probes requested by the given owner. Probes which are not requested by another owner are removed
+     * together with their cached results.
+     *
+     * @param owner The owner of the probes
+     */
+    public void release(Object owner) {
+        synchronized (caches) {
+            Iterator<ProbeCache> iterator = caches.values().iterator();
+            while (iterator.hasNext()) {
+                ProbeCache probeCache = iterator.next();
+                probeCache.owners.remove(owner);
+                if (probeCache.owners.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of cached probes
+     */
+    int getProbeCount() {
+        synchronized (caches) {
+            return caches.size();
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void dispose() {
+        synchronized (caches) {
+            caches.clear();
+        }
+    }
+
+    /**
+     * Creates a probe key.
+     *
+     * @param type The probe type
+     * @param destination The IP address of the destination
+     * @param parameters All further parameters that influence the result
+     */
+    public static String createKey(PresenceDetectionType type, String destination, @Nullable Object... parameters) {
+        StringBuilder key = new StringBuilder(destination).append(' ').append(type.name());
+        for (Object parameter : parameters) {
+            key.append(' ').append(parameter);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Implement this interface to be notified of changes of the ARP cache of the operating system
+ * for a registered IP address. Register to {@see ARPCacheListenService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ARPCacheChangedCallback {
+    /**
+     * The {@see ARPCacheWatcher} detected that the entry for the IP address has been resolved, has changed its MAC
+     * address or has been removed.
+     *
+     * @param ipAddress The IP address.
+     * @param macAddress The MAC address or null if the operating system could not resolve the IP address anymore.
+     */
+    void arpCacheChanged(String ipAddress, @Nullable String macAddress);
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A singleton. ARPCacheChangedCallback objects can register and unregister.
+ * If the first one is registered and there is no singleton instance, an instance will be created and the
+ * poll thread will be started. If the last ARPCacheChangedCallback is removed, the thread will be stopped.
+ * ARPCacheChangedCallback will be called for changes of the ARP cache entry of the registered address.
+ * Several callbacks can be registered for the same address, registering the same callback twice has no effect.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ARPCacheListenService {
+    static @Nullable ARPCacheWatcher instance;
+    static Map<String, List<ARPCacheChangedCallback>> registeredListeners = new TreeMap<>();
+
+    public static synchronized ARPCacheWatcher register(String hostAddress, ARPCacheChangedCallback arpListener)
+            throws IOException {
+        ARPCacheWatcher instance = ARPCacheListenService.instance;
+        if (instance == null) {
+            instance = new ARPCacheWatcher((String ipAddress, @Nullable String macAddress) -> {
+                List<ARPCacheChangedCallback> listeners;
+                synchronized (registeredListeners) {
+                    listeners = registeredListeners.get(ipAddress);
+                    if (listeners == null) {
+                        return;
+                    }
+                    listeners = new ArrayList<>(listeners);
+                }
+                for (ARPCacheChangedCallback listener : listeners) {
+                    listener.arpCacheChanged(ipAddress, macAddress);
+                }
+            });
+            ARPCacheListenService.instance = instance;
+            instance.start();
+        }
+        synchronized (registeredListeners) {
+            List<ARPCacheChangedCallback> listeners = registeredListeners.computeIfAbsent(hostAddress,
+                    k -> new ArrayList<>());
+            if (!listeners.contains(arpListener)) {
+                listeners.add(arpListener);
+            }
+        }
+        return instance;
+    }
+
+    public static synchronized void unregister(String hostAddress, ARPCacheChangedCallback arpListener) {
+        synchronized (registeredListeners) {
+            List<ARPCacheChangedCallback> listeners = registeredListeners.get(hostAddress);
+            if (listeners != null) {
+                listeners.remove(arpListener);
+                if (listeners.isEmpty()) {
+                    registeredListeners.remove(hostAddress);
+                }
+            }
+            if (!registeredListeners.isEmpty()) {
+                return;
+            }
+        }
+
+        final ARPCacheWatcher instance = ARPCacheListenService.instance;
+        if (instance != null) {
+            instance.close();
+        }
+        ARPCacheListenService.instance = null;
+    }
+}
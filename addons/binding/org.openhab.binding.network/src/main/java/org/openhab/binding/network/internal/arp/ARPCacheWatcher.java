@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the ARP cache of the Linux kernel (/proc/net/arp) and notifies about changed entries.
+ * The operating system resolves the MAC address of every device on the local network it communicates with.
+ * On a gateway, this is every device that is online, so a newly resolved entry tells that a device has entered the
+ * network without sending a single packet.
+ *
+ * The existence of an entry does not tell that the device is still reachable though. /proc/net/arp does not
+ * distinguish between verified entries (state REACHABLE) and entries of idle devices (state STALE), which the kernel
+ * keeps until it sends the next packet to the device. Entries that are already resolved when the watcher starts are
+ * therefore not notified, only changes are.
+ *
+ * The file is only parsed if its content has changed since the last poll.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ARPCacheWatcher extends Thread {
+    static final Path PROC_NET_ARP = Paths.get("/proc/net/arp");
+    static final long POLL_INTERVAL_IN_MS = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(ARPCacheWatcher.class);
+    private final Path arpCacheFile;
+    private final ARPCacheChangedCallback listener;
+    private byte[] buffer = new byte[4096];
+    private byte[] lastContent = new byte[0];
+    private Map<String, String> arpTable = Collections.emptyMap();
+    volatile boolean willbeclosed = false;
+
+    ARPCacheWatcher(ARPCacheChangedCallback listener) throws IOException {
+        this(PROC_NET_ARP, listener);
+    }
+
+    ARPCacheWatcher(Path arpCacheFile, ARPCacheChangedCallback listener) throws IOException {
+        super("ARP cache watcher");
+        setDaemon(true);
+        if (!Files.isReadable(arpCacheFile)) {
+            throw new IOException("The ARP cache " + arpCacheFile + " is not readable on this system");
+        }
+        this.arpCacheFile = arpCacheFile;
+        this.listener = listener;
+        // Read the initial state, this does not notify about the already resolved addresses
+        poll(false);
+    }
+
+    /**
+     * Reads the ARP cache and notifies about changed entries.
+     *
+     * @param notify Notify the listener about changes
+     * @throws IOException If the ARP cache could not be read
+     */
+    void poll(boolean notify) throws IOException {
+        int length = 0;
+        try (InputStream is = Files.newInputStream(arpCacheFile)) {
+            int count;
+            while ((count = is.read(buffer, length, buffer.length - length)) >= 0) {
+                length += count;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        }
+
+        if (length == lastContent.length && equals(buffer, lastContent, length)) {
+            return;
+        }
+        lastContent = Arrays.copyOf(buffer, length);
+
+        Map<String, String> oldTable = arpTable;
+        Map<String, String> newTable = NetworkUtils.parseArpTable(
+                Arrays.asList(new String(buffer, 0, length, StandardCharsets.US_ASCII).split("\n")));
+        arpTable = newTable;
+        if (!notify) {
+            return;
+        }
+
+        for (Entry<String, String> entry : newTable.entrySet()) {
+            if (!entry.getValue().equals(oldTable.get(entry.getKey()))) {
+                logger.trace("ARP cache entry for {} resolved to {}", entry.getKey(), entry.getValue());
+                listener.arpCacheChanged(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String ipAddress : oldTable.keySet()) {
+            if (!newTable.containsKey(ipAddress)) {
+                logger.trace("ARP cache entry for {} removed", ipAddress);
+                listener.arpCacheChanged(ipAddress, null);
+            }
+        }
+    }
+
+    private static boolean equals(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        logger.info("ARP cache watcher online");
+        while (!willbeclosed) {
+            try {
+                Thread.sleep(POLL_INTERVAL_IN_MS);
+                poll(true);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                logger.warn("Could not read the ARP cache: {}", e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops the poll thread and waits for it to finish.
+     * Does nothing if the thread is not running.
+     */
+    public void close() {
+        if (isAlive()) {
+            willbeclosed = true;
+            interrupt();
+            try {
+                join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
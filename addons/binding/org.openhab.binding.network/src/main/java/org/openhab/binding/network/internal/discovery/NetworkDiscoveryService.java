@@ -10,12 +10,14 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
-import java.net.UnknownHostException;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -30,10 +32,10 @@ import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.SubnetScanner;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -44,7 +46,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to and compares the ARP cache before and after the scan. The ARP cache may
+ * still contain hosts which have left the network, so only entries which the scan has refreshed are used.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -53,24 +56,35 @@ import org.slf4j.LoggerFactory;
 @Component(service = DiscoveryService.class, immediate = true, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
+    // Time the operating system needs to verify the ARP cache entries used by the scan (Linux: 5 s delay of the
+    // first probe, 3 unicast probes of 1 s)
+    static final int ARP_VERIFICATION_TIME_IN_MS = 8000;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int DEFAULT_MAX_CONNECTIONS = 256;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
     // TCP port 548 (Apple Filing Protocol (AFP))
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
-    private Set<Integer> tcpServicePorts = Collections
+    private static final Set<Integer> TCP_SERVICE_PORTS = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
     private @Nullable ExecutorService executorService = null;
+    private @Nullable SubnetScanner subnetScanner = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
-        super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
-                false);
+        super(SUPPORTED_THING_TYPES_UIDS, estimateScanTimeout(
+                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size(), DEFAULT_MAX_CONNECTIONS), false);
+    }
+
+    /**
+     * Estimates the scan duration in seconds for the given amount of IPs, if every connect times out.
+     */
+    static int estimateScanTimeout(int ipCount, int maxConnections) {
+        int rounds = (ipCount * TCP_SERVICE_PORTS.size() + maxConnections - 1) / maxConnections;
+        return (int) Math.ceil((rounds * PING_TIMEOUT_IN_MS + ARP_VERIFICATION_TIME_IN_MS) / 1000.0) + 1;
     }
 
     @Override
@@ -114,65 +128,103 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the discovery thread, which scans all IPs of each interface at once with non-blocking
+     * TCP connects (see {@link SubnetScanner}) and compares the ARP cache before and after the scan. Hosts with an
+     * open TCP port are reachable for sure. The operating system keeps the entries of hosts that left the network for
+     * a while (state STALE), so an ARP cache entry alone does not prove that a host is alive:
+     * <ul>
+     * <li>Entries which have been added or changed during the scan have been resolved by the scan.
+     * <li>Entries which existed before have been used by the scan, so the operating system verifies them. They are
+     * read again after the verification, the entries of hosts which did not answer are failed by then.
+     * </ul>
+     * The hosts are not pinged for the confirmation, so no process is started per host.
      */
     @Override
-    protected void startScan() {
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (executorService != null) {
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        scannedIPcount = 0;
+        final SubnetScanner scanner = new SubnetScanner(Math.max(1, configuration.discoveryMaxConnections.intValue()),
+                PING_TIMEOUT_IN_MS);
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        executorService = service;
+        subnetScanner = scanner;
 
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+        service.execute(() -> {
+            Thread.currentThread().setName("Discovery thread");
             try {
-                s.setHostname(ip);
-            } catch (UnknownHostException unknownHostException) {
-                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
-                continue;
-            }
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
+                final Map<String, String> arpTableBefore = networkUtils.getArpTable();
+                final Set<String> respondingIPs = ConcurrentHashMap.newKeySet();
+                long time = scanner.scan(networkIPs, TCP_SERVICE_PORTS, (ip, port) -> {
+                    respondingIPs.add(ip);
+                    newServiceDevice(ip, port);
+                });
+                // Every host, which is alive, has answered the ARP requests caused by the scan by now
+                Map<String, String> arpTable = networkUtils.getArpTable();
+                Set<String> unverifiedIPs = new HashSet<>();
+                for (String ip : networkIPs) {
+                    String mac = arpTable.get(ip);
+                    if (respondingIPs.contains(ip)) {
+                        newPingDevice(ip);
+                    } else if (mac != null) {
+                        if (mac.equals(arpTableBefore.get(ip))) {
+                            unverifiedIPs.add(ip);
+                        } else {
+                            newPingDevice(ip);
+                        }
                     }
                 }
-            });
+                logger.trace("Scan of {} IPs successful in {} ms", networkIPs.size(), time);
+
+                if (!unverifiedIPs.isEmpty()) {
+                    Thread.sleep(ARP_VERIFICATION_TIME_IN_MS);
+                    if (!isScanning(scanner)) {
+                        return;
+                    }
+                    arpTable = networkUtils.getArpTable();
+                    for (String ip : unverifiedIPs) {
+                        if (arpTable.containsKey(ip)) {
+                            newPingDevice(ip);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Network scan failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Reset interrupt flag
+                return;
+            }
+            scanFinished(scanner);
+        });
+    }
+
+    private synchronized boolean isScanning(SubnetScanner scanner) {
+        return subnetScanner == scanner;
+    }
+
+    private synchronized void scanFinished(SubnetScanner scanner) {
+        // Do not stop a scan, that has been started after this one has been stopped
+        if (subnetScanner == scanner) {
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final SubnetScanner scanner = subnetScanner;
+        if (scanner != null) {
+            scanner.stop();
+            subnetScanner = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
         service.shutdown();
         executorService = null;
     }
@@ -183,7 +235,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the discovery thread of {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -226,7 +278,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the discovery thread of {@link #startScan()}.
      *
      * @param ip The device IP
      */
@@ -35,6 +35,7 @@ import org.openhab.binding.network.internal.NetworkHandlerConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.ProbeEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +53,7 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
 
     private boolean isTCPServiceDevice;
     private NetworkBindingConfiguration configuration;
+    private ProbeEngine probeEngine;
 
     // How many retries before a device is deemed offline
     int retries;
@@ -62,10 +64,12 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
     /**
      * Do not call this directly, but use the {@see NetworkHandlerBuilder} instead.
      */
-    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
+    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration,
+            ProbeEngine probeEngine) {
         super(thing);
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
+        this.probeEngine = probeEngine;
     }
 
     private void refreshValue(ChannelUID channelUID) {
@@ -143,7 +147,7 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
     public void dispose() {
         PresenceDetection detection = presenceDetection;
         if (detection != null) {
-            detection.stopAutomaticRefresh();
+            detection.dispose();
         }
         presenceDetection = null;
     }
@@ -180,6 +184,7 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
             presenceDetection.setIOSDevice(true);
             // Hand over binding configurations to the network service
             presenceDetection.setUseDhcpSniffing(configuration.allowDHCPlisten);
+            presenceDetection.setUseArpCacheListen(configuration.allowARPlisten);
             presenceDetection.setUseIcmpPing(configuration.allowSystemPings);
             presenceDetection.setUseArpPing(true, configuration.arpPingToolPath);
         }
@@ -195,20 +200,21 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
     }
 
     private void updateNetworkProperties() {
-        // Update properties (after startAutomaticRefresh, to get the correct dhcp state)
+        // Update properties (after startAutomaticRefresh, to get the correct dhcp and arp cache state)
         Map<String, String> properties = editProperties();
         properties.put(NetworkBindingConstants.PROPERTY_ARP_STATE, presenceDetection.getArpPingState());
         properties.put(NetworkBindingConstants.PROPERTY_ICMP_STATE, presenceDetection.getIPPingState());
         properties.put(NetworkBindingConstants.PROPERTY_PRESENCE_DETECTION_TYPE, "");
         properties.put(NetworkBindingConstants.PROPERTY_IOS_WAKEUP, presenceDetection.isIOSdevice() ? "Yes" : "No");
         properties.put(NetworkBindingConstants.PROPERTY_DHCP_STATE, presenceDetection.getDhcpState());
+        properties.put(NetworkBindingConstants.PROPERTY_ARP_CACHE_STATE, presenceDetection.getArpCacheState());
         updateProperties(properties);
     }
 
     // Create a new network service and apply all configurations.
     @Override
     public void initialize() {
-        initialize(new PresenceDetection(this, configuration.cacheDeviceStateTimeInMS.intValue()));
+        initialize(new PresenceDetection(this, configuration.cacheDeviceStateTimeInMS.intValue(), probeEngine));
     }
 
     /**
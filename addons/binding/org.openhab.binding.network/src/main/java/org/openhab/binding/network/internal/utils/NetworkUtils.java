@@ -24,11 +24,23 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.SystemUtils;
@@ -44,6 +56,17 @@ import org.eclipse.smarthome.io.net.exec.ExecUtil;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final Path PROC_NET_ARP = Paths.get("/proc/net/arp");
+    private static final Pattern ARP_IPV4_PATTERN = Pattern
+            .compile("(?<![\\d.])(\\d{1,3}(?:\\.\\d{1,3}){3})(?![\\d.])");
+    private static final Pattern ARP_MAC_PATTERN = Pattern
+            .compile("(?<![0-9a-fA-F:-])((?:[0-9a-fA-F]{1,2}[:-]){5}[0-9a-fA-F]{1,2})(?![0-9a-fA-F:-])");
+    // IP address, HW type and Flags columns of /proc/net/arp
+    private static final Pattern PROC_NET_ARP_FLAGS_PATTERN = Pattern
+            .compile("^\\s*\\d{1,3}(?:\\.\\d{1,3}){3}\\s+0x[0-9a-fA-F]+\\s+0x([0-9a-fA-F]+)\\s");
+    // Flag of /proc/net/arp for entries with a valid MAC address
+    private static final int ATF_COM = 0x02;
+
     /**
      * Gets every IPv4 Address on each Interface except the loopback
      * The Address format is ip/subnet
@@ -325,6 +348,67 @@ public class NetworkUtils {
         return proc.waitFor() == 0;
     }
 
+    /**
+     * Returns the resolved entries of the ARP cache of the operating system. On Linux /proc/net/arp is read, on other
+     * systems the arp utility is executed once. Incomplete entries of hosts that did not respond to the ARP request of
+     * the operating system are not returned.
+     *
+     * This can be used to check many IPv4 addresses of the local network at once, after a packet was sent to each of
+     * them, instead of performing an ARP ping for every address.
+     *
+     * @return A map of IPv4 addresses to MAC addresses. Empty if the ARP cache cannot be read.
+     */
+    public Map<String, String> getArpTable() {
+        List<String> lines;
+        if (Files.isReadable(PROC_NET_ARP)) {
+            try {
+                lines = Files.readAllLines(PROC_NET_ARP, StandardCharsets.US_ASCII);
+            } catch (IOException ignored) {
+                return Collections.emptyMap();
+            }
+        } else {
+            String result = ExecUtil.executeCommandLineAndWaitResponse(SystemUtils.IS_OS_WINDOWS ? "arp -a" : "arp -an",
+                    1000);
+            if (StringUtils.isBlank(result)) {
+                return Collections.emptyMap();
+            }
+            lines = Arrays.asList(result.split("\\r?\\n"));
+        }
+        return parseArpTable(lines);
+    }
+
+    /**
+     * Parses the output of the arp utility (Linux, MacOS and Windows) or the content of /proc/net/arp. Every line
+     * which contains an IPv4 address and a MAC address, which is not 00:00:00:00:00:00, is a resolved entry. Lines of
+     * /proc/net/arp must have the complete flag (0x2) in addition, failed entries may still show the old MAC address.
+     *
+     * Please note that resolved entries are not necessarily reachable: The operating system keeps the entries of idle
+     * devices (state STALE) and only verifies them, when it sends the next packet to the device.
+     *
+     * @param lines The lines of the ARP cache
+     * @return A map of IPv4 addresses to lower case MAC addresses, separated by colons
+     */
+    public static Map<String, String> parseArpTable(List<String> lines) {
+        Map<String, String> arpTable = new HashMap<>();
+        for (String line : lines) {
+            Matcher ipMatcher = ARP_IPV4_PATTERN.matcher(line);
+            Matcher macMatcher = ARP_MAC_PATTERN.matcher(line);
+            if (!ipMatcher.find() || !macMatcher.find()) {
+                continue;
+            }
+            String mac = macMatcher.group(1).toLowerCase(Locale.ROOT).replace('-', ':');
+            if (mac.matches("[0:]*")) {
+                continue; // Incomplete entry
+            }
+            Matcher flagsMatcher = PROC_NET_ARP_FLAGS_PATTERN.matcher(line);
+            if (flagsMatcher.find() && (Integer.parseInt(flagsMatcher.group(1), 16) & ATF_COM) == 0) {
+                continue; // Failed entry
+            }
+            arpTable.put(ipMatcher.group(1), mac);
+        }
+        return arpTable;
+    }
+
     /**
      * iOS devices are in a deep sleep mode, where they only listen to UDP traffic on port 5353 (Bonjour service
      * discovery). A packet on port 5353 will wake up the network stack to respond to ARP pings at least.
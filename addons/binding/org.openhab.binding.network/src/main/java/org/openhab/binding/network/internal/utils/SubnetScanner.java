@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scans a set of hosts for open TCP ports with non-blocking connects, which are all multiplexed on one selector and
+ * therefore handled by the calling thread only. At most {@code maxConnections} connects are pending at the same time.
+ *
+ * Before the first connect to a host, an empty UDP packet is sent to its Bonjour port 5353. This wakes up sleeping iOS
+ * devices (see {@link NetworkUtils#wakeUpIOS(InetAddress)}) and makes the operating system resolve the MAC address of
+ * every host on the local network, so that the ARP cache can be evaluated after the scan
+ * (see {@link NetworkUtils#getArpTable()}) instead of running an ARP ping per host.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetScanner {
+    private static final int BONJOUR_PORT = 5353;
+
+    /**
+     * Listener for open TCP ports. Called by the scanning thread.
+     */
+    public interface Listener {
+        void serviceReachable(String ip, int port);
+    }
+
+    private static class PendingConnect {
+        final String ip;
+        final int port;
+        final SocketChannel channel;
+        final long deadline;
+        final long startTime;
+
+        PendingConnect(String ip, int port, SocketChannel channel, long startTime, long deadline) {
+            this.ip = ip;
+            this.port = port;
+            this.channel = channel;
+            this.startTime = startTime;
+            this.deadline = deadline;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetScanner.class);
+    private final int maxConnections;
+    private final int timeoutInMS;
+    private volatile boolean stopped;
+    private volatile @Nullable Selector selector;
+
+    /**
+     * @param maxConnections The maximum of simultaneously pending TCP connects. Must be at least 1.
+     * @param timeoutInMS The connect timeout per host and port in milliseconds
+     */
+    public SubnetScanner(int maxConnections, int timeoutInMS) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1");
+        }
+        this.maxConnections = maxConnections;
+        this.timeoutInMS = timeoutInMS;
+    }
+
+    /**
+     * Stops a running scan. The {@link #scan(Collection, Collection, Listener)} method returns as soon as possible.
+     * A stopped scanner cannot be used for another scan. Safe to be called from any thread.
+     */
+    public void stop() {
+        stopped = true;
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Tries to connect to every given port on every given IP and blocks until all connects succeeded, failed or
+     * timed out or until the scan has been stopped.
+     *
+     * @param ips The IPv4 or IPv6 addresses. Hostnames are not resolved.
+     * @param ports The TCP ports. Must not be 0.
+     * @param listener Will be notified about each open port
+     * @return The time in milliseconds the scan took
+     * @throws IOException If the selector could not be opened
+     */
+    public long scan(Collection<String> ips, Collection<Integer> ports, Listener listener) throws IOException {
+        final long scanStart = System.currentTimeMillis();
+        // Pending connects ordered by their deadline, because all connects have the same timeout
+        final ArrayDeque<PendingConnect> pending = new ArrayDeque<>();
+        final Iterator<String> ipIterator = ips.iterator();
+        Iterator<Integer> portIterator = ports.iterator();
+        @Nullable String ip = null;
+
+        try (Selector selector = Selector.open(); DatagramChannel udp = DatagramChannel.open()) {
+            this.selector = selector;
+            udp.configureBlocking(false);
+            final ByteBuffer emptyBuffer = ByteBuffer.allocate(0);
+
+            while (!stopped) {
+                // Start new connects up to the limit
+                while (pending.size() < maxConnections && !stopped) {
+                    if (ip == null || !portIterator.hasNext()) {
+                        if (!ipIterator.hasNext()) {
+                            ip = null;
+                            break;
+                        }
+                        ip = ipIterator.next();
+                        portIterator = ports.iterator();
+                        knock(udp, emptyBuffer, ip);
+                        if (!portIterator.hasNext()) {
+                            continue;
+                        }
+                    }
+                    connect(selector, pending, ip, portIterator.next(), listener);
+                }
+
+                if (pending.isEmpty()) {
+                    if (ip == null) {
+                        break; // All done
+                    }
+                    continue;
+                }
+
+                long waitTime = pending.peekFirst().deadline - System.currentTimeMillis();
+                if (waitTime > 0) {
+                    selector.select(waitTime);
+                } else {
+                    selector.selectNow();
+                }
+
+                for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    finishConnect(connect, listener);
+                }
+
+                // Drop the finished connects and those that timed out
+                long now = System.currentTimeMillis();
+                for (Iterator<PendingConnect> it = pending.iterator(); it.hasNext();) {
+                    PendingConnect connect = it.next();
+                    if (!connect.channel.isOpen()) {
+                        it.remove();
+                    } else if (connect.deadline <= now) {
+                        close(connect.channel);
+                        it.remove();
+                    }
+                }
+            }
+        } finally {
+            this.selector = null;
+            for (PendingConnect connect : pending) {
+                close(connect.channel);
+            }
+        }
+        return System.currentTimeMillis() - scanStart;
+    }
+
+    private void knock(DatagramChannel udp, ByteBuffer emptyBuffer, String ip) {
+        try {
+            emptyBuffer.clear();
+            udp.send(emptyBuffer, new InetSocketAddress(InetAddress.getByName(ip), BONJOUR_PORT));
+        } catch (IOException ignored) {
+            // We ignore unreachable hosts and full send buffers, the TCP connects and the ARP cache will tell
+        }
+    }
+
+    private void connect(Selector selector, ArrayDeque<PendingConnect> pending, String ip, int port,
+            Listener listener) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            long now = System.currentTimeMillis();
+            PendingConnect connect = new PendingConnect(ip, port, channel, now, now + timeoutInMS);
+            if (channel.connect(new InetSocketAddress(InetAddress.getByName(ip), port))) {
+                reachable(connect, listener);
+                close(channel);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, connect);
+                pending.addLast(connect);
+            }
+        } catch (IOException e) {
+            // No route to host, network unreachable or out of file descriptors
+            logger.trace("Failed to connect to {}:{}", ip, port, e);
+            if (channel != null) {
+                close(channel);
+            }
+        }
+    }
+
+    private void finishConnect(PendingConnect connect, Listener listener) {
+        try {
+            if (connect.channel.finishConnect()) {
+                reachable(connect, listener);
+            } else {
+                return; // Not finished yet, keep waiting
+            }
+        } catch (IOException ignored) {
+            // Connection refused or host unreachable
+        }
+        close(connect.channel);
+    }
+
+    private void reachable(PendingConnect connect, Listener listener) {
+        logger.trace("Port {} of {} is open, connected in {} ms", connect.port, connect.ip,
+                System.currentTimeMillis() - connect.startTime);
+        listener.serviceReachable(connect.ip, connect.port);
+    }
+
+    private void close(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.openhab.binding.smartmeter.internal.sml.SmlFrame;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameDecoder;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameReader;
+import org.openhab.binding.smartmeter.internal.sml.SmlListValue;
+import org.openhab.binding.smartmeter.internal.sml.SmlValueExtractor;
+import org.openmuc.jsml.structures.ASNObject;
+import org.openmuc.jsml.structures.EMessageBody;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.structures.SmlListEntry;
+import org.openmuc.jsml.structures.SmlMessage;
+import org.openmuc.jsml.structures.responses.SmlGetListRes;
+import org.openmuc.jsml.transport.Transport;
+
+/**
+ * Micro benchmark comparing the {@link SmlFrameReader} and {@link SmlFrameDecoder} with reading and decoding SML
+ * files with jSML and the {@link SmlValueExtractor}.
+ *
+ * This is not run as part of the unit tests. Run the main method from the IDE, optionally giving the number of
+ * iterations and files with SML data recorded from the serial port as arguments. Without files a typical file created
+ * by {@link TestSmlFrameDecoder#createFile(long)} is used.
+ *
+ * @author agent - Initial contribution
+ */
+public class SmlFrameDecoderBenchmark {
+
+    private static final Transport TRANSPORT = new Transport();
+
+    private static int values;
+
+    /**
+     * Bytes allocated by the current thread, or -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        try {
+            // com.sun.management.ThreadMXBean is not available on all JVMs
+            Class<?> sunThreadBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!sunThreadBean.isInstance(threadBean)) {
+                return -1;
+            }
+            Method method = sunThreadBean.getMethod("getThreadAllocatedBytes", long.class);
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private interface FrameDecoder {
+        void decode(byte[] data) throws IOException;
+    }
+
+    private static void decodeWithJsml(byte[] data) throws IOException {
+        SmlFile smlFile = TRANSPORT.getSMLFile(new DataInputStream(new ByteArrayInputStream(data)));
+        for (SmlMessage message : smlFile.getMessages()) {
+            if (message.getMessageBody().getTag() != EMessageBody.GET_LIST_RESPONSE) {
+                continue;
+            }
+            SmlGetListRes listResponse = (SmlGetListRes) message.getMessageBody().getChoice();
+            for (SmlListEntry entry : listResponse.getValList().getValListEntry()) {
+                SmlValueExtractor extractor = new SmlValueExtractor(entry);
+                ASNObject status = entry.getStatus().getChoice();
+                if (extractor.getObisCode() != null && extractor.getValue() != null && extractor.getUnit() != null
+                        && (status == null || status.toString() != null)) {
+                    values++;
+                }
+            }
+        }
+    }
+
+    private static FrameDecoder createFrameDecoder() {
+        SmlFrameReader reader = new SmlFrameReader(0);
+        SmlFrameDecoder decoder = new SmlFrameDecoder();
+        SmlFrame frame = new SmlFrame();
+        return data -> {
+            reader.reset();
+            reader.readFrame(new ByteArrayInputStream(data), frame);
+            decoder.decode(frame);
+            for (SmlListValue value : frame.getValues()) {
+                if (value.getObisCode() != null && value.getValue() != null) {
+                    values++;
+                }
+            }
+        };
+    }
+
+    private static void run(String name, String decoderName, FrameDecoder decoder, byte[] data, int iterations)
+            throws IOException {
+        // warm up
+        for (int i = 0; i < iterations / 10; i++) {
+            decoder.decode(data);
+        }
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode(data);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+        System.out.println(String.format("%-20s %-8s %6d B %10.0f files/s %8.1f us/file %10s B/file", name,
+                decoderName, data.length, iterations * 1e9 / elapsed, elapsed / 1e3 / iterations,
+                allocatedBefore < 0 ? "n/a" : String.valueOf((allocatedAfter - allocatedBefore) / iterations)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            files.put(Paths.get(args[i]).getFileName().toString(), Files.readAllBytes(Paths.get(args[i])));
+        }
+        if (files.isEmpty()) {
+            files.put("generated", TestSmlFrameDecoder.createFrame(TestSmlFrameDecoder.createFile(123456)));
+        }
+        for (Entry<String, byte[]> file : files.entrySet()) {
+            run(file.getKey(), "jSML", SmlFrameDecoderBenchmark::decodeWithJsml, file.getValue(), iterations);
+            run(file.getKey(), "decoder", createFrameDecoder(), file.getValue(), iterations);
+        }
+        System.out.println("Decoded " + values + " values");
+    }
+}
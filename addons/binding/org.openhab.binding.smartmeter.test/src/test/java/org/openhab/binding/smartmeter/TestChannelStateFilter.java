@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.internal.ChannelStateFilter;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestChannelStateFilter {
+
+    private static final ChannelUID CHANNEL1 = new ChannelUID("smartmeter:meter:test:channel1");
+    private static final ChannelUID CHANNEL2 = new ChannelUID("smartmeter:meter:test:channel2");
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    public void testOnlyChangedStatesPublished() {
+        ChannelStateFilter filter = new ChannelStateFilter(Duration.ZERO);
+        assertTrue(filter.shouldPublish(CHANNEL1, new StringType("1"), seconds(0)));
+        assertFalse(filter.shouldPublish(CHANNEL1, new StringType("1"), seconds(1)));
+        assertTrue(filter.shouldPublish(CHANNEL2, new StringType("1"), seconds(1)));
+        assertTrue(filter.shouldPublish(CHANNEL1, new StringType("2"), seconds(2)));
+        assertTrue(filter.shouldPublish(CHANNEL1, new StringType("1"), seconds(2)));
+
+        filter.reset(CHANNEL1);
+        assertTrue(filter.shouldPublish(CHANNEL1, new StringType("1"), seconds(3)));
+    }
+
+    @Test
+    public void testThrottledChangePublishedLater() {
+        ChannelStateFilter filter = new ChannelStateFilter(Duration.ofSeconds(5));
+        assertTrue(filter.shouldPublish(CHANNEL1, new StringType("1"), seconds(0)));
+        assertFalse(filter.shouldPublish(CHANNEL1, new StringType("2"), seconds(1)));
+        assertFalse(filter.shouldPublish(CHANNEL1, new StringType("3"), seconds(4)));
+        assertTrue(filter.shouldPublish(CHANNEL1, new StringType("3"), seconds(5)));
+        assertFalse(filter.shouldPublish(CHANNEL1, new StringType("3"), seconds(20)));
+    }
+
+    @Test
+    public void testPublishedOnRequest() {
+        ChannelStateFilter filter = new ChannelStateFilter(Duration.ZERO);
+        filter.published(CHANNEL1, new StringType("1"), seconds(0));
+        assertFalse(filter.shouldPublish(CHANNEL1, new StringType("1"), seconds(1)));
+    }
+}
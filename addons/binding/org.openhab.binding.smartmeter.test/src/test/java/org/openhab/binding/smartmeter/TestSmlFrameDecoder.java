@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrame;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameDecoder;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameReader;
+import org.openhab.binding.smartmeter.internal.sml.SmlListValue;
+import org.openhab.binding.smartmeter.internal.sml.SmlValueExtractor;
+import org.openmuc.jsml.structures.ASNObject;
+import org.openmuc.jsml.structures.EMessageBody;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.structures.SmlListEntry;
+import org.openmuc.jsml.structures.SmlMessage;
+import org.openmuc.jsml.structures.responses.SmlGetListRes;
+import org.openmuc.jsml.transport.Transport;
+
+/**
+ * Tests the {@link SmlFrameReader} and {@link SmlFrameDecoder} against jSML.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestSmlFrameDecoder {
+
+    private static final int[] UNITS = { 27, 30, 33, 35, 13 };
+
+    /**
+     * Writes SML files with the shortest encodings, like meters do.
+     */
+    public static class SmlWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        public SmlWriter list(int size) {
+            if (size < 16) {
+                out.write(0x70 | size);
+            } else {
+                out.write(0xF0 | (size >> 4));
+                out.write(size & 0x0F);
+            }
+            return this;
+        }
+
+        public SmlWriter octets(int... value) {
+            byte[] bytes = new byte[value.length];
+            for (int i = 0; i < value.length; i++) {
+                bytes[i] = (byte) value[i];
+            }
+            return octets(bytes);
+        }
+
+        public SmlWriter octets(byte[] value) {
+            if (value.length < 15) {
+                out.write(value.length + 1);
+            } else {
+                out.write(0x80 | ((value.length + 2) >> 4));
+                out.write((value.length + 2) & 0x0F);
+            }
+            out.write(value, 0, value.length);
+            return this;
+        }
+
+        public SmlWriter number(int type, int bytes, long value) {
+            out.write(type | (bytes + 1));
+            for (int i = bytes - 1; i >= 0; i--) {
+                out.write((int) (value >> (8 * i)));
+            }
+            return this;
+        }
+
+        public SmlWriter unsigned(long value) {
+            int bytes = 1;
+            while (bytes < 8 && (value >>> (8 * bytes)) != 0) {
+                bytes++;
+            }
+            return number(0x60, bytes, value);
+        }
+
+        public SmlWriter raw(int... bytes) {
+            for (int b : bytes) {
+                out.write(b);
+            }
+            return this;
+        }
+
+        public SmlWriter notSet() {
+            return raw(0x01);
+        }
+
+        public SmlWriter messageStart(int transactionId, int tag) {
+            return list(6).octets((byte) transactionId).raw(0x62, 0x00, 0x62, 0x00, 0x72).number(0x60, 2, tag);
+        }
+
+        public SmlWriter messageEnd() {
+            return number(0x60, 2, 0x1234).raw(0x00);
+        }
+
+        public SmlWriter openResponse() {
+            messageStart(1, EMessageBody.OPEN_RESPONSE.id());
+            list(6).notSet().notSet().octets(1, 2).octets(new byte[10]).notSet().notSet();
+            return messageEnd();
+        }
+
+        public SmlWriter closeResponse() {
+            messageStart(3, EMessageBody.CLOSE_RESPONSE.id());
+            list(1).notSet();
+            return messageEnd();
+        }
+
+        public SmlWriter getListResponseStart(int entries) {
+            messageStart(2, EMessageBody.GET_LIST_RESPONSE.id());
+            list(7).notSet().octets(new byte[10]).octets(1, 0, 98, 10, 255, 255);
+            list(2).raw(0x62, 0x01).number(0x60, 4, 123456);
+            return list(entries);
+        }
+
+        public SmlWriter getListResponseEnd() {
+            notSet().notSet();
+            return messageEnd();
+        }
+
+        public byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Creates a file as sent by a typical meter, with the energy value given.
+     *
+     * The last value contains an escape sequence. The transport only escapes it if it is aligned to 4 bytes, which is
+     * the case for energy values encoded with 3 bytes.
+     */
+    public static byte[] createFile(long energy) {
+        SmlWriter writer = new SmlWriter().openResponse().getListResponseStart(6);
+        writer.list(7).octets(129, 129, 199, 130, 3, 255).notSet().notSet()
+                .notSet().notSet().octets("ISK".getBytes()).notSet();
+        writer.list(7).octets(1, 0, 0, 0, 9, 255).notSet().notSet().notSet().notSet().octets(new byte[10])
+                .notSet();
+        writer.list(7).octets(1, 0, 1, 8, 0, 255).unsigned(0x1A2).notSet().raw(0x62, 30, 0x52, 0xFF)
+                .unsigned(energy).notSet();
+        writer.list(7).octets(1, 0, 2, 8, 0, 255).unsigned(0x1A2).notSet().raw(0x62, 30, 0x52, 0xFF)
+                .unsigned(0).notSet();
+        writer.list(7).octets(1, 0, 16, 7, 0, 255).notSet().notSet().raw(0x62, 27, 0x52, 0x00)
+                .number(0x50, 2, (energy % 1000) - 500).notSet();
+        writer.list(7).octets(129, 129, 199, 240, 6, 255).notSet().notSet()
+                .notSet().notSet().octets(new byte[] { 1, 2, 0x1b, 0x1b, 0x1b, 0x1b, 3 }).notSet();
+        return writer.getListResponseEnd().closeResponse().toByteArray();
+    }
+
+    /**
+     * Creates a transport frame for the given file as sent by a meter.
+     */
+    public static byte[] createFrame(byte[] file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Transport().send(new DataOutputStream(out), file);
+        return out.toByteArray();
+    }
+
+    private static byte[] randomFile(Random random, boolean allowFallback) {
+        int entries = 1 + random.nextInt(20);
+        SmlWriter writer = new SmlWriter().openResponse().getListResponseStart(entries);
+        for (int i = 0; i < entries; i++) {
+            writer.list(7).octets(random.nextInt(256), random.nextInt(256), random.nextInt(256), random.nextInt(256),
+                    random.nextInt(256), 255);
+            switch (random.nextInt(allowFallback ? 4 : 3)) {
+                case 0:
+                    writer.notSet();
+                    break;
+                case 1:
+                    writer.number(0x60, 1 + random.nextInt(8), random.nextLong());
+                    break;
+                case 2:
+                    writer.unsigned(random.nextInt(0x10000));
+                    break;
+                default:
+                    // not supported by the decoder, decoded by jSML instead
+                    writer.number(0x50, 1, random.nextInt(256));
+                    break;
+            }
+            if (random.nextBoolean()) {
+                writer.notSet();
+            } else {
+                writer.list(2).raw(0x62, 0x01).number(0x60, 4, random.nextInt() & 0xFFFFFFFFL);
+            }
+            if (random.nextBoolean()) {
+                writer.notSet();
+            } else {
+                writer.raw(0x62, UNITS[random.nextInt(UNITS.length)]);
+            }
+            if (random.nextBoolean()) {
+                writer.notSet();
+            } else {
+                writer.raw(0x52, random.nextInt(7) - 3);
+            }
+            switch (random.nextInt(4)) {
+                case 0:
+                    writer.number(0x50, 1 + random.nextInt(8), random.nextLong());
+                    break;
+                case 1:
+                    writer.number(0x60, 1 + random.nextInt(8), random.nextLong());
+                    break;
+                case 2:
+                    byte[] octets = new byte[random.nextInt(20)];
+                    for (int j = 0; j < octets.length; j++) {
+                        octets[j] = (byte) (random.nextBoolean() ? random.nextInt(10) : random.nextInt(256));
+                    }
+                    writer.octets(octets);
+                    break;
+                default:
+                    writer.raw(0x42, random.nextInt(2));
+                    break;
+            }
+            writer.notSet();
+        }
+        return writer.getListResponseEnd().closeResponse().toByteArray();
+    }
+
+    private static List<String> decodeWithJsml(byte[] file) throws IOException {
+        List<String> values = new ArrayList<>();
+        SmlFile smlFile = new SmlFile();
+        DataInputStream is = new DataInputStream(new ByteArrayInputStream(file));
+        while (is.available() > 0) {
+            SmlMessage message = new SmlMessage();
+            Assert.assertTrue(message.decode(is));
+            smlFile.add(message);
+        }
+        for (SmlMessage message : smlFile.getMessages()) {
+            if (message.getMessageBody().getTag() == EMessageBody.GET_LIST_RESPONSE) {
+                SmlGetListRes listResponse = (SmlGetListRes) message.getMessageBody().getChoice();
+                for (SmlListEntry entry : listResponse.getValList().getValListEntry()) {
+                    SmlValueExtractor extractor = new SmlValueExtractor(entry);
+                    ASNObject status = entry.getStatus().getChoice();
+                    values.add(extractor.getObisCode() + " " + extractor.getValue() + " " + extractor.getUnit() + " "
+                            + (status != null ? status.toString() : null));
+                }
+            }
+        }
+        return values;
+    }
+
+    private static List<String> decode(SmlFrameDecoder decoder, SmlFrame frame, byte[] file) throws IOException {
+        frame.setData(file, 0, file.length);
+        decoder.decode(frame);
+        List<String> values = new ArrayList<>();
+        for (SmlListValue value : frame.getValues()) {
+            values.add(value.getObisCode() + " " + value.getValue() + " " + value.getUnit() + " " + value.getStatus());
+        }
+        return values;
+    }
+
+    @Test
+    public void testReadFrames() throws IOException {
+        byte[] file1 = createFile(123456);
+        byte[] file2 = createFile(123457);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        // the end of a previous file
+        stream.write(new byte[] { 0x12, 0x1b, 0x1b, 0x1b, 0x1b, 0x1a, 0x00, 0x12, 0x34 });
+        stream.write(createFrame(file1));
+        stream.write(createFrame(file2));
+        ByteArrayInputStream is = new ByteArrayInputStream(stream.toByteArray());
+
+        SmlFrameReader reader = new SmlFrameReader(0);
+        SmlFrame frame = new SmlFrame();
+        reader.readFrame(is, frame);
+        Assert.assertArrayEquals(file1, Arrays.copyOf(frame.getData(), frame.getLength()));
+        Assert.assertTrue(reader.hasBufferedData() || is.available() > 0);
+        reader.readFrame(is, frame);
+        Assert.assertArrayEquals(file2, Arrays.copyOf(frame.getData(), frame.getLength()));
+        Assert.assertFalse(reader.hasBufferedData() || is.available() > 0);
+    }
+
+    @Test
+    public void testReadFrameSameAsJsml() throws IOException {
+        byte[] frameData = createFrame(createFile(123456));
+        SmlFile smlFile = new Transport().getSMLFile(new DataInputStream(new ByteArrayInputStream(frameData)));
+
+        SmlFrame frame = new SmlFrame();
+        new SmlFrameReader(0).readFrame(new ByteArrayInputStream(frameData), frame);
+        Assert.assertEquals(3, smlFile.getMessages().size());
+        Assert.assertEquals(3, frame.toSmlFile().getMessages().size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testWrongCrc() throws IOException {
+        byte[] frameData = createFrame(createFile(123456));
+        frameData[frameData.length - 1]++;
+        new SmlFrameReader(0).readFrame(new ByteArrayInputStream(frameData), new SmlFrame());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTimeout() throws IOException {
+        byte[] frameData = createFrame(createFile(123456));
+        new SmlFrameReader(0).readFrame(new ByteArrayInputStream(frameData, 0, frameData.length - 1),
+                new SmlFrame());
+    }
+
+    @Test
+    public void testDecode() throws IOException {
+        SmlFrameDecoder decoder = new SmlFrameDecoder();
+        SmlFrame frame = new SmlFrame();
+        List<String> values = decode(decoder, frame, createFile(123456));
+
+        Assert.assertEquals(3, frame.getMessageCount());
+        Assert.assertEquals(Arrays.asList("129-129:199.130.3 49 53 4B EMPTY null",
+                "1-0:0.0.9 00 00 00 00 00 00 00 00 00 00 EMPTY null", "1-0:1.8.0 12345.6 WATT_HOUR 418",
+                "1-0:2.8.0 0.0 WATT_HOUR 418", "1-0:16.7.0 -44.0 WATT null",
+                "129-129:199.240.6 01 02 1B 1B 1B 1B 03 EMPTY null"), values);
+    }
+
+    @Test
+    public void testDecodeSameAsJsml() throws IOException {
+        Random random = new Random(42);
+        SmlFrameDecoder decoder = new SmlFrameDecoder();
+        SmlFrame frame = new SmlFrame();
+
+        for (int i = 0; i < 2000; i++) {
+            byte[] file = randomFile(random, i % 2 == 0);
+            List<String> expected = decodeWithJsml(file);
+            Assert.assertEquals(expected, decode(decoder, frame, file));
+            // the values of the previous file are reused
+            Assert.assertEquals(expected, decode(decoder, frame, file));
+        }
+    }
+
+    @Test
+    public void testDecodeChangedValues() throws IOException {
+        SmlFrameDecoder decoder = new SmlFrameDecoder();
+        SmlFrame frame = new SmlFrame();
+
+        for (long energy = 1000; energy < 1100; energy++) {
+            byte[] file = createFile(energy);
+            Assert.assertEquals(decodeWithJsml(file), decode(decoder, frame, file));
+        }
+    }
+}
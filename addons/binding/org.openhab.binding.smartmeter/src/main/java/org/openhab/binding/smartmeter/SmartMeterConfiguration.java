@@ -23,4 +23,5 @@ public class SmartMeterConfiguration {
     public String baudrate;
     public String mode;
     public String conformity;
+    public Integer minimumUpdateInterval;
 }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter.internal;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Decides which channel states are published to the framework.
+ *
+ * Meters push their values every few seconds, but most of them do not change between two readings. A state is only
+ * published if it differs from the state last published for the channel. Additionally the updates of a channel can be
+ * throttled: a changed state is dropped if the last update of the channel is less than the minimum interval ago. As
+ * the dropped state still differs from the published one, it is published with one of the next readings.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ChannelStateFilter {
+
+    private static class PublishedState {
+        private final State state;
+        private final long time;
+
+        public PublishedState(State state, long time) {
+            this.state = state;
+            this.time = time;
+        }
+    }
+
+    private final long minimumIntervalNanos;
+    private final Map<ChannelUID, PublishedState> publishedStates = new ConcurrentHashMap<>();
+
+    /**
+     * @param minimumInterval the minimum interval between two updates of a channel, or {@link Duration#ZERO} to only
+     *            drop unchanged states
+     */
+    public ChannelStateFilter(Duration minimumInterval) {
+        this.minimumIntervalNanos = minimumInterval.toNanos();
+    }
+
+    /**
+     * Checks whether the given state shall be published and records it as published if so.
+     *
+     * @param channelUID The channel of the state.
+     * @param state The new state of the channel.
+     * @param nanoTime The current time as given by {@link System#nanoTime()}.
+     * @return Whether the state shall be published.
+     */
+    public boolean shouldPublish(ChannelUID channelUID, State state, long nanoTime) {
+        PublishedState published = publishedStates.get(channelUID);
+        if (published != null && (published.state.equals(state)
+                || (minimumIntervalNanos > 0 && nanoTime - published.time < minimumIntervalNanos))) {
+            return false;
+        }
+        publishedStates.put(channelUID, new PublishedState(state, nanoTime));
+        return true;
+    }
+
+    /**
+     * Records the given state as published, e.g. after it was published on request.
+     *
+     * @param channelUID The channel of the state.
+     * @param state The published state.
+     * @param nanoTime The current time as given by {@link System#nanoTime()}.
+     */
+    public void published(ChannelUID channelUID, State state, long nanoTime) {
+        publishedStates.put(channelUID, new PublishedState(state, nanoTime));
+    }
+
+    /**
+     * Forgets the state published for the given channel, so the next state is published in any case.
+     *
+     * @param channelUID The channel.
+     */
+    public void reset(ChannelUID channelUID) {
+        publishedStates.remove(channelUID);
+    }
+
+    /**
+     * Forgets the states published for all channels.
+     */
+    public void reset() {
+        publishedStates.clear();
+    }
+}
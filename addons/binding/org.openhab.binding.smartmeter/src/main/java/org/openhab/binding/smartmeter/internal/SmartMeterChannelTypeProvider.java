@@ -48,6 +48,7 @@ public class SmartMeterChannelTypeProvider implements ChannelTypeProvider, Meter
     private final Logger logger = LoggerFactory.getLogger(SmartMeterChannelTypeProvider.class);
 
     private Map<String, ChannelType> obisChannelMap = new ConcurrentHashMap<>();
+    private Map<ChannelTypeUID, ChannelType> channelTypes = new ConcurrentHashMap<>();
 
     @Override
     public @NonNull Collection<@NonNull ChannelType> getChannelTypes(@Nullable Locale locale) {
@@ -56,8 +57,7 @@ public class SmartMeterChannelTypeProvider implements ChannelTypeProvider, Meter
 
     @Override
     public @Nullable ChannelType getChannelType(ChannelTypeUID channelTypeUID, @Nullable Locale locale) {
-        return obisChannelMap.values().stream().filter(channelType -> channelType.getUID().equals(channelTypeUID))
-                .findFirst().orElse(null);
+        return channelTypes.get(channelTypeUID);
     }
 
     @Override
@@ -81,7 +81,9 @@ public class SmartMeterChannelTypeProvider implements ChannelTypeProvider, Meter
     public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
         if (!obisChannelMap.containsKey(value.getObisCode())) {
             logger.debug("Creating ChannelType for OBIS {}", value.getObisCode());
-            obisChannelMap.put(value.getObisCode(), getChannelType(value.getUnit(), value.getObisCode()));
+            ChannelType channelType = getChannelType(value.getUnit(), value.getObisCode());
+            obisChannelMap.put(value.getObisCode(), channelType);
+            channelTypes.put(channelType.getUID(), channelType);
         }
     }
 
@@ -109,7 +111,10 @@ public class SmartMeterChannelTypeProvider implements ChannelTypeProvider, Meter
 
     @Override
     public <Q extends @NonNull Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
-        obisChannelMap.remove(value.getObisCode());
+        ChannelType channelType = obisChannelMap.remove(value.getObisCode());
+        if (channelType != null) {
+            channelTypes.remove(channelType.getUID());
+        }
     }
 
     /**
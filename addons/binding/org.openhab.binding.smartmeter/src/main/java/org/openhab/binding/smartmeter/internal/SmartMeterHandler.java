@@ -12,7 +12,6 @@ import java.math.BigDecimal;
 import java.text.MessageFormat;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,7 +42,6 @@ import org.eclipse.smarthome.core.thing.type.ChannelTypeUID;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
-import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
@@ -73,6 +71,7 @@ public class SmartMeterHandler extends BaseThingHandler {
     private MeterValueListener valueChangeListener;
     private SmartMeterChannelTypeProvider channelTypeProvider;
     private @NonNull Supplier<SerialPortManager> serialPortManagerSupplier;
+    private ChannelStateFilter stateFilter = new ChannelStateFilter(Duration.ZERO);
 
     public SmartMeterHandler(Thing thing, SmartMeterChannelTypeProvider channelProvider,
             Supplier<SerialPortManager> serialPortManagerSupplier) {
@@ -104,6 +103,8 @@ public class SmartMeterHandler extends BaseThingHandler {
             int baudrate = config.baudrate == null ? Baudrate.AUTO.getBaudrate()
                     : Baudrate.fromString(config.baudrate).getBaudrate();
             this.conformity = config.conformity == null ? Conformity.NONE : Conformity.valueOf(config.conformity);
+            this.stateFilter = new ChannelStateFilter(Duration.ofSeconds(
+                    config.minimumUpdateInterval == null ? 0 : Math.max(0, config.minimumUpdateInterval)));
             this.smlDevice = MeterDeviceFactory.getDevice(serialPortManagerSupplier, config.mode,
                     this.thing.getUID().getAsString(), config.port, pullSequence, baudrate, config.baudrateChangeDelay);
             updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.HANDLER_CONFIGURATION_PENDING,
@@ -154,8 +155,6 @@ public class SmartMeterHandler extends BaseThingHandler {
         valueChangeListener = new MeterValueListener() {
             @Override
             public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
-                ThingBuilder thingBuilder = editThing();
-
                 String obis = value.getObisCode();
 
                 String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
@@ -191,6 +190,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                         List<Channel> channels = new ArrayList<Channel>(getThing().getChannels());
                         if (channels.stream().filter((element) -> element.getUID().equals(channelId)).count() == 0) {
                             channels.add(channel);
+                            ThingBuilder thingBuilder = editThing();
                             thingBuilder.withChannels(channels);
                             updateThing(thingBuilder.build());
                         }
@@ -199,9 +199,14 @@ public class SmartMeterHandler extends BaseThingHandler {
                     if (!channel.getProperties().containsKey(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS)) {
                         addObisPropertyToChannel(obis, channel);
                     }
-                    updateState(channel.getUID(), state);
+                    // most values do not change between two readings
+                    if (stateFilter.shouldPublish(channel.getUID(), state, System.nanoTime())) {
+                        updateState(channel.getUID(), state);
+                    }
 
-                    updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+                    if (getThing().getStatus() != ThingStatus.ONLINE) {
+                        updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+                    }
                 } else {
                     logger.warn("No ChannelType found for OBIS {}", obis);
                 }
@@ -225,8 +230,10 @@ public class SmartMeterHandler extends BaseThingHandler {
                 // channels that are not available are removed
                 String obisChannelId = SmartMeterBindingConstants.getObisChannelId(value.getObisCode());
                 logger.debug("Removing channel: {}", obisChannelId);
+                ChannelUID channelUID = new ChannelUID(thing.getUID(), obisChannelId);
+                stateFilter.reset(channelUID);
                 ThingBuilder thingBuilder = editThing();
-                thingBuilder.withoutChannel(new ChannelUID(thing.getUID(), obisChannelId));
+                thingBuilder.withoutChannel(channelUID);
                 updateThing(thingBuilder.build());
             }
 
@@ -253,6 +260,7 @@ public class SmartMeterHandler extends BaseThingHandler {
 
                     State state = getStateForObisValue(value, channel);
                     updateState(channel.getUID(), state);
+                    stateFilter.published(channel.getUID(), state, System.nanoTime());
                 }
             }
         }
@@ -265,7 +273,7 @@ public class SmartMeterHandler extends BaseThingHandler {
         if (unit != null) {
             valueString += " " + value.getUnit();
         }
-        State state = TypeParser.parseState(Arrays.asList(QuantityType.class, StringType.class), valueString);
+        State state = parseState(valueString);
         if (channel != null && state instanceof QuantityType) {
             state = applyConformity(channel, (QuantityType<Q>) state);
             Number conversionRatio = (Number) channel.getConfiguration()
@@ -277,6 +285,19 @@ public class SmartMeterHandler extends BaseThingHandler {
         return state;
     }
 
+    /**
+     * Parses the value as {@link QuantityType} or as {@link StringType} if it is not a quantity. Does the same as the
+     * TypeParser for these two types, without looking up their valueOf methods for every single value.
+     */
+    private static State parseState(String valueString) {
+        try {
+            return new QuantityType<>(valueString);
+        } catch (RuntimeException e) {
+            // the type parser would skip the type on any exception as well
+            return new StringType(valueString);
+        }
+    }
+
     private <Q extends Quantity<Q>> State applyConformity(Channel channel, QuantityType<Q> currentState) {
         try {
             return this.conformity.apply(channel, currentState, getThing(), this.smlDevice);
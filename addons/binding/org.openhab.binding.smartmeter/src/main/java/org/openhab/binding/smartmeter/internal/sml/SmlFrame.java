@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.structures.SmlMessage;
+
+/**
+ * A SML file as read from the meter: the messages between the start and end escape sequence of the SML transport
+ * protocol and the values decoded from them.
+ *
+ * A frame is reused for reading the next file, so its data and values are only valid until then.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlFrame {
+
+    private static final int INITIAL_SIZE = 1024;
+
+    private byte[] data = new byte[INITIAL_SIZE];
+    private int length;
+
+    private final List<SmlListValue> values = new ArrayList<>();
+    private int valueCount;
+    private int messageCount;
+
+    /**
+     * @return the buffer holding the messages of the file, valid up to {@link #getLength()}
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * @return the number of bytes of the file
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Sets the frame to the given bytes, e.g. to decode a recorded file.
+     */
+    public void setData(byte[] data, int offset, int length) {
+        clear();
+        ensureCapacity(length);
+        System.arraycopy(data, offset, this.data, 0, length);
+        this.length = length;
+    }
+
+    /**
+     * @return the values of all SML_GetList.Res messages of the file
+     */
+    public List<SmlListValue> getValues() {
+        return values.subList(0, valueCount);
+    }
+
+    /**
+     * @return the number of messages of the file
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Decodes the file with jSML.
+     *
+     * This creates the whole jSML object tree, so it should only be used for debug output.
+     *
+     * @return the decoded file
+     * @throws IOException if the file can't be decoded
+     */
+    public SmlFile toSmlFile() throws IOException {
+        SmlFile smlFile = new SmlFile();
+        try (DataInputStream is = new DataInputStream(new ByteArrayInputStream(data, 0, length))) {
+            while (is.available() > 0) {
+                SmlMessage message = new SmlMessage();
+                if (!message.decode(is)) {
+                    throw new IOException("Could not decode message");
+                }
+                smlFile.add(message);
+            }
+        }
+        return smlFile;
+    }
+
+    void clear() {
+        length = 0;
+        valueCount = 0;
+        messageCount = 0;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    void append(byte b) {
+        ensureCapacity(length + 1);
+        data[length++] = b;
+    }
+
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    void clearValues() {
+        valueCount = 0;
+        messageCount = 0;
+    }
+
+    void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    /**
+     * @return the next value of the file, reusing the value at the same position of the previous file
+     */
+    SmlListValue nextValue() {
+        if (valueCount == values.size()) {
+            values.add(new SmlListValue());
+        }
+        return values.get(valueCount++);
+    }
+}
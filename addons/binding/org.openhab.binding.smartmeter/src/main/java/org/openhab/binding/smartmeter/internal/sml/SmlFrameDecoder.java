@@ -0,0 +1,533 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openmuc.jsml.EUnit;
+import org.openmuc.jsml.structures.ASNObject;
+import org.openmuc.jsml.structures.EMessageBody;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.structures.SmlListEntry;
+import org.openmuc.jsml.structures.SmlMessage;
+import org.openmuc.jsml.structures.responses.SmlGetListRes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the values of the SML_GetList.Res messages of a {@link SmlFrame}.
+ *
+ * The messages are decoded in place from the bytes of the frame, without creating the jSML object tree. All other
+ * messages and the fields not needed for the values are only checked for a well-formed structure and skipped. The
+ * values are stored in the {@link SmlListValue}s of the frame, reusing the strings of the previous frame if the raw
+ * bytes of a value did not change.
+ *
+ * The decoded values are the same as the ones of {@link SmlValueExtractor}. Files using encodings this decoder does
+ * not support (e.g. list values or multi byte TL fields for messages) are decoded with jSML instead.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlFrameDecoder {
+
+    private static final int GET_LIST_RESPONSE = EMessageBody.GET_LIST_RESPONSE.id();
+    private static final int[] MESSAGE_BODY_TAGS;
+    private static final EUnit[] UNITS = new EUnit[256];
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int OBIS_LENGTH = 5;
+
+    static {
+        EMessageBody[] bodies = EMessageBody.values();
+        MESSAGE_BODY_TAGS = new int[bodies.length];
+        for (int i = 0; i < bodies.length; i++) {
+            MESSAGE_BODY_TAGS[i] = bodies[i].id();
+        }
+        Arrays.sort(MESSAGE_BODY_TAGS);
+        for (EUnit unit : EUnit.values()) {
+            if (unit.id() >= 0 && unit.id() < UNITS.length) {
+                UNITS[unit.id()] = unit;
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(SmlFrameDecoder.class);
+
+    private byte[] data = new byte[0];
+    private int position;
+    private int limit;
+
+    /**
+     * The last integer or unsigned read
+     */
+    private long number;
+
+    /**
+     * Decodes the values of the given frame. The values of the previous file are replaced.
+     *
+     * @param frame the frame to decode
+     * @throws IOException if the file can't be decoded
+     */
+    public void decode(SmlFrame frame) throws IOException {
+        frame.clearValues();
+        data = frame.getData();
+        position = 0;
+        limit = frame.getLength();
+
+        if (!decodeFile(frame)) {
+            logger.debug("SML file uses an unsupported encoding, decoding it with jSML");
+            decodeWithJsml(frame);
+        }
+    }
+
+    private boolean decodeFile(SmlFrame frame) {
+        int messageCount = 0;
+        while (position < limit) {
+            if (!decodeMessage(frame)) {
+                return false;
+            }
+            messageCount++;
+        }
+        frame.setMessageCount(messageCount);
+        return true;
+    }
+
+    /**
+     * SML_Message: transactionId, groupNo, abortOnError, messageBody, crc16, endOfSmlMsg
+     */
+    private boolean decodeMessage(SmlFrame frame) {
+        if (readByte() != 0x76 || !skipOctetString() || readByte() != 0x62 || readByte() < 0
+                || readByte() != 0x62 || readByte() < 0) {
+            return false;
+        }
+
+        // SML_MessageBody: tag and choice
+        if (readByte() != 0x72) {
+            return false;
+        }
+        long tag = readUnsigned(4);
+        if (tag == GET_LIST_RESPONSE) {
+            if (!decodeGetListResponse(frame)) {
+                return false;
+            }
+        } else if (tag < 0 || Arrays.binarySearch(MESSAGE_BODY_TAGS, (int) tag) < 0 || !skipElement()) {
+            return false;
+        }
+
+        return readUnsigned(2) >= 0 && readByte() == 0x00;
+    }
+
+    /**
+     * SML_GetList.Res: clientId, serverId, listName, actSensorTime, valList, listSignature, actGatewayTime
+     */
+    private boolean decodeGetListResponse(SmlFrame frame) {
+        if (readByte() != 0x77 || !skipOctetString() || !skipOctetString() || !skipOctetString() || !skipTime()) {
+            return false;
+        }
+        int entries = readListLength();
+        if (entries < 0) {
+            return false;
+        }
+        for (int i = 0; i < entries; i++) {
+            if (!decodeListEntry(frame.nextValue())) {
+                return false;
+            }
+        }
+        return skipOctetString() && skipTime();
+    }
+
+    /**
+     * SML_ListEntry: objName, status, valTime, unit, scaler, value, valueSignature
+     */
+    private boolean decodeListEntry(SmlListValue value) {
+        if (readByte() != 0x77) {
+            return false;
+        }
+
+        int objNameLength = readOctetStringLength();
+        if (objNameLength < OBIS_LENGTH) {
+            return false;
+        }
+        if (!value.hasObis(data, position, OBIS_LENGTH)) {
+            byte[] obis = Arrays.copyOfRange(data, position, position + OBIS_LENGTH);
+            value.setObis(obis, 0, OBIS_LENGTH, SmlValueExtractor.getObisAsString(obis));
+        }
+        position += objNameLength;
+
+        String status = null;
+        if (peekByte() == 0x01) {
+            position++;
+        } else if (readUnsignedChoice()) {
+            status = Long.toString(number);
+        } else {
+            return false;
+        }
+        value.setStatus(status);
+
+        if (!skipTime()) {
+            return false;
+        }
+
+        int unit = 0;
+        int tl = readByte();
+        if (tl == 0x62) {
+            unit = readByte();
+        } else if (tl != 0x01) {
+            return false;
+        }
+        EUnit eunit = unit >= 0 ? UNITS[unit] : null;
+        if (eunit == null) {
+            return false;
+        }
+        value.setUnit(eunit);
+
+        int scaler = 0;
+        tl = readByte();
+        if (tl == 0x52) {
+            if (position >= limit) {
+                return false;
+            }
+            scaler = data[position++];
+        } else if (tl != 0x01) {
+            return false;
+        }
+
+        int valueStart = position;
+        if (!skipValue()) {
+            return false;
+        }
+        int valueLength = position - valueStart;
+        if (!value.hasValue(data, valueStart, valueLength, scaler)) {
+            String decodedValue = decodeValue(valueStart, scaler);
+            if (decodedValue == null) {
+                return false;
+            }
+            value.setValue(data, valueStart, valueLength, scaler, decodedValue);
+        }
+
+        return skipOctetString();
+    }
+
+    /**
+     * Skips a SML_Value, checking that it is a boolean, integer, unsigned or octet string.
+     */
+    private boolean skipValue() {
+        int tl = peekByte();
+        if (tl < 0 || tl == 0x01) {
+            return false;
+        }
+        switch (tl >> 4) {
+            case 0x0:
+            case 0x8:
+                return skipOctetString();
+            case 0x4:
+                position++;
+                return tl == 0x42 && readByte() >= 0;
+            case 0x5:
+                return readIntegerChoice();
+            case 0x6:
+                return readUnsignedChoice();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Decodes the SML_Value at the given position like {@link SmlValueExtractor#getValue()}.
+     *
+     * @return the scaled value, null if invalid
+     */
+    private @Nullable String decodeValue(int valueStart, int scaler) {
+        position = valueStart;
+        int tl = peekByte();
+        String value;
+        switch (tl >> 4) {
+            case 0x0:
+            case 0x8:
+                // hex bytes separated by spaces, like jSML
+                int length = readOctetStringLength();
+                char[] hex = new char[Math.max(0, length * 3 - 1)];
+                for (int i = 0; i < length; i++) {
+                    int b = data[position + i] & 0xFF;
+                    hex[i * 3] = HEX_DIGITS[b >> 4];
+                    hex[i * 3 + 1] = HEX_DIGITS[b & 0xF];
+                    if (i > 0) {
+                        hex[i * 3 - 1] = ' ';
+                    }
+                }
+                position += length;
+                value = new String(hex);
+                break;
+            case 0x4:
+                position++;
+                value = readByte() != 0 ? "true" : "false";
+                break;
+            case 0x5:
+                return readIntegerChoice() ? scale(number, scaler) : null;
+            case 0x6:
+                return readUnsignedChoice() ? scale(number, scaler) : null;
+            default:
+                return null;
+        }
+        try {
+            return Double.toString(Double.parseDouble(value) * Math.pow(10, scaler));
+        } catch (NumberFormatException e) {
+            // value is no numeric value
+            return value;
+        }
+    }
+
+    private static String scale(long value, int scaler) {
+        // same as parsing the decimal string of the value like jSML values are scaled
+        return Double.toString(value * Math.pow(10, scaler));
+    }
+
+    /**
+     * Reads an integer of the implicit choice of SML_Value, with the sign extension of jSML.
+     *
+     * @return whether a valid integer was read to {@link #number}
+     */
+    private boolean readIntegerChoice() {
+        int tl = readByte();
+        int length = (tl & 0x0F) - 1;
+        int bytes;
+        switch (tl) {
+            case 0x52:
+                if (position >= limit) {
+                    return false;
+                }
+                number = data[position++];
+                return true;
+            case 0x53:
+                bytes = 2;
+                break;
+            case 0x54:
+            case 0x55:
+                bytes = 4;
+                break;
+            case 0x56:
+            case 0x57:
+            case 0x58:
+            case 0x59:
+                bytes = 8;
+                break;
+            default:
+                return false;
+        }
+        if (limit - position < length) {
+            return false;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        if (((value >> (8 * (length - 1))) & 0x80) == 0x80) {
+            for (int i = bytes; i > length; i--) {
+                // jSML shifts an int here, so only the lowest 4 bytes are extended correctly
+                value |= 255 << (8 * (i - 1));
+            }
+        }
+        switch (bytes) {
+            case 2:
+                number = (short) value;
+                break;
+            case 4:
+                number = (int) value;
+                break;
+            default:
+                number = value;
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Reads an unsigned of the implicit choice of SML_Value and SML_Status.
+     *
+     * @return whether a valid unsigned was read to {@link #number}
+     */
+    private boolean readUnsignedChoice() {
+        int tl = readByte();
+        if (tl < 0x62 || tl > 0x69) {
+            return false;
+        }
+        int length = (tl & 0x0F) - 1;
+        if (limit - position < length) {
+            return false;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        number = value;
+        return true;
+    }
+
+    /**
+     * Reads an unsigned with the given maximum number of bytes, like the tag of the message body.
+     *
+     * @return the unsigned, -1 if invalid
+     */
+    private long readUnsigned(int maxBytes) {
+        int tl = readByte();
+        int length = (tl & 0x0F) - 1;
+        if ((tl & 0xF0) != 0x60 || length < 1 || length > maxBytes || limit - position < length) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Skips an optional SML_Time given as seconds index or timestamp.
+     */
+    private boolean skipTime() {
+        int tl = readByte();
+        if (tl == 0x01) {
+            return true;
+        }
+        if (tl != 0x72 || readByte() != 0x62) {
+            return false;
+        }
+        int choice = readByte();
+        return (choice == 1 || choice == 2) && readUnsigned(4) >= 0;
+    }
+
+    /**
+     * Skips any element, checking the TL fields only.
+     */
+    private boolean skipElement() {
+        int tl = peekByte();
+        if (tl < 0 || tl == 0x00) {
+            return false;
+        }
+        if ((tl & 0x70) == 0x70) {
+            int length = readListLength();
+            if (length < 0) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!skipElement()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        position++;
+        int length = tl & 0x0F;
+        int tlLength = 1;
+        while ((tl & 0x80) != 0) {
+            tl = readByte();
+            if (tl < 0 || (tl & 0x70) != 0) {
+                return false;
+            }
+            length = (length << 4) | (tl & 0x0F);
+            tlLength++;
+        }
+        length -= tlLength;
+        if (length < 0 || limit - position < length) {
+            return false;
+        }
+        position += length;
+        return true;
+    }
+
+    /**
+     * Reads the TL field of a list.
+     *
+     * @return the number of elements, -1 if invalid
+     */
+    private int readListLength() {
+        int tl = readByte();
+        if (tl < 0 || (tl & 0x70) != 0x70) {
+            return -1;
+        }
+        int length = tl & 0x0F;
+        while ((tl & 0x80) != 0) {
+            tl = readByte();
+            if (tl < 0 || (tl & 0x70) != 0) {
+                return -1;
+            }
+            length = (length << 4) | (tl & 0x0F);
+        }
+        return length;
+    }
+
+    private boolean skipOctetString() {
+        int length = readOctetStringLength();
+        if (length < 0) {
+            return false;
+        }
+        position += length;
+        return true;
+    }
+
+    /**
+     * Reads the TL field of an octet string. The position is at the first byte of the string afterwards.
+     *
+     * @return the length of the string, -1 if invalid
+     */
+    private int readOctetStringLength() {
+        int tl = readByte();
+        if (tl < 0 || (tl & 0x70) != 0) {
+            return -1;
+        }
+        int length = tl & 0x0F;
+        int tlLength = 1;
+        while ((tl & 0x80) != 0) {
+            tl = readByte();
+            if (tl < 0 || (tl & 0x70) != 0) {
+                return -1;
+            }
+            length = (length << 4) | (tl & 0x0F);
+            tlLength++;
+        }
+        length -= tlLength;
+        return length >= 0 && limit - position >= length ? length : -1;
+    }
+
+    /**
+     * @return the next byte as unsigned value, -1 at the end of the file
+     */
+    private int readByte() {
+        return position < limit ? data[position++] & 0xFF : -1;
+    }
+
+    private int peekByte() {
+        return position < limit ? data[position] & 0xFF : -1;
+    }
+
+    /**
+     * Decodes the frame with jSML like {@link SmlValueExtractor}.
+     */
+    private void decodeWithJsml(SmlFrame frame) throws IOException {
+        frame.clearValues();
+        SmlFile smlFile = frame.toSmlFile();
+        List<SmlMessage> messages = smlFile.getMessages();
+        frame.setMessageCount(messages.size());
+        for (SmlMessage message : messages) {
+            if (message.getMessageBody().getTag().id() != GET_LIST_RESPONSE) {
+                continue;
+            }
+            SmlGetListRes listResponse = (SmlGetListRes) message.getMessageBody().getChoice();
+            for (SmlListEntry entry : listResponse.getValList().getValListEntry()) {
+                SmlValueExtractor extractor = new SmlValueExtractor(entry);
+                ASNObject status = entry.getStatus() != null ? entry.getStatus().getChoice() : null;
+                frame.nextValue().set(extractor.getObisCode(), extractor.getValue(), extractor.getUnit(),
+                        status != null ? status.toString() : null);
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Reads SML files according to the SML transport protocol version 1 from a stream, like jSML's
+ * {@code org.openmuc.jsml.transport.Transport#getSMLFile}.
+ *
+ * A file starts with the escape sequence {@code 1b1b1b1b 01010101} and ends with {@code 1b1b1b1b 1a} followed by the
+ * number of padding bytes and the CRC. Escape sequences within the file are doubled.
+ *
+ * In contrast to jSML the buffers are reused, and the stream is read in blocks instead of byte by byte. Bytes read
+ * behind the end of a file are kept for the next file, so a reader must always be used with the same stream.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlFrameReader {
+
+    /**
+     * The maximum size of a file, as in jSML
+     */
+    static final int MAX_FRAME_SIZE = 100_000;
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final byte ESCAPE = 0x1b;
+    private static final byte START = 0x01;
+    private static final byte END = 0x1a;
+    private static final int MAX_PADDING = 3;
+
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        // CRC16 X.25 with reversed polynom 0x8408
+        for (int i = 0; i < CRC_TABLE.length; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+            }
+            CRC_TABLE[i] = crc;
+        }
+    }
+
+    private final long timeoutMillis;
+
+    private final byte[] readBuffer = new byte[1024];
+    private int readPosition;
+    private int readLimit;
+
+    private final byte[] window = new byte[8];
+    private int windowLength;
+    private int crc;
+
+    public SmlFrameReader() {
+        this(DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param timeoutMillis the maximum time to wait for the next byte
+     */
+    public SmlFrameReader(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return whether bytes were read from the stream, which were not consumed by a file yet
+     */
+    public boolean hasBufferedData() {
+        return readPosition < readLimit;
+    }
+
+    /**
+     * Discards all buffered bytes, e.g. after the connection was reopened.
+     */
+    public void reset() {
+        readPosition = 0;
+        readLimit = 0;
+    }
+
+    /**
+     * Reads the next file from the stream. Bytes before the start sequence are skipped.
+     *
+     * @param is the stream to read from
+     * @param frame the frame to store the file in, its previous content is replaced
+     * @throws IOException if the stream fails, no byte is received within the timeout, or the end sequence or CRC of
+     *             the file is wrong
+     */
+    public void readFrame(InputStream is, SmlFrame frame) throws IOException {
+        frame.clear();
+        windowLength = 0;
+
+        // wait for the start sequence
+        while (true) {
+            fillWindow(is);
+            if (isEscape(0) && isStart(4)) {
+                crc = 0xFFFF;
+                updateCrc(0, 8);
+                windowLength = 0;
+                break;
+            }
+            dropByte();
+        }
+
+        while (true) {
+            fillWindow(is);
+            if (!isEscape(0)) {
+                updateCrc(0, 1);
+                append(frame, dropByte());
+            } else if (isEscape(4)) {
+                // escaped escape sequence within the file
+                updateCrc(0, 8);
+                for (int i = 0; i < 4; i++) {
+                    append(frame, ESCAPE);
+                }
+                windowLength = 0;
+            } else if (isStart(4)) {
+                // the previous file was incomplete, restart
+                crc = 0xFFFF;
+                updateCrc(0, 8);
+                frame.clear();
+                windowLength = 0;
+            } else {
+                handleEnd(frame);
+                return;
+            }
+        }
+    }
+
+    private void handleEnd(SmlFrame frame) throws IOException {
+        updateCrc(0, 6);
+        int padding = window[5] & 0xFF;
+        if (window[4] != END || padding > MAX_PADDING || padding > frame.getLength()) {
+            throw new IOException("Termination sequence is wrong");
+        }
+        int receivedCrc = ((window[6] & 0xFF) << 8) | (window[7] & 0xFF);
+        int calculatedCrc = crc ^ 0xFFFF;
+        calculatedCrc = ((calculatedCrc & 0xFF) << 8) | (calculatedCrc >>> 8);
+        if (receivedCrc != calculatedCrc) {
+            throw new IOException("wrong crc");
+        }
+        frame.setLength(frame.getLength() - padding);
+        windowLength = 0;
+    }
+
+    private void append(SmlFrame frame, byte b) throws IOException {
+        if (frame.getLength() >= MAX_FRAME_SIZE) {
+            throw new IOException("SML file exceeds " + MAX_FRAME_SIZE + " bytes");
+        }
+        frame.append(b);
+    }
+
+    private boolean isEscape(int offset) {
+        return window[offset] == ESCAPE && window[offset + 1] == ESCAPE && window[offset + 2] == ESCAPE
+                && window[offset + 3] == ESCAPE;
+    }
+
+    private boolean isStart(int offset) {
+        return window[offset] == START && window[offset + 1] == START && window[offset + 2] == START
+                && window[offset + 3] == START;
+    }
+
+    private void updateCrc(int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            crc = (crc >>> 8) ^ CRC_TABLE[(crc ^ window[i]) & 0xFF];
+        }
+    }
+
+    private byte dropByte() {
+        byte b = window[0];
+        System.arraycopy(window, 1, window, 0, --windowLength);
+        return b;
+    }
+
+    private void fillWindow(InputStream is) throws IOException {
+        while (windowLength < window.length) {
+            if (readPosition == readLimit) {
+                fillReadBuffer(is);
+            }
+            int count = Math.min(window.length - windowLength, readLimit - readPosition);
+            System.arraycopy(readBuffer, readPosition, window, windowLength, count);
+            readPosition += count;
+            windowLength += count;
+        }
+    }
+
+    private void fillReadBuffer(InputStream is) throws IOException {
+        long start = System.currentTimeMillis();
+        int available;
+        while ((available = is.available()) <= 0) {
+            if (System.currentTimeMillis() - start > timeoutMillis) {
+                throw new IOException("Timeout");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for SML data");
+            }
+        }
+        int count = is.read(readBuffer, 0, Math.min(available, readBuffer.length));
+        if (count < 0) {
+            throw new IOException("End of stream");
+        }
+        readPosition = 0;
+        readLimit = count;
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.util.Arrays;
+
+import javax.measure.Quantity;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.smartmeter.internal.MeterValue;
+import org.openmuc.jsml.EUnit;
+
+/**
+ * A value of a SML_GetList.Res as read by the {@link SmlFrameDecoder}.
+ *
+ * Instances are owned by a {@link SmlFrame} and reused for the next frame. The raw bytes of the OBIS code and of the
+ * value are kept, so the strings of the previous frame can be reused if they did not change.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlListValue {
+
+    private String obis = "";
+    private String value = "";
+    private EUnit unit = EUnit.EMPTY;
+    @Nullable
+    private String status;
+
+    private byte[] rawObis = new byte[0];
+    private byte[] rawValue = new byte[0];
+    private int rawValueLength = -1;
+    private int rawScaler = Integer.MIN_VALUE;
+
+    SmlListValue() {
+    }
+
+    /**
+     * @return the OBIS code formatted as {@code A-B:C.D.E}
+     */
+    public String getObisCode() {
+        return obis;
+    }
+
+    /**
+     * @return the scaled value as string, like {@link SmlValueExtractor#getValue()}
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the unit of the value, {@link EUnit#EMPTY} if not set
+     */
+    public EUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the status of the value, null if not set
+     */
+    public @Nullable String getStatus() {
+        return status;
+    }
+
+    public <Q extends Quantity<Q>> MeterValue<Q> toMeterValue() {
+        return new MeterValue<Q>(obis, value, SmlUnitConversion.getUnit(unit), status);
+    }
+
+    void setObis(byte[] data, int offset, int length, String obis) {
+        this.obis = obis;
+        this.rawObis = Arrays.copyOfRange(data, offset, offset + length);
+    }
+
+    /**
+     * @return whether the OBIS code has the same raw bytes as the given ones
+     */
+    boolean hasObis(byte[] data, int offset, int length) {
+        return rangeEquals(rawObis, rawObis.length, data, offset, length);
+    }
+
+    void setValue(byte[] data, int offset, int length, int scaler, String value) {
+        this.value = value;
+        if (rawValue.length < length) {
+            rawValue = new byte[length];
+        }
+        System.arraycopy(data, offset, rawValue, 0, length);
+        rawValueLength = length;
+        rawScaler = scaler;
+    }
+
+    /**
+     * @return whether the value has the same raw bytes and scaler as the given ones
+     */
+    boolean hasValue(byte[] data, int offset, int length, int scaler) {
+        return rawScaler == scaler && rangeEquals(rawValue, rawValueLength, data, offset, length);
+    }
+
+    /**
+     * Sets the value without raw data, so it is never reused for the next frame.
+     */
+    void set(String obis, String value, EUnit unit, @Nullable String status) {
+        this.obis = obis;
+        this.value = value;
+        this.unit = unit;
+        this.status = status;
+        this.rawObis = new byte[0];
+        this.rawValueLength = -1;
+    }
+
+    void setUnit(EUnit unit) {
+        this.unit = unit;
+    }
+
+    void setStatus(@Nullable String status) {
+        this.status = status;
+    }
+
+    private static boolean rangeEquals(byte[] a, int aLength, byte[] b, int bOffset, int bLength) {
+        if (aLength != bLength) {
+            return false;
+        }
+        for (int i = 0; i < aLength; i++) {
+            if (a[i] != b[bOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "SmlListValue [obis=" + obis + ", value=" + value + ", unit=" + getUnit() + ", status=" + status + "]";
+    }
+}
@@ -12,7 +12,6 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,8 +25,6 @@ import org.eclipse.smarthome.io.transport.serial.UnsupportedCommOperationExcepti
 import org.openhab.binding.smartmeter.connectors.ConnectorBase;
 import org.openhab.binding.smartmeter.internal.helper.Baudrate;
 import org.openhab.binding.smartmeter.internal.helper.SerialParameter;
-import org.openmuc.jsml.structures.SmlFile;
-import org.openmuc.jsml.transport.Transport;
 
 /**
  * Represents a serial SML device connector.
@@ -36,9 +33,11 @@ import org.openmuc.jsml.transport.Transport;
  * @author Mathias Gilhuber - Also-By
  */
 @NonNullByDefault
-public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
+public final class SmlSerialConnector extends ConnectorBase<SmlFrame> {
 
-    private static final Transport TRANSPORT = new Transport();
+    private final SmlFrameReader frameReader = new SmlFrameReader();
+    private final SmlFrameDecoder frameDecoder = new SmlFrameDecoder();
+    private final SmlFrame frame = new SmlFrame();
 
     private Supplier<SerialPortManager> serialManagerSupplier;
     @NonNullByDefault({})
@@ -72,8 +71,13 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         this.baudrate = baudrate;
     }
 
+    /**
+     * Reads the most recent SML file.
+     *
+     * The frame is reused for the next file, it is only valid until {@link #readNext(byte[])} is called again.
+     */
     @Override
-    protected SmlFile readNext(byte @Nullable [] initMessage) throws IOException {
+    protected SmlFrame readNext(byte @Nullable [] initMessage) throws IOException {
         if (initMessage != null) {
             logger.debug("Writing init message: {}", HexUtils.bytesToHex(initMessage, " "));
             if (os != null) {
@@ -82,21 +86,25 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
         }
 
-        // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
-        do {
-            smlFiles.push(TRANSPORT.getSMLFile(is));
-        } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
-            throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
+        DataInputStream is = this.is;
+        if (is == null) {
+            throw new IOException(getPortName() + " : Connection is not open.");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+        // read out the whole buffer. We are only interested in the most recent SML file, so only this one is decoded.
+        int smlFiles = 0;
+        do {
+            frameReader.readFrame(is, frame);
+            smlFiles++;
+        } while (frameReader.hasBufferedData() || is.available() > 0);
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles);
+        frameDecoder.decode(frame);
+        return frame;
     }
 
     @Override
     public void openConnection() throws IOException {
         closeConnection();
+        frameReader.reset();
         SerialPortIdentifier id = serialManagerSupplier.get().getIdentifier(getPortName());
         if (id != null) {
             try {
@@ -666,6 +666,18 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
                 mockedDriveSerialNumber);
     }
 
+    @Test
+    public void assertChannelDriveReadRateIsUpdated() throws DeviceNotFoundException {
+        String channelID = SysteminfoBindingConstants.CHANNEL_DRIVE_READ_RATE;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedDriveReadRate = new DecimalType(12.5);
+        when(mockedSystemInfo.getDriveReadRate(DEFAULT_DEVICE_INDEX)).thenReturn(mockedDriveReadRate);
+
+        initializeThingWithChannel(channelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedDriveReadRate);
+    }
+
     @Ignore
     // There is a bug opened for this issue - https://github.com/dblock/oshi/issues/185
     @Test
@@ -794,6 +806,31 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedNetworkDataSent);
     }
 
+    @Test
+    public void assertChannelNetworkDataSentRateIsUpdated() throws DeviceNotFoundException {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_NETWORK_DATA_SENT_RATE;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedNetworkDataSentRate = new DecimalType(42.7);
+        when(mockedSystemInfo.getNetworkDataSentRate(DEFAULT_DEVICE_INDEX)).thenReturn(mockedNetworkDataSentRate);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedNetworkDataSentRate);
+    }
+
+    @Test
+    public void assertChannelNetworkDataSentRateIsUndefOnFirstSample() throws DeviceNotFoundException {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_NETWORK_DATA_SENT_RATE;
+        String acceptedItemType = "Number";
+
+        // No previous sample
+        when(mockedSystemInfo.getNetworkDataSentRate(DEFAULT_DEVICE_INDEX)).thenReturn(null);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, UnDefType.UNDEF);
+    }
+
     @Test
     public void assertChannelNetworkDataReceivedIsUpdated() throws DeviceNotFoundException {
         String channnelID = SysteminfoBindingConstants.CHANNEL_NETWORK_DATA_RECEIVED;
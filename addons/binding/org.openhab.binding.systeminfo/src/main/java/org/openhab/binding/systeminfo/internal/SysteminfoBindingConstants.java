@@ -117,6 +117,16 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_DRIVE_SERIAL = "drive#serial";
 
+    /**
+     * Physical storage drive read operations per second
+     */
+    public static final String CHANNEL_DRIVE_READ_RATE = "drive#readRate";
+
+    /**
+     * Physical storage drive write operations per second
+     */
+    public static final String CHANNEL_DRIVE_WRITE_RATE = "drive#writeRate";
+
     /**
      * Name of the logical volume storage
      */
@@ -262,6 +272,26 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_NETWORK_PACKETS_RECEIVED = "network#packetsReceived";
 
+    /**
+     * Network data sent per second
+     */
+    public static final String CHANNEL_NETWORK_DATA_SENT_RATE = "network#dataSentRate";
+
+    /**
+     * Network data received per second
+     */
+    public static final String CHANNEL_NETWORK_DATA_RECEIVED_RATE = "network#dataReceivedRate";
+
+    /**
+     * Network packets sent per second
+     */
+    public static final String CHANNEL_NETWORK_PACKETS_SENT_RATE = "network#packetsSentRate";
+
+    /**
+     * Network packets received per second
+     */
+    public static final String CHANNEL_NETWORK_PACKETS_RECEIVED_RATE = "network#packetsReceivedRate";
+
     /**
      * Network name
      */
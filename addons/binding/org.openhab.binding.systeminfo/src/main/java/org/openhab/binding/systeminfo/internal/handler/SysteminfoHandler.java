@@ -16,6 +16,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -84,6 +85,11 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private SysteminfoInterface systeminfo;
 
+    /**
+     * The last published state of each channel. Periodic updates publish only changed states.
+     */
+    private final Map<ChannelUID, State> publishedStates = new ConcurrentHashMap<>();
+
     ScheduledFuture<?> highPriorityTasks;
     ScheduledFuture<?> mediumPriorityTasks;
 
@@ -235,24 +241,30 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private void publishData(Set<ChannelUID> channels) {
         if (channels != null) {
+            // All channels of this update share one snapshot of the system information
+            systeminfo.updateSnapshot();
             Iterator<ChannelUID> iter = channels.iterator();
             while (iter.hasNext()) {
                 ChannelUID channeUID = iter.next();
                 if (isLinked(channeUID.getId())) {
-                    publishDataForChannel(channeUID);
+                    publishDataForChannel(channeUID, false);
                 }
             }
         }
     }
 
-    private void publishDataForChannel(ChannelUID channelUID) {
+    /**
+     * Publishes the state of the channel.
+     *
+     * @param channelUID the UID of the channel
+     * @param force publish the state even if it did not change since the last update
+     */
+    private void publishDataForChannel(ChannelUID channelUID, boolean force) {
+        // UNDEF if there is no information, e.g. for the rates on the first sample
         State state = getInfoForChannel(channelUID);
-        String channelID = channelUID.getId();
-        if (state != null) {
-            updateState(channelID, state);
-        } else {
-            logger.warn("Channel with ID {} can not be updated! No information available for the selected device.",
-                    channelID);
+        State previousState = publishedStates.put(channelUID, state);
+        if (force || !state.equals(previousState)) {
+            updateState(channelUID.getId(), state);
         }
     }
 
@@ -274,7 +286,7 @@ public class SysteminfoHandler extends BaseThingHandler {
      * multiple devices, for reference see {@link #getDeviceIndex(String)}})
      *
      * @param channelUID the UID of the channel
-     * @return State object or null, if there is no information for the device with this index
+     * @return State object or {@link UnDefType#UNDEF}, if there is no information for the device with this index
      */
     private State getInfoForChannel(ChannelUID channelUID) {
         State state = null;
@@ -375,6 +387,12 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_DRIVE_NAME:
                     state = systeminfo.getDriveName(deviceIndex);
                     break;
+                case CHANNEL_DRIVE_READ_RATE:
+                    state = systeminfo.getDriveReadRate(deviceIndex);
+                    break;
+                case CHANNEL_DRIVE_WRITE_RATE:
+                    state = systeminfo.getDriveWriteRate(deviceIndex);
+                    break;
                 case CHANNEL_STORAGE_NAME:
                     state = systeminfo.getStorageName(deviceIndex);
                     break;
@@ -423,6 +441,18 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_NETWORK_PACKETS_SENT:
                     state = systeminfo.getNetworkPacketsSent(deviceIndex);
                     break;
+                case CHANNEL_NETWORK_DATA_SENT_RATE:
+                    state = systeminfo.getNetworkDataSentRate(deviceIndex);
+                    break;
+                case CHANNEL_NETWORK_DATA_RECEIVED_RATE:
+                    state = systeminfo.getNetworkDataReceivedRate(deviceIndex);
+                    break;
+                case CHANNEL_NETWORK_PACKETS_SENT_RATE:
+                    state = systeminfo.getNetworkPacketsSentRate(deviceIndex);
+                    break;
+                case CHANNEL_NETWORK_PACKETS_RECEIVED_RATE:
+                    state = systeminfo.getNetworkPacketsReceivedRate(deviceIndex);
+                    break;
                 case CHANNEL_PROCESS_LOAD:
                     state = systeminfo.getProcessCpuUsage(deviceIndex);
                     break;
@@ -509,7 +539,8 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
-                publishDataForChannel(channelUID);
+                systeminfo.updateSnapshot();
+                publishDataForChannel(channelUID, true);
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
             }
@@ -579,7 +610,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         Object newValue = newConfig.get(parameter);
         logger.debug("Channel with UID : {} has changed its {} from {} to {}", channel.getUID(), parameter, oldValue,
                 newValue);
-        publishDataForChannel(channel.getUID());
+        publishDataForChannel(channel.getUID(), true);
     }
 
     private void stopScheduledUpdates() {
@@ -593,9 +624,17 @@ public class SysteminfoHandler extends BaseThingHandler {
         }
     }
 
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        // Publish the state of a newly linked channel with the next update, even if it did not change
+        publishedStates.remove(channelUID);
+        super.channelLinked(channelUID);
+    }
+
     @Override
     public void dispose() {
         stopScheduledUpdates();
+        publishedStates.clear();
     }
 
 }
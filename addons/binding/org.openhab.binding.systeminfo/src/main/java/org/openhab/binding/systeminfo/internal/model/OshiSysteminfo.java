@@ -9,6 +9,11 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -64,6 +69,109 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    /**
+     * Minimal time between two snapshots in milliseconds. Updates of different priorities, that are due at the same
+     * time, share one snapshot. Otherwise the rates would be derived from samples taken only milliseconds apart.
+     */
+    private static final long MIN_SNAPSHOT_INTERVAL_MS = 500;
+
+    // Indexes of the sampled network counters
+    private static final int BYTES_SENT = 0;
+    private static final int BYTES_RECV = 1;
+    private static final int PACKETS_SENT = 2;
+    private static final int PACKETS_RECV = 3;
+    private static final List<ToLongFunction<NetworkIF>> NETWORK_COUNTERS = Arrays.asList(NetworkIF::getBytesSent,
+            NetworkIF::getBytesRecv, NetworkIF::getPacketsSent, NetworkIF::getPacketsRecv);
+
+    // Indexes of the sampled drive counters
+    private static final int READS = 0;
+    private static final int WRITES = 1;
+    private static final List<ToLongFunction<HWDiskStore>> DRIVE_COUNTERS = Arrays.asList(HWDiskStore::getReads,
+            HWDiskStore::getWrites);
+
+    // Snapshot of the dynamic objects, guarded by this. Each source is sampled at most once per snapshot cycle and
+    // only if one of its values is requested.
+    private int snapshotCycle;
+    private long snapshotTimeInMS;
+    private MemorySample memorySample;
+    private int fileStoresCycle = -1;
+    private int powerSourcesCycle = -1;
+    private CounterSample<NetworkIF> networkSample;
+    private CounterSample<HWDiskStore> driveSample;
+
+    /**
+     * The memory values of one snapshot.
+     */
+    private static class MemorySample {
+        final int cycle;
+        final long total;
+        final long available;
+        final long swapTotal;
+        final long swapUsed;
+
+        MemorySample(int cycle, GlobalMemory memory) {
+            this.cycle = cycle;
+            this.total = memory.getTotal();
+            this.available = memory.getAvailable();
+            this.swapTotal = memory.getSwapTotal();
+            this.swapUsed = memory.getSwapUsed();
+        }
+    }
+
+    /**
+     * The counters of all devices of one kind (e.g. network interfaces) of one snapshot. The rates per second are
+     * derived from the previous sample.
+     */
+    private static class CounterSample<T> {
+        final int cycle;
+        final long timestampInMS;
+        final T[] devices;
+        final String[] names;
+        // Indexed by counter and device
+        final long[][] counters;
+        // Indexed by counter and device, NaN if the device is not part of the previous sample
+        final double[][] rates;
+
+        CounterSample(int cycle, T[] devices, Function<T, String> nameFunction,
+                List<ToLongFunction<T>> counterFunctions, CounterSample<T> previous) {
+            this.cycle = cycle;
+            this.timestampInMS = System.currentTimeMillis();
+            this.devices = devices;
+            this.names = new String[devices.length];
+            this.counters = new long[counterFunctions.size()][devices.length];
+            this.rates = new double[counterFunctions.size()][devices.length];
+
+            long elapsedTimeInMS = previous != null ? timestampInMS - previous.timestampInMS : 0;
+            for (int device = 0; device < devices.length; device++) {
+                names[device] = nameFunction.apply(devices[device]);
+                int previousDevice = elapsedTimeInMS > 0 ? previous.indexOf(names[device], device) : -1;
+                for (int counter = 0; counter < counters.length; counter++) {
+                    counters[counter][device] = counterFunctions.get(counter).applyAsLong(devices[device]);
+                    rates[counter][device] = Double.NaN;
+                    if (previousDevice >= 0) {
+                        long delta = counters[counter][device] - previous.counters[counter][previousDevice];
+                        // Counters are reset if a device is reconnected
+                        if (delta >= 0) {
+                            rates[counter][device] = delta * 1000.0 / elapsedTimeInMS;
+                        }
+                    }
+                }
+            }
+        }
+
+        private int indexOf(String name, int expectedIndex) {
+            if (expectedIndex < names.length && Objects.equals(names[expectedIndex], name)) {
+                return expectedIndex;
+            }
+            for (int device = 0; device < names.length; device++) {
+                if (Objects.equals(names[device], name)) {
+                    return device;
+                }
+            }
+            return -1;
+        }
+    }
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -95,6 +203,77 @@ public class OshiSysteminfo implements SysteminfoInterface {
         drives = hal.getDiskStores();
     }
 
+    @Override
+    public synchronized void updateSnapshot() {
+        long now = System.currentTimeMillis();
+        if (now - snapshotTimeInMS >= MIN_SNAPSHOT_INTERVAL_MS) {
+            snapshotTimeInMS = now;
+            snapshotCycle++;
+        }
+    }
+
+    private synchronized MemorySample sampleMemory() {
+        if (memorySample == null || memorySample.cycle != snapshotCycle) {
+            memorySample = new MemorySample(snapshotCycle, memory);
+        }
+        return memorySample;
+    }
+
+    private synchronized OSFileStore[] sampleFileStores() {
+        // In the current OSHI version a new query is required for the storage data values to be updated
+        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
+        if (fileStoresCycle != snapshotCycle) {
+            fileStores = operatingSystem.getFileSystem().getFileStores();
+            fileStoresCycle = snapshotCycle;
+        }
+        return fileStores;
+    }
+
+    private synchronized PowerSource[] samplePowerSources() {
+        // In the current OSHI version a new query is required for the battery data values to be updated
+        if (powerSourcesCycle != snapshotCycle) {
+            powerSources = hal.getPowerSources();
+            powerSourcesCycle = snapshotCycle;
+        }
+        return powerSources;
+    }
+
+    private synchronized CounterSample<NetworkIF> sampleNetworks() {
+        // In the current OSHI version a new query is required for the network data values to be updated
+        if (networkSample == null || networkSample.cycle != snapshotCycle) {
+            networks = hal.getNetworkIFs();
+            for (NetworkIF network : networks) {
+                network.updateNetworkStats();
+            }
+            networkSample = new CounterSample<>(snapshotCycle, networks, NetworkIF::getName, NETWORK_COUNTERS,
+                    networkSample);
+        }
+        return networkSample;
+    }
+
+    private synchronized CounterSample<HWDiskStore> sampleDrives() {
+        // In the current OSHI version a new query is required for the drive statistics to be updated
+        if (driveSample == null || driveSample.cycle != snapshotCycle) {
+            drives = hal.getDiskStores();
+            driveSample = new CounterSample<>(snapshotCycle, drives, HWDiskStore::getName, DRIVE_COUNTERS,
+                    driveSample);
+        }
+        return driveSample;
+    }
+
+    private DecimalType getRate(CounterSample<?> sample, int counter, int index, int unit)
+            throws DeviceNotFoundException {
+        getDevice(sample.devices, index);
+        double rate = sample.rates[counter][index];
+        if (Double.isNaN(rate)) {
+            // First sample of the device, there is no previous sample to compute the rate from
+            return null;
+        }
+        BigDecimal result = new BigDecimal(rate / unit);
+        result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+        return new DecimalType(result);
+    }
+
     @SuppressWarnings("null")
     private Object getDevice(Object[] devices, int index) throws DeviceNotFoundException {
         if ((devices != null) && (devices.length <= index)) {
@@ -171,22 +350,23 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = sampleMemory().total;
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = sampleMemory().available;
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        MemorySample memory = sampleMemory();
+        long totalMemory = memory.total;
+        long availableMemory = memory.available;
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -194,9 +374,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
+        OSFileStore[] fileStores = sampleFileStores();
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
@@ -205,9 +383,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
+        OSFileStore[] fileStores = sampleFileStores();
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
@@ -216,9 +392,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
+        OSFileStore[] fileStores = sampleFileStores();
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
@@ -229,9 +403,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
+        OSFileStore[] fileStores = sampleFileStores();
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
@@ -246,9 +418,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
+        OSFileStore[] fileStores = sampleFileStores();
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
@@ -285,10 +455,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(sampleNetworks().devices, index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -347,10 +514,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(samplePowerSources(), index);
         double remainingTimeInSeconds = powerSource.getTimeRemaining();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -359,10 +523,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(samplePowerSources(), index);
         double remainingCapacity = powerSource.getRemainingCapacity();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -377,8 +538,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        MemorySample memory = sampleMemory();
+        long availableMemory = memory.available;
+        long totalMemory = memory.total;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -390,8 +552,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        MemorySample memory = sampleMemory();
+        long availableMemory = memory.available;
+        long totalMemory = memory.total;
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -423,17 +586,28 @@ public class OshiSysteminfo implements SysteminfoInterface {
         return new StringType(serialNumber);
     }
 
+    @Override
+    public DecimalType getDriveReadRate(int deviceIndex) throws DeviceNotFoundException {
+        return getRate(sampleDrives(), READS, deviceIndex, 1);
+    }
+
+    @Override
+    public DecimalType getDriveWriteRate(int deviceIndex) throws DeviceNotFoundException {
+        return getRate(sampleDrives(), WRITES, deviceIndex, 1);
+    }
+
     @Override
     public DecimalType getSwapTotal() {
-        long swapTotal = memory.getSwapTotal();
+        long swapTotal = sampleMemory().swapTotal;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailable() {
-        long swapTotal = memory.getSwapTotal();
-        long swapUsed = memory.getSwapUsed();
+        MemorySample memory = sampleMemory();
+        long swapTotal = memory.swapTotal;
+        long swapUsed = memory.swapUsed;
         long swapAvaialble = swapTotal - swapUsed;
         swapAvaialble = getSizeInMB(swapAvaialble);
         return swapAvaialble > 0 ? new DecimalType(swapAvaialble) : null;
@@ -441,15 +615,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsed() {
-        long swapTotal = memory.getSwapUsed();
+        long swapTotal = sampleMemory().swapUsed;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailablePercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        MemorySample memory = sampleMemory();
+        long usedSwap = memory.swapUsed;
+        long totalSwap = memory.swapTotal;
         long freeSwap = totalSwap - usedSwap;
         if (totalSwap > 0) {
             double freePercentDecimal = (double) freeSwap / (double) totalSwap;
@@ -462,8 +637,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsedPercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        MemorySample memory = sampleMemory();
+        long usedSwap = memory.swapUsed;
+        long totalSwap = memory.swapTotal;
         if (totalSwap > 0) {
             double usedPercentDecimal = (double) usedSwap / (double) totalSwap;
             BigDecimal usedPercent = getPercentsValue(usedPercentDecimal);
@@ -565,48 +741,56 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
-        long packRecv = network.getPacketsRecv();
+        CounterSample<NetworkIF> sample = sampleNetworks();
+        getDevice(sample.devices, networkIndex);
+        long packRecv = sample.counters[PACKETS_RECV][networkIndex];
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
-        long packSent = network.getPacketsSent();
+        CounterSample<NetworkIF> sample = sampleNetworks();
+        getDevice(sample.devices, networkIndex);
+        long packSent = sample.counters[PACKETS_SENT][networkIndex];
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
-        long bytesSent = network.getBytesSent();
+        CounterSample<NetworkIF> sample = sampleNetworks();
+        getDevice(sample.devices, networkIndex);
+        long bytesSent = sample.counters[BYTES_SENT][networkIndex];
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
-        long bytesRecv = network.getBytesRecv();
+        CounterSample<NetworkIF> sample = sampleNetworks();
+        getDevice(sample.devices, networkIndex);
+        long bytesRecv = sample.counters[BYTES_RECV][networkIndex];
         return new DecimalType(getSizeInMB(bytesRecv));
     }
 
+    @Override
+    public DecimalType getNetworkDataSentRate(int networkIndex) throws DeviceNotFoundException {
+        return getRate(sampleNetworks(), BYTES_SENT, networkIndex, 1024);
+    }
+
+    @Override
+    public DecimalType getNetworkDataReceivedRate(int networkIndex) throws DeviceNotFoundException {
+        return getRate(sampleNetworks(), BYTES_RECV, networkIndex, 1024);
+    }
+
+    @Override
+    public DecimalType getNetworkPacketsSentRate(int networkIndex) throws DeviceNotFoundException {
+        return getRate(sampleNetworks(), PACKETS_SENT, networkIndex, 1);
+    }
+
+    @Override
+    public DecimalType getNetworkPacketsReceivedRate(int networkIndex) throws DeviceNotFoundException {
+        return getRate(sampleNetworks(), PACKETS_RECV, networkIndex, 1);
+    }
+
     @Override
     public StringType getProcessName(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
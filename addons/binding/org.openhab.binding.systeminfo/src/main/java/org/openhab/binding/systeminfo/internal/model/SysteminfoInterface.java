@@ -23,6 +23,13 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Starts a new snapshot of the dynamic system information. The values returned by the get methods are sampled at
+     * most once per snapshot, so all channels updated after this call share one query of the operating system. Rates
+     * are derived from the previous snapshot.
+     */
+    public void updateSnapshot();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -269,6 +276,24 @@ public interface SysteminfoInterface {
      */
     public StringType getDriveSerialNumber(int deviceIndex) throws DeviceNotFoundException;
 
+    /**
+     * Gets the read operations per second of the physical storage drive, since the previous snapshot
+     *
+     * @param deviceIndex - index of the storage drive
+     * @return null if there is no previous snapshot
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getDriveReadRate(int deviceIndex) throws DeviceNotFoundException;
+
+    /**
+     * Gets the write operations per second of the physical storage drive, since the previous snapshot
+     *
+     * @param deviceIndex - index of the storage drive
+     * @return null if there is no previous snapshot
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getDriveWriteRate(int deviceIndex) throws DeviceNotFoundException;
+
     // Network info
     /**
      * Get the Host IP address of the network.
@@ -335,6 +360,42 @@ public interface SysteminfoInterface {
      */
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException;
 
+    /**
+     * Get data sent in kB per second for this network, since the previous snapshot
+     *
+     * @param networkIndex - the index of the network
+     * @return null if there is no previous snapshot
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getNetworkDataSentRate(int networkIndex) throws DeviceNotFoundException;
+
+    /**
+     * Get data received in kB per second for this network, since the previous snapshot
+     *
+     * @param networkIndex - the index of the network
+     * @return null if there is no previous snapshot
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getNetworkDataReceivedRate(int networkIndex) throws DeviceNotFoundException;
+
+    /**
+     * Get number of packets sent per second for this network, since the previous snapshot
+     *
+     * @param networkIndex - the index of the network
+     * @return null if there is no previous snapshot
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getNetworkPacketsSentRate(int networkIndex) throws DeviceNotFoundException;
+
+    /**
+     * Get number of packets received per second for this network, since the previous snapshot
+     *
+     * @param networkIndex - the index of the network
+     * @return null if there is no previous snapshot
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getNetworkPacketsReceivedRate(int networkIndex) throws DeviceNotFoundException;
+
     // Display info
     /**
      * Get information about the display device as product number, manufacturer, serial number, width and height in cm";
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
+
+/**
+ * Tests for the coalescing of notifications in {@link HomekitAccessoryUpdater}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomekitAccessoryUpdaterTest {
+    private static final int DELAY = 200;
+    private static final int TIMEOUT = 5000;
+
+    private final HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private final GenericItem item = mock(GenericItem.class);
+    private final HomekitCharacteristicChangeCallback callback = mock(HomekitCharacteristicChangeCallback.class);
+    private StateChangeListener listener;
+
+    @Before
+    public void setUp() {
+        when(item.getName()).thenReturn("switch1");
+        updater.setNotificationDelay(DELAY);
+        updater.subscribe(item, callback);
+        ArgumentCaptor<StateChangeListener> captor = ArgumentCaptor.forClass(StateChangeListener.class);
+        verify(item).addStateChangeListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    private void change(int count) {
+        for (int i = 0; i < count; i++) {
+            listener.stateChanged(item, OnOffType.OFF, OnOffType.ON);
+        }
+    }
+
+    private void assertNotifications(long sent, long suppressed) {
+        assertEquals(sent, updater.getSentNotifications());
+        assertEquals(suppressed, updater.getSuppressedNotifications());
+    }
+
+    @Test
+    public void firstChangeNotifiedImmediately() {
+        change(1);
+        verify(callback).changed();
+        assertNotifications(1, 0);
+
+        // No further change, so there is nothing to notify after the delay
+        verify(callback, after(3 * DELAY)).changed();
+        assertNotifications(1, 0);
+    }
+
+    @Test
+    public void changesWithinDelayCoalesced() {
+        change(5);
+        verify(callback).changed();
+
+        // The latest state is notified once at the end of the delay
+        verify(callback, timeout(TIMEOUT).times(2)).changed();
+        verify(callback, after(3 * DELAY).times(2)).changed();
+        assertNotifications(2, 3);
+    }
+
+    @Test
+    public void zeroDelayNotifiesEveryChange() {
+        updater.setNotificationDelay(0);
+        change(3);
+        verify(callback, times(3)).changed();
+        assertNotifications(3, 0);
+    }
+
+    @Test
+    public void unsubscribeCancelsPendingNotification() {
+        change(2);
+        verify(callback).changed();
+
+        updater.unsubscribe(item);
+        verify(item).removeStateChangeListener(listener);
+        verify(callback, after(3 * DELAY)).changed();
+        assertNotifications(1, 0);
+    }
+
+    @Test
+    public void failedNotificationNotCounted() {
+        doThrow(new IllegalStateException("Client disconnected")).when(callback).changed();
+        change(1);
+        verify(callback).changed();
+        assertNotifications(0, 0);
+    }
+}
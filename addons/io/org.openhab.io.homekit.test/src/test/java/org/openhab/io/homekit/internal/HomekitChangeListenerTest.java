@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.library.items.DimmerItem;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.beowulfe.hap.HomekitAccessory;
+import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
+import com.beowulfe.hap.HomekitRoot;
+import com.beowulfe.hap.accessories.DimmableLightbulb;
+import com.beowulfe.hap.accessories.Lightbulb;
+import com.beowulfe.hap.accessories.Switch;
+
+/**
+ * Tests for the incremental updates of the accessories by {@link HomekitChangeListener}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomekitChangeListenerTest {
+    private static final int PUBLICATION_TIMEOUT = HomekitAccessoryRegistry.QUIET_PERIOD_MS + 3000;
+    private static final int TIMEOUT = 5000;
+
+    private final Map<String, Item> registryItems = new HashMap<>();
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final HomekitRoot bridge = mock(HomekitRoot.class);
+    private final HomekitChangeListener changeListener = new HomekitChangeListener();
+
+    @Before
+    public void setUp() {
+        when(itemRegistry.get(anyString())).thenAnswer(invocation -> registryItems.get(invocation.getArguments()[0]));
+        when(itemRegistry.getAll()).thenAnswer(invocation -> new ArrayList<>(registryItems.values()));
+    }
+
+    @After
+    public void tearDown() {
+        changeListener.stop();
+    }
+
+    private static GenericItem item(GenericItem item, String label, String tag) {
+        item.setLabel(label);
+        item.addTag(tag);
+        return item;
+    }
+
+    private void putItems(Item... items) {
+        registryItems.clear();
+        Arrays.stream(items).forEach(item -> registryItems.put(item.getName(), item));
+    }
+
+    /**
+     * Starts with the given items and returns the accessories added to the bridge right away.
+     */
+    private List<HomekitAccessory> start(Item... items) {
+        putItems(items);
+        changeListener.setItemRegistry(itemRegistry);
+        changeListener.setBridge(bridge);
+        ArgumentCaptor<HomekitAccessory> captor = ArgumentCaptor.forClass(HomekitAccessory.class);
+        verify(bridge, atMost(items.length)).addAccessory(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private HomekitAccessory accessory(List<HomekitAccessory> accessories, String label) {
+        return accessories.stream().filter(accessory -> label.equals(accessory.getLabel())).findFirst().get();
+    }
+
+    @Test
+    public void unchangedUpdateKeepsAccessory() throws Exception {
+        GenericItem item = item(new SwitchItem("switch1"), "Switch", "Switchable");
+        Switch accessory = (Switch) start(item).get(0);
+        HomekitCharacteristicChangeCallback callback = mock(HomekitCharacteristicChangeCallback.class);
+        accessory.subscribeSwitchState(callback);
+
+        GenericItem newItem = item(new SwitchItem("switch1"), "Switch", "Switchable");
+        putItems(newItem);
+        changeListener.updated(item, newItem);
+
+        verify(bridge, after(PUBLICATION_TIMEOUT).times(1)).addAccessory(any(HomekitAccessory.class));
+        verify(bridge, never()).removeAccessory(any(HomekitAccessory.class));
+
+        // The subscription has been moved to the new item
+        newItem.setState(OnOffType.ON);
+        verify(callback, timeout(TIMEOUT)).changed();
+        item.setState(OnOffType.ON);
+        verify(callback, after(500)).changed();
+        assertThat(accessory.getSwitchState().get(), is(true));
+    }
+
+    private void assertRebuilt(GenericItem item, GenericItem newItem, Class<?> expectedType) {
+        HomekitAccessory accessory = start(item).get(0);
+        putItems(newItem);
+        changeListener.updated(item, newItem);
+
+        verify(bridge, timeout(PUBLICATION_TIMEOUT)).removeAccessory(accessory);
+        ArgumentCaptor<HomekitAccessory> captor = ArgumentCaptor.forClass(HomekitAccessory.class);
+        verify(bridge, timeout(TIMEOUT).times(2)).addAccessory(captor.capture());
+        HomekitAccessory newAccessory = captor.getAllValues().get(1);
+        assertThat(newAccessory, is(not(sameInstance(accessory))));
+        assertThat(newAccessory, is(instanceOf(expectedType)));
+        assertThat(newAccessory.getLabel(), is(newItem.getLabel()));
+    }
+
+    @Test
+    public void labelChangeRebuildsAccessory() {
+        assertRebuilt(item(new SwitchItem("switch1"), "Switch", "Switchable"),
+                item(new SwitchItem("switch1"), "Renamed switch", "Switchable"), Switch.class);
+    }
+
+    @Test
+    public void tagChangeRebuildsAccessory() {
+        assertRebuilt(item(new SwitchItem("switch1"), "Switch", "Switchable"),
+                item(new SwitchItem("switch1"), "Switch", "Lighting"), Lightbulb.class);
+    }
+
+    @Test
+    public void typeChangeRebuildsAccessory() {
+        assertRebuilt(item(new SwitchItem("light1"), "Light", "Lighting"),
+                item(new DimmerItem("light1"), "Light", "Lighting"), DimmableLightbulb.class);
+    }
+
+    @Test
+    public void allItemsChangedUpdatesDifferences() {
+        GenericItem kept = item(new SwitchItem("switch1"), "Kept", "Switchable");
+        GenericItem removed = item(new SwitchItem("switch2"), "Removed", "Switchable");
+        GenericItem untagged = new SwitchItem("switch3");
+        List<HomekitAccessory> accessories = start(kept, removed, untagged);
+        assertThat(accessories.size(), is(2));
+
+        GenericItem added = item(new SwitchItem("switch4"), "Added", "Switchable");
+        putItems(item(new SwitchItem("switch1"), "Kept", "Switchable"), untagged, added);
+        changeListener.allItemsChanged(Arrays.asList("switch1", "switch2", "switch3"));
+
+        verify(bridge, timeout(PUBLICATION_TIMEOUT)).removeAccessory(accessory(accessories, "Removed"));
+        ArgumentCaptor<HomekitAccessory> captor = ArgumentCaptor.forClass(HomekitAccessory.class);
+        verify(bridge, timeout(TIMEOUT).times(3)).addAccessory(captor.capture());
+        assertThat(captor.getAllValues().get(2).getLabel(), is("Added"));
+        verify(bridge, after(500).times(1)).removeAccessory(any(HomekitAccessory.class));
+    }
+
+    @Test
+    public void changesPublishedOnce() throws InterruptedException {
+        start();
+        changeListener.added(item(new SwitchItem("switch1"), "Switch 1", "Switchable"));
+        Thread.sleep(HomekitAccessoryRegistry.QUIET_PERIOD_MS / 2);
+        changeListener.added(item(new SwitchItem("switch2"), "Switch 2", "Switchable"));
+        changeListener.added(item(new SwitchItem("switch3"), "Switch 3", "Switchable"));
+        changeListener.removed(item(new SwitchItem("switch3"), "Switch 3", "Switchable"));
+
+        // Every change delays the publication, until no further change happened for the quiet period
+        Thread.sleep(HomekitAccessoryRegistry.QUIET_PERIOD_MS * 3 / 4);
+        verifyZeroInteractions(bridge);
+        verify(bridge, timeout(PUBLICATION_TIMEOUT).times(2)).addAccessory(any(HomekitAccessory.class));
+        verify(bridge, after(500).never()).removeAccessory(any(HomekitAccessory.class));
+    }
+}
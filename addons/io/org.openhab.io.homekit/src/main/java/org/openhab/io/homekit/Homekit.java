@@ -33,4 +33,19 @@ public interface Homekit {
      * @param allow boolean indicating whether or not to allow unauthenticated requests
      */
     void allowUnauthenticatedRequests(boolean allow);
+
+    /**
+     * Returns the number of characteristic change notifications sent to HomeKit clients.
+     *
+     * @return the number of sent notifications
+     */
+    long getSentNotifications();
+
+    /**
+     * Returns the number of item state changes, which have not been notified to HomeKit clients on their own,
+     * because they were coalesced with a pending notification.
+     *
+     * @return the number of suppressed notifications
+     */
+    long getSuppressedNotifications();
 }
@@ -8,14 +8,20 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.homekit.internal.accessories.GroupedAccessory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,11 +33,21 @@ import com.beowulfe.hap.HomekitRoot;
  * Stores the created HomekitAccessories. GroupedAccessories are also held here
  * in a pre-created pending state until all required characteristics are found.
  *
+ * Every accessory added to or removed from a running bridge makes the bridge reset its accessory list and the
+ * connections of all Homekit clients. Changes are therefore published to the bridge in one batch, after no further
+ * change happened for {@link #QUIET_PERIOD_MS}.
+ *
  * @author Andy Lintner
  */
 class HomekitAccessoryRegistry {
 
+    static final int QUIET_PERIOD_MS = 2000;
+
     private HomekitRoot bridge;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("homekit");
+    private ScheduledFuture<?> publication;
+    // The accessories known to the bridge
+    private final Set<HomekitAccessory> publishedAccessories = Collections.newSetFromMap(new IdentityHashMap<>());
     private final List<HomekitAccessory> createdAccessories = new LinkedList<>();
     private final Set<Integer> createdIds = new HashSet<>();
     private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
@@ -39,28 +55,73 @@ class HomekitAccessoryRegistry {
 
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
-    public void remove(HomekitTaggedItem taggedItem) {
+    public synchronized void remove(HomekitTaggedItem taggedItem) {
         Iterator<HomekitAccessory> i = createdAccessories.iterator();
         while (i.hasNext()) {
             HomekitAccessory accessory = i.next();
             if (accessory.getId() == taggedItem.getId()) {
                 logger.debug("Removed accessory {}", accessory.getId());
-                bridge.removeAccessory(accessory);
                 i.remove();
+                createdIds.remove(accessory.getId());
+                schedulePublication();
             }
         }
     }
 
     public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
-        }
+        createdAccessories.clear();
         createdIds.clear();
+        publish();
     }
 
+    /**
+     * Sets the bridge and publishes all accessories immediately. Set the bridge before starting it, so that the
+     * accessories are added without resetting the bridge.
+     */
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        publishedAccessories.clear();
+        publish();
+    }
+
+    private void schedulePublication() {
+        if (bridge == null) {
+            return;
+        }
+        if (publication != null) {
+            publication.cancel(false);
+        }
+        publication = scheduler.schedule(this::publish, QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes the accessories from the bridge, which have been removed since the last publication, and adds the new
+     * ones.
+     */
+    private synchronized void publish() {
+        if (publication != null) {
+            publication.cancel(false);
+            publication = null;
+        }
+        if (bridge == null) {
+            return;
+        }
+        Set<HomekitAccessory> accessories = Collections.newSetFromMap(new IdentityHashMap<>());
+        accessories.addAll(createdAccessories);
+        Iterator<HomekitAccessory> i = publishedAccessories.iterator();
+        while (i.hasNext()) {
+            HomekitAccessory accessory = i.next();
+            if (!accessories.contains(accessory)) {
+                bridge.removeAccessory(accessory);
+                i.remove();
+            }
+        }
+        for (HomekitAccessory accessory : createdAccessories) {
+            if (publishedAccessories.add(accessory)) {
+                bridge.addAccessory(accessory);
+            }
+        }
+        logger.debug("Published {} accessories", publishedAccessories.size());
     }
 
     public synchronized void addRootDevice(HomekitAccessory accessory) {
@@ -101,9 +162,7 @@ class HomekitAccessoryRegistry {
     private void doAddDevice(HomekitAccessory accessory) {
         createdAccessories.add(accessory);
         createdIds.add(accessory.getId());
-        if (bridge != null) {
-            bridge.addAccessory(accessory);
-        }
+        schedulePublication();
         logger.debug("Added accessory {}", accessory.getId());
     }
 
@@ -10,7 +10,11 @@ package org.openhab.io.homekit.internal;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -26,12 +30,44 @@ import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
  * Homekit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Changes are coalesced per subscription: The first change is notified immediately, further changes within the
+ * notification delay are notified once at the end of the delay, so that only the latest state is sent to the
+ * Homekit clients. A dimmer ramp or a fast updating sensor therefore causes at most one notification per
+ * characteristic and delay.
+ *
  * @author Andy Lintner
  */
 public class HomekitAccessoryUpdater {
 
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("homekit");
+    private final AtomicLong sentNotifications = new AtomicLong();
+    private final AtomicLong suppressedNotifications = new AtomicLong();
+    private volatile int notificationDelay;
+
+    /**
+     * Sets the time in milliseconds, in which further changes of an item are coalesced into one notification.
+     *
+     * @param notificationDelay the delay, 0 to notify every change immediately
+     */
+    public void setNotificationDelay(int notificationDelay) {
+        this.notificationDelay = notificationDelay;
+    }
+
+    /**
+     * @return the number of notifications sent to Homekit clients
+     */
+    public long getSentNotifications() {
+        return sentNotifications.get();
+    }
+
+    /**
+     * @return the number of changes, which have not been notified, because a notification was already pending
+     */
+    public long getSuppressedNotifications() {
+        return suppressedNotifications.get();
+    }
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -50,7 +86,7 @@ public class HomekitAccessoryUpdater {
                 logger.error("Received duplicate subscription on {}", item.getName());
                 unsubscribe(item, key);
             }
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -66,18 +102,96 @@ public class HomekitAccessoryUpdater {
         }
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             item.removeStateChangeListener(v);
+            synchronized (v) {
+                v.subscribed = false;
+            }
             return null;
         });
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    /**
+     * Moves the subscriptions of an item to the new instance, which replaced it in the item registry. The
+     * accessories are kept, if an update did not change the Homekit configuration of the item.
+     */
+    public void replace(GenericItem oldItem, GenericItem newItem) {
+        for (ItemKey itemKey : subscriptionsByName.keySet()) {
+            if (itemKey.item != oldItem) {
+                continue;
+            }
+            Subscription subscription = subscriptionsByName.remove(itemKey);
+            if (subscription != null) {
+                oldItem.removeStateChangeListener(subscription);
+                newItem.addStateChangeListener(subscription);
+                subscriptionsByName.put(new ItemKey(newItem, itemKey.key), subscription);
+            }
+        }
+    }
+
+    private void changed(Subscription subscription) {
+        int delay = notificationDelay;
+        if (delay > 0) {
+            synchronized (subscription) {
+                if (subscription.delayed) {
+                    if (subscription.changedWhileDelayed) {
+                        suppressedNotifications.incrementAndGet();
+                    }
+                    subscription.changedWhileDelayed = true;
+                    return;
+                }
+                subscription.delayed = true;
+            }
+            scheduler.schedule(() -> endDelay(subscription), delay, TimeUnit.MILLISECONDS);
+        }
+        sendNotification(subscription);
+    }
+
+    /**
+     * Notifies the latest change, if the state changed during the notification delay. In that case, another delay
+     * is started.
+     */
+    private void endDelay(Subscription subscription) {
+        int delay = notificationDelay;
+        synchronized (subscription) {
+            if (!subscription.changedWhileDelayed || !subscription.subscribed) {
+                subscription.delayed = false;
+                return;
+            }
+            subscription.changedWhileDelayed = false;
+            subscription.delayed = delay > 0;
+        }
+        if (delay > 0) {
+            scheduler.schedule(() -> endDelay(subscription), delay, TimeUnit.MILLISECONDS);
+        }
+        sendNotification(subscription);
+    }
+
+    private void sendNotification(Subscription subscription) {
+        try {
+            subscription.callback.changed();
+            sentNotifications.incrementAndGet();
+        } catch (RuntimeException e) {
+            logger.debug("Could not notify Homekit clients: {}", e.getMessage(), e);
+        }
+    }
+
+    private class Subscription implements StateChangeListener {
+        private final HomekitCharacteristicChangeCallback callback;
+        // Guarded by this subscription
+        private boolean subscribed = true;
+        private boolean delayed;
+        private boolean changedWhileDelayed;
+
+        public Subscription(HomekitCharacteristicChangeCallback callback) {
+            this.callback = callback;
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public void stateChanged(Item item, State oldState, State newState) {
+            changed(this);
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
     }
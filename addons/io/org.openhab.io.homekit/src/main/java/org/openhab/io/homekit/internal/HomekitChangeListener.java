@@ -9,7 +9,13 @@
 package org.openhab.io.homekit.internal;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
@@ -23,6 +29,9 @@ import com.beowulfe.hap.HomekitRoot;
  * Listens for changes to the item registry. When changes are detected, check
  * for Homekit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Accessories are only created again, if an update changed the Homekit configuration of an item (tags, type, label
+ * or groups). Other updates keep the accessory, so that the Homekit clients are not disconnected.
+ *
  * @author Andy Lintner
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
@@ -32,11 +41,14 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private HomekitSettings settings;
+    // The tagged items, by name
+    private final Map<String, Item> taggedItems = new HashMap<>();
 
     @Override
     public synchronized void added(Item item) {
         HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
         if (taggedItem.isTagged()) {
+            taggedItems.put(item.getName(), item);
             if (taggedItem.isRootDevice()) {
                 createRootDevice(taggedItem);
             }
@@ -47,25 +59,70 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     }
 
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
-        clearAccessories();
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        Map<String, Item> items = new HashMap<>();
+        itemRegistry.getAll().forEach(item -> items.put(item.getName(), item));
+        for (Item item : new HashSet<>(taggedItems.values())) {
+            if (!items.containsKey(item.getName())) {
+                removed(item);
+            }
+        }
+        for (Item item : items.values()) {
+            Item oldItem = taggedItems.get(item.getName());
+            if (oldItem == null) {
+                added(item);
+            } else {
+                updated(oldItem, item);
+            }
+        }
     }
 
     @Override
     public synchronized void removed(Item item) {
         HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
         if (taggedItem.isTagged()) {
+            taggedItems.remove(item.getName());
             accessoryRegistry.remove(taggedItem);
         }
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
-        removed(oldElement);
-        added(element);
+    public synchronized void updated(Item oldElement, Item element) {
+        if (!isSameConfiguration(oldElement, element)) {
+            removed(oldElement);
+            added(element);
+            return;
+        }
+        if (taggedItems.containsKey(element.getName())) {
+            logger.trace("Keeping homekit device {}", element.getName());
+            taggedItems.put(element.getName(), element);
+            if (oldElement != element && oldElement instanceof GenericItem && element instanceof GenericItem) {
+                updater.replace((GenericItem) oldElement, (GenericItem) element);
+            }
+        }
+    }
+
+    /**
+     * Checks if the accessories of the old item are still valid for the new item.
+     */
+    private boolean isSameConfiguration(Item oldItem, Item item) {
+        if (oldItem.getClass() != item.getClass() || !Objects.equals(oldItem.getType(), item.getType())
+                || !Objects.equals(oldItem.getLabel(), item.getLabel())
+                || !Objects.equals(oldItem.getTags(), item.getTags())
+                || !Objects.equals(oldItem.getGroupNames(), item.getGroupNames())) {
+            return false;
+        }
+        if (oldItem instanceof GroupItem) {
+            Item oldBaseItem = ((GroupItem) oldItem).getBaseItem();
+            Item baseItem = ((GroupItem) item).getBaseItem();
+            return oldBaseItem == null ? baseItem == null
+                    : baseItem != null && oldBaseItem.getClass() == baseItem.getClass();
+        }
+        return true;
     }
 
     public synchronized void clearAccessories() {
+        taggedItems.clear();
         accessoryRegistry.clear();
     }
 
@@ -81,10 +138,18 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
         this.updater = updater;
+        if (settings != null) {
+            updater.setNotificationDelay(settings.getNotificationDelay());
+        }
     }
 
     public void setSettings(HomekitSettings settings) {
         this.settings = settings;
+        updater.setNotificationDelay(settings.getNotificationDelay());
+    }
+
+    public HomekitAccessoryUpdater getUpdater() {
+        return updater;
     }
 
     public void stop() {
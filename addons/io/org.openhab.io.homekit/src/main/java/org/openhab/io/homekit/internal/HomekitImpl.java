@@ -65,6 +65,8 @@ public class HomekitImpl implements Homekit {
     }
 
     protected void deactivate() {
+        // The bridge is stopped anyway, so the accessories need not be removed from it
+        changeListener.setBridge(null);
         changeListener.clearAccessories();
         if (bridge != null) {
             bridge.stop();
@@ -75,7 +77,6 @@ public class HomekitImpl implements Homekit {
             homekit = null;
         }
 
-        changeListener.setBridge(null);
         changeListener.stop();
     }
 
@@ -93,11 +94,22 @@ public class HomekitImpl implements Homekit {
         }
     }
 
+    @Override
+    public long getSentNotifications() {
+        return changeListener.getUpdater().getSentNotifications();
+    }
+
+    @Override
+    public long getSuppressedNotifications() {
+        return changeListener.getUpdater().getSuppressedNotifications();
+    }
+
     private void start() throws IOException, InvalidAlgorithmParameterException {
         homekit = new HomekitServer(settings.getNetworkInterface(), settings.getPort());
         bridge = homekit.createBridge(new HomekitAuthInfoImpl(storageService, settings.getPin()), settings.getName(),
                 settings.getManufacturer(), settings.getModel(), settings.getSerialNumber());
-        bridge.start();
+        // Accessories added before the start do not reset the bridge
         changeListener.setBridge(bridge);
+        bridge.start();
     }
 }
@@ -38,6 +38,7 @@ public class HomekitSettings {
     private String thermostatCoolMode = "CoolOn";
     private String thermostatAutoMode = "Auto";
     private String thermostatOffMode = "Off";
+    private int notificationDelay = 200;
     private InetAddress networkInterface;
 
     private final Logger logger = LoggerFactory.getLogger(HomekitSettings.class);
@@ -78,6 +79,10 @@ public class HomekitSettings {
         this.thermostatCoolMode = (String) properties.get("thermostatCoolMode");
         this.thermostatAutoMode = (String) properties.get("thermostatAutoMode");
         this.thermostatOffMode = (String) properties.get("thermostatOffMode");
+        Object notificationDelay = properties.get("notificationDelay");
+        if (notificationDelay != null) {
+            this.notificationDelay = Integer.parseInt(notificationDelay.toString());
+        }
 
         String networkInterface = (String) properties.get("networkInterface");
         if (networkInterface == null) {
@@ -148,6 +153,10 @@ public class HomekitSettings {
         return thermostatOffMode;
     }
 
+    public int getNotificationDelay() {
+        return notificationDelay;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -157,6 +166,7 @@ public class HomekitSettings {
         result = prime * result + (int) (temp ^ (temp >>> 32));
         temp = Double.doubleToLongBits(minimumTemperature);
         result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + notificationDelay;
         result = prime * result + ((pin == null) ? 0 : pin.hashCode());
         result = prime * result + port;
         result = prime * result + ((thermostatAutoMode == null) ? 0 : thermostatAutoMode.hashCode());
@@ -185,6 +195,9 @@ public class HomekitSettings {
         if (Double.doubleToLongBits(minimumTemperature) != Double.doubleToLongBits(other.minimumTemperature)) {
             return false;
         }
+        if (notificationDelay != other.notificationDelay) {
+            return false;
+        }
         if (pin == null) {
             if (other.pin != null) {
                 return false;
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.hueemulation.internal;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.hueemulation.internal.dto.HueAuthorizedConfig;
+
+/**
+ * Tests for the request handling of {@link HueEmulationUpnpServer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueEmulationUpnpServerTest {
+    private HueEmulationUpnpServer server;
+
+    @Before
+    public void setUp() {
+        server = new HueEmulationUpnpServer("/api/description.xml", new HueAuthorizedConfig(),
+                InetAddress.getLoopbackAddress(), 8080);
+    }
+
+    private static ByteBuffer datagram(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static InetSocketAddress requester(int i) {
+        return new InetSocketAddress("192.168.0." + (1 + i % 250), 50000 + i);
+    }
+
+    @Test
+    public void isSearch() {
+        assertTrue(server.isSearch(datagram("M-SEARCH * HTTP/1.1\r\nST: ssdp:all\r\n\r\n")));
+        assertTrue(server.isSearch(datagram("M-SEARCH")));
+        assertFalse(server.isSearch(datagram("NOTIFY * HTTP/1.1\r\n\r\n")));
+        assertFalse(server.isSearch(datagram("M-SEARC")));
+        assertFalse(server.isSearch(datagram("")));
+
+        // Only the received part of the buffer is checked
+        ByteBuffer buffer = datagram("M-SEARCH * HTTP/1.1");
+        buffer.limit(4);
+        assertFalse(server.isSearch(buffer));
+    }
+
+    @Test
+    public void repeatedSearchAnsweredOnce() {
+        long now = 1000000;
+        InetSocketAddress requester = requester(0);
+        assertTrue(server.isResponseAllowed(requester, now));
+        assertFalse(server.isResponseAllowed(requester, now + 100));
+        assertFalse(server.isResponseAllowed(requester, now + HueEmulationUpnpServer.DUPLICATE_SEARCH_MSECS - 1));
+        // Another port of the same host is another requester
+        assertTrue(server.isResponseAllowed(new InetSocketAddress(requester.getAddress(), 1900), now + 100));
+
+        assertTrue(server.isResponseAllowed(requester, now + HueEmulationUpnpServer.DUPLICATE_SEARCH_MSECS));
+        assertFalse(server.isResponseAllowed(requester, now + HueEmulationUpnpServer.DUPLICATE_SEARCH_MSECS + 1));
+    }
+
+    @Test
+    public void responsesLimitedPerSecond() {
+        long now = 1000000;
+        for (int i = 0; i < HueEmulationUpnpServer.MAX_RESPONSES_PER_SECOND; ++i) {
+            assertTrue(server.isResponseAllowed(requester(i), now + i));
+        }
+        assertFalse(server.isResponseAllowed(requester(100), now + 500));
+        assertFalse(server.isResponseAllowed(requester(101), now + 999));
+
+        // The limit starts again in the next second
+        assertTrue(server.isResponseAllowed(requester(100), now + 1000));
+        // An ignored search is not recorded, the requester is answered after the limit
+        assertTrue(server.isResponseAllowed(requester(101), now + 1001));
+        // Answered requesters are still suppressed after the window rollover
+        assertFalse(server.isResponseAllowed(requester(0), now + 1002));
+    }
+}
@@ -25,6 +25,7 @@ import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -110,6 +111,36 @@ public class HueRestAPITest {
         assertThat(ds.config.whitelist.get("testuser").name, is("user-label"));
     }
 
+    @Test
+    public void getLights() throws IOException {
+        ds.config.whitelist.put("testuser", new HueUserAuth("testuser"));
+
+        StringWriter out = new StringWriter();
+        int result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertEquals(200, result);
+        assertThat(out.toString(), is(gson.toJson(ds.lights)));
+
+        // Item state changes must be reflected by the cached response
+        ((SwitchItem) ds.lights.get(1).item).setState(OnOffType.ON);
+        out = new StringWriter();
+        result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertEquals(200, result);
+        assertThat(((HueStatePlug) ds.lights.get(1).state).on, is(true));
+        assertThat(out.toString(), is(gson.toJson(ds.lights)));
+
+        out = new StringWriter();
+        result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights/1"), false);
+        assertEquals(200, result);
+        assertThat(out.toString(), is(gson.toJson(ds.lights.get(1))));
+
+        // Removed lights
+        ds.lights.remove(2);
+        out = new StringWriter();
+        result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertEquals(200, result);
+        assertThat(out.toString(), is(gson.toJson(ds.lights)));
+    }
+
     @Test
     public void changeSwitchState() throws IOException {
         ds.config.whitelist.put("testuser", new HueUserAuth("testuser"));
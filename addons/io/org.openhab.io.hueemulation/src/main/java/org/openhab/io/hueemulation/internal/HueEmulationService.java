@@ -196,8 +196,19 @@ public class HueEmulationService implements ReadyTracker {
                     apiServerError(req, out, HueResponse.INVALID_JSON, "Invalid request: " + e.getMessage());
                 }
 
+                String response = out.toString();
+                if (method == HttpMethod.GET && statuscode == 200) {
+                    // Clients poll the lights every few seconds, an unchanged response is not sent again
+                    String etag = Utils.etag(response);
+                    resp.setHeader("ETag", etag);
+                    if (etag.equals(req.getHeader("If-None-Match"))) {
+                        resp.setStatus(304);
+                        return;
+                    }
+                }
+
                 resp.setStatus(statuscode);
-                httpOut.print(out.toString());
+                httpOut.print(response);
 
             }
         }
@@ -9,15 +9,22 @@
 package org.openhab.io.hueemulation.internal;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.MulticastSocket;
 import java.net.NetworkInterface;
+import java.net.SocketAddress;
 import java.net.SocketException;
-import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -26,7 +33,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Advertises a Hue UPNP compatible bridge
+ * Advertises a Hue UPNP compatible bridge.
+ *
+ * <p>
+ * A single non-blocking channel receives the M-SEARCH requests and sends the prebuilt responses. Requesters usually
+ * repeat their search a few times, a requester is therefore answered at most once per {@link #DUPLICATE_SEARCH_MSECS}.
+ * On busy networks the answered searches are limited to {@link #MAX_RESPONSES_PER_SECOND}.
+ * </p>
  *
  * @author Dan Cunningham - Initial contribution
  * @author David Graeff - Refactored
@@ -40,15 +53,28 @@ public class HueEmulationUpnpServer implements Runnable {
      */
     static final int MIN_MAX_AGE_MSECS = 1800000;
 
+    /**
+     * Repeated searches of the same requester within this time are answered only once.
+     */
+    static final int DUPLICATE_SEARCH_MSECS = 2000;
+
+    /**
+     * Further searches within a second are ignored.
+     */
+    static final int MAX_RESPONSES_PER_SECOND = 20;
+
     // jUPNP shares port 1900, but since this is multicast, we can also bind to it
     private static final int UPNP_PORT_RECV = 1900;
     private static final String MULTI_ADDR = "239.255.255.250";
+    private static final byte[] M_SEARCH = "M-SEARCH".getBytes(StandardCharsets.US_ASCII);
     private final InetAddress MULTI_ADDR_IP;
-    private boolean running;
+    private volatile boolean running;
     private final InetAddress address;
-    private final String[] stVersions = { "", "", "" };
+    private final ByteBuffer[] responses;
+    private final Map<SocketAddress, Long> lastResponses = new HashMap<>();
+    private long rateLimitStart;
+    private int rateLimitCount;
     private @Nullable Thread thread;
-    private @Nullable DatagramSocket socket;
     private int webPort;
 
     /**
@@ -69,83 +95,85 @@ public class HueEmulationUpnpServer implements Runnable {
         }
 
         final String[] stVersions = { "upnp:rootdevice", "urn:schemas-upnp-org:device:basic:1", "uuid:" + config.uuid };
+        responses = new ByteBuffer[stVersions.length];
         for (int i = 0; i < stVersions.length; ++i) {
-            this.stVersions[i] = String.format(
+            String msg = String.format(
                     "HTTP/1.1 200 OK\r\n" + "HOST: %s:%d\r\n" + "EXT:\r\n" + "CACHE-CONTROL: max-age=100\r\n"
                             + "LOCATION: %s\r\n" + "SERVER: FreeRTOS/7.4.2, UPnP/1.0, IpBridge/1.15.0\r\n"
                             + "hue-bridgeid: %s\r\n" + "ST: %s\r\n" + "USN: uuid:%s::upnp:rootdevice\r\n\r\n",
                     MULTI_ADDR, UPNP_PORT_RECV,
                     "http://" + address.getHostAddress().toString() + ":" + webPort + relativePath, config.bridgeid,
                     stVersions[i], config.uuid);
+            responses[i] = ByteBuffer.wrap(msg.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
         }
-
     }
 
-    public void start() {
-        if (socket != null) {
+    public synchronized void start() {
+        if (thread != null) {
             return;
         }
 
         running = true;
-        Thread thread = new Thread(this);
+        Thread thread = new Thread(this, "HueEmulationUpnpServer");
         this.thread = thread;
         thread.start();
     }
 
     /**
      * Stops the upnp server from running
-     *
-     * @throws InterruptedException
      */
-    public void shutdown() {
+    public synchronized void shutdown() {
         Thread thread = this.thread;
-        DatagramSocket socket = this.socket;
-        if (thread == null || socket == null) {
+        if (thread == null) {
             return;
         }
 
         this.running = false;
-        socket.close();
+        // Wakes up the selector and closes the channel
+        thread.interrupt();
 
         try {
             thread.join();
         } catch (InterruptedException ignore) {
             Thread.currentThread().interrupt();
         }
-        thread = null;
+        this.thread = null;
     }
 
     @Override
     public void run() {
-        byte[] buf = new byte[1000];
-        DatagramPacket recv = new DatagramPacket(buf, buf.length);
-        try (MulticastSocket recvSocket = new MulticastSocket(UPNP_PORT_RECV);
-                DatagramSocket sendSocket = new DatagramSocket()) {
-            recvSocket.setReuseAddress(true);
-            recvSocket.setLoopbackMode(true);
-            recvSocket.setSoTimeout(MIN_MAX_AGE_MSECS);
-            this.socket = recvSocket;
-            recvSocket.joinGroup(new InetSocketAddress(MULTI_ADDR, UPNP_PORT_RECV),
-                    NetworkInterface.getByInetAddress(address));
+        try (Selector selector = Selector.open();
+                DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET)) {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, false);
+            channel.bind(new InetSocketAddress(UPNP_PORT_RECV));
+            NetworkInterface networkInterface = getMulticastInterface();
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            channel.join(MULTI_ADDR_IP, networkInterface);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ);
+
+            final InetSocketAddress multicast = new InetSocketAddress(MULTI_ADDR_IP, UPNP_PORT_RECV);
+            final ByteBuffer buffer = ByteBuffer.allocate(1000);
+            long nextBroadcast = System.currentTimeMillis() + MIN_MAX_AGE_MSECS;
 
             while (running) {
-                try {
-                    recvSocket.receive(recv);
-                } catch (SocketTimeoutException ignore) {
+                long timeout = nextBroadcast - System.currentTimeMillis();
+                if (timeout <= 0) {
                     // Broadcast every MIN_MAX_AGE_MSECS
-                    sendUPNPDatagrams(recvSocket, MULTI_ADDR_IP, UPNP_PORT_RECV);
-                    continue;
-                }
-                if (recv.getLength() == 0
-                        || (recv.getAddress() == address && recv.getPort() == sendSocket.getLocalPort())) {
-                    continue;
-                }
-                String data = new String(recv.getData());
-                if (!data.startsWith("M-SEARCH")) {
+                    sendUPNPDatagrams(channel, multicast);
+                    nextBroadcast += MIN_MAX_AGE_MSECS;
                     continue;
                 }
+                selector.select(timeout);
+                selector.selectedKeys().clear();
 
-                sendUPNPDatagrams(sendSocket, recv.getAddress(), recv.getPort());
+                SocketAddress requester;
+                while (running && (requester = receive(channel, buffer)) != null) {
+                    if (isSearch(buffer) && isResponseAllowed(requester, System.currentTimeMillis())) {
+                        sendUPNPDatagrams(channel, requester);
+                    }
+                }
             }
         } catch (SocketException e) {
             if (running) {
@@ -156,17 +184,83 @@ public class HueEmulationUpnpServer implements Runnable {
                 logger.warn("IO Error with UPNP server", e);
             }
         }
-        this.socket = null;
     }
 
-    private void sendUPNPDatagrams(DatagramSocket sendSocket, InetAddress address, int port) {
-        for (String msg : stVersions) {
-            DatagramPacket response = new DatagramPacket(msg.getBytes(), msg.length(), address, port);
+    /**
+     * Returns the network interface of the advertised address or the first multicast capable interface. Unlike a
+     * multicast socket, the channel cannot join the group on the default interface of the operating system, so the
+     * chosen interface is logged.
+     */
+    private NetworkInterface getMulticastInterface() throws SocketException {
+        NetworkInterface networkInterface = NetworkInterface.getByInetAddress(address);
+        if (networkInterface != null) {
+            return networkInterface;
+        }
+        for (NetworkInterface candidate : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            if (candidate.isUp() && candidate.supportsMulticast() && !candidate.isLoopback()) {
+                logger.info("No network interface has the address {}, using {} for UPNP", address.getHostAddress(),
+                        candidate.getName());
+                return candidate;
+            }
+        }
+        throw new SocketException("No multicast capable network interface found");
+    }
+
+    private @Nullable SocketAddress receive(DatagramChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        SocketAddress requester = channel.receive(buffer);
+        buffer.flip();
+        return requester;
+    }
+
+    boolean isSearch(ByteBuffer buffer) {
+        if (buffer.remaining() < M_SEARCH.length) {
+            return false;
+        }
+        for (int i = 0; i < M_SEARCH.length; ++i) {
+            if (buffer.get(i) != M_SEARCH[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a search of the requester should be answered and records the response.
+     */
+    boolean isResponseAllowed(SocketAddress requester, long now) {
+        Long lastResponse = lastResponses.get(requester);
+        if (lastResponse != null && now - lastResponse < DUPLICATE_SEARCH_MSECS) {
+            logger.trace("Ignore repeated search of {}", requester);
+            return false;
+        }
+
+        if (now - rateLimitStart >= 1000) {
+            rateLimitStart = now;
+            rateLimitCount = 0;
+            lastResponses.values().removeIf(time -> now - time >= DUPLICATE_SEARCH_MSECS);
+        }
+        if (rateLimitCount >= MAX_RESPONSES_PER_SECOND) {
+            logger.trace("Ignore search of {}, too many searches", requester);
+            return false;
+        }
+        rateLimitCount++;
+        lastResponses.put(requester, now);
+        return true;
+    }
+
+    private void sendUPNPDatagrams(DatagramChannel channel, SocketAddress target) {
+        logger.trace("Sending to {}", target);
+        for (ByteBuffer response : responses) {
+            response.rewind();
             try {
-                logger.trace("Sending to {} : {}", address.getHostAddress(), msg);
-                sendSocket.send(response);
+                if (channel.send(response, target) == 0) {
+                    logger.debug("Could not send UPNP response to {}: Send buffer full", target);
+                }
             } catch (IOException e) {
-                logger.warn("Could not send UPNP response: {}", e.getMessage());
+                if (running) {
+                    logger.warn("Could not send UPNP response: {}", e.getMessage());
+                }
             }
         }
     }
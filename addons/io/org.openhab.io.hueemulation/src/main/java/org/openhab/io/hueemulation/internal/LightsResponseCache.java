@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.hueemulation.internal.dto.HueDevice;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized JSON of each {@link HueDevice}, so that /api/{username}/lights does not need to serialize
+ * all lights on every request. Hue clients like Amazon Echos or Harmony hubs poll the light list every few seconds.
+ *
+ * <p>
+ * A cached light is serialized again, if the device object, its item, its name or the item state changed. The
+ * complete response is only assembled again, if any light changed.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LightsResponseCache {
+    private final Gson gson;
+
+    private static class Entry {
+        final HueDevice device;
+        final Item item;
+        final String name;
+        final State state;
+        final String json;
+
+        Entry(HueDevice device, State state, String json) {
+            this.device = device;
+            this.item = device.item;
+            this.name = device.name;
+            this.state = state;
+            this.json = json;
+        }
+
+        boolean isValid(HueDevice device) {
+            return this.device == device && item == device.item && name.equals(device.name)
+                    && Objects.equals(state, device.item.getState());
+        }
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private @Nullable String lightsJson;
+
+    LightsResponseCache(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Returns the JSON of all lights, like Gson would serialize the map.
+     *
+     * @param lights The lights of the data store
+     */
+    synchronized String getLightsJson(Map<Integer, HueDevice> lights) {
+        String lightsJson = this.lightsJson;
+        boolean changed = lightsJson == null || entries.size() != lights.size();
+        for (Map.Entry<Integer, HueDevice> light : lights.entrySet()) {
+            Entry entry = entries.get(light.getKey());
+            if (entry == null || !entry.isValid(light.getValue())) {
+                entries.put(light.getKey(), serialize(light.getValue()));
+                changed = true;
+            }
+        }
+        if (!changed && lightsJson != null) {
+            return lightsJson;
+        }
+
+        // Lights have been removed
+        for (Iterator<Integer> it = entries.keySet().iterator(); it.hasNext();) {
+            if (!lights.containsKey(it.next())) {
+                it.remove();
+            }
+        }
+
+        StringBuilder b = new StringBuilder(lights.size() * 1024).append('{');
+        for (Map.Entry<Integer, HueDevice> light : lights.entrySet()) {
+            if (b.length() > 1) {
+                b.append(',');
+            }
+            b.append('"').append(light.getKey()).append("\":").append(entries.get(light.getKey()).json);
+        }
+        lightsJson = b.append('}').toString();
+        this.lightsJson = lightsJson;
+        return lightsJson;
+    }
+
+    /**
+     * Returns the JSON of a single light.
+     *
+     * @param hueID The hue ID of the light
+     * @param device The light
+     */
+    synchronized String getLightJson(int hueID, HueDevice device) {
+        Entry entry = entries.get(hueID);
+        if (entry == null || !entry.isValid(device)) {
+            entry = serialize(device);
+            entries.put(hueID, entry);
+            // The complete response needs to be assembled again
+            lightsJson = null;
+        }
+        return entry.json;
+    }
+
+    private Entry serialize(HueDevice device) {
+        // Synchronize the hue state with the item state first. The state is taken before, so that a concurrent
+        // change causes another serialization instead of a stale entry.
+        State state = device.item.getState();
+        device.updateState();
+        return new Entry(device, state, gson.toJson(device));
+    }
+}
@@ -61,6 +61,7 @@ public class RESTApi {
     private final Gson gson;
     private final UserManagement userManagement;
     private final ConfigManagement configManagement;
+    private final LightsResponseCache lightsCache;
     private @NonNullByDefault({}) EventPublisher eventPublisher;
 
     public static enum HttpMethod {
@@ -75,6 +76,7 @@ public class RESTApi {
         this.userManagement = userManagement;
         this.configManagement = configManagement;
         this.gson = gson;
+        this.lightsCache = new LightsResponseCache(gson);
     }
 
     public void setEventPublisher(@Nullable EventPublisher eventPublisher) {
@@ -132,8 +134,6 @@ public class RESTApi {
             return 200;
         }
 
-        updateDataStore();
-
         Path userPath = remaining(path);
 
         return handleUser(method, body, out, userPath.getName(0).toString(), remaining(userPath), path, isDebug);
@@ -164,6 +164,7 @@ public class RESTApi {
         if (remainingPath.getNameCount() == 0) { /** /api/{username} */
             switch (method) {
                 case GET:
+                    updateDataStore();
                     out.write(gson.toJson(ds));
                     return 200;
                 default:
@@ -195,6 +196,7 @@ public class RESTApi {
         if (remainingPath.getNameCount() == 0) {
             switch (method) {
                 case GET:
+                    updateDataStore();
                     out.write(gson.toJson(ds.config));
                     return 200;
                 case PUT:
@@ -270,8 +272,7 @@ public class RESTApi {
                             out.write("\n");
                         }
                     } else {
-                        ds.lights.values().forEach(v -> v.updateState());
-                        out.write(gson.toJson(ds.lights));
+                        out.write(lightsCache.getLightsJson(ds.lights));
                     }
                     return 200;
                 case POST:
@@ -314,8 +315,7 @@ public class RESTApi {
 
         /** /api/{username}/lights/{id} */
         if (remainingPath.getNameCount() == 1) {
-            hueDevice.updateState();
-            out.write(gson.toJson(hueDevice));
+            out.write(lightsCache.getLightJson(hueID, hueDevice));
             return 200;
         }
 
@@ -421,7 +421,8 @@ public class RESTApi {
     }
 
     /**
-     * Update changing parameters of the data store like the time.
+     * Update changing parameters of the data store like the time. Only required for responses containing the
+     * authorized config.
      */
     public void updateDataStore() {
         ds.config.UTC = LocalDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
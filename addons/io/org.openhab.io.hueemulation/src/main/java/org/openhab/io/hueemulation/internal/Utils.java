@@ -35,6 +35,16 @@ public class Utils {
         response.setHeader("Access-Control-Allow-Headers", "Origin, X-Requested-With, Content-Type, Accept");
     }
 
+    /**
+     * Computes an entity tag for a response body.
+     *
+     * @param body The response body
+     * @return A quoted entity tag
+     */
+    static String etag(String body) {
+        return "\"" + Integer.toHexString(body.hashCode()) + "-" + Integer.toHexString(body.length()) + "\"";
+    }
+
     /**
      * Try to get the ethernet interface MAC for the network interface that belongs to the given IP address.
      * Returns a default MAC on any failure.
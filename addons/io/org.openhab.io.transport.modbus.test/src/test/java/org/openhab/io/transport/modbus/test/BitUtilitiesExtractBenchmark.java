@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.internal.RegisterArrayWrappingInputRegister;
+
+import net.wimpi.modbus.procimg.InputRegister;
+import net.wimpi.modbus.procimg.SimpleInputRegister;
+
+/**
+ * Micro benchmark of decoding values from registers, comparing
+ * <ul>
+ * <li>legacy: the previous implementation of
+ * {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}, copying the register
+ * bytes to a {@link ByteBuffer}</li>
+ * <li>state: the current
+ * {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}</li>
+ * <li>primitive: {@link ModbusBitUtilities#extractLongFromRegisters(ModbusRegisterArray, int, ValueType)} and
+ * {@link ModbusBitUtilities#extractDoubleFromRegisters(ModbusRegisterArray, int, ValueType)}</li>
+ * </ul>
+ *
+ * The registers are wrapped like the registers of a poll response.
+ *
+ * This is not run as part of the unit tests. Run the main method from the IDE, optionally giving the number of
+ * decodes per value type as argument.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class BitUtilitiesExtractBenchmark {
+
+    private static final ValueType[] TYPES = new ValueType[] { ValueType.INT16, ValueType.INT32, ValueType.FLOAT32,
+            ValueType.INT64 };
+
+    /**
+     * Bytes allocated by the current thread, or -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        try {
+            // com.sun.management.ThreadMXBean is not available on all JVMs
+            Class<?> sunThreadBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!sunThreadBean.isInstance(threadBean)) {
+                return -1;
+            }
+            Method method = sunThreadBean.getMethod("getThreadAllocatedBytes", long.class);
+            return (long) method.invoke(threadBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The implementation of extractStateFromRegisters before the primitive accessors were introduced, for the
+     * benchmarked types
+     */
+    private static DecimalType legacyExtractStateFromRegisters(ModbusRegisterArray registers, int index,
+            ValueType type) {
+        switch (type) {
+            case INT16: {
+                ByteBuffer buff = ByteBuffer.allocate(2);
+                buff.put(registers.getRegister(index).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
+            }
+            case INT32: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
+            }
+            case FLOAT32: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
+            }
+            case INT64: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index + 2).getBytes());
+                buff.put(registers.getRegister(index + 3).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
+            }
+            default:
+                throw new IllegalArgumentException(type.getConfigValue());
+        }
+    }
+
+    private static ModbusRegisterArray createRegisters() {
+        InputRegister[] registers = new InputRegister[] { new SimpleInputRegister(0x4148),
+                new SimpleInputRegister(0xf5c3), new SimpleInputRegister(0x8001), new SimpleInputRegister(0x1234) };
+        return new RegisterArrayWrappingInputRegister(registers);
+    }
+
+    private static void run(String name, ValueType type, int iterations, ToDoubleFunction<ModbusRegisterArray> decode) {
+        // New register array per run, so that the wrapper cache of the previous run is not reused
+        ModbusRegisterArray registers = createRegisters();
+        // warm up
+        for (int i = 0; i < iterations / 10; i++) {
+            decode.applyAsDouble(registers);
+        }
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            sum += decode.applyAsDouble(registers);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+        System.out.println(String.format("%-8s %-10s %12.0f ops/s %8.1f ns/op %10s B/op (%s)", type.getConfigValue(),
+                name, iterations * 1e9 / elapsed, (double) elapsed / iterations,
+                allocatedBefore < 0 ? "n/a" : String.valueOf((allocatedAfter - allocatedBefore) / iterations), sum));
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        for (ValueType type : TYPES) {
+            run("legacy", type, iterations,
+                    registers -> legacyExtractStateFromRegisters(registers, 0, type).doubleValue());
+            run("state", type, iterations,
+                    registers -> ModbusBitUtilities.extractStateFromRegisters(registers, 0, type).doubleValue());
+            if (type == ValueType.FLOAT32) {
+                run("primitive", type, iterations,
+                        registers -> ModbusBitUtilities.extractDoubleFromRegisters(registers, 0, type));
+            } else {
+                run("primitive", type, iterations,
+                        registers -> ModbusBitUtilities.extractLongFromRegisters(registers, 0, type));
+            }
+        }
+    }
+}
@@ -381,4 +381,31 @@ public class BitUtilitiesExtractStateFromRegistersTest {
         assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actualState,
                 is(equalTo(expectedResult)));
     }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testExtractDoubleFromRegisters() {
+        if (expectedResult instanceof Class && Exception.class.isAssignableFrom((Class) expectedResult)) {
+            shouldThrow.expect((Class) expectedResult);
+        }
+
+        double actual = ModbusBitUtilities.extractDoubleFromRegisters(this.registers, this.index, this.type);
+        assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actual,
+                is(equalTo(((DecimalType) expectedResult).doubleValue())));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testExtractLongFromRegisters() {
+        if (type == ValueType.FLOAT32 || type == ValueType.FLOAT32_SWAP) {
+            shouldThrow.expect(IllegalArgumentException.class);
+        } else if (expectedResult instanceof Class && Exception.class.isAssignableFrom((Class) expectedResult)) {
+            shouldThrow.expect((Class) expectedResult);
+        }
+
+        long actual = ModbusBitUtilities.extractLongFromRegisters(this.registers, this.index, this.type);
+        // UINT64 values out of bounds of long are expected as raw 64 bits
+        assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actual,
+                is(equalTo(((DecimalType) expectedResult).toBigDecimal().toBigInteger().longValue())));
+    }
 }
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointScheduler;
+import org.openhab.io.transport.modbus.internal.EndpointScheduler.Priority;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class EndpointSchedulerTest {
+
+    private ExecutorService executor;
+    private EndpointScheduler scheduler;
+    private List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch blockerStarted = new CountDownLatch(1);
+    private CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        scheduler = new EndpointScheduler(new ModbusTCPSlaveEndpoint("127.0.0.1", 502), executor, 1);
+    }
+
+    @After
+    public void tearDown() {
+        releaseBlocker.countDown();
+        executor.shutdownNow();
+    }
+
+    private Runnable record(String name) {
+        return () -> executed.add(name);
+    }
+
+    private void submitBlocker() throws InterruptedException {
+        scheduler.submit(Priority.ONE_OFF_READ, () -> {
+            blockerStarted.countDown();
+            try {
+                releaseBlocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    private void releaseAndWait(int expectedExecutions) throws InterruptedException {
+        releaseBlocker.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executed.size() < expectedExecutions && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executed.size(), is(equalTo(expectedExecutions)));
+    }
+
+    @Test
+    public void testWritesBeforeReadsBeforePolls() throws InterruptedException {
+        submitBlocker();
+        scheduler.submitRegularPoll("poll", 1000, record("poll"));
+        scheduler.submit(Priority.ONE_OFF_READ, record("read"));
+        scheduler.submit(Priority.WRITE, record("write"));
+        scheduler.submit(Priority.WRITE, record("write2"));
+
+        releaseAndWait(4);
+        assertThat(executed, is(equalTo(Arrays.asList("write", "write2", "read", "poll"))));
+    }
+
+    @Test
+    public void testQueuedPollNotDuplicated() throws InterruptedException {
+        submitBlocker();
+        assertTrue(scheduler.submitRegularPoll("poll", 1000, record("poll")));
+        assertFalse(scheduler.submitRegularPoll("poll", 1000, record("poll")));
+        assertTrue(scheduler.submitRegularPoll("poll2", 1000, record("poll2")));
+        assertThat(scheduler.getQueueSize(), is(equalTo(2)));
+
+        releaseAndWait(2);
+        assertThat(executed, is(equalTo(Arrays.asList("poll", "poll2"))));
+    }
+
+    @Test
+    public void testRemoveAndCancel() throws InterruptedException {
+        submitBlocker();
+        scheduler.submitRegularPoll("poll", 1000, record("poll"));
+        ScheduledFuture<?> read = scheduler.submit(Priority.ONE_OFF_READ, record("read"));
+        scheduler.submit(Priority.ONE_OFF_READ, record("read2"));
+        scheduler.removeRegularPoll("poll");
+        assertTrue(read.cancel(false));
+        assertThat(scheduler.getQueueSize(), is(equalTo(1)));
+
+        releaseAndWait(1);
+        assertThat(executed, is(equalTo(Arrays.asList("read2"))));
+    }
+
+    @Test
+    public void testPollsDroppedWhenOverloaded() throws InterruptedException {
+        // Measure latency of ~100ms
+        CountDownLatch slowDone = new CountDownLatch(1);
+        scheduler.submit(Priority.ONE_OFF_READ, () -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowDone.countDown();
+        });
+        assertTrue(slowDone.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertThat(scheduler.getAverageLatencyMillis() >= 90, is(true));
+
+        submitBlocker();
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(Priority.ONE_OFF_READ, record("read" + i));
+        }
+        // backlog of ~600ms does not fit in poll period of 200ms
+        assertFalse(scheduler.submitRegularPoll("fastPoll", 200, record("fastPoll")));
+        assertTrue(scheduler.submitRegularPoll("slowPoll", 10000, record("slowPoll")));
+        assertThat(scheduler.getDroppedPolls(), is(equalTo(1L)));
+
+        releaseAndWait(6);
+        assertThat(executed.contains("fastPoll"), is(false));
+    }
+
+    @Test
+    public void testConcurrency() throws InterruptedException {
+        scheduler.setMaxConcurrency(2);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            scheduler.submit(Priority.ONE_OFF_READ, () -> {
+                bothRunning.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+}
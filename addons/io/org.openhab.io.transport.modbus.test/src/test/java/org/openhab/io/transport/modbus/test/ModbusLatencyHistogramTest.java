@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ModbusLatencyHistogramTest {
+
+    private static ModbusLatencyHistogram histogram(long... measurements) {
+        long[] counts = new long[ModbusLatencyHistogram.BUCKET_UPPER_BOUNDS_MILLIS.length + 1];
+        long sum = 0;
+        long max = 0;
+        for (long measurement : measurements) {
+            counts[ModbusLatencyHistogram.bucketIndex(measurement)]++;
+            sum += measurement;
+            max = Math.max(max, measurement);
+        }
+        return new ModbusLatencyHistogram(counts, sum, max);
+    }
+
+    @Test
+    public void testBucketIndex() {
+        assertThat(ModbusLatencyHistogram.bucketIndex(0), is(equalTo(0)));
+        assertThat(ModbusLatencyHistogram.bucketIndex(1), is(equalTo(0)));
+        assertThat(ModbusLatencyHistogram.bucketIndex(2), is(equalTo(1)));
+        assertThat(ModbusLatencyHistogram.bucketIndex(3), is(equalTo(2)));
+        assertThat(ModbusLatencyHistogram.bucketIndex(10000),
+                is(equalTo(ModbusLatencyHistogram.BUCKET_UPPER_BOUNDS_MILLIS.length - 1)));
+        assertThat(ModbusLatencyHistogram.bucketIndex(10001),
+                is(equalTo(ModbusLatencyHistogram.BUCKET_UPPER_BOUNDS_MILLIS.length)));
+    }
+
+    @Test
+    public void testEmpty() {
+        ModbusLatencyHistogram histogram = histogram();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getMeanMillis(), is(equalTo(0.0)));
+        assertThat(histogram.getPercentileMillis(95), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testStatistics() {
+        ModbusLatencyHistogram histogram = histogram(1, 1, 4, 8, 30, 30, 30, 30, 30, 450);
+        assertThat(histogram.getCount(), is(equalTo(10L)));
+        assertThat(histogram.getMeanMillis(), is(equalTo(61.4)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(450L)));
+        assertThat(histogram.getPercentileMillis(0), is(equalTo(1L)));
+        assertThat(histogram.getPercentileMillis(20), is(equalTo(1L)));
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(50L)));
+        assertThat(histogram.getPercentileMillis(90), is(equalTo(50L)));
+        // limited by the maximum
+        assertThat(histogram.getPercentileMillis(95), is(equalTo(450L)));
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(450L)));
+    }
+
+    @Test
+    public void testOverflowBucket() {
+        ModbusLatencyHistogram histogram = histogram(20000, 30000);
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(30000L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram(1).getPercentileMillis(101);
+    }
+
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.test.IntegrationTestSupport.NonOSGIModbusManager;
+
+/**
+ * Throughput benchmark of the modbus manager against {@link SimulatedModbusSlave}
+ *
+ * For each number of regular polls, the polls are registered with the manager and run for a fixed duration. The
+ * following is reported
+ * <ul>
+ * <li>polls/s: number of poll callbacks per second</li>
+ * <li>p99 delay: 99th percentile of how much later than the poll period the poll callbacks were called</li>
+ * <li>p99 transaction: 99th percentile of the transaction time reported by the manager metrics</li>
+ * <li>alloc: bytes allocated per second by all threads, if supported by the JVM</li>
+ * </ul>
+ *
+ * This is not run as part of the unit tests. Run the main method from the IDE, optionally giving the poll counts,
+ * poll period in milliseconds and duration in seconds as arguments, e.g. {@code 1,10,100,1000 100 10}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ModbusManagerBenchmark {
+
+    private static final int SLAVE_SIZE = 1000;
+    private static final int POLL_LENGTH = 10;
+
+    private static class Result {
+        private final int polls;
+        private final double pollsPerSecond;
+        private final long p99DelayMillis;
+        private final long p99TransactionMillis;
+        private final long errors;
+        private final double allocatedBytesPerSecond;
+
+        public Result(int polls, double pollsPerSecond, long p99DelayMillis, long p99TransactionMillis, long errors,
+                double allocatedBytesPerSecond) {
+            this.polls = polls;
+            this.pollsPerSecond = pollsPerSecond;
+            this.p99DelayMillis = p99DelayMillis;
+            this.p99TransactionMillis = p99TransactionMillis;
+            this.errors = errors;
+            this.allocatedBytesPerSecond = allocatedBytesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%8d %12.1f %14d %18d %8d %14s", polls, pollsPerSecond, p99DelayMillis,
+                    p99TransactionMillis, errors, allocatedBytesPerSecond < 0 ? "n/a"
+                            : String.format("%.1f MB/s", allocatedBytesPerSecond / 1024 / 1024));
+        }
+    }
+
+    /**
+     * Callback recording how late each callback was, compared to the poll period
+     */
+    private static class DelayRecordingCallback implements ModbusReadCallback {
+        private final long periodMillis;
+        private final List<Long> delays;
+        private final AtomicLong callbacks;
+        private final AtomicLong errors;
+        private long previousNanos;
+
+        public DelayRecordingCallback(long periodMillis, List<Long> delays, AtomicLong callbacks, AtomicLong errors) {
+            this.periodMillis = periodMillis;
+            this.delays = delays;
+            this.callbacks = callbacks;
+            this.errors = errors;
+        }
+
+        private synchronized void record() {
+            long now = System.nanoTime();
+            if (previousNanos != 0) {
+                long delay = TimeUnit.NANOSECONDS.toMillis(now - previousNanos) - periodMillis;
+                synchronized (delays) {
+                    delays.add(Math.max(0, delay));
+                }
+            }
+            previousNanos = now;
+            callbacks.incrementAndGet();
+        }
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            record();
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            record();
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            errors.incrementAndGet();
+            record();
+        }
+    }
+
+    /**
+     * Total bytes allocated by all live threads, or -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        try {
+            // com.sun.management.ThreadMXBean is not available on all JVMs
+            Class<?> sunThreadBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!sunThreadBean.isInstance(threadBean)) {
+                return -1;
+            }
+            Method method = sunThreadBean.getMethod("getThreadAllocatedBytes", long[].class);
+            long[] allocated = (long[]) method.invoke(threadBean, threadBean.getAllThreadIds());
+            return Arrays.stream(allocated).filter(bytes -> bytes > 0).sum();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static Result run(int polls, long periodMillis, long durationMillis) throws Exception {
+        try (SimulatedModbusSlave slave = new SimulatedModbusSlave(SimulatedModbusSlave.Protocol.TCP, 4, 1,
+                SLAVE_SIZE, address -> address).start();
+                NonOSGIModbusManager manager = new NonOSGIModbusManager(new HashMap<>())) {
+            // Keep the connection open and do not throttle, measuring the manager rather than the pacing
+            EndpointPoolConfiguration poolConfiguration = new EndpointPoolConfiguration();
+            poolConfiguration.setReconnectAfterMillis(-1);
+            poolConfiguration.setConnectMaxTries(3);
+            manager.setEndpointPoolConfiguration(slave.getEndpoint(), poolConfiguration);
+
+            List<Long> delays = new ArrayList<>();
+            AtomicLong callbacks = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+            List<PollTask> tasks = new ArrayList<>(polls);
+            for (int i = 0; i < polls; i++) {
+                int start = (i * POLL_LENGTH) % (SLAVE_SIZE - POLL_LENGTH);
+                tasks.add(new BasicPollTaskImpl(slave.getEndpoint(),
+                        new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start,
+                                POLL_LENGTH, 1),
+                        new DelayRecordingCallback(periodMillis, delays, callbacks, errors)));
+            }
+
+            long allocatedBefore = getAllocatedBytes();
+            long startNanos = System.nanoTime();
+            for (PollTask task : tasks) {
+                manager.registerRegularPoll(task, periodMillis, 0);
+            }
+            Thread.sleep(durationMillis);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long callbackCount = callbacks.get();
+            long allocatedAfter = getAllocatedBytes();
+            for (PollTask task : tasks) {
+                manager.unregisterRegularPoll(task);
+            }
+
+            double elapsedSeconds = elapsedNanos / 1e9;
+            long p99Delay;
+            synchronized (delays) {
+                p99Delay = percentile(delays, 99);
+            }
+            long p99Transaction = 0;
+            for (ModbusEndpointMetrics metrics : manager.getEndpointMetrics().values()) {
+                p99Transaction = Math.max(p99Transaction, metrics.getTransactionTime().getPercentileMillis(99));
+            }
+            double allocationRate = allocatedBefore < 0 || allocatedAfter < 0 ? -1
+                    : (allocatedAfter - allocatedBefore) / elapsedSeconds;
+            return new Result(polls, callbackCount / elapsedSeconds, p99Delay, p99Transaction, errors.get(),
+                    allocationRate);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] pollCounts = args.length > 0 ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 1, 10, 100, 1000 };
+        long periodMillis = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        long durationMillis = TimeUnit.SECONDS.toMillis(args.length > 2 ? Long.parseLong(args[2]) : 10);
+
+        // Warm up
+        run(10, periodMillis, Math.min(durationMillis, 2000));
+
+        Map<Integer, Result> results = new HashMap<>();
+        for (int polls : pollCounts) {
+            results.put(polls, run(polls, periodMillis, durationMillis));
+        }
+        System.out.println(String.format("%8s %12s %14s %18s %8s %14s", "polls", "polls/s", "p99 delay (ms)",
+                "p99 transaction (ms)", "errors", "alloc"));
+        for (int polls : pollCounts) {
+            System.out.println(results.get(polls));
+        }
+        // Thread pools of the manager are not daemon threads
+        System.exit(0);
+    }
+}
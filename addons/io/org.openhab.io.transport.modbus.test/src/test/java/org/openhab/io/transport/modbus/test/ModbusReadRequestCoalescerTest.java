@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.CoalescedPollTask;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadRequestCoalescer;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ModbusReadRequestCoalescerTest {
+
+    private static class RecordingCallback implements ModbusReadCallback {
+        private final List<Object> received = new ArrayList<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.add(registers);
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.add(bits);
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.add(error);
+        }
+    }
+
+    private ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("127.0.0.1", 502);
+
+    private PollTask task(ModbusSlaveEndpoint endpoint, int unitId, ModbusReadFunctionCode functionCode, int start,
+            int length) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(unitId, functionCode, start, length, 1), new RecordingCallback());
+    }
+
+    private PollTask holding(int start, int length) {
+        return task(endpoint, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingMerged() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestCoalescer()
+                .plan(Arrays.asList(holding(10, 5), holding(0, 10), holding(12, 8)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(20)));
+        assertThat(planned.get(0).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapNotMergedByDefault() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestCoalescer()
+                .plan(Arrays.asList(holding(0, 10), holding(11, 5)));
+        assertThat(planned.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testGapMergedWithMaxGap() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestCoalescer(1)
+                .plan(Arrays.asList(holding(0, 10), holding(11, 5)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(16)));
+    }
+
+    @Test
+    public void testProtocolLimitRespected() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestCoalescer()
+                .plan(Arrays.asList(holding(0, 100), holding(100, 25), holding(125, 1)));
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(planned.get(1).getRequest().getReference(), is(equalTo(125)));
+
+        List<CoalescedPollTask> plannedCoils = new ModbusReadRequestCoalescer()
+                .plan(Arrays.asList(task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 0, 1000),
+                        task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 1000, 1000)));
+        assertThat(plannedCoils.size(), is(equalTo(1)));
+        assertThat(plannedCoils.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+    }
+
+    @Test
+    public void testDifferentEndpointUnitAndFunctionCodeNotMerged() {
+        ModbusSlaveEndpoint otherEndpoint = new ModbusTCPSlaveEndpoint("127.0.0.2", 502);
+        List<CoalescedPollTask> planned = new ModbusReadRequestCoalescer().plan(Arrays.asList(holding(0, 5),
+                task(otherEndpoint, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5),
+                task(endpoint, 2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5),
+                task(endpoint, 1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 5)));
+        assertThat(planned.size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testRegistersDistributedToMembers() {
+        PollTask first = holding(2, 2);
+        PollTask second = holding(3, 3);
+        List<CoalescedPollTask> planned = new ModbusReadRequestCoalescer().plan(Arrays.asList(first, second));
+        assertThat(planned.size(), is(equalTo(1)));
+        CoalescedPollTask coalesced = planned.get(0);
+
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(2, 3, 4, 5));
+
+        List<Object> firstReceived = ((RecordingCallback) first.getCallback()).received;
+        assertThat(firstReceived.size(), is(equalTo(1)));
+        ModbusRegisterArray firstRegisters = (ModbusRegisterArray) firstReceived.get(0);
+        assertThat(firstRegisters.size(), is(equalTo(2)));
+        assertThat(firstRegisters.getRegister(0).getValue(), is(equalTo(2)));
+        assertThat(firstRegisters.getRegister(1).getValue(), is(equalTo(3)));
+
+        List<Object> secondReceived = ((RecordingCallback) second.getCallback()).received;
+        ModbusRegisterArray secondRegisters = (ModbusRegisterArray) secondReceived.get(0);
+        assertThat(secondRegisters.size(), is(equalTo(3)));
+        assertThat(secondRegisters.getRegister(0).getValue(), is(equalTo(3)));
+        assertThat(secondRegisters.getRegister(2).getValue(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testBitsAndErrorsDistributedToMembers() {
+        PollTask first = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 2, 1);
+        CoalescedPollTask coalesced = new ModbusReadRequestCoalescer().plan(Arrays.asList(first, second)).get(0);
+
+        coalesced.getCallback().onBits(coalesced.getRequest(), new BasicBitArray(true, false, true));
+        assertThat(((RecordingCallback) first.getCallback()).received.get(0),
+                is(equalTo(new BasicBitArray(true, false))));
+        assertThat(((RecordingCallback) second.getCallback()).received.get(0), is(equalTo(new BasicBitArray(true))));
+
+        Exception error = new Exception("test");
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+        assertThat(((RecordingCallback) first.getCallback()).received.get(1), is(sameInstance(error)));
+        assertThat(((RecordingCallback) second.getCallback()).received.get(1), is(sameInstance(error)));
+    }
+
+}
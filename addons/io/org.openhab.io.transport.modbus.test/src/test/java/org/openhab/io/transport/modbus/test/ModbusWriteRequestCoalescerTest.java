@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicWriteTask;
+import org.openhab.io.transport.modbus.CoalescedWriteTask;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestCoalescer;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ModbusWriteRequestCoalescerTest {
+
+    private static class RecordingCallback implements ModbusWriteCallback {
+        private final List<Object> received = new ArrayList<>();
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            received.add(request);
+        }
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            received.add(error);
+        }
+    }
+
+    private ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("127.0.0.1", 502);
+
+    private WriteTask registers(int unitId, int reference, int... values) {
+        return new BasicWriteTask(endpoint, new BasicModbusWriteRegisterRequestBlueprint(unitId, reference,
+                new BasicModbusRegisterArray(values), values.length > 1, 1), new RecordingCallback());
+    }
+
+    private WriteTask coils(int reference, boolean... values) {
+        return new BasicWriteTask(endpoint, new BasicModbusWriteCoilRequestBlueprint(1, reference,
+                new BasicBitArray(values), values.length > 1, 1), new RecordingCallback());
+    }
+
+    private static int[] registerValues(CoalescedWriteTask task) {
+        ModbusWriteRegisterRequestBlueprint request = (ModbusWriteRegisterRequestBlueprint) task.getRequest();
+        int[] values = new int[request.getRegisters().size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = request.getRegisters().getRegister(i).getValue();
+        }
+        return values;
+    }
+
+    @Test
+    public void testAdjacentRegistersMerged() {
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer()
+                .plan(Arrays.asList(registers(1, 10, 1), registers(1, 11, 2, 3), registers(1, 13, 4)));
+        assertThat(planned.size(), is(equalTo(1)));
+        CoalescedWriteTask task = planned.get(0);
+        assertThat(task.getRequest().getReference(), is(equalTo(10)));
+        assertThat(task.getRequest().getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS)));
+        assertThat(registerValues(task), is(equalTo(new int[] { 1, 2, 3, 4 })));
+        assertThat(task.getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testWriteBeforeRunNotMerged() {
+        // Register 9 would be processed by the slave before the registers of the earlier writes
+        WriteTask last = registers(1, 9, 4);
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer()
+                .plan(Arrays.asList(registers(1, 10, 1), registers(1, 11, 2, 3), last));
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(registerValues(planned.get(0)), is(equalTo(new int[] { 1, 2, 3 })));
+        assertThat(planned.get(1).getRequest(), is(sameInstance(last.getRequest())));
+    }
+
+    @Test
+    public void testInterleavedWritesKeepSubmissionOrder() {
+        WriteTask a = registers(1, 0, 1);
+        WriteTask b = registers(1, 10, 2);
+        WriteTask c = registers(1, 0, 3);
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer().plan(Arrays.asList(a, b, c));
+        assertThat(planned.size(), is(equalTo(3)));
+        assertThat(planned.get(0).getRequest(), is(sameInstance(a.getRequest())));
+        assertThat(planned.get(1).getRequest(), is(sameInstance(b.getRequest())));
+        assertThat(planned.get(2).getRequest(), is(sameInstance(c.getRequest())));
+
+        // parameter, register applying the parameter, and the next parameter
+        WriteTask parameter = registers(1, 0, 1);
+        WriteTask apply = registers(1, 1, 1);
+        WriteTask nextParameter = registers(1, 0, 2);
+        planned = new ModbusWriteRequestCoalescer().plan(Arrays.asList(parameter, apply, nextParameter));
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(registerValues(planned.get(0)), is(equalTo(new int[] { 1, 1 })));
+        assertThat(planned.get(0).getMembers(), is(equalTo(Arrays.asList(parameter, apply))));
+        assertThat(planned.get(1).getRequest(), is(sameInstance(nextParameter.getRequest())));
+    }
+
+    @Test
+    public void testLastWriteWins() {
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer()
+                .plan(Arrays.asList(registers(1, 10, 1, 2, 3), registers(1, 12, 5), registers(1, 10, 7, 8, 9)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(registerValues(planned.get(0)), is(equalTo(new int[] { 7, 8, 9 })));
+
+        planned = new ModbusWriteRequestCoalescer()
+                .plan(Arrays.asList(registers(1, 10, 1, 2, 3), registers(1, 12, 5), registers(1, 13, 6)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(registerValues(planned.get(0)), is(equalTo(new int[] { 1, 2, 5, 6 })));
+
+        planned = new ModbusWriteRequestCoalescer().plan(Arrays.asList(coils(3, true), coils(3, false, true)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getFunctionCode(),
+                is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_COILS)));
+        assertThat(((ModbusWriteCoilRequestBlueprint) planned.get(0).getRequest()).getCoils(),
+                is(equalTo(new BasicBitArray(false, true))));
+    }
+
+    @Test
+    public void testSeparateWritesKeepOriginalRequest() {
+        WriteTask first = registers(1, 10, 1);
+        WriteTask gap = registers(1, 12, 2);
+        WriteTask otherUnit = registers(2, 11, 3);
+        WriteTask coil = coils(11, true);
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer()
+                .plan(Arrays.asList(first, gap, otherUnit, coil));
+        assertThat(planned.size(), is(equalTo(4)));
+        // submission order is preserved
+        assertThat(planned.get(0).getRequest(), is(sameInstance(first.getRequest())));
+        assertThat(planned.get(1).getRequest(), is(sameInstance(gap.getRequest())));
+        assertThat(planned.get(2).getRequest(), is(sameInstance(otherUnit.getRequest())));
+        assertThat(planned.get(3).getRequest(), is(sameInstance(coil.getRequest())));
+        assertThat(planned.get(0).getRequest().getFunctionCode(),
+                is(equalTo(ModbusWriteFunctionCode.WRITE_SINGLE_REGISTER)));
+    }
+
+    @Test
+    public void testTooLongWriteNotMerged() {
+        int[] values = new int[100];
+        WriteTask first = registers(1, 0, values);
+        WriteTask second = registers(1, 100, values);
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer().plan(Arrays.asList(first, second));
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest(), is(sameInstance(first.getRequest())));
+        assertThat(planned.get(1).getRequest(), is(sameInstance(second.getRequest())));
+    }
+
+    @Test
+    public void testResponseDistributedToMembers() {
+        WriteTask first = registers(1, 10, 1);
+        WriteTask second = registers(1, 11, 2);
+        List<CoalescedWriteTask> planned = new ModbusWriteRequestCoalescer().plan(Arrays.asList(first, second));
+        assertThat(planned.size(), is(equalTo(1)));
+        planned.get(0).getCallback().onWriteResponse(planned.get(0).getRequest(), () -> 16);
+        Exception error = new Exception();
+        planned.get(0).getCallback().onError(planned.get(0).getRequest(), error);
+
+        assertThat(((RecordingCallback) first.getCallback()).received,
+                is(equalTo(Arrays.asList(first.getRequest(), error))));
+        assertThat(((RecordingCallback) second.getCallback()).received,
+                is(equalTo(Arrays.asList(second.getRequest(), error))));
+    }
+
+}
@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+
+import net.wimpi.modbus.ModbusCoupler;
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusMessage;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.ModbusTCPListener;
+import net.wimpi.modbus.net.ModbusUDPListener;
+import net.wimpi.modbus.net.TCPSlaveConnection;
+import net.wimpi.modbus.net.TCPSlaveConnection.ModbusTCPTransportFactory;
+import net.wimpi.modbus.net.UDPSlaveTerminal;
+import net.wimpi.modbus.net.UDPSlaveTerminal.ModbusUDPTransportFactoryImpl;
+import net.wimpi.modbus.net.UDPTerminal;
+import net.wimpi.modbus.procimg.SimpleDigitalIn;
+import net.wimpi.modbus.procimg.SimpleDigitalOut;
+import net.wimpi.modbus.procimg.SimpleInputRegister;
+import net.wimpi.modbus.procimg.SimpleProcessImage;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * In-process Modbus TCP or UDP slave for load and fault testing without hardware
+ *
+ * The slave serves a process image with configurable size and values. Responses can be delayed with random latency,
+ * replaced with exception responses (slave device failure), or dropped altogether (leading to timeout in the master).
+ *
+ * Note that the process image of the slave is registered to the global {@link ModbusCoupler}. Hence only one slave
+ * (including the ones started by {@link IntegrationTestSupport}) should be running at a time.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class SimulatedModbusSlave implements AutoCloseable {
+
+    public enum Protocol {
+        TCP,
+        UDP
+    }
+
+    /**
+     * Exception code used for injected errors
+     */
+    public static final int SLAVE_DEVICE_FAILURE = 4;
+
+    private final Protocol protocol;
+    private final SimpleProcessImage processImage = new SimpleProcessImage();
+    private final int unitId;
+    private final int serverThreads;
+
+    private volatile long minLatencyMillis;
+    private volatile long maxLatencyMillis;
+    private volatile double errorProbability;
+    private volatile double dropProbability;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong droppedResponses = new AtomicLong();
+
+    private ModbusTCPListener tcpListener;
+    private ModbusUDPListener udpListener;
+
+    /**
+     * Transport delaying, replacing and dropping responses
+     */
+    private class SimulatingTransport implements ModbusTransport {
+
+        private final ModbusTransport delegate;
+        /**
+         * Request being processed. Each transport is served by single handler thread.
+         */
+        private volatile ModbusRequest request;
+
+        public SimulatingTransport(ModbusTransport delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public ModbusRequest readRequest() throws ModbusIOException {
+            ModbusRequest request = delegate.readRequest();
+            requests.incrementAndGet();
+            this.request = request;
+            return request;
+        }
+
+        @Override
+        public void writeMessage(ModbusMessage msg) throws ModbusIOException {
+            long maxLatency = maxLatencyMillis;
+            long latency = maxLatency <= minLatencyMillis ? minLatencyMillis
+                    : ThreadLocalRandom.current().nextLong(minLatencyMillis, maxLatency + 1);
+            if (latency > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            double random = ThreadLocalRandom.current().nextDouble();
+            if (random < dropProbability) {
+                droppedResponses.incrementAndGet();
+                return;
+            }
+            ModbusRequest request = this.request;
+            if (random < dropProbability + errorProbability && request != null) {
+                injectedErrors.incrementAndGet();
+                delegate.writeMessage(request.createExceptionResponse(SLAVE_DEVICE_FAILURE));
+                return;
+            }
+            delegate.writeMessage(msg);
+        }
+
+        @Override
+        public ModbusResponse readResponse() throws ModbusIOException {
+            return delegate.readResponse();
+        }
+    }
+
+    /**
+     * Construct slave serving TCP with single server thread
+     *
+     * @param unitId unit id of the slave
+     * @param size number of coils, discrete inputs, holding registers and input registers
+     * @param values generator for the initial values, by address. Registers are initialized with the (16bit) value,
+     *            bits are initialized with the lowest bit of the value.
+     */
+    public SimulatedModbusSlave(int unitId, int size, IntUnaryOperator values) {
+        this(Protocol.TCP, 1, unitId, size, values);
+    }
+
+    /**
+     * Construct slave
+     *
+     * @param protocol protocol to serve
+     * @param serverThreads number of concurrent connections served (TCP only)
+     * @param unitId unit id of the slave
+     * @param size number of coils, discrete inputs, holding registers and input registers
+     * @param values generator for the initial values, by address. Registers are initialized with the (16bit) value,
+     *            bits are initialized with the lowest bit of the value.
+     */
+    public SimulatedModbusSlave(Protocol protocol, int serverThreads, int unitId, int size, IntUnaryOperator values) {
+        this.protocol = protocol;
+        this.serverThreads = serverThreads;
+        this.unitId = unitId;
+        for (int i = 0; i < size; i++) {
+            int value = values.applyAsInt(i);
+            processImage.addRegister(new SimpleRegister(value));
+            processImage.addInputRegister(new SimpleInputRegister(value));
+            processImage.addDigitalOut(new SimpleDigitalOut((value & 1) == 1));
+            processImage.addDigitalIn(new SimpleDigitalIn((value & 1) == 1));
+        }
+    }
+
+    /**
+     * Set random latency added to each response
+     *
+     * @param minLatencyMillis minimum latency, in milliseconds
+     * @param maxLatencyMillis maximum latency, in milliseconds
+     * @return this instance
+     */
+    public SimulatedModbusSlave setLatency(long minLatencyMillis, long maxLatencyMillis) {
+        this.minLatencyMillis = minLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        return this;
+    }
+
+    /**
+     * Set probability of replacing a response with exception response
+     *
+     * @param errorProbability probability between 0 and 1
+     * @return this instance
+     */
+    public SimulatedModbusSlave setErrorProbability(double errorProbability) {
+        this.errorProbability = errorProbability;
+        return this;
+    }
+
+    /**
+     * Set probability of not responding at all
+     *
+     * @param dropProbability probability between 0 and 1
+     * @return this instance
+     */
+    public SimulatedModbusSlave setDropProbability(double dropProbability) {
+        this.dropProbability = dropProbability;
+        return this;
+    }
+
+    public SimpleProcessImage getProcessImage() {
+        return processImage;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    public long getDroppedResponseCount() {
+        return droppedResponses.get();
+    }
+
+    /**
+     * Start serving requests
+     */
+    public SimulatedModbusSlave start() throws UnknownHostException, InterruptedException {
+        ModbusCoupler.getReference().setProcessImage(processImage);
+        ModbusCoupler.getReference().setMaster(false);
+        ModbusCoupler.getReference().setUnitID(unitId);
+        InetAddress address = InetAddress.getByName("127.0.0.1");
+        if (Protocol.TCP.equals(protocol)) {
+            tcpListener = new ModbusTCPListener(serverThreads, address,
+                    socket -> new TCPSlaveConnection(socket, new ModbusTCPTransportFactory() {
+                        @Override
+                        public ModbusTransport create(Socket socket) {
+                            return new SimulatingTransport(super.create(socket));
+                        }
+                    }));
+            tcpListener.setPort(0);
+            tcpListener.start();
+            waitForPort(() -> tcpListener.getLocalPort());
+        } else {
+            udpListener = new ModbusUDPListener(address, (interfac, port) -> {
+                UDPSlaveTerminal terminal = new UDPSlaveTerminal(interfac, new ModbusUDPTransportFactoryImpl() {
+                    @Override
+                    public ModbusTransport create(UDPTerminal terminal) {
+                        return new SimulatingTransport(super.create(terminal));
+                    }
+                }, 1);
+                terminal.setLocalPort(port);
+                return terminal;
+            });
+            udpListener.setPort(0);
+            udpListener.start();
+            waitForPort(() -> udpListener.getLocalPort());
+        }
+        return this;
+    }
+
+    private static void waitForPort(IntSupplier port) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (port.getAsInt() <= 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        if (port.getAsInt() <= 0) {
+            throw new IllegalStateException("Simulated slave did not start");
+        }
+    }
+
+    /**
+     * Get endpoint for connecting to this slave. The slave must be started first.
+     */
+    public ModbusSlaveEndpoint getEndpoint() {
+        if (Protocol.TCP.equals(protocol)) {
+            return new ModbusTCPSlaveEndpoint("127.0.0.1", tcpListener.getLocalPort());
+        } else {
+            return new ModbusUDPSlaveEndpoint("127.0.0.1", udpListener.getLocalPort());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (tcpListener != null) {
+            tcpListener.stop();
+            tcpListener = null;
+        }
+        if (udpListener != null) {
+            udpListener.stop();
+            udpListener = null;
+        }
+    }
+}
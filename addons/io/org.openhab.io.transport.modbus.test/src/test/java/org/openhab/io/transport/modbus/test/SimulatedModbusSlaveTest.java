@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusSlaveErrorResponseException;
+import org.openhab.io.transport.modbus.test.IntegrationTestSupport.NonOSGIModbusManager;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class SimulatedModbusSlaveTest {
+
+    private static class RecordingCallback implements ModbusReadCallback {
+        private final CountDownLatch called = new CountDownLatch(1);
+        private final AtomicReference<Object> received = new AtomicReference<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.set(registers);
+            called.countDown();
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.set(bits);
+            called.countDown();
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.set(error);
+            called.countDown();
+        }
+    }
+
+    private SimulatedModbusSlave slave;
+    private NonOSGIModbusManager modbusManager;
+
+    @Before
+    public void setUp() throws Exception {
+        slave = new SimulatedModbusSlave(1, 100, address -> address * 3).start();
+        modbusManager = new NonOSGIModbusManager();
+    }
+
+    @After
+    public void tearDown() {
+        modbusManager.close();
+        slave.close();
+    }
+
+    private Object poll(ModbusReadFunctionCode functionCode, int start, int length) throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback();
+        modbusManager.submitOneTimePoll(new BasicPollTaskImpl(slave.getEndpoint(),
+                new BasicModbusReadRequestBlueprint(1, functionCode, start, length, 1), callback));
+        assertTrue(callback.called.await(5, TimeUnit.SECONDS));
+        return callback.received.get();
+    }
+
+    @Test
+    public void testRegisterMap() throws InterruptedException {
+        Object registers = poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 3);
+        assertThat(registers, is(instanceOf(ModbusRegisterArray.class)));
+        assertThat(((ModbusRegisterArray) registers).getUnsignedShort(0), is(equalTo(6)));
+        assertThat(((ModbusRegisterArray) registers).getUnsignedShort(2), is(equalTo(12)));
+
+        Object bits = poll(ModbusReadFunctionCode.READ_COILS, 1, 2);
+        assertThat(bits, is(instanceOf(BitArray.class)));
+        // 3 is odd, 6 is even
+        assertThat(((BitArray) bits).getBit(0), is(true));
+        assertThat(((BitArray) bits).getBit(1), is(false));
+        assertThat(slave.getRequestCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testLatency() throws InterruptedException {
+        slave.setLatency(100, 120);
+        long start = System.currentTimeMillis();
+        assertThat(poll(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 1),
+                is(instanceOf(ModbusRegisterArray.class)));
+        assertThat(System.currentTimeMillis() - start >= 100, is(true));
+    }
+
+    @Test
+    public void testErrorInjection() throws InterruptedException {
+        slave.setErrorProbability(1);
+        assertThat(poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 1),
+                is(instanceOf(ModbusSlaveErrorResponseException.class)));
+        assertThat(slave.getInjectedErrorCount(), is(equalTo(1L)));
+
+        slave.setErrorProbability(0);
+        assertThat(poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 1),
+                is(instanceOf(ModbusRegisterArray.class)));
+    }
+
+}
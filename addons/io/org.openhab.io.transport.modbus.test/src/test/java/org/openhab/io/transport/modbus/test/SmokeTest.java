@@ -12,6 +12,8 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 import static org.junit.Assume.assumeFalse;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,6 +28,7 @@ import org.openhab.io.transport.modbus.BasicPollTaskImpl;
 import org.openhab.io.transport.modbus.BasicWriteTask;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
@@ -40,6 +43,7 @@ import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.internal.BitArrayWrappingBitVector;
+import org.openhab.io.transport.modbus.internal.ModbusManagerImpl;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableSet;
@@ -155,6 +159,16 @@ public class SmokeTest extends IntegrationTestSupport {
         assertThat(okCount.get(), is(equalTo(0)));
         assertThat(errorCount.get(), is(equalTo(1)));
         assertTrue(lastError.toString(), lastError.get() instanceof ModbusSlaveErrorResponseException);
+        waitForAssert(() -> {
+            ModbusEndpointMetrics metrics = modbusManager.getEndpointMetrics().get(endpoint);
+            assertNotNull(metrics);
+            assertThat(metrics.getOperations(), is(equalTo(1L)));
+            assertThat(metrics.getFailedOperations(), is(equalTo(1L)));
+            assertThat(metrics.getSlaveErrors(), is(equalTo(1L)));
+            assertThat(metrics.getIoErrors(), is(equalTo(0L)));
+            assertThat(metrics.getQueueDepth(), is(equalTo(0)));
+            assertThat(metrics.getTransactionTime().getCount(), is(equalTo(1L)));
+        });
     }
 
     /**
@@ -886,6 +900,392 @@ public class SmokeTest extends IntegrationTestSupport {
 
     }
 
+    /**
+     * Testing regular polling with coalescing enabled. Two adjacent polls should be read using single request.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testRegularReadCoalesced() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(2);
+
+        ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                try {
+                    assertThat(registers.size(), is(equalTo(request.getDataLength())));
+                    testHoldingValues(registers, request.getReference());
+                } catch (AssertionError e) {
+                    unexpectedCount.incrementAndGet();
+                }
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+        };
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 10, 1), callback);
+        BasicPollTaskImpl task2 = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 5, 1), callback);
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ModbusManagerImpl.CONFIG_COALESCE_READS, true);
+        try (NonOSGIModbusManager coalescingManager = new NonOSGIModbusManager(config)) {
+            coalescingManager.registerRegularPoll(task, 5000, 200);
+            coalescingManager.registerRegularPoll(task2, 5000, 200);
+            assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+            waitForRequests(1);
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+            assertThat(coalescingManager.getRegisteredRegularPolls(), is(equalTo(ImmutableSet.of(task, task2))));
+            assertTrue(coalescingManager.unregisterRegularPoll(task));
+            assertThat(coalescingManager.getRegisteredRegularPolls(), is(equalTo(ImmutableSet.of(task2))));
+        }
+    }
+
+    /**
+     * Testing regular polling with coalescing enabled, when the slave responds to the coalesced read with exception
+     * response. The members should be read one by one, and only the member reading non-existing registers should fail.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testRegularReadCoalescedWithErrorResponse() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        AtomicInteger okCount = new AtomicInteger();
+        AtomicInteger errorCount = new AtomicInteger();
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        AtomicReference<Exception> lastError = new AtomicReference<>();
+        CountDownLatch callbackCalled = new CountDownLatch(2);
+
+        // Registers 0...99 exist
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 95, 5, 1), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        try {
+                            assertThat(registers.size(), is(equalTo(5)));
+                            testHoldingValues(registers, 95);
+                            okCount.incrementAndGet();
+                        } catch (AssertionError e) {
+                            unexpectedCount.incrementAndGet();
+                        }
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+                });
+        BasicPollTaskImpl task2 = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 5, 1), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        lastError.set(error);
+                        errorCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+                });
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ModbusManagerImpl.CONFIG_COALESCE_READS, true);
+        try (NonOSGIModbusManager coalescingManager = new NonOSGIModbusManager(config)) {
+            coalescingManager.registerRegularPoll(task, 5000, 200);
+            coalescingManager.registerRegularPoll(task2, 5000, 200);
+            assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+            // Coalesced read, followed by the reads of the members
+            waitForRequests(3);
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+            assertThat(okCount.get(), is(equalTo(1)));
+            assertThat(errorCount.get(), is(equalTo(1)));
+            assertTrue(lastError.toString(), lastError.get() instanceof ModbusSlaveErrorResponseException);
+        }
+    }
+
+    @Test
+    public void testOneOffWritesCoalesced() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch firstWriteDone = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        CountDownLatch callbackCalled = new CountDownLatch(4);
+
+        ModbusWriteCallback callback = new ModbusWriteCallback() {
+
+            @Override
+            public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+        };
+        // Callback of the first write blocks the endpoint, subsequent writes queue meanwhile
+        BasicWriteTask blockingTask = new BasicWriteTask(endpoint,
+                new BasicModbusWriteCoilRequestBlueprint(SLAVE_UNIT_ID, 0, true, false, 1),
+                new ModbusWriteCallback() {
+
+                    @Override
+                    public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                        firstWriteDone.countDown();
+                        try {
+                            releaseFirstWrite.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        callback.onWriteResponse(request, response);
+                    }
+
+                    @Override
+                    public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                        firstWriteDone.countDown();
+                        callback.onError(request, error);
+                    }
+                });
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ModbusManagerImpl.CONFIG_COALESCE_WRITES, true);
+        try (NonOSGIModbusManager coalescingManager = new NonOSGIModbusManager(config)) {
+            coalescingManager.submitOneTimeWrite(blockingTask);
+            assertTrue(firstWriteDone.await(5, TimeUnit.SECONDS));
+
+            coalescingManager.submitOneTimeWrite(new BasicWriteTask(endpoint,
+                    new BasicModbusWriteCoilRequestBlueprint(SLAVE_UNIT_ID, 3, true, false, 1), callback));
+            coalescingManager.submitOneTimeWrite(new BasicWriteTask(endpoint, new BasicModbusWriteCoilRequestBlueprint(
+                    SLAVE_UNIT_ID, 4, new BasicBitArray(true, true), true, 1), callback));
+            // last write wins
+            coalescingManager.submitOneTimeWrite(new BasicWriteTask(endpoint, new BasicModbusWriteCoilRequestBlueprint(
+                    SLAVE_UNIT_ID, 4, new BasicBitArray(false, true), true, 1), callback));
+            releaseFirstWrite.countDown();
+
+            assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+
+            assertThat(modbustRequestCaptor.getAllReturnValues().size(), is(equalTo(2)));
+            ModbusRequest request = modbustRequestCaptor.getAllReturnValues().get(1);
+            assertThat(request.getFunctionCode(), is(equalTo(15)));
+            assertThat(((WriteMultipleCoilsRequest) request).getReference(), is(equalTo(3)));
+            assertThat(((WriteMultipleCoilsRequest) request).getBitCount(), is(equalTo(3)));
+            assertThat(new BitArrayWrappingBitVector(((WriteMultipleCoilsRequest) request).getCoils(), 3),
+                    is(equalTo(new BasicBitArray(true, false, true))));
+        }
+    }
+
+    @Test
+    public void testOneOffReadsPipelined() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setMaxPipelinedTransactions(4);
+        modbusManager.setEndpointPoolConfiguration(endpoint, config);
+
+        int requests = 8;
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(requests);
+        ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                try {
+                    assertThat(registers.size(), is(equalTo(request.getDataLength())));
+                    testHoldingValues(registers, request.getReference());
+                } catch (AssertionError e) {
+                    unexpectedCount.incrementAndGet();
+                }
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+        };
+        for (int i = 0; i < requests; i++) {
+            modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(
+                    SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, i, 1 + i, 1), callback));
+        }
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        waitForRequests(requests);
+        // all transactions share single connection
+        waitForConnectionsReceived(1);
+    }
+
+    /**
+     * Timeout of a pipelined transaction (default timeout of 3 s) does not reset the shared connection. The late
+     * response is discarded and the next transaction succeeds on the same connection.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testOneOffReadPipelinedTimeoutKeepsConnection() throws InterruptedException {
+        generateData();
+        artificialServerWait = 4000;
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setMaxPipelinedTransactions(4);
+        modbusManager.setEndpointPoolConfiguration(endpoint, config);
+
+        AtomicInteger okCount = new AtomicInteger();
+        AtomicInteger errorCount = new AtomicInteger();
+        AtomicReference<Exception> lastError = new AtomicReference<>();
+        AtomicReference<CountDownLatch> callbackCalled = new AtomicReference<>(new CountDownLatch(1));
+        ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                try {
+                    testHoldingValues(registers, request.getReference());
+                    okCount.incrementAndGet();
+                } catch (AssertionError e) {
+                    errorCount.incrementAndGet();
+                }
+                callbackCalled.get().countDown();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                lastError.set(error);
+                errorCount.incrementAndGet();
+                callbackCalled.get().countDown();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                errorCount.incrementAndGet();
+                callbackCalled.get().countDown();
+            }
+        };
+        modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(
+                SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5, 1), callback));
+        assertTrue(callbackCalled.get().await(10, TimeUnit.SECONDS));
+        assertThat(okCount.get(), is(equalTo(0)));
+        assertThat(errorCount.get(), is(equalTo(1)));
+        assertTrue(lastError.toString(), lastError.get() instanceof ModbusSlaveIOException);
+
+        artificialServerWait = 0;
+        callbackCalled.set(new CountDownLatch(1));
+        modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(
+                SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 5, 1), callback));
+        assertTrue(callbackCalled.get().await(10, TimeUnit.SECONDS));
+        assertThat(okCount.get(), is(equalTo(1)));
+        assertThat(errorCount.get(), is(equalTo(1)));
+        waitForRequests(2);
+        waitForConnectionsReceived(1);
+    }
+
+    @Test
+    public void testRegularReadAndWriteWithAdaptiveScheduling() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch pollCalled = new CountDownLatch(3);
+        CountDownLatch writeCalled = new CountDownLatch(1);
+
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 15, 1), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        try {
+                            testHoldingValues(registers, 1);
+                        } catch (AssertionError e) {
+                            unexpectedCount.incrementAndGet();
+                        }
+                        pollCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        unexpectedCount.incrementAndGet();
+                        pollCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                        unexpectedCount.incrementAndGet();
+                        pollCalled.countDown();
+                    }
+                });
+        BasicWriteTask writeTask = new BasicWriteTask(endpoint,
+                new BasicModbusWriteCoilRequestBlueprint(SLAVE_UNIT_ID, 3, true, false, 1), new ModbusWriteCallback() {
+
+                    @Override
+                    public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                        writeCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                        unexpectedCount.incrementAndGet();
+                        writeCalled.countDown();
+                    }
+                });
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ModbusManagerImpl.CONFIG_ADAPTIVE_SCHEDULING, true);
+        try (NonOSGIModbusManager schedulingManager = new NonOSGIModbusManager(config)) {
+            schedulingManager.registerRegularPoll(task, 50, 0);
+            schedulingManager.submitOneTimeWrite(writeTask);
+            assertTrue(writeCalled.await(5, TimeUnit.SECONDS));
+            assertTrue(pollCalled.await(5, TimeUnit.SECONDS));
+            assertTrue(schedulingManager.unregisterRegularPoll(task));
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+            assertThat(spi.getDigitalOut(3).isSet(), is(equalTo(true)));
+        }
+    }
+
     @Test
     public void testGetRegisteredRegularPolls() {
         ModbusSlaveEndpoint endpoint = getEndpoint();
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PollTask} reading a single block of data on behalf of several other poll tasks
+ *
+ * The request of this task covers the requests of all the member tasks. Once the data has been received, each member
+ * callback is called with the slice of data matching the original request of the member.
+ *
+ * If the slave responds to the coalesced read with an exception response (e.g. because one of the members reads an
+ * address not supported by the slave), the members are not notified. Instead, {@link #isSplitRequired()} tells the
+ * caller to read the members one by one, so that only the offending member fails.
+ *
+ * Instances are created using {@link ModbusReadRequestCoalescer}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Callback distributing the data of the coalesced read to the member tasks
+     */
+    private class FanOutCallback implements ModbusReadCallback {
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            for (PollTask member : members) {
+                ModbusReadCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                ModbusRegisterArray slice = sliceRegisters(registers,
+                        memberRequest.getReference() - request.getReference(), memberRequest.getDataLength());
+                try {
+                    callback.onRegisters(memberRequest, slice);
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of poll task {} (coalesced in {}): {} {}", member,
+                            request, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            for (PollTask member : members) {
+                ModbusReadCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                BitArray slice = sliceBits(bits, memberRequest.getReference() - request.getReference(),
+                        memberRequest.getDataLength());
+                try {
+                    callback.onBits(memberRequest, slice);
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of poll task {} (coalesced in {}): {} {}", member,
+                            request, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            if (members.size() > 1 && error instanceof ModbusSlaveErrorResponseException) {
+                logger.debug("Slave responded with exception to coalesced read {}, members will be read one by one: {}",
+                        request, error.getMessage());
+                splitRequired = true;
+                return;
+            }
+            for (PollTask member : members) {
+                ModbusReadCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                try {
+                    callback.onError(member.getRequest(), error);
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of poll task {} (coalesced in {}): {} {}", member,
+                            request, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final BasicModbusReadRequestBlueprint request;
+    private final List<PollTask> members;
+    private final FanOutCallback callback = new FanOutCallback();
+    private volatile boolean splitRequired;
+
+    /**
+     * Construct coalesced task
+     *
+     * @param endpoint endpoint shared by all the members
+     * @param request request covering the requests of all the members
+     * @param members tasks to distribute the data to
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, BasicModbusReadRequestBlueprint request,
+            List<PollTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Get the tasks this task is reading data for
+     *
+     * @return unmodifiable list of member tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    /**
+     * Whether the slave responded to the coalesced read with an exception response. The members have not been
+     * notified of the error in this case, and should be read one by one.
+     *
+     * @return true when the members should be read one by one
+     */
+    public boolean isSplitRequired() {
+        return splitRequired;
+    }
+
+    /**
+     * Get slice of registers. In case the data is shorter than expected, the slice is truncated.
+     *
+     * @param registers registers to slice
+     * @param offset index of the first register of the slice
+     * @param length number of registers in the slice
+     * @return registers of the slice
+     */
+    static ModbusRegisterArray sliceRegisters(ModbusRegisterArray registers, int offset, int length) {
+        int size = Math.max(0, Math.min(length, registers.size() - offset));
+        ModbusRegister[] slice = new ModbusRegister[size];
+        for (int i = 0; i < size; i++) {
+            slice[i] = registers.getRegister(offset + i);
+        }
+        return new BasicModbusRegisterArray(slice);
+    }
+
+    /**
+     * Get slice of bits. In case the data is shorter than expected, the slice is truncated.
+     *
+     * @param bits bits to slice
+     * @param offset index of the first bit of the slice
+     * @param length number of bits in the slice
+     * @return bits of the slice
+     */
+    static BitArray sliceBits(BitArray bits, int offset, int length) {
+        int size = Math.max(0, Math.min(length, bits.size() - offset));
+        BasicBitArray slice = new BasicBitArray(size);
+        for (int i = 0; i < size; i++) {
+            slice.setBit(i, bits.getBit(offset + i));
+        }
+        return slice;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(71, 13).append(request).append(endpoint).append(members).toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        CoalescedPollTask rhs = (CoalescedPollTask) obj;
+        return new EqualsBuilder().append(request, rhs.request).append(endpoint, rhs.endpoint)
+                .append(members, rhs.members).isEquals();
+    }
+
+}
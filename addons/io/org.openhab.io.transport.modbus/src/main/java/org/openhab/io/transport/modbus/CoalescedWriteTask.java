@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link WriteTask} writing a single block of data on behalf of several other write tasks
+ *
+ * The request of this task covers the requests of all the member tasks. Once the response (or error) has been
+ * received, each member callback is called with the original request of the member.
+ *
+ * Instances are created using {@link ModbusWriteRequestCoalescer}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CoalescedWriteTask implements WriteTask {
+
+    private static final StandardToStringStyle TO_STRING_STYLE = new StandardToStringStyle();
+    static {
+        TO_STRING_STYLE.setUseShortClassName(true);
+    }
+
+    /**
+     * Callback distributing the response of the coalesced write to the member tasks
+     */
+    private class FanOutCallback implements ModbusWriteCallback {
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            for (WriteTask member : members) {
+                ModbusWriteCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                try {
+                    callback.onWriteResponse(member.getRequest(), response);
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of write task {} (coalesced in {}): {} {}", member,
+                            request, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            for (WriteTask member : members) {
+                ModbusWriteCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                try {
+                    callback.onError(member.getRequest(), error);
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of write task {} (coalesced in {}): {} {}", member,
+                            request, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedWriteTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusWriteRequestBlueprint request;
+    private final List<WriteTask> members;
+    private final FanOutCallback callback = new FanOutCallback();
+
+    /**
+     * Construct coalesced task
+     *
+     * @param endpoint endpoint shared by all the members
+     * @param request request covering the requests of all the members
+     * @param members tasks to distribute the response to
+     */
+    public CoalescedWriteTask(ModbusSlaveEndpoint endpoint, ModbusWriteRequestBlueprint request,
+            List<WriteTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+    }
+
+    @Override
+    public ModbusWriteRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusWriteCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Get the tasks this task is writing data for
+     *
+     * @return unmodifiable list of member tasks, in the order they were submitted
+     */
+    public List<WriteTask> getMembers() {
+        return members;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, TO_STRING_STYLE).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+}
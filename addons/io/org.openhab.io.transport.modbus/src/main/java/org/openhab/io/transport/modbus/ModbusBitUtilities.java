@@ -10,8 +10,6 @@ package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -94,101 +92,124 @@ public class ModbusBitUtilities {
      */
     public static DecimalType extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
-        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
-        // each register has 16 bits
-        int lastValidIndex = registers.size() * 16 - 1;
-        if (endBitIndex > lastValidIndex || index < 0) {
-            throw new IllegalArgumentException(
-                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
-                            registers.size()));
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return new DecimalType(extractDoubleFromRegisters(registers, index, type));
+            case UINT64:
+            case UINT64_SWAP: {
+                long value = extractLongFromRegisters(registers, index, type);
+                if (value >= 0) {
+                    return new DecimalType(value);
+                }
+                // out of bounds of signed 64bit, set the sign bit as regular (unsigned) bit
+                return new DecimalType(new BigDecimal(BigInteger.valueOf(value & Long.MAX_VALUE).setBit(63)));
+            }
+            default:
+                return new DecimalType(extractLongFromRegisters(registers, index, type));
         }
+    }
+
+    /**
+     * Read data from registers and convert the result to primitive <code>long</code>, without intermediate
+     * allocations.
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}.
+     *
+     * Note that UINT64 and UINT64_SWAP values larger than {@link Long#MAX_VALUE} are returned as negative numbers,
+     * i.e. raw 64 bits are returned as is. Use e.g. {@link Long#toUnsignedString(long)} to interpret them.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type. Floating point types are not supported.
+     * @return integer value of the queried item
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or when <tt>type</tt> is
+     *             floating point type
+     */
+    public static long extractLongFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
         switch (type) {
             case BIT:
-                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+                return (registers.getUnsignedShort(index / 16) >> (index % 16)) & 1;
             case INT8:
-                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+                return (byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
-            }
+                return (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getUnsignedShort(index);
             case UINT16:
-                return new DecimalType(registers.getRegister(index).toUnsignedShort());
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
+                return registers.getUnsignedShort(index);
+            case INT32:
+                return (registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case UINT32:
+                return ((long) registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case INT32_SWAP:
+                return (registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            case UINT32_SWAP:
+                return ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            case INT64:
+            case UINT64:
+                return ((long) registers.getUnsignedShort(index) << 48)
+                        | ((long) registers.getUnsignedShort(index + 1) << 32)
+                        | ((long) registers.getUnsignedShort(index + 2) << 16) | registers.getUnsignedShort(index + 3);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return ((long) registers.getUnsignedShort(index + 3) << 48)
+                        | ((long) registers.getUnsignedShort(index + 2) << 32)
+                        | ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Type %s cannot be represented as integer", type.getConfigValue()));
+        }
+    }
+
+    /**
+     * Read data from registers and convert the result to primitive <code>double</code>, without intermediate
+     * allocations.
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}. Note that 64bit
+     * integers cannot be represented accurately with <code>double</code>.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return value of the queried item
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static double extractDoubleFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+                return Float.intBitsToFloat(
+                        (int) extractLongFromRegisters(registers, index, ModbusConstants.ValueType.INT32));
+            case FLOAT32_SWAP:
+                return Float.intBitsToFloat(
+                        (int) extractLongFromRegisters(registers, index, ModbusConstants.ValueType.INT32_SWAP));
+            case UINT64:
             case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
+                long value = extractLongFromRegisters(registers, index, type);
+                if (value >= 0) {
+                    return value;
+                }
+                // halve (keeping the lowest bit for correct rounding), convert, and double again
+                return ((value >>> 1) | (value & 1)) * 2.0;
             }
             default:
-                throw new IllegalArgumentException(type.getConfigValue());
+                return extractLongFromRegisters(registers, index, type);
+        }
+    }
+
+    private static void checkBounds(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
         }
     }
 
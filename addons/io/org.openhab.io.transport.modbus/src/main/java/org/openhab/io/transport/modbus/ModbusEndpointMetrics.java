@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of the operation statistics of single endpoint
+ *
+ * Operation refers to single read or write task, possibly consisting of several tries (transactions).
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointMetrics {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final long operations;
+    private final long failedOperations;
+    private final long retries;
+    private final long connectionErrors;
+    private final long ioErrors;
+    private final long timeouts;
+    private final long slaveErrors;
+    private final long otherErrors;
+    private final int queueDepth;
+    private final ModbusLatencyHistogram connectionTime;
+    private final ModbusLatencyHistogram transactionTime;
+    private final ModbusLatencyHistogram callbackTime;
+
+    /**
+     * Construct snapshot
+     *
+     * @param operations number of completed operations
+     * @param failedOperations number of operations where all tries failed
+     * @param retries number of tries after the first one
+     * @param connectionErrors number of times the connection could not be established
+     * @param ioErrors number of I/O errors, including timeouts
+     * @param timeouts number of timeouts waiting for the response
+     * @param slaveErrors number of exception responses from the slave
+     * @param otherErrors number of other errors, e.g. mismatching transaction id
+     * @param queueDepth number of operations currently queued or being executed
+     * @param connectionTime time spent per operation waiting for, establishing and returning the connection
+     * @param transactionTime time spent per operation in the actual transactions with the slave
+     * @param callbackTime time spent per operation in the callbacks
+     */
+    public ModbusEndpointMetrics(long operations, long failedOperations, long retries, long connectionErrors,
+            long ioErrors, long timeouts, long slaveErrors, long otherErrors, int queueDepth,
+            ModbusLatencyHistogram connectionTime, ModbusLatencyHistogram transactionTime,
+            ModbusLatencyHistogram callbackTime) {
+        this.operations = operations;
+        this.failedOperations = failedOperations;
+        this.retries = retries;
+        this.connectionErrors = connectionErrors;
+        this.ioErrors = ioErrors;
+        this.timeouts = timeouts;
+        this.slaveErrors = slaveErrors;
+        this.otherErrors = otherErrors;
+        this.queueDepth = queueDepth;
+        this.connectionTime = connectionTime;
+        this.transactionTime = transactionTime;
+        this.callbackTime = callbackTime;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public long getFailedOperations() {
+        return failedOperations;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public long getConnectionErrors() {
+        return connectionErrors;
+    }
+
+    public long getIoErrors() {
+        return ioErrors;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getSlaveErrors() {
+        return slaveErrors;
+    }
+
+    public long getOtherErrors() {
+        return otherErrors;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public ModbusLatencyHistogram getConnectionTime() {
+        return connectionTime;
+    }
+
+    public ModbusLatencyHistogram getTransactionTime() {
+        return transactionTime;
+    }
+
+    public ModbusLatencyHistogram getCallbackTime() {
+        return callbackTime;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("operations", operations)
+                .append("failedOperations", failedOperations).append("retries", retries)
+                .append("connectionErrors", connectionErrors).append("ioErrors", ioErrors)
+                .append("timeouts", timeouts).append("slaveErrors", slaveErrors).append("otherErrors", otherErrors)
+                .append("queueDepth", queueDepth).append("connectionTime", connectionTime)
+                .append("transactionTime", transactionTime).append("callbackTime", callbackTime).toString();
+    }
+}
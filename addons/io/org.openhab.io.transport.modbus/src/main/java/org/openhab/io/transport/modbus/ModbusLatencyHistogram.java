@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of latency measurements
+ *
+ * Measurements are counted in buckets with fixed upper bounds (see {@link #BUCKET_UPPER_BOUNDS_MILLIS}). The last
+ * bucket counts all measurements exceeding the largest bound.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusLatencyHistogram {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Inclusive upper bounds of the buckets, in milliseconds
+     */
+    public static final long[] BUCKET_UPPER_BOUNDS_MILLIS = new long[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000,
+            2000, 5000, 10000 };
+
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sumMillis;
+    private final long maxMillis;
+
+    /**
+     * Construct snapshot
+     *
+     * @param bucketCounts number of measurements in each bucket. Length should be one more than the number of bucket
+     *            bounds.
+     * @param sumMillis sum of all measurements
+     * @param maxMillis largest measurement
+     */
+    public ModbusLatencyHistogram(long[] bucketCounts, long sumMillis, long maxMillis) {
+        if (bucketCounts.length != BUCKET_UPPER_BOUNDS_MILLIS.length + 1) {
+            throw new IllegalArgumentException("Unexpected number of buckets");
+        }
+        this.bucketCounts = bucketCounts.clone();
+        this.count = Arrays.stream(bucketCounts).sum();
+        this.sumMillis = sumMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Get index of the bucket a measurement belongs to
+     *
+     * @param millis measurement
+     * @return bucket index
+     */
+    public static int bucketIndex(long millis) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (millis <= BUCKET_UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MILLIS.length;
+    }
+
+    /**
+     * Get number of measurements in each bucket
+     *
+     * @return copy of the bucket counts
+     */
+    public long[] getBucketCounts() {
+        return bucketCounts.clone();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSumMillis() {
+        return sumMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : (double) sumMillis / count;
+    }
+
+    /**
+     * Estimate percentile of the measurements
+     *
+     * The estimate is the upper bound of the bucket containing the percentile, limited by the largest measurement.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return estimated percentile, in milliseconds. Zero when there are no measurements.
+     */
+    public long getPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile should be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            cumulative += bucketCounts[i];
+            if (cumulative >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS_MILLIS[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("count", count).append("meanMillis", getMeanMillis())
+                .append("p95Millis", getPercentileMillis(95)).append("maxMillis", maxMillis).toString();
+    }
+}
@@ -8,6 +8,7 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -100,4 +101,13 @@ public interface ModbusManager {
      */
     public Set<PollTask> getRegisteredRegularPolls();
 
+    /**
+     * Get operation statistics of the endpoints, e.g. latencies and error counts
+     *
+     * Statistics are collected since activation of the manager, for all endpoints that have been communicated with.
+     *
+     * @return snapshot of the statistics per endpoint
+     */
+    public Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> getEndpointMetrics();
+
 }
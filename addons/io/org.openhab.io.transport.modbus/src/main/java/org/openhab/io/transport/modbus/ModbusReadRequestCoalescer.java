@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Planner merging read requests into as few physical reads as possible
+ *
+ * Poll tasks are grouped by endpoint, unit id, protocol id and function code. Within a group, tasks with overlapping or
+ * adjacent data (or separated by at most <code>maxGap</code> registers/bits) are merged into a single
+ * {@link CoalescedPollTask}, as long as the merged read does not exceed the limits of the Modbus protocol (125
+ * registers or 2000 coils/discrete inputs per read).
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ModbusReadRequestCoalescer {
+
+    /**
+     * Maximum number of registers in a single read request (function codes 3 and 4)
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs in a single read request (function codes 1 and 2)
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final int protocolId;
+        private final ModbusReadFunctionCode functionCode;
+
+        public GroupKey(PollTask task) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            this.endpoint = task.getEndpoint();
+            this.unitId = request.getUnitID();
+            this.protocolId = request.getProtocolID();
+            this.functionCode = request.getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(47, 11).append(endpoint).append(unitId).append(protocolId).append(functionCode)
+                    .toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            GroupKey rhs = (GroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(unitId, rhs.unitId)
+                    .append(protocolId, rhs.protocolId).append(functionCode, rhs.functionCode).isEquals();
+        }
+    }
+
+    private final int maxGap;
+
+    /**
+     * Construct planner merging only overlapping and adjacent requests
+     */
+    public ModbusReadRequestCoalescer() {
+        this(0);
+    }
+
+    /**
+     * Construct planner
+     *
+     * @param maxGap maximum number of unrequested registers/bits to read in between two requests so that they can be
+     *            merged. Use zero to merge only overlapping and adjacent requests. Note that some slaves respond with
+     *            error if non-existing addresses are read.
+     */
+    public ModbusReadRequestCoalescer(int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap should be non-negative");
+        }
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Maximum data length of single read, as allowed by the protocol
+     *
+     * @param functionCode function code of the read
+     * @return maximum number of registers or bits that can be read with single request
+     */
+    public static int getMaxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+                return MAX_REGISTERS_PER_READ;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+
+    /**
+     * Plan physical reads for the given tasks
+     *
+     * Every task is member of exactly one of the returned tasks. The relative order of the groups follows the order of
+     * the given tasks.
+     *
+     * @param tasks tasks to plan
+     * @return coalesced tasks reading the data of all given tasks
+     */
+    public List<CoalescedPollTask> plan(Collection<PollTask> tasks) {
+        Map<GroupKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            groups.computeIfAbsent(new GroupKey(task), key -> new ArrayList<>()).add(task);
+        }
+
+        List<CoalescedPollTask> planned = new ArrayList<>();
+        for (Map.Entry<GroupKey, List<PollTask>> entry : groups.entrySet()) {
+            planGroup(entry.getKey(), entry.getValue(), planned);
+        }
+        return planned;
+    }
+
+    private void planGroup(GroupKey key, List<PollTask> tasks, List<CoalescedPollTask> planned) {
+        int maxLength = getMaxDataLength(key.functionCode);
+        List<PollTask> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                .thenComparingInt(task -> task.getRequest().getDataLength()));
+
+        List<PollTask> block = new ArrayList<>();
+        int blockStart = 0;
+        int blockEnd = 0;
+        int blockMaxTries = 1;
+        for (PollTask task : sorted) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            int start = request.getReference();
+            int end = start + request.getDataLength();
+            if (!block.isEmpty() && start <= blockEnd + maxGap && Math.max(end, blockEnd) - blockStart <= maxLength) {
+                block.add(task);
+                blockEnd = Math.max(end, blockEnd);
+                blockMaxTries = Math.max(blockMaxTries, task.getMaxTries());
+                continue;
+            }
+            if (!block.isEmpty()) {
+                planned.add(createTask(key, block, blockStart, blockEnd, blockMaxTries));
+            }
+            block = new ArrayList<>();
+            block.add(task);
+            blockStart = start;
+            blockEnd = end;
+            blockMaxTries = task.getMaxTries();
+        }
+        if (!block.isEmpty()) {
+            planned.add(createTask(key, block, blockStart, blockEnd, blockMaxTries));
+        }
+    }
+
+    private static CoalescedPollTask createTask(GroupKey key, List<PollTask> members, int start, int end,
+            int maxTries) {
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(key.unitId, key.functionCode,
+                start, end - start, maxTries);
+        return new CoalescedPollTask(key.endpoint, request, members);
+    }
+
+}
@@ -38,6 +38,19 @@ public interface ModbusRegisterArray extends Iterable<ModbusRegister> {
      */
     int size();
 
+    /**
+     * Return register at the given index as unsigned 16 bit integer
+     *
+     * Implementations are encouraged to override this method to avoid allocations.
+     *
+     * @param index the index of the register
+     * @return register value parsed as unsigned integer
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    default int getUnsignedShort(int index) {
+        return getRegister(index).toUnsignedShort();
+    }
+
     /**
      * Iterator over all the registers
      */
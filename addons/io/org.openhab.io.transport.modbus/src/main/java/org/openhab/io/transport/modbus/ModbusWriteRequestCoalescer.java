@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Planner merging pending write requests into as few physical writes as possible
+ *
+ * Only runs of consecutively submitted tasks are merged, and the writes are kept in submission order. A task joins the
+ * run of the previous tasks if it has the same endpoint, unit id, protocol id and type of data written (coils or
+ * registers), and if it continues or overwrites the end of the run: it must not leave a gap to the data of the run, and
+ * it must write up to the end of the run at least. The run is then written as single {@link CoalescedWriteTask} using
+ * function code 15 (write multiple coils) or 16 (write multiple registers). When several tasks write the same address,
+ * the task submitted last wins.
+ *
+ * Since slaves process the data of a write in the order of the addresses, the merged write is processed in the order
+ * the tasks were submitted. For example, writes to registers 0, 10 and 0 are written one by one, and writes to
+ * registers 0, 1 and 0 are written as two writes. Writing a parameter and then a register applying it thus keeps
+ * working.
+ *
+ * Tasks that cannot be merged with other tasks are written with their original request. A run is not extended beyond
+ * the limits of the Modbus protocol (123 registers or 1968 coils per write).
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ModbusWriteRequestCoalescer {
+
+    /**
+     * Maximum number of registers in a single write request (function code 16)
+     */
+    public static final int MAX_REGISTERS_PER_WRITE = 123;
+
+    /**
+     * Maximum number of coils in a single write request (function code 15)
+     */
+    public static final int MAX_COILS_PER_WRITE = 1968;
+
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final int protocolId;
+        private final boolean coils;
+
+        public GroupKey(WriteTask task) {
+            ModbusWriteRequestBlueprint request = task.getRequest();
+            this.endpoint = task.getEndpoint();
+            this.unitId = request.getUnitID();
+            this.protocolId = request.getProtocolID();
+            this.coils = request instanceof ModbusWriteCoilRequestBlueprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(53, 19).append(endpoint).append(unitId).append(protocolId).append(coils)
+                    .toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            GroupKey rhs = (GroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(unitId, rhs.unitId)
+                    .append(protocolId, rhs.protocolId).append(coils, rhs.coils).isEquals();
+        }
+    }
+
+    /**
+     * Number of coils or registers written by the request
+     *
+     * @param request write request
+     * @return number of coils or registers
+     */
+    public static int getDataLength(ModbusWriteRequestBlueprint request) {
+        if (request instanceof ModbusWriteCoilRequestBlueprint) {
+            return ((ModbusWriteCoilRequestBlueprint) request).getCoils().size();
+        } else if (request instanceof ModbusWriteRegisterRequestBlueprint) {
+            return ((ModbusWriteRegisterRequestBlueprint) request).getRegisters().size();
+        } else {
+            throw new IllegalArgumentException(String.format("Unexpected request %s", request));
+        }
+    }
+
+    /**
+     * Plan physical writes for the given tasks
+     *
+     * Every task is member of exactly one of the returned tasks. The returned tasks are in submission order of their
+     * members.
+     *
+     * @param tasks tasks to plan, in the order they were submitted
+     * @return coalesced tasks writing the data of all given tasks
+     */
+    public List<CoalescedWriteTask> plan(List<WriteTask> tasks) {
+        List<CoalescedWriteTask> planned = new ArrayList<>();
+        List<WriteTask> run = new ArrayList<>();
+        @Nullable
+        GroupKey runKey = null;
+        int runStart = 0;
+        int runEnd = 0;
+        for (WriteTask task : tasks) {
+            GroupKey key = new GroupKey(task);
+            int start = task.getRequest().getReference();
+            int end = start + getDataLength(task.getRequest());
+            int maxLength = key.coils ? MAX_COILS_PER_WRITE : MAX_REGISTERS_PER_WRITE;
+            if (!run.isEmpty() && key.equals(runKey) && start <= runEnd && end >= runEnd
+                    && end - Math.min(start, runStart) <= maxLength) {
+                run.add(task);
+                runStart = Math.min(start, runStart);
+                runEnd = end;
+                continue;
+            }
+            if (!run.isEmpty()) {
+                planned.add(createTask(run));
+            }
+            run = new ArrayList<>();
+            run.add(task);
+            runKey = key;
+            runStart = start;
+            runEnd = end;
+        }
+        if (!run.isEmpty()) {
+            planned.add(createTask(run));
+        }
+        return planned;
+    }
+
+    private static CoalescedWriteTask createTask(List<WriteTask> members) {
+        WriteTask first = members.get(0);
+        if (members.size() == 1) {
+            return new CoalescedWriteTask(first.getEndpoint(), first.getRequest(), members);
+        }
+
+        int start = members.stream().mapToInt(member -> member.getRequest().getReference()).min().getAsInt();
+        int end = members.stream()
+                .mapToInt(member -> member.getRequest().getReference() + getDataLength(member.getRequest())).max()
+                .getAsInt();
+        int maxTries = members.stream().mapToInt(WriteTask::getMaxTries).max().getAsInt();
+        int unitId = first.getRequest().getUnitID();
+        ModbusWriteRequestBlueprint request;
+        if (first.getRequest() instanceof ModbusWriteCoilRequestBlueprint) {
+            BasicBitArray coils = new BasicBitArray(end - start);
+            // Tasks are in submission order, last write wins
+            for (WriteTask member : members) {
+                ModbusWriteCoilRequestBlueprint memberRequest = (ModbusWriteCoilRequestBlueprint) member.getRequest();
+                BitArray memberCoils = memberRequest.getCoils();
+                int offset = memberRequest.getReference() - start;
+                for (int i = 0; i < memberCoils.size(); i++) {
+                    coils.setBit(offset + i, memberCoils.getBit(i));
+                }
+            }
+            request = new BasicModbusWriteCoilRequestBlueprint(unitId, start, coils, true, maxTries);
+        } else {
+            ModbusRegister[] registers = new ModbusRegister[end - start];
+            // Tasks are in submission order, last write wins
+            for (WriteTask member : members) {
+                ModbusWriteRegisterRequestBlueprint memberRequest = (ModbusWriteRegisterRequestBlueprint) member
+                        .getRequest();
+                ModbusRegisterArray memberRegisters = memberRequest.getRegisters();
+                int offset = memberRequest.getReference() - start;
+                for (int i = 0; i < memberRegisters.size(); i++) {
+                    registers[offset + i] = memberRegisters.getRegister(i);
+                }
+            }
+            request = new BasicModbusWriteRegisterRequestBlueprint(unitId, start,
+                    new BasicModbusRegisterArray(registers), true, maxTries);
+        }
+        return new CoalescedWriteTask(first.getEndpoint(), request, members);
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+
+/**
+ * Thread-safe recorder of the operation statistics of single endpoint
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetricsRecorder {
+
+    /**
+     * Thread-safe recorder of latency measurements
+     */
+    static class LatencyRecorder {
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(
+                ModbusLatencyHistogram.BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+        private final LongAdder sumMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        public void record(long millis) {
+            bucketCounts.incrementAndGet(ModbusLatencyHistogram.bucketIndex(millis));
+            sumMillis.add(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        public ModbusLatencyHistogram snapshot() {
+            long[] counts = new long[bucketCounts.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = bucketCounts.get(i);
+            }
+            return new ModbusLatencyHistogram(counts, sumMillis.sum(), maxMillis.get());
+        }
+    }
+
+    final LongAdder operations = new LongAdder();
+    final LongAdder failedOperations = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    final LongAdder connectionErrors = new LongAdder();
+    final LongAdder ioErrors = new LongAdder();
+    final LongAdder timeouts = new LongAdder();
+    final LongAdder slaveErrors = new LongAdder();
+    final LongAdder otherErrors = new LongAdder();
+    /**
+     * Operations waiting for connection or being executed
+     */
+    final AtomicInteger activeOperations = new AtomicInteger();
+    final LatencyRecorder connectionTime = new LatencyRecorder();
+    final LatencyRecorder transactionTime = new LatencyRecorder();
+    final LatencyRecorder callbackTime = new LatencyRecorder();
+
+    /**
+     * Record timing of completed operation
+     *
+     * @param timer stop watches of the operation
+     */
+    void recordTiming(AggregateStopWatch timer) {
+        connectionTime.record(timer.connection.getTotalTimeMillis());
+        transactionTime.record(timer.transaction.getTotalTimeMillis());
+        callbackTime.record(timer.callback.getTotalTimeMillis());
+    }
+
+    /**
+     * Take snapshot of the current statistics
+     *
+     * @param queuedOperations number of operations queued before execution, in addition to the active operations
+     * @return snapshot of the statistics
+     */
+    public ModbusEndpointMetrics snapshot(int queuedOperations) {
+        return new ModbusEndpointMetrics(operations.sum(), failedOperations.sum(), retries.sum(),
+                connectionErrors.sum(), ioErrors.sum(), timeouts.sum(), slaveErrors.sum(), otherErrors.sum(),
+                activeOperations.get() + queuedOperations, connectionTime.snapshot(), transactionTime.snapshot(),
+                callbackTime.snapshot());
+    }
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of operations of a single endpoint
+ *
+ * Operations are executed using the shared executor, but at most <code>maxConcurrency</code> operations of the
+ * endpoint are executed at the same time. This way a slow or unresponsive endpoint can occupy only a limited number
+ * of threads, and does not delay operations of other endpoints.
+ *
+ * Queued operations are ordered by priority (writes first, then one-off reads, then regular polls) and then by
+ * deadline. Regular polls are not queued more than once: if the previous execution of the same poll is still queued,
+ * the new execution is merged to it. Furthermore, regular polls are dropped altogether when, based on the measured
+ * operation latency of the endpoint, the queue could not be processed within the poll period.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointScheduler {
+
+    /**
+     * Priority of operation, operations with lower ordinal are executed first.
+     */
+    public enum Priority {
+        WRITE,
+        ONE_OFF_READ,
+        REGULAR_POLL
+    }
+
+    /**
+     * Weight of the latest measurement in the exponentially weighted moving average of operation latency
+     */
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+
+    private static final Comparator<QueuedOperation> QUEUE_ORDER = Comparator
+            .comparing((QueuedOperation operation) -> operation.priority)
+            .thenComparingLong(operation -> operation.deadlineMillis)
+            .thenComparingLong(operation -> operation.sequenceNumber);
+
+    private class QueuedOperation extends FutureTask<@Nullable Void> implements ScheduledFuture<@Nullable Void> {
+        private final Priority priority;
+        private final long deadlineMillis;
+        private final long sequenceNumber = sequence.incrementAndGet();
+        private final @Nullable Object key;
+
+        public QueuedOperation(Priority priority, long deadlineMillis, @Nullable Object key, Runnable runnable) {
+            super(runnable, null);
+            this.priority = priority;
+            this.deadlineMillis = deadlineMillis;
+            this.key = key;
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            // Queued operations are due immediately
+            return 0;
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            if (other == null) {
+                return 1;
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (EndpointScheduler.this) {
+                queue.remove(this);
+            }
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(EndpointScheduler.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final Executor executor;
+    private volatile int maxConcurrency;
+    private final AtomicLong sequence = new AtomicLong();
+    private final PriorityQueue<QueuedOperation> queue = new PriorityQueue<>(QUEUE_ORDER);
+    private int running;
+    private volatile double averageLatencyMillis;
+    private volatile long droppedPolls;
+
+    /**
+     * Construct scheduler
+     *
+     * @param endpoint endpoint the operations are targeted to
+     * @param executor executor to execute the operations with
+     * @param maxConcurrency maximum number of operations executed at the same time
+     */
+    public EndpointScheduler(ModbusSlaveEndpoint endpoint, Executor executor, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency should be positive");
+        }
+        this.endpoint = endpoint;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Set maximum number of operations executed at the same time
+     *
+     * @param maxConcurrency maximum number of operations executed at the same time
+     */
+    public synchronized void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency should be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        while (running < maxConcurrency && running < queue.size()) {
+            running++;
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Submit operation for execution
+     *
+     * @param priority priority of the operation
+     * @param runnable operation to execute
+     * @return future representing the queued operation. Canceling the future removes the operation from the queue.
+     */
+    public ScheduledFuture<?> submit(Priority priority, Runnable runnable) {
+        QueuedOperation operation = new QueuedOperation(priority, System.currentTimeMillis(), null, runnable);
+        enqueue(operation);
+        return operation;
+    }
+
+    /**
+     * Submit execution of regular poll
+     *
+     * The execution is skipped if the previous execution with the same key is still queued, or if the queue is
+     * estimated to take longer than the poll period to process.
+     *
+     * @param key key identifying the poll, e.g. the poll task
+     * @param pollPeriodMillis poll period, used as the deadline of the execution
+     * @param runnable operation to execute
+     * @return whether the execution was queued
+     */
+    public synchronized boolean submitRegularPoll(Object key, long pollPeriodMillis, Runnable runnable) {
+        for (QueuedOperation queued : queue) {
+            if (key.equals(queued.key)) {
+                logger.trace("Previous execution of poll {} still queued for endpoint {}, skipping execution", key,
+                        endpoint);
+                return false;
+            }
+        }
+        double backlogMillis = (queue.size() + running) * averageLatencyMillis / maxConcurrency;
+        if (backlogMillis > pollPeriodMillis) {
+            droppedPolls++;
+            logger.debug(
+                    "Endpoint {} overloaded: estimated backlog of {} ms exceeds poll period of {} ms. Skipping execution of poll {}",
+                    endpoint, (long) backlogMillis, pollPeriodMillis, key);
+            return false;
+        }
+        enqueue(new QueuedOperation(Priority.REGULAR_POLL, System.currentTimeMillis() + pollPeriodMillis, key,
+                runnable));
+        return true;
+    }
+
+    /**
+     * Remove queued executions of regular poll
+     *
+     * @param key key identifying the poll
+     */
+    public synchronized void removeRegularPoll(Object key) {
+        for (Iterator<QueuedOperation> iterator = queue.iterator(); iterator.hasNext();) {
+            QueuedOperation queued = iterator.next();
+            if (key.equals(queued.key)) {
+                iterator.remove();
+                queued.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Cancel all queued operations. Operations being executed are not interrupted.
+     */
+    public synchronized void clear() {
+        QueuedOperation queued;
+        while ((queued = queue.poll()) != null) {
+            queued.cancel(false);
+        }
+    }
+
+    /**
+     * Get number of queued operations, not including the operations being executed
+     *
+     * @return number of queued operations
+     */
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Get exponentially weighted moving average of the operation latency
+     *
+     * @return average latency in milliseconds
+     */
+    public double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    /**
+     * Get the number of regular poll executions dropped due to overload
+     *
+     * @return number of dropped executions
+     */
+    public long getDroppedPolls() {
+        return droppedPolls;
+    }
+
+    private synchronized void enqueue(QueuedOperation operation) {
+        queue.add(operation);
+        if (running < maxConcurrency) {
+            running++;
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedOperation operation;
+            synchronized (this) {
+                operation = queue.poll();
+                if (operation == null) {
+                    running--;
+                    return;
+                }
+            }
+            long start = System.currentTimeMillis();
+            operation.run();
+            long latency = System.currentTimeMillis() - start;
+            averageLatencyMillis = averageLatencyMillis == 0 ? latency
+                    : LATENCY_SMOOTHING_FACTOR * latency + (1 - LATENCY_SMOOTHING_FACTOR) * averageLatencyMillis;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("EndpointScheduler(endpoint=").append(endpoint).append(", queueSize=")
+                .append(getQueueSize()).append(", averageLatencyMillis=").append((long) averageLatencyMillis)
+                .append(", droppedPolls=").append(droppedPolls).append(')').toString();
+    }
+}
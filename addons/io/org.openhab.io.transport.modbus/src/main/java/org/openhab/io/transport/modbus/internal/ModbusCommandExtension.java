@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the state of the Modbus transport
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+
+    private @Nullable ModbusManager modbusManager;
+
+    public ModbusCommandExtension() {
+        super("modbus", "Inspect the Modbus transport.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length > 0 && SUBCMD_METRICS.equals(args[0])) {
+            printMetrics(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(SUBCMD_METRICS,
+                "lists operation statistics (latencies in ms as mean/p95/max) and error counts per endpoint"));
+    }
+
+    @Reference
+    public void setModbusManager(ModbusManager modbusManager) {
+        this.modbusManager = modbusManager;
+    }
+
+    public void unsetModbusManager(ModbusManager modbusManager) {
+        this.modbusManager = null;
+    }
+
+    private void printMetrics(Console console) {
+        ModbusManager modbusManager = this.modbusManager;
+        if (modbusManager == null) {
+            console.println("Modbus manager not available");
+            return;
+        }
+        Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> metrics = modbusManager.getEndpointMetrics();
+        if (metrics.isEmpty()) {
+            console.println("No operations executed");
+            return;
+        }
+        metrics.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<ModbusSlaveEndpoint, ModbusEndpointMetrics> entry) -> entry.getValue()
+                                .getTransactionTime().getSumMillis())
+                        .reversed())
+                .forEachOrdered(entry -> {
+                    ModbusEndpointMetrics endpointMetrics = entry.getValue();
+                    console.println(entry.getKey().toString());
+                    console.println(String.format(
+                            "  operations: %d (failed %d), retries: %d, queue depth: %d",
+                            endpointMetrics.getOperations(), endpointMetrics.getFailedOperations(),
+                            endpointMetrics.getRetries(), endpointMetrics.getQueueDepth()));
+                    console.println(String.format(
+                            "  errors: connection %d, I/O %d (of which timeouts %d), slave %d, other %d",
+                            endpointMetrics.getConnectionErrors(), endpointMetrics.getIoErrors(),
+                            endpointMetrics.getTimeouts(), endpointMetrics.getSlaveErrors(),
+                            endpointMetrics.getOtherErrors()));
+                    console.println("  connection: " + formatLatency(endpointMetrics.getConnectionTime())
+                            + ", transaction: " + formatLatency(endpointMetrics.getTransactionTime())
+                            + ", callback: " + formatLatency(endpointMetrics.getCallbackTime()));
+                });
+    }
+
+    private static String formatLatency(ModbusLatencyHistogram histogram) {
+        return String.format("%.1f/%d/%d", histogram.getMeanMillis(), histogram.getPercentileMillis(95),
+                histogram.getMaxMillis());
+    }
+
+}
@@ -169,6 +169,9 @@ public class ModbusLibraryWrapper {
      */
     public static ModbusTransaction createTransactionForEndpoint(ModbusSlaveEndpoint endpoint,
             ModbusSlaveConnection connection) {
+        if (connection instanceof PipelinedTCPConnection) {
+            return new PipelinedModbusTransaction((PipelinedTCPConnection) connection);
+        }
         ModbusTransaction transaction = endpoint.accept(new ModbusSlaveEndpointVisitor<ModbusTransaction>() {
 
             @Override
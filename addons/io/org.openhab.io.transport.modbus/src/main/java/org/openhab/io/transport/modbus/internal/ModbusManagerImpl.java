@@ -9,7 +9,15 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -21,6 +29,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import javax.imageio.IIOException;
 
@@ -31,16 +40,21 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.io.transport.modbus.CoalescedPollTask;
+import org.openhab.io.transport.modbus.CoalescedWriteTask;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadRequestCoalescer;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
 import org.openhab.io.transport.modbus.ModbusWriteCallback;
 import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestCoalescer;
 import org.openhab.io.transport.modbus.PollTask;
 import org.openhab.io.transport.modbus.TaskWithEndpoint;
 import org.openhab.io.transport.modbus.WriteTask;
@@ -65,6 +79,7 @@ import net.wimpi.modbus.io.ModbusTransaction;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -87,6 +102,44 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Regular polls sharing the same endpoint and poll period, executed together with coalesced reads.
+     *
+     * Used only when coalescing of reads is enabled.
+     */
+    private static class PollGroup {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+        private final Set<PollTask> tasks = new CopyOnWriteArraySet<>();
+        /**
+         * Coalesced reads which the slave answered with an exception response. Their members are read one by one.
+         */
+        private final Set<CoalescedPollTask> splitTasks = ConcurrentHashMap.newKeySet();
+        private volatile @Nullable ScheduledFuture<?> future;
+
+        public PollGroup(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        public boolean matches(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            return this.endpoint.equals(endpoint) && this.pollPeriodMillis == pollPeriodMillis;
+        }
+    }
+
+    /**
+     * Write tasks waiting to be written to single endpoint.
+     *
+     * Used only when coalescing of writes is enabled.
+     */
+    private static class PendingWrites {
+        private final List<WriteTask> tasks = new ArrayList<>();
+        /**
+         * Future of the flush writing the pending tasks. Null when no flush is scheduled or running.
+         */
+        private @Nullable ScheduledFuture<?> future;
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -245,6 +298,37 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Configuration property for enabling coalescing of regular polls.
+     *
+     * When enabled, regular polls with the same endpoint and poll period are executed together, and overlapping or
+     * adjacent reads are merged into single physical read. See {@link ModbusReadRequestCoalescer}.
+     */
+    public static final String CONFIG_COALESCE_READS = "coalesceReads";
+
+    /**
+     * Configuration property for the maximum number of unrequested registers/bits read in between two merged reads.
+     */
+    public static final String CONFIG_COALESCE_MAX_GAP = "coalesceMaxGap";
+
+    /**
+     * Configuration property for enabling adaptive per-endpoint scheduling.
+     *
+     * When enabled, operations are queued per endpoint, writes are prioritized over reads, and regular polls are
+     * skipped instead of queued when the endpoint cannot keep up. See {@link EndpointScheduler}.
+     */
+    public static final String CONFIG_ADAPTIVE_SCHEDULING = "adaptiveScheduling";
+
+    /**
+     * Configuration property for enabling coalescing of writes.
+     *
+     * When enabled, writes submitted while previous writes to the same endpoint are still pending are written together.
+     * Consecutive writes continuing or overwriting each other are merged into single physical write (last write
+     * wins), the writes are kept in submission order otherwise. See {@link ModbusWriteRequestCoalescer}. Note that
+     * the merged writes use function codes 15 and 16, which are not supported by all slaves.
+     */
+    public static final String CONFIG_COALESCE_WRITES = "coalesceWrites";
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
 
@@ -264,6 +348,32 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Groups of regular polls, used when coalescing of reads is enabled
+     */
+    private final List<PollGroup> pollGroups = new ArrayList<>();
+    private volatile boolean coalesceReads;
+    private volatile ModbusReadRequestCoalescer coalescer = new ModbusReadRequestCoalescer();
+    /**
+     * Operation queues per endpoint, used when adaptive scheduling is enabled
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointScheduler> endpointSchedulers = new ConcurrentHashMap<>();
+    private volatile boolean adaptiveScheduling;
+    /**
+     * Pending writes per endpoint, used when coalescing of writes is enabled
+     */
+    private final Map<ModbusSlaveEndpoint, PendingWrites> pendingWrites = new ConcurrentHashMap<>();
+    private volatile boolean coalesceWrites;
+    private final ModbusWriteRequestCoalescer writeCoalescer = new ModbusWriteRequestCoalescer();
+    /**
+     * Operation statistics per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetricsRecorder> endpointMetrics = new ConcurrentHashMap<>();
+    /**
+     * Shared connections of tcp endpoints with pipelining enabled (see
+     * {@link EndpointPoolConfiguration#getMaxPipelinedTransactions()}). These connections bypass the connection pool.
+     */
+    private final Map<ModbusSlaveEndpoint, PipelinedTCPConnection> pipelinedConnections = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
@@ -329,6 +439,12 @@ public class ModbusManagerImpl implements ModbusManager {
         if (pool == null) {
             return connection;
         }
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        EndpointPoolConfiguration config = connectionFactory == null ? null
+                : connectionFactory.getEndpointPoolConfiguration(endpoint);
+        if (endpoint instanceof ModbusTCPSlaveEndpoint && config != null && config.getMaxPipelinedTransactions() > 1) {
+            return borrowPipelinedConnection((ModbusTCPSlaveEndpoint) endpoint, config);
+        }
         long start = System.currentTimeMillis();
         try {
             connection = Optional.ofNullable(pool.borrowObject(endpoint));
@@ -350,7 +466,57 @@ public class ModbusManagerImpl implements ModbusManager {
         return connection;
     }
 
+    /**
+     * Get the shared pipelined connection of the endpoint, connecting it if necessary
+     *
+     * @param endpoint endpoint to connect to
+     * @param config configuration of the endpoint
+     * @return connected connection, or empty {@link Optional} if connection could not be established
+     */
+    private Optional<ModbusSlaveConnection> borrowPipelinedConnection(ModbusTCPSlaveEndpoint endpoint,
+            EndpointPoolConfiguration config) {
+        long start = System.currentTimeMillis();
+        PipelinedTCPConnection connection = pipelinedConnections.get(endpoint);
+        if (connection == null) {
+            InetAddress address;
+            try {
+                address = InetAddress.getByName(endpoint.getAddress());
+            } catch (UnknownHostException e) {
+                logger.error("Unknown host: {}. Pipelined connection creation failed.", e.getMessage());
+                return Optional.empty();
+            }
+            connection = pipelinedConnections.computeIfAbsent(endpoint,
+                    key -> new PipelinedTCPConnection(
+                            new TCPMasterConnection(address, endpoint.getPort(), config.getConnectTimeoutMillis()),
+                            config.getMaxPipelinedTransactions()));
+        }
+        try {
+            connection.connect();
+        } catch (Exception e) {
+            logger.warn("Error connecting pipelined connection for endpoint {}. Error was: {} {}", endpoint,
+                    e.getClass().getName(), e.getMessage());
+            connection.resetConnection();
+            return Optional.empty();
+        }
+        logger.trace("borrowing pipelined connection {} for endpoint {} took {} ms", connection, endpoint,
+                System.currentTimeMillis() - start);
+        return Optional.of(connection);
+    }
+
+    private void closePipelinedConnection(ModbusSlaveEndpoint endpoint) {
+        PipelinedTCPConnection connection = pipelinedConnections.remove(endpoint);
+        if (connection != null) {
+            logger.debug("Closing pipelined connection {} for endpoint {}", connection, endpoint);
+            connection.resetConnection();
+        }
+    }
+
     private void invalidate(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
+        if (isPipelined(connection)) {
+            // Shared connection, all transactions in flight fail as well
+            connection.get().resetConnection();
+            return;
+        }
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return;
@@ -369,6 +535,10 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void returnConnection(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
+        if (isPipelined(connection)) {
+            // Shared connection, kept open
+            return;
+        }
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return;
@@ -423,6 +593,7 @@ public class ModbusManagerImpl implements ModbusManager {
             return Optional.empty();
         }
         if (!connection.isPresent()) {
+            getMetricsRecorder(endpoint).connectionErrors.increment();
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
             if (callback != null) {
@@ -464,7 +635,14 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        if (task instanceof CoalescedPollTask) {
+            // Coalesced reads are not registered themselves, but their members are
+            if (((CoalescedPollTask) task).getMembers().stream().noneMatch(this.scheduledPollTasks::containsKey)) {
+                String msg = String.format("All members of poll task %s are unregistered", task);
+                logger.debug(msg);
+                throw new PollTaskUnregistered(msg);
+            }
+        } else if (!this.scheduledPollTasks.containsKey(task)) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -512,6 +690,8 @@ public class ModbusManagerImpl implements ModbusManager {
             throw new IllegalArgumentException("maxTries should be positive");
         }
 
+        EndpointMetricsRecorder metrics = getMetricsRecorder(endpoint);
+        metrics.activeOperations.incrementAndGet();
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         try {
             logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
@@ -523,6 +703,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 // Could not acquire connection, time to abort
                 // Error logged already, error callback called as well
                 logger.trace("Initial connection was not successful, aborting. [operation ID {}]", operationId);
+                metrics.failedOperations.increment();
                 return;
             }
 
@@ -547,6 +728,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     // re-established. Error has been logged, time to abort.
                     logger.trace("Try {} out of {}. Connection was not successful, aborting. [operation ID {}]",
                             tryIndex + 1, maxTries, operationId);
+                    metrics.failedOperations.increment();
                     return;
                 }
                 if (Thread.interrupted()) {
@@ -567,12 +749,19 @@ public class ModbusManagerImpl implements ModbusManager {
                 boolean willRetry = false;
                 try {
                     tryIndex++;
+                    if (tryIndex > 1) {
+                        metrics.retries.increment();
+                    }
                     willRetry = tryIndex < maxTries;
                     operation.accept(timer, task, connection.get());
                     lastError.set(null);
                     break;
                 } catch (IOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    metrics.ioErrors.increment();
+                    if (e instanceof InterruptedIOException) {
+                        metrics.timeouts.increment();
+                    }
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -590,6 +779,25 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusIOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    metrics.ioErrors.increment();
+                    boolean timeout = isTimeout(e);
+                    if (timeout) {
+                        metrics.timeouts.increment();
+                    }
+                    if (isPipelined(connection) && (timeout || Thread.currentThread().isInterrupted())) {
+                        // Only this transaction failed. The shared connection is kept for the other transactions in
+                        // flight, a late response is discarded by its transaction id.
+                        if (willRetry) {
+                            logger.warn(
+                                    "Try {} out of {} failed when executing request ({}). Will try again soon. Error was timeout or interrupt of pipelined transaction, keeping the connection. Error details: {} {} [operation ID {}]",
+                                    tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
+                        } else {
+                            logger.error(
+                                    "Last try {} failed when executing request ({}). Aborting. Error was timeout or interrupt of pipelined transaction, keeping the connection. Error details: {} {} [operation ID {}]",
+                                    tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
+                        }
+                        continue;
+                    }
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -607,6 +815,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusSlaveException e) {
                     lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
+                    metrics.slaveErrors.increment();
                     // Slave returned explicit error response, no reason to re-establish new connection
                     if (willRetry) {
                         logger.warn(
@@ -620,6 +829,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusUnexpectedTransactionIdException e) {
                     lastError.set(e);
+                    metrics.otherErrors.increment();
                     // transaction error details already logged
                     if (willRetry) {
                         logger.warn(
@@ -636,6 +846,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusException e) {
                     lastError.set(e);
+                    metrics.otherErrors.increment();
                     // Some other (unexpected) exception occurred
                     if (willRetry) {
                         logger.warn(
@@ -662,6 +873,7 @@ public class ModbusManagerImpl implements ModbusManager {
             Exception exception = lastError.get();
             if (exception != null) {
                 // All retries failed with some error
+                metrics.failedOperations.increment();
                 if (callback != null) {
                     timer.callback.timeRunnable(() -> {
                         invokeCallbackWithError(request, callback, exception);
@@ -675,29 +887,68 @@ public class ModbusManagerImpl implements ModbusManager {
         } catch (InterruptedException e) {
             logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
-            // Invalidate connection, and empty (so that new connection is acquired before new retry)
-            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            // Invalidate connection, and empty (so that new connection is acquired before new retry). A shared
+            // pipelined connection is kept for the other transactions in flight.
+            if (!isPipelined(connection)) {
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            }
             connection = Optional.empty();
         } finally {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
+            metrics.activeOperations.decrementAndGet();
+            metrics.operations.increment();
+            metrics.recordTiming(timer);
         }
     }
 
+    private EndpointMetricsRecorder getMetricsRecorder(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, key -> new EndpointMetricsRecorder());
+    }
+
+    private static boolean isPipelined(Optional<ModbusSlaveConnection> connection) {
+        return connection.isPresent() && connection.get() instanceof PipelinedTCPConnection;
+    }
+
+    /**
+     * Whether the I/O error is due to timeout waiting for the response. The underlying library reports the original
+     * exception only in the message.
+     */
+    private static boolean isTimeout(ModbusIOException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains(SocketTimeoutException.class.getSimpleName())
+                || message.toLowerCase(Locale.ROOT).contains("timeout"));
+    }
+
+    @Override
+    public Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> getEndpointMetrics() {
+        Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> snapshot = new HashMap<>();
+        endpointMetrics.forEach((endpoint, recorder) -> {
+            EndpointScheduler scheduler = endpointSchedulers.get(endpoint);
+            snapshot.put(endpoint, recorder.snapshot(scheduler == null ? 0 : scheduler.getQueueSize()));
+        });
+        return snapshot;
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
         Objects.requireNonNull(executor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off poll task {}", task);
-        ScheduledFuture<?> future = executor.schedule(() -> {
+        Runnable poll = () -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
             logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
                     millisInThreadPoolWaiting);
             executeOperation(task, true, pollOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        };
+        if (adaptiveScheduling) {
+            return getEndpointScheduler(executor, task.getEndpoint()).submit(EndpointScheduler.Priority.ONE_OFF_READ,
+                    poll);
+        }
+        ScheduledFuture<?> future = executor.schedule(poll, 0L, TimeUnit.MILLISECONDS);
         return future;
     }
 
@@ -712,7 +963,11 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
+            if (coalesceReads) {
+                registerCoalescedRegularPoll(executor, task, pollPeriodMillis, initialDelayMillis);
+                return;
+            }
+            Runnable poll = () -> {
                 long started = System.currentTimeMillis();
                 logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                         started);
@@ -721,7 +976,11 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.debug(
                         "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
                         pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            };
+            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(
+                    adaptiveScheduling ? () -> getEndpointScheduler(executor, task.getEndpoint())
+                            .submitRegularPoll(task, pollPeriodMillis, poll) : poll,
+                    initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
 
             scheduledPollTasks.put(task, future);
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
@@ -729,6 +988,139 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Register regular poll as part of a poll group. New group is scheduled if there is no group with the same
+     * endpoint and poll period.
+     *
+     * Must be called while holding the lock of this instance.
+     */
+    private void registerCoalescedRegularPoll(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis) {
+        @Nullable
+        PollGroup group = pollGroups.stream().filter(g -> g.matches(task.getEndpoint(), pollPeriodMillis)).findFirst()
+                .orElse(null);
+        if (group == null) {
+            PollGroup newGroup = new PollGroup(task.getEndpoint(), pollPeriodMillis);
+            newGroup.tasks.add(task);
+            Runnable poll = () -> executePollGroup(newGroup);
+            newGroup.future = executor.scheduleWithFixedDelay(
+                    adaptiveScheduling ? () -> getEndpointScheduler(executor, newGroup.endpoint)
+                            .submitRegularPoll(newGroup, pollPeriodMillis, poll) : poll,
+                    initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            pollGroups.add(newGroup);
+            group = newGroup;
+        } else {
+            group.tasks.add(task);
+            group.splitTasks.clear();
+        }
+        ScheduledFuture<?> future = group.future;
+        Objects.requireNonNull(future);
+        scheduledPollTasks.put(task, future);
+        logger.trace("Registered poll task {} with period {} to poll group of endpoint {} (now {} tasks)", task,
+                pollPeriodMillis, task.getEndpoint(), group.tasks.size());
+    }
+
+    private void executePollGroup(PollGroup group) {
+        long started = System.currentTimeMillis();
+        List<PollTask> tasks = new ArrayList<>(group.tasks);
+        List<CoalescedPollTask> plannedTasks = coalescer.plan(tasks);
+        logger.debug("Executing scheduled ({}ms) poll group of endpoint {}: {} poll tasks coalesced to {} reads",
+                group.pollPeriodMillis, group.endpoint, tasks.size(), plannedTasks.size());
+        for (CoalescedPollTask task : plannedTasks) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            List<PollTask> members = task.getMembers();
+            if (members.stream().allMatch(scheduledPollTasks::containsKey)) {
+                executeCoalescedPoll(group, task);
+                continue;
+            }
+            // Some members were unregistered after planning, do not read on their behalf
+            List<PollTask> registeredMembers = members.stream().filter(scheduledPollTasks::containsKey)
+                    .collect(Collectors.toList());
+            for (CoalescedPollTask replannedTask : coalescer.plan(registeredMembers)) {
+                executeCoalescedPoll(group, replannedTask);
+            }
+        }
+        long finished = System.currentTimeMillis();
+        logger.debug("Execution of scheduled ({}ms) poll group of endpoint {} finished in {} millis",
+                group.pollPeriodMillis, group.endpoint, finished - started);
+    }
+
+    /**
+     * Execute coalesced read. When the slave responds with an exception response, the members are read one by one,
+     * also on later executions of the group.
+     */
+    private void executeCoalescedPoll(PollGroup group, CoalescedPollTask task) {
+        if (!group.splitTasks.contains(task)) {
+            executeOperation(task, false, pollOperation);
+            if (!task.isSplitRequired()) {
+                return;
+            }
+            group.splitTasks.add(task);
+        }
+        for (PollTask member : task.getMembers()) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            executeOperation(member, false, pollOperation);
+        }
+    }
+
+    /**
+     * Remove poll task from poll groups. Empty poll groups are canceled.
+     *
+     * Must be called while holding the lock of this instance.
+     *
+     * @return whether the task was member of some group
+     */
+    private boolean removeFromPollGroup(PollTask task) {
+        for (PollGroup group : pollGroups) {
+            if (group.tasks.remove(task)) {
+                group.splitTasks.clear();
+                if (group.tasks.isEmpty()) {
+                    pollGroups.remove(group);
+                    ScheduledFuture<?> future = group.future;
+                    if (future != null) {
+                        future.cancel(true);
+                    }
+                    removeQueuedRegularPoll(group.endpoint, group);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get operation queue of the endpoint, creating new one if necessary
+     */
+    private EndpointScheduler getEndpointScheduler(ScheduledExecutorService executor, ModbusSlaveEndpoint endpoint) {
+        return endpointSchedulers.computeIfAbsent(endpoint,
+                key -> new EndpointScheduler(key, executor, getMaxConcurrentOperations(key)));
+    }
+
+    /**
+     * Get maximum number of concurrent operations per endpoint. More than one operation is executed at the same time
+     * only with pipelined tcp connections.
+     */
+    private int getMaxConcurrentOperations(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        EndpointPoolConfiguration config = connectionFactory == null ? null
+                : connectionFactory.getEndpointPoolConfiguration(endpoint);
+        if (endpoint instanceof ModbusTCPSlaveEndpoint && config != null) {
+            return Math.max(1, config.getMaxPipelinedTransactions());
+        }
+        return 1;
+    }
+
+    private void removeQueuedRegularPoll(ModbusSlaveEndpoint endpoint, Object key) {
+        EndpointScheduler scheduler = endpointSchedulers.get(endpoint);
+        if (scheduler != null) {
+            scheduler.removeRegularPoll(key);
+        }
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -752,7 +1144,10 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            if (!removeFromPollGroup(task)) {
+                future.cancel(true);
+                removeQueuedRegularPoll(task.getEndpoint(), task);
+            }
 
             logger.info("Poll task {} canceled", task);
 
@@ -777,20 +1172,88 @@ public class ModbusManagerImpl implements ModbusManager {
         Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
+        if (coalesceWrites) {
+            return submitCoalescedWrite(scheduledThreadPoolExecutor, task);
+        }
+        Runnable write = () -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
             logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
                     millisInThreadPoolWaiting);
             executeOperation(task, true, writeOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        };
+        if (adaptiveScheduling) {
+            return getEndpointScheduler(scheduledThreadPoolExecutor, task.getEndpoint())
+                    .submit(EndpointScheduler.Priority.WRITE, write);
+        }
+        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(write, 0L, TimeUnit.MILLISECONDS);
         return future;
     }
 
+    /**
+     * Queue write task to be written with other pending writes to the same endpoint. New flush of the pending writes
+     * is scheduled if there is none scheduled or running already.
+     *
+     * @return future of the flush writing the task. Note that canceling the future cancels the writes of all the tasks
+     *         written in the same flush.
+     */
+    private ScheduledFuture<?> submitCoalescedWrite(ScheduledExecutorService executor, WriteTask task) {
+        ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        PendingWrites pending = pendingWrites.computeIfAbsent(endpoint, key -> new PendingWrites());
+        synchronized (pending) {
+            pending.tasks.add(task);
+            ScheduledFuture<?> future = pending.future;
+            if (future == null || future.isDone()) {
+                Runnable flush = () -> flushWrites(pending);
+                future = adaptiveScheduling
+                        ? getEndpointScheduler(executor, endpoint).submit(EndpointScheduler.Priority.WRITE, flush)
+                        : executor.schedule(flush, 0L, TimeUnit.MILLISECONDS);
+                pending.future = future;
+            } else {
+                logger.trace("Write task {} joins pending writes ({} tasks) of endpoint {}", task,
+                        pending.tasks.size(), endpoint);
+            }
+            return future;
+        }
+    }
+
+    /**
+     * Write pending tasks until there are no more pending tasks. Tasks submitted while writing are written in the next
+     * round.
+     */
+    private void flushWrites(PendingWrites pending) {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<WriteTask> tasks;
+            synchronized (pending) {
+                if (pending.tasks.isEmpty()) {
+                    pending.future = null;
+                    return;
+                }
+                tasks = new ArrayList<>(pending.tasks);
+                pending.tasks.clear();
+            }
+            long started = System.currentTimeMillis();
+            List<CoalescedWriteTask> plannedTasks = writeCoalescer.plan(tasks);
+            logger.debug("Executing pending writes of endpoint {}: {} write tasks coalesced to {} writes",
+                    tasks.get(0).getEndpoint(), tasks.size(), plannedTasks.size());
+            for (CoalescedWriteTask task : plannedTasks) {
+                executeOperation(task, true, writeOperation);
+            }
+            logger.debug("Execution of {} pending writes finished in {} millis", plannedTasks.size(),
+                    System.currentTimeMillis() - started);
+        }
+    }
+
     @Override
     public void setEndpointPoolConfiguration(ModbusSlaveEndpoint endpoint,
             @Nullable EndpointPoolConfiguration configuration) {
         Objects.requireNonNull(connectionFactory, "Not activated!");
         connectionFactory.setEndpointPoolConfiguration(endpoint, configuration);
+        // re-created with the new configuration on next borrow
+        closePipelinedConnection(endpoint);
+        EndpointScheduler scheduler = endpointSchedulers.get(endpoint);
+        if (scheduler != null) {
+            scheduler.setMaxConcurrency(getMaxConcurrentOperations(endpoint));
+        }
         for (ModbusManagerListener listener : listeners) {
             listener.onEndpointPoolConfigurationSet(endpoint, configuration);
         }
@@ -824,6 +1287,15 @@ public class ModbusManagerImpl implements ModbusManager {
             if (connectionPool == null) {
                 constructConnectionPool();
             }
+            coalesceReads = Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_READS)));
+            Object maxGap = configProperties.get(CONFIG_COALESCE_MAX_GAP);
+            coalescer = new ModbusReadRequestCoalescer(maxGap == null ? 0 : Integer.parseInt(maxGap.toString()));
+            logger.debug("Coalescing of regular polls enabled: {}", coalesceReads);
+            adaptiveScheduling = Boolean
+                    .parseBoolean(String.valueOf(configProperties.get(CONFIG_ADAPTIVE_SCHEDULING)));
+            logger.debug("Adaptive scheduling enabled: {}", adaptiveScheduling);
+            coalesceWrites = Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_WRITES)));
+            logger.debug("Coalescing of writes enabled: {}", coalesceWrites);
             ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
             if (scheduledThreadPoolExecutor == null) {
                 this.scheduledThreadPoolExecutor = scheduledThreadPoolExecutor = ThreadPoolManager
@@ -851,6 +1323,22 @@ public class ModbusManagerImpl implements ModbusManager {
                 connectionPool.close();
                 this.connectionPool = connectionPool = null;
             }
+            for (ModbusSlaveEndpoint endpoint : new ArrayList<>(pipelinedConnections.keySet())) {
+                closePipelinedConnection(endpoint);
+            }
+            endpointSchedulers.values().forEach(EndpointScheduler::clear);
+            endpointSchedulers.clear();
+            pendingWrites.values().forEach(pending -> {
+                synchronized (pending) {
+                    ScheduledFuture<?> future = pending.future;
+                    if (future != null) {
+                        future.cancel(true);
+                    }
+                    pending.tasks.clear();
+                }
+            });
+            pendingWrites.clear();
+            endpointMetrics.clear();
 
             if (monitorFuture != null) {
                 monitorFuture.cancel(true);
@@ -895,6 +1383,15 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             }
 
+            this.endpointSchedulers.forEach((endpoint, scheduler) -> {
+                pollMonitorLogger.trace("POLL MONITOR: {}", scheduler);
+                if (scheduler.getQueueSize() >= WARN_QUEUE_SIZE) {
+                    pollMonitorLogger.warn(
+                            "Many ({}) operations queued for endpoint {}! Endpoint might be too slow for the requested poll rate.",
+                            scheduler.getQueueSize(), endpoint);
+                }
+            });
+
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
     }
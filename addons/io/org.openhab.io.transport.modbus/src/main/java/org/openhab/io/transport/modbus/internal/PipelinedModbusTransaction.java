@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import net.wimpi.modbus.ModbusException;
+import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+
+/**
+ * Transaction executed over {@link PipelinedTCPConnection}
+ *
+ * Retries are not supported, they are handled by the ModbusManager implementation.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PipelinedModbusTransaction implements ModbusTransaction {
+
+    private final PipelinedTCPConnection connection;
+    private @Nullable ModbusRequest request;
+    private @Nullable ModbusResponse response;
+
+    public PipelinedModbusTransaction(PipelinedTCPConnection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void setRequest(@Nullable ModbusRequest request) {
+        this.request = request;
+        this.response = null;
+    }
+
+    @SuppressWarnings("null")
+    @Override
+    public ModbusRequest getRequest() {
+        return request;
+    }
+
+    @SuppressWarnings("null")
+    @Override
+    public ModbusResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public int getTransactionID() {
+        ModbusRequest request = this.request;
+        return request == null ? 0 : request.getTransactionID();
+    }
+
+    @Override
+    public void setRetries(int retries) {
+        if (retries != 0) {
+            throw new IllegalArgumentException("Retries are not supported with pipelined transactions");
+        }
+    }
+
+    @Override
+    public int getRetries() {
+        return 0;
+    }
+
+    @Override
+    public void setRetryDelayMillis(long retryDelayMillis) {
+    }
+
+    @Override
+    public long getRetryDelayMillis() {
+        return 0;
+    }
+
+    @Override
+    public void setCheckingValidity(boolean checkingValidity) {
+    }
+
+    @Override
+    public boolean isCheckingValidity() {
+        return false;
+    }
+
+    @Override
+    public void execute() throws ModbusException {
+        ModbusRequest request = this.request;
+        if (request == null) {
+            throw new IllegalStateException("Request not set");
+        }
+        response = connection.execute(request);
+    }
+
+}
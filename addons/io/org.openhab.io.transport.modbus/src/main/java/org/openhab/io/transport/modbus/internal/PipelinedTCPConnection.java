@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.Modbus;
+import net.wimpi.modbus.ModbusException;
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.ModbusSlaveException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ExceptionResponse;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * Modbus/TCP connection allowing many transactions to be in flight at the same time
+ *
+ * Requests are written to the socket as soon as there is capacity (see <code>maxInFlight</code>), and responses are
+ * matched to the requests using the MBAP transaction id. Responses are read by a dedicated reader thread. Responses
+ * with unknown transaction id (e.g. late response to a request that timed out already) are discarded.
+ *
+ * Since all the transactions share the same socket, any I/O error of the socket fails all the transactions in flight
+ * and closes the connection. A timeout waiting for the response fails only the transaction that timed out.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PipelinedTCPConnection implements ModbusSlaveConnection {
+
+    private final Logger logger = LoggerFactory.getLogger(PipelinedTCPConnection.class);
+
+    private final TCPMasterConnection connection;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Map<Integer, CompletableFuture<ModbusResponse>> pending = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private int lastTransactionId;
+    private final int responseTimeoutMillis;
+    private volatile @Nullable Thread reader;
+
+    /**
+     * Construct pipelined connection
+     *
+     * @param connection underlying connection
+     * @param maxInFlight maximum number of transactions in flight at the same time
+     */
+    public PipelinedTCPConnection(TCPMasterConnection connection, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight should be positive");
+        }
+        this.connection = connection;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.responseTimeoutMillis = connection.getTimeout() > 0 ? connection.getTimeout() : Modbus.DEFAULT_TIMEOUT;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public synchronized boolean connect() throws Exception {
+        if (isConnected()) {
+            return true;
+        }
+        connection.connect();
+        // Timeouts are handled per transaction, the reader waits for responses indefinitely
+        connection.setTimeout(0);
+        ModbusTransport transport = connection.getModbusTransport();
+        Thread reader = new Thread(() -> readResponses(transport),
+                "modbusPipelinedReader-" + connection.getAddress() + ":" + connection.getPort());
+        reader.setDaemon(true);
+        this.reader = reader;
+        reader.start();
+        return true;
+    }
+
+    @Override
+    public synchronized void resetConnection() {
+        Thread reader = this.reader;
+        this.reader = null;
+        if (reader != null) {
+            reader.interrupt();
+        }
+        connection.resetConnection();
+        failAll(new ModbusIOException("Connection was reset"));
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connection.isConnected() && reader != null;
+    }
+
+    /**
+     * Execute transaction, blocking until the response has been received
+     *
+     * @param request request to send. Transaction id of the request is overwritten.
+     * @return response to the request
+     * @throws ModbusIOException on I/O errors, timeouts and interrupts
+     * @throws ModbusSlaveException when slave responds with exception response
+     */
+    public ModbusResponse execute(ModbusRequest request) throws ModbusException {
+        long timeoutMillis = responseTimeoutMillis;
+        boolean acquired = false;
+        Integer transactionId = null;
+        try {
+            acquired = inFlight.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                throw new ModbusIOException(String.format(
+                        "Timeout while waiting for one of the %d in-flight transactions to complete", maxInFlight));
+            }
+            CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+            synchronized (writeLock) {
+                if (!isConnected()) {
+                    throw new ModbusIOException("Not connected");
+                }
+                transactionId = nextTransactionId();
+                request.setTransactionID(transactionId);
+                pending.put(transactionId, future);
+                logger.trace("Sending pipelined request with transaction ID {}: {}", transactionId,
+                        request.getHexMessage());
+                connection.getModbusTransport().writeMessage(request);
+            }
+            ModbusResponse response = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (response instanceof ExceptionResponse) {
+                throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModbusIOException("Interrupted while waiting for the response");
+        } catch (TimeoutException e) {
+            throw new ModbusIOException(
+                    String.format("Timeout (%d ms) while waiting for response (transaction ID %d)", timeoutMillis,
+                            transactionId));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ModbusException) {
+                throw (ModbusException) cause;
+            }
+            throw new ModbusIOException(String.valueOf(cause));
+        } finally {
+            if (transactionId != null) {
+                pending.remove(transactionId);
+            }
+            if (acquired) {
+                inFlight.release();
+            }
+        }
+    }
+
+    /**
+     * Get next free transaction id. Must be called while holding the write lock.
+     */
+    private int nextTransactionId() {
+        do {
+            lastTransactionId = lastTransactionId >= Modbus.MAX_TRANSACTION_ID ? 1 : lastTransactionId + 1;
+        } while (pending.containsKey(lastTransactionId));
+        return lastTransactionId;
+    }
+
+    private void readResponses(ModbusTransport transport) {
+        while (!Thread.currentThread().isInterrupted()) {
+            ModbusResponse response;
+            try {
+                response = transport.readResponse();
+            } catch (ModbusIOException e) {
+                onReadError(e);
+                return;
+            }
+            CompletableFuture<ModbusResponse> future = pending.remove(response.getTransactionID());
+            if (future == null) {
+                logger.warn(
+                        "Received response with unexpected transaction ID {} from {} (request timed out already?). Ignoring response.",
+                        response.getTransactionID(), connection);
+            } else {
+                logger.trace("Received pipelined response with transaction ID {}", response.getTransactionID());
+                future.complete(response);
+            }
+        }
+    }
+
+    private synchronized void onReadError(ModbusIOException error) {
+        if (reader != Thread.currentThread()) {
+            // connection has been reset already
+            return;
+        }
+        logger.debug("Error reading pipelined responses from {}: {}. Resetting connection.", connection,
+                error.getMessage());
+        resetConnection();
+    }
+
+    private void failAll(ModbusException error) {
+        pending.values().forEach(future -> future.completeExceptionally(error));
+        pending.clear();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("PipelinedTCPConnection(connection=").append(connection).append(", maxInFlight=")
+                .append(maxInFlight).append(", inFlight=").append(pending.size()).append(')').toString();
+    }
+}